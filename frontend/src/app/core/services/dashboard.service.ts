@@ -1,6 +1,7 @@
 import { Injectable, inject } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { Observable, distinctUntilChanged, scan } from 'rxjs';
+import { SseService } from './sse.service';
 
 export interface DashboardData {
   salesRevenue: number;
@@ -17,6 +18,7 @@ export interface DashboardData {
     [key: string]: number | undefined;
   };
   lastUpdated: string;
+  version?: number;
 }
 
 export interface DashboardStatsDTO {
@@ -64,12 +66,28 @@ export interface SalesTrendDTO {
 })
 export class DashboardService {
   private http = inject(HttpClient);
+  private sse = inject(SseService);
   private readonly API_URL = '/api/dashboard';
 
   getTodayDashboard(): Observable<DashboardData> {
     return this.http.get<DashboardData>(`${this.API_URL}/today`);
   }
 
+  // Today's figures, live: the server sends a full snapshot on connect (and after midnight),
+  // then only the changed fields. Both are merged into the last value, so every emission is complete.
+  // A payload whose version is not newer than the current one is stale and dropped.
+  streamTodayDashboard(): Observable<DashboardData> {
+    return this.sse.stream<Partial<DashboardData>>(`${this.API_URL}/stream`, ['snapshot', 'delta']).pipe(
+      scan((current, patch) => {
+        if (current.version !== undefined && patch.version !== undefined && patch.version <= current.version) {
+          return current;
+        }
+        return { ...current, ...patch } as DashboardData;
+      }, {} as DashboardData),
+      distinctUntilChanged()
+    );
+  }
+
   getStatsForDateRange(fromDate: string, toDate: string): Observable<DashboardStatsDTO> {
     const params = new HttpParams()
       .set('fromDate', fromDate)
@@ -1,6 +1,7 @@
 import { Injectable, inject } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
+import { SseService } from './sse.service';
 
 export interface PageResponse<T> {
   content: T[];
@@ -22,12 +23,18 @@ export interface GoldRate {
 })
 export class GoldRateService {
   private http = inject(HttpClient);
+  private sse = inject(SseService);
   private readonly API_URL = '/api/gold-rates';
 
   getCurrentRates(): Observable<GoldRate[]> {
     return this.http.get<GoldRate[]>(`${this.API_URL}/current`);
   }
 
+  // Current rates on connect, then once per change
+  streamCurrentRates(): Observable<GoldRate[]> {
+    return this.sse.stream<GoldRate[]>(`${this.API_URL}/stream`, 'rates');
+  }
+
   setDailyRate(rate24k: number, rate21k: number, rate18k: number): Observable<void> {
     return this.http.post<void>(`${this.API_URL}`, { rate24k, rate21k, rate18k });
   }
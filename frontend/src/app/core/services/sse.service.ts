@@ -0,0 +1,98 @@
+import { Injectable, NgZone, inject } from '@angular/core';
+import { Observable } from 'rxjs';
+
+interface ServerSentEvent {
+  name: string;
+  data: string;
+}
+
+/**
+ * Server-sent event streams read with fetch, so the JWT travels in the Authorization header like every
+ * other call (EventSource cannot set headers). The stream is reopened after a drop and after the
+ * server's stream timeout, which also picks up a refreshed token. Several event names can be listened
+ * to on one stream (e.g. a snapshot followed by deltas); their payloads are emitted in arrival order.
+ */
+@Injectable({
+  providedIn: 'root'
+})
+export class SseService {
+  private zone = inject(NgZone);
+
+  stream<T>(url: string, eventName: string | string[], retryMs: number = 5000): Observable<T> {
+    const eventNames = Array.isArray(eventName) ? eventName : [eventName];
+    return new Observable<T>(subscriber => {
+      let controller: AbortController | undefined;
+      let retryTimer: ReturnType<typeof setTimeout> | undefined;
+      let closed = false;
+
+      const connect = async () => {
+        controller = new AbortController();
+        try {
+          const token = localStorage.getItem('jwt_token');
+          const headers: Record<string, string> = { Accept: 'text/event-stream' };
+          if (token) {
+            headers['Authorization'] = `Bearer ${token}`;
+          }
+
+          const response = await fetch(url, { headers, signal: controller.signal });
+          if (!response.ok || !response.body) {
+            throw new Error(`Stream ${url} failed: ${response.status}`);
+          }
+
+          const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+          let buffer = '';
+          while (true) {
+            const { value, done } = await reader.read();
+            if (done) {
+              break;
+            }
+            buffer += value;
+            let end: number;
+            while ((end = buffer.indexOf('\n\n')) >= 0) {
+              const event = this.parse(buffer.slice(0, end));
+              buffer = buffer.slice(end + 2);
+              if (eventNames.includes(event.name) && event.data) {
+                this.zone.run(() => subscriber.next(JSON.parse(event.data) as T));
+              }
+            }
+          }
+        } catch {
+          // Dropped or refused: retry below
+        }
+        if (!closed) {
+          retryTimer = setTimeout(connect, retryMs);
+        }
+      };
+
+      connect();
+      return () => {
+        closed = true;
+        clearTimeout(retryTimer);
+        controller?.abort();
+      };
+    });
+  }
+
+  // One event block: "event:" / "data:" lines; lines starting with ':' are heartbeats
+  private parse(block: string): ServerSentEvent {
+    let name = 'message';
+    const data: string[] = [];
+    for (const line of block.split('\n')) {
+      if (line.startsWith(':')) {
+        continue;
+      }
+      const colon = line.indexOf(':');
+      const field = colon < 0 ? line : line.slice(0, colon);
+      let value = colon < 0 ? '' : line.slice(colon + 1);
+      if (value.startsWith(' ')) {
+        value = value.slice(1);
+      }
+      if (field === 'event') {
+        name = value;
+      } else if (field === 'data') {
+        data.push(value);
+      }
+    }
+    return { name, data: data.join('\n') };
+  }
+}
@@ -1,4 +1,4 @@
-import { Component, OnInit, inject } from '@angular/core';
+import { Component, OnDestroy, OnInit, inject } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
 import { MatCardModule } from '@angular/material/card';
@@ -10,6 +10,7 @@ import { MatButtonModule } from '@angular/material/button';
 import { MatTableModule } from '@angular/material/table';
 import { MatDatepickerModule } from '@angular/material/datepicker';
 import { MatNativeDateModule } from '@angular/material/core';
+import { Subscription } from 'rxjs';
 import { DashboardService, DashboardData, DashboardStatsDTO, SalesTrendDTO, TopProductDTO, UserPerformanceDTO } from '../../core/services/dashboard.service';
 import { I18nService } from '../../core/services/i18n.service';
 import { TPipe } from '../../shared/pipes/t.pipe';
@@ -34,12 +35,13 @@ import { TPipe } from '../../shared/pipes/t.pipe';
   templateUrl: './dashboard.component.html',
   styleUrls: ['./dashboard.component.scss']
 })
-export class DashboardComponent implements OnInit {
+export class DashboardComponent implements OnInit, OnDestroy {
   private dashboardService = inject(DashboardService);
   private i18n = inject(I18nService);
   
   dashboardData?: DashboardData;
   loading = true;
+  private todaySubscription?: Subscription;
 
   // Enhanced dashboard
   fromDate: Date | null = null;
@@ -59,8 +61,14 @@ export class DashboardComponent implements OnInit {
     this.setDefaultRangeAndLoad();
   }
 
+  ngOnDestroy(): void {
+    this.todaySubscription?.unsubscribe();
+  }
+
+  // Today's figures arrive on a live stream; the stream reconnects by itself after a drop
   loadDashboard(): void {
-    this.dashboardService.getTodayDashboard().subscribe({
+    this.todaySubscription?.unsubscribe();
+    this.todaySubscription = this.dashboardService.streamTodayDashboard().subscribe({
       next: (data) => {
         this.dashboardData = data;
         this.loading = false;
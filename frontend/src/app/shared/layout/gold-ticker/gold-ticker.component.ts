@@ -1,8 +1,7 @@
 import { Component, OnInit, inject, OnDestroy } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { GoldRateService, GoldRate } from '../../../core/services/gold-rate.service';
-import { interval, Subscription } from 'rxjs';
-import { switchMap } from 'rxjs/operators';
+import { Subscription } from 'rxjs';
 import { I18nService } from '../../../core/services/i18n.service';
 import { TPipe } from '../../pipes/t.pipe';
 
@@ -20,9 +19,8 @@ export class GoldTickerComponent implements OnInit, OnDestroy {
   private subscription?: Subscription;
 
   ngOnInit(): void {
-    this.loadGoldRates();
-    this.subscription = interval(60000)
-      .pipe(switchMap(() => this.goldRateService.getCurrentRates()))
+    // Pushed by the server: the current rates on connect, then each change
+    this.subscription = this.goldRateService.streamCurrentRates()
       .subscribe(rates => this.goldRates = rates);
   }
 
@@ -30,12 +28,6 @@ export class GoldTickerComponent implements OnInit, OnDestroy {
     this.subscription?.unsubscribe();
   }
 
-  loadGoldRates(): void {
-    this.goldRateService.getCurrentRates().subscribe(
-      rates => this.goldRates = rates
-    );
-  }
-
   formatPrice(price: number): string {
     const locale = this.i18n.currentLang === 'ar' ? 'ar-EG' : 'en-US';
     return price.toLocaleString(locale, { minimumFractionDigits: 0, maximumFractionDigits: 0 });
@@ -1,28 +1,34 @@
 package com.jewelry.pos;
 
 import com.jewelry.pos.scheduler.GoldPriceScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.retry.annotation.EnableRetry;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableRetry
 @EnableScheduling
+@Slf4j
 public class JewelryShopApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(JewelryShopApplication.class, args);
 	}
 
+	// Runs on the task executor: a slow gold price site must not hold up startup
 	@Bean
-	CommandLineRunner testScraper(GoldPriceScheduler scheduler) {
-		return args -> {
-			System.out.println("--- TESTING SCRAPER START ---");
+	CommandLineRunner testScraper(GoldPriceScheduler scheduler,
+								  @Qualifier("applicationTaskExecutor") AsyncTaskExecutor applicationTaskExecutor) {
+		return args -> applicationTaskExecutor.execute(() -> {
+			log.info("Startup gold price fetch started");
 			scheduler.fetchGoldPrice();
-			System.out.println("--- TESTING SCRAPER END ---");
-		};
+			log.info("Startup gold price fetch finished");
+		});
 	}
 }
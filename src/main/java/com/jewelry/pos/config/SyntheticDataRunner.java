@@ -0,0 +1,72 @@
+package com.jewelry.pos.config;
+
+import com.jewelry.pos.service.datagen.GenerationPlan;
+import com.jewelry.pos.service.datagen.SyntheticDataGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates a synthetic shop history at startup when the {@code datagen} profile is active.
+ * Runs after {@link DataSeeder}, so the admin user and the active gold rate already exist.
+ * <pre>
+ * java -jar jewelry-pos.jar --spring.profiles.active=datagen --datagen.days=730 --datagen.sales-per-day=60
+ * </pre>
+ * Volumes default to application-datagen.properties. With {@code datagen.exit-after=true} the
+ * application shuts down once the data is written instead of starting to serve.
+ */
+@Component
+@Profile("datagen")
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Slf4j
+@RequiredArgsConstructor
+public class SyntheticDataRunner implements CommandLineRunner {
+
+    private final SyntheticDataGenerator generator;
+    private final ApplicationContext context;
+
+    @Value("${datagen.days:365}")
+    private int days;
+
+    @Value("${datagen.sales-per-day:40}")
+    private int salesPerDay;
+
+    @Value("${datagen.trade-in-percent:25}")
+    private int tradeInPercent;
+
+    @Value("${datagen.available-products:20000}")
+    private int availableProducts;
+
+    @Value("${datagen.suppliers:12}")
+    private int suppliers;
+
+    @Value("${datagen.persons:60}")
+    private int persons;
+
+    @Value("${datagen.ledger-entries-per-day:15}")
+    private int ledgerEntriesPerDay;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+
+    @Value("${datagen.exit-after:false}")
+    private boolean exitAfter;
+
+    @Override
+    public void run(String... args) {
+        generator.generate(new GenerationPlan(days, salesPerDay, tradeInPercent, availableProducts,
+                suppliers, persons, ledgerEntriesPerDay, seed));
+
+        if (exitAfter) {
+            log.info("datagen.exit-after is set - shutting down");
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.jewelry.pos.config;
+
+import com.jewelry.pos.core.metrics.OperationMetrics;
+import com.jewelry.pos.core.web.ConcurrencyLimitFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+
+/**
+ * Thread model of the application.
+ * <p>
+ * {@code spring.threads.virtual.enabled} switches Tomcat request handling, the {@code @Scheduled}
+ * jobs, the task executor ({@code applicationTaskExecutor}) and the hardware worker to
+ * virtual threads; with it off they stay on bounded platform pools (see application.properties).
+ * Either way the database is the real limit: Hikari holds at most
+ * {@code spring.datasource.hikari.maximum-pool-size} H2 connections, and {@link ConcurrencyLimitFilter}
+ * keeps the number of API requests in flight to {@code requests.max-concurrent}.
+ */
+@Configuration
+@Slf4j
+public class ThreadingConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${requests.max-concurrent:40}") int maxConcurrent,
+            @Value("${requests.queue-timeout-ms:2000}") long queueTimeoutMs,
+            OperationMetrics metrics) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(maxConcurrent, queueTimeoutMs, metrics));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE); // before security: a rejected request costs nothing
+        return registration;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadModel() {
+        log.info("Thread model: {} threads, {} database connections", virtualThreads ? "virtual" : "platform", connectionPoolSize);
+    }
+}
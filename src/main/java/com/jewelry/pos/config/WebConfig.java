@@ -1,17 +1,32 @@
 package com.jewelry.pos.config;
 
+import com.jewelry.pos.core.metrics.StatementCountInterceptor;
+import com.jewelry.pos.core.metrics.StatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.Locale;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    // Optional so web slice tests (no JPA, no metrics) still start
+    private final ObjectProvider<StatementCounter> statementCounter;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${metrics.statements.warn-threshold:50}")
+    private int statementWarnThreshold;
+
     @Bean
     public LocaleResolver localeResolver() {
         AcceptHeaderLocaleResolver resolver = new AcceptHeaderLocaleResolver();
@@ -27,4 +42,15 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true); // Allow sending Cookies/Auth headers
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // SQL statements per request (http.server.requests.statements)
+        StatementCounter counter = statementCounter.getIfAvailable();
+        MeterRegistry meters = meterRegistry.getIfAvailable();
+        if (counter != null && meters != null) {
+            registry.addInterceptor(new StatementCountInterceptor(counter, meters, statementWarnThreshold))
+                    .addPathPatterns("/api/**");
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,290 @@
+package com.jewelry.pos.core.journal;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of the committed changes to the money tables (see {@link JournalEventListener}).
+ * <p>
+ * The journal is a directory of fixed-size segments, {@code journal-000001.seg}, {@code journal-000002.seg}, ...,
+ * each memory-mapped while it is written. An append is a copy into the mapping (plus an msync of just
+ * that record when {@code journal.force-on-append} is on), so it costs microseconds and never seeks.
+ * When a record does not fit, the segment is forced and the next one is started; full segments are
+ * never written again and can be copied off like any other backup file.
+ * <pre>
+ * segment: "JPJRNL01" | record | record | ... | zeros
+ * record:  length (int) | CRC32C of payload (int) | payload
+ * payload: sequence | commit time | operation | entity | table | key columns | row columns
+ * </pre>
+ * A record cut short by a crash fails its checksum; reading stops there and the next append
+ * overwrites it.
+ */
+@Component
+@Slf4j
+public class ChangeJournal {
+
+    private static final byte[] MAGIC = "JPJRNL01".getBytes(StandardCharsets.US_ASCII);
+    private static final int RECORD_HEADER = 8;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean forceOnAppend;
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int segmentNumber;
+    private long sequence;
+
+    public ChangeJournal(@Value("${journal.dir:journal}") String directory,
+                         @Value("${journal.segment-size-mb:16}") int segmentSizeMb,
+                         @Value("${journal.force-on-append:true}") boolean forceOnAppend) throws IOException {
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSizeMb * 1024 * 1024;
+        this.forceOnAppend = forceOnAppend;
+        open();
+    }
+
+    // ==========================================
+    // WRITE
+    // ==========================================
+
+    public synchronized long append(JournalOperationEnum operation, String entity, String table,
+                                    Map<String, Object> key, Map<String, Object> columns) throws IOException {
+        byte[] payload = encode(sequence + 1, Instant.now(), operation, entity, table, key, columns);
+        int recordSize = RECORD_HEADER + payload.length;
+        if (recordSize > segmentSize - MAGIC.length) {
+            throw new IllegalStateException("Journal entry of " + recordSize + " bytes does not fit a segment");
+        }
+
+        // 1. Roll when the record does not fit the current segment
+        if (segment.remaining() < recordSize) {
+            roll();
+        }
+
+        // 2. Copy into the mapping
+        int start = segment.position();
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        segment.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+
+        // 3. Durable before the caller moves on
+        if (forceOnAppend) {
+            segment.force(start, recordSize);
+        }
+        return ++sequence;
+    }
+
+    public synchronized long lastSequence() {
+        return sequence;
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            segment.force();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segments = segments(directory);
+        if (segments.isEmpty()) {
+            startSegment(1);
+            return;
+        }
+
+        // Continue the newest segment after its last complete record
+        Path newest = segments.get(segments.size() - 1);
+        segmentNumber = numberOf(newest);
+        map(newest);
+        checkMagic(segment, newest);
+        segment.position(MAGIC.length);
+        sequence = scan(segment, payload -> { }, newest);
+        if (sequence == 0 && segments.size() > 1) {
+            sequence = lastSequenceOf(segments.get(segments.size() - 2));
+        }
+        log.info("Journal opened at {} (segment {}, sequence {})", directory.toAbsolutePath(), segmentNumber, sequence);
+    }
+
+    private void roll() throws IOException {
+        segment.force();
+        channel.close();
+        startSegment(segmentNumber + 1);
+    }
+
+    private void startSegment(int number) throws IOException {
+        segmentNumber = number;
+        map(directory.resolve(segmentName(number)));
+        segment.put(MAGIC);
+    }
+
+    private void map(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, channel.size()));
+    }
+
+    // ==========================================
+    // READ
+    // ==========================================
+
+    /** Every readable entry of the journal in {@code directory}, oldest first. */
+    public static void read(Path directory, Consumer<JournalEntry> consumer) throws IOException {
+        for (Path file : segments(directory)) {
+            try (FileChannel readChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                checkMagic(buffer, file);
+                buffer.position(MAGIC.length);
+                scan(buffer, payload -> consumer.accept(decode(payload)), file);
+            }
+        }
+    }
+
+    // Hands each intact record's payload to the consumer; returns the last sequence seen and leaves
+    // the buffer positioned after the last intact record
+    private static long scan(ByteBuffer buffer, Consumer<byte[]> consumer, Path file) {
+        long last = 0;
+        while (buffer.remaining() >= RECORD_HEADER) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                buffer.position(start);
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                log.warn("Journal {} ends in a torn record at offset {}", file.getFileName(), start);
+                buffer.position(start);
+                break;
+            }
+            consumer.accept(payload);
+            last = ByteBuffer.wrap(payload, 0, Long.BYTES).getLong();
+        }
+        return last;
+    }
+
+    private static long lastSequenceOf(Path file) throws IOException {
+        try (FileChannel readChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+            buffer.position(MAGIC.length);
+            return scan(buffer, payload -> { }, file);
+        }
+    }
+
+    // ==========================================
+    // ENCODING
+    // ==========================================
+
+    private static byte[] encode(long sequence, Instant committedAt, JournalOperationEnum operation, String entity,
+                                 String table, Map<String, Object> key, Map<String, Object> columns) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(sequence);
+        out.writeLong(committedAt.toEpochMilli());
+        out.writeByte(operation.ordinal());
+        out.writeUTF(entity);
+        out.writeUTF(table);
+        writeColumns(out, key);
+        writeColumns(out, columns);
+        return bytes.toByteArray();
+    }
+
+    private static void writeColumns(DataOutputStream out, Map<String, Object> columns) throws IOException {
+        out.writeInt(columns.size());
+        for (Map.Entry<String, Object> column : columns.entrySet()) {
+            out.writeUTF(column.getKey());
+            ColumnValueCodec.write(out, column.getValue());
+        }
+    }
+
+    private static JournalEntry decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            return new JournalEntry(
+                    in.readLong(),
+                    Instant.ofEpochMilli(in.readLong()),
+                    JournalOperationEnum.values()[in.readByte()],
+                    in.readUTF(),
+                    in.readUTF(),
+                    readColumns(in),
+                    readColumns(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, Object> readColumns(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        Map<String, Object> columns = new LinkedHashMap<>(count * 2);
+        for (int c = 0; c < count; c++) {
+            columns.put(in.readUTF(), ColumnValueCodec.read(in));
+        }
+        return columns;
+    }
+
+    // ==========================================
+    // FILES
+    // ==========================================
+
+    private static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static void checkMagic(ByteBuffer buffer, Path file) {
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(0, magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IllegalStateException("Not a journal segment: " + file);
+        }
+    }
+
+    private static String segmentName(int number) {
+        return String.format("%s%06d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX);
+    }
+
+    private static int numberOf(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,137 @@
+package com.jewelry.pos.core.journal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+
+/**
+ * Tagged binary form of the column values the journal and the delta backups store: what JDBC
+ * hands out for this schema (strings, numbers, decimals, booleans, timestamps, dates, bytes) and
+ * comes back as values {@code PreparedStatement.setObject} accepts. Enums are written by name, as
+ * {@code @Enumerated(STRING)} stores them.
+ */
+public final class ColumnValueCodec {
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte DECIMAL = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte TIMESTAMP = 7;
+    private static final byte DATE = 8;
+    private static final byte TIMESTAMP_TZ = 9;
+    private static final byte BYTES = 10;
+
+    private ColumnValueCodec() {
+    }
+
+    public static void write(DataOutput out, Object value) throws IOException {
+        switch (value) {
+            case null -> out.writeByte(NULL);
+            case String s -> {
+                out.writeByte(STRING);
+                writeString(out, s);
+            }
+            case Enum<?> e -> {
+                out.writeByte(STRING);
+                writeString(out, e.name());
+            }
+            case Integer i -> {
+                out.writeByte(INT);
+                out.writeInt(i);
+            }
+            case Short s -> {
+                out.writeByte(INT);
+                out.writeInt(s);
+            }
+            case Long l -> {
+                out.writeByte(LONG);
+                out.writeLong(l);
+            }
+            case BigDecimal d -> {
+                out.writeByte(DECIMAL);
+                writeString(out, d.toPlainString());
+            }
+            case Boolean b -> {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean(b);
+            }
+            case Double d -> {
+                out.writeByte(DOUBLE);
+                out.writeDouble(d);
+            }
+            case Float f -> {
+                out.writeByte(DOUBLE);
+                out.writeDouble(f);
+            }
+            case java.sql.Timestamp t -> {
+                out.writeByte(TIMESTAMP);
+                writeString(out, t.toLocalDateTime().toString());
+            }
+            case LocalDateTime t -> {
+                out.writeByte(TIMESTAMP);
+                writeString(out, t.toString());
+            }
+            case java.sql.Date d -> {
+                out.writeByte(DATE);
+                writeString(out, d.toLocalDate().toString());
+            }
+            case LocalDate d -> {
+                out.writeByte(DATE);
+                writeString(out, d.toString());
+            }
+            case OffsetDateTime t -> {
+                out.writeByte(TIMESTAMP_TZ);
+                writeString(out, t.toString());
+            }
+            case byte[] bytes -> {
+                out.writeByte(BYTES);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            default -> throw new IllegalStateException("Unsupported column type: " + value.getClass().getName());
+        }
+    }
+
+    public static Object read(DataInput in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case NULL -> null;
+            case STRING -> readString(in);
+            case INT -> in.readInt();
+            case LONG -> in.readLong();
+            case DECIMAL -> new BigDecimal(readString(in));
+            case BOOLEAN -> in.readBoolean();
+            case DOUBLE -> in.readDouble();
+            case TIMESTAMP -> LocalDateTime.parse(readString(in));
+            case DATE -> LocalDate.parse(readString(in));
+            case TIMESTAMP_TZ -> OffsetDateTime.parse(readString(in));
+            case BYTES -> {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                yield bytes;
+            }
+            default -> throw new IllegalStateException("Corrupt column value: unknown tag " + tag);
+        };
+    }
+
+    // Length-prefixed UTF-8; writeUTF stops at 64 KB, which a TEXT column can exceed
+    public static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,20 @@
+package com.jewelry.pos.core.journal;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One committed change, in database terms: the table, the primary key columns and - for inserts
+ * and updates - every column of the row after the change. Deletes carry the key only; additions
+ * carry the amounts that were added to the named columns.
+ */
+public record JournalEntry(
+        long sequence,
+        Instant committedAt,
+        JournalOperationEnum operation,
+        String entity,
+        String table,
+        Map<String, Object> key,
+        Map<String, Object> columns
+) {
+}
@@ -0,0 +1,187 @@
+package com.jewelry.pos.core.journal;
+
+import com.jewelry.pos.core.metrics.OperationMetrics;
+import com.jewelry.pos.domain.entity.HomeExpense;
+import com.jewelry.pos.domain.entity.OldGoldPurchase;
+import com.jewelry.pos.domain.entity.PersonalAccount;
+import com.jewelry.pos.domain.entity.Sale;
+import com.jewelry.pos.domain.entity.SaleItem;
+import com.jewelry.pos.domain.entity.ScrapInventory;
+import com.jewelry.pos.domain.entity.ScrapPurification;
+import com.jewelry.pos.domain.entity.SupplierAccount;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.metamodel.mapping.AttributeMapping;
+import org.hibernate.metamodel.mapping.PluralAttributeMapping;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Feeds the {@link ChangeJournal} from Hibernate: every committed insert, update and delete of a
+ * sale, sale item, old-gold purchase, scrap row or ledger entry. Registered as a Hibernate
+ * integrator, the same way {@code StatementCounter} plugs in.
+ * <p>
+ * Entries are written after the commit, so rolled-back work never reaches the journal, and values
+ * are taken in their column form (enum names, converted purities, foreign-key ids), so replay is
+ * plain SQL. Writes that bypass Hibernate (bulk JPQL, JdbcTemplate) raise no event; the one such
+ * path on a journaled table, the atomic scrap-inventory increment, reports itself through
+ * {@link #recordAddition}.
+ * <p>
+ * Because the append follows the commit, the journal can miss a committed change: when the process
+ * dies between the database commit and the append, or when the append itself fails (disk full, I/O
+ * error). The change is in the database but not in the journal, so a restore that replays the
+ * journal over the last backup loses it; the next full backup picks it up again. Failed appends are
+ * logged and counted under {@code journal.append.failures}, which should stay at zero.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class JournalEventListener implements HibernatePropertiesCustomizer, Integrator,
+        PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Set<Class<?>> JOURNALED = Set.of(
+            Sale.class, SaleItem.class, OldGoldPurchase.class, ScrapInventory.class, ScrapPurification.class,
+            PersonalAccount.class, SupplierAccount.class, HomeExpense.class);
+
+    private final ChangeJournal journal;
+    private final OperationMetrics metrics;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(this));
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return JOURNALED.contains(persister.getMappedClass());
+    }
+
+    // ==========================================
+    // EVENTS
+    // ==========================================
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(JournalOperationEnum.INSERT, event.getPersister(), event.getId(), event.getState(), event.getSession());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(JournalOperationEnum.UPDATE, event.getPersister(), event.getId(), event.getState(), event.getSession());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(JournalOperationEnum.DELETE, event.getPersister(), event.getId(), null, event.getSession());
+    }
+
+    /**
+     * Journals an atomic {@code SET col = col + ?} made with plain SQL, once the surrounding
+     * transaction commits. Additions commute, so their order against other writers of the same
+     * row does not matter on replay.
+     */
+    public void recordAddition(Class<?> entity, String table, Map<String, Object> key, Map<String, Object> amounts) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(JournalOperationEnum.ADD, entity.getName(), table, key, amounts);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                append(JournalOperationEnum.ADD, entity.getName(), table, key, amounts);
+            }
+        });
+    }
+
+    // Rolled back: nothing happened
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void record(JournalOperationEnum operation, EntityPersister persister, Object id, Object[] state,
+                        SharedSessionContractImplementor session) {
+        if (!JOURNALED.contains(persister.getMappedClass())) {
+            return;
+        }
+
+        // 1. Key and table, in column form
+        Map<String, Object> key = new LinkedHashMap<>();
+        String[] table = new String[1];
+        persister.getIdentifierMapping().breakDownJdbcValues(id, (index, value, column) -> {
+            key.put(column.getSelectionExpression(), value);
+            table[0] = column.getContainingTableExpression();
+        }, session);
+
+        // 2. The whole row after the change (collections live in their own tables)
+        Map<String, Object> columns = new LinkedHashMap<>();
+        if (state != null) {
+            columns.putAll(key);
+            for (int i = 0; i < persister.getNumberOfAttributeMappings(); i++) {
+                AttributeMapping attribute = persister.getAttributeMapping(i);
+                if (attribute instanceof PluralAttributeMapping) {
+                    continue;
+                }
+                attribute.breakDownJdbcValues(state[attribute.getStateArrayPosition()],
+                        (index, value, column) -> columns.put(column.getSelectionExpression(), value), session);
+            }
+        }
+
+        append(operation, persister.getEntityName(), table[0], key, columns);
+    }
+
+    // The transaction is already committed, so a failure is logged and counted, not thrown
+    private void append(JournalOperationEnum operation, String entity, String table,
+                        Map<String, Object> key, Map<String, Object> columns) {
+        try {
+            journal.append(operation, entity, table, key, columns);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not journal {} of {} {}", operation, entity, key, e);
+            metrics.count("journal.append.failures", 1, "table", String.valueOf(table));
+        }
+    }
+}
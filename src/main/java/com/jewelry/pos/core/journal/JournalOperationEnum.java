@@ -0,0 +1,9 @@
+package com.jewelry.pos.core.journal;
+
+public enum JournalOperationEnum {
+    INSERT,
+    UPDATE,
+    DELETE,
+    // Adds the entry's column values to the row's current ones (atomic SQL increments)
+    ADD
+}
@@ -0,0 +1,124 @@
+package com.jewelry.pos.core.journal;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a journal to a database as plain SQL: inserts and updates become {@code MERGE ... KEY},
+ * deletes become {@code DELETE}, additions become {@code SET col = col + ?}. Consecutive entries
+ * of the same shape share one JDBC batch, so a year of sales replays in seconds instead of going
+ * through checkout again. Referential integrity is off during the replay, as products and people
+ * are not journaled and may not be there yet.
+ */
+public final class JournalReplayer {
+
+    private static final int BATCH_SIZE = 500;
+
+    private JournalReplayer() {
+    }
+
+    /** Replays every entry of the journal in {@code directory} into {@code target}; returns the entry count. */
+    public static long replay(Path directory, DataSource target) throws IOException, SQLException {
+        try (Connection conn = target.getConnection(); Statement statement = conn.createStatement()) {
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            conn.setAutoCommit(false);
+            try (Batch batch = new Batch(conn)) {
+                ChangeJournal.read(directory, batch::add);
+                batch.flush();
+                conn.commit();
+                return batch.entries;
+            } catch (IOException | SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+                statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+            }
+        }
+    }
+
+    private static final class Batch implements AutoCloseable {
+        private final Connection conn;
+        private String sql;
+        private PreparedStatement statement;
+        private int pending;
+        private long entries;
+
+        Batch(Connection conn) {
+            this.conn = conn;
+        }
+
+        void add(JournalEntry entry) {
+            try {
+                List<Object> values = new ArrayList<>();
+                String entrySql = sqlFor(entry, values);
+                if (!entrySql.equals(sql)) {
+                    flush();
+                    closeStatement();
+                    sql = entrySql;
+                    statement = conn.prepareStatement(entrySql);
+                }
+                for (int i = 0; i < values.size(); i++) {
+                    statement.setObject(i + 1, values.get(i));
+                }
+                statement.addBatch();
+                entries++;
+                if (++pending == BATCH_SIZE) {
+                    flush();
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Replay failed at journal entry " + entry.sequence(), e);
+            }
+        }
+
+        void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            closeStatement();
+        }
+
+        private void closeStatement() throws SQLException {
+            if (statement != null) {
+                statement.close();
+            }
+        }
+
+        private static String sqlFor(JournalEntry entry, List<Object> values) {
+            if (entry.operation() == JournalOperationEnum.DELETE) {
+                values.addAll(entry.key().values());
+                return "DELETE FROM " + entry.table() + " WHERE " + where(entry);
+            }
+            if (entry.operation() == JournalOperationEnum.ADD) {
+                values.addAll(entry.columns().values());
+                values.addAll(entry.key().values());
+                String increments = entry.columns().keySet().stream()
+                        .map(column -> column + " = " + column + " + ?")
+                        .collect(Collectors.joining(", "));
+                return "UPDATE " + entry.table() + " SET " + increments + " WHERE " + where(entry);
+            }
+            values.addAll(entry.columns().values());
+            return "MERGE INTO " + entry.table() + " (" + String.join(", ", entry.columns().keySet()) + ")"
+                    + " KEY (" + String.join(", ", entry.key().keySet()) + ")"
+                    + " VALUES (" + String.join(", ", Collections.nCopies(entry.columns().size(), "?")) + ")";
+        }
+
+        private static String where(JournalEntry entry) {
+            return String.join(" = ? AND ", entry.key().keySet()) + " = ?";
+        }
+    }
+}
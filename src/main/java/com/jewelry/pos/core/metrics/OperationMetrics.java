@@ -0,0 +1,78 @@
+package com.jewelry.pos.core.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Timers and counters for the hot paths, all tagged with an {@code outcome}:
+ * <ul>
+ *   <li>{@link #SUCCESS} - the operation completed</li>
+ *   <li>{@link #REJECTED} - a business rule said no ({@link IllegalArgumentException} / {@link IllegalStateException},
+ *       the 404 / 409 cases of the API)</li>
+ *   <li>{@link #ERROR} - anything else that was thrown</li>
+ * </ul>
+ * Callers that swallow their own failures (the schedulers) pass the outcome explicitly.
+ * Everything shows up under {@code /actuator/metrics/<name>}.
+ */
+@Component
+@RequiredArgsConstructor
+public class OperationMetrics {
+
+    public static final String SUCCESS = "success";
+    public static final String REJECTED = "rejected";
+    public static final String ERROR = "error";
+    public static final String SKIPPED = "skipped";
+
+    private final MeterRegistry meterRegistry;
+
+    // Times the action and tags it with how it ended; exceptions are rethrown unchanged
+    public <T> T record(String name, Supplier<T> action, String... tags) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = ERROR;
+        try {
+            T result = action.get();
+            outcome = SUCCESS;
+            return result;
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            sample.stop(timer(name, outcome, tags));
+        }
+    }
+
+    public void run(String name, Runnable action, String... tags) {
+        record(name, () -> {
+            action.run();
+            return null;
+        }, tags);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stop(Timer.Sample sample, String name, String outcome, String... tags) {
+        sample.stop(timer(name, outcome, tags));
+    }
+
+    public void count(String name, double amount, String... tags) {
+        Counter.builder(name).tags(tags).register(meterRegistry).increment(amount);
+    }
+
+    public static String outcomeOf(Throwable failure) {
+        return failure instanceof IllegalArgumentException || failure instanceof IllegalStateException ? REJECTED : ERROR;
+    }
+
+    private Timer timer(String name, String outcome, String... tags) {
+        return Timer.builder(name)
+                .tags(tags)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
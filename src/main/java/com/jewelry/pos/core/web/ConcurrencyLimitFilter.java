@@ -0,0 +1,66 @@
+package com.jewelry.pos.core.web;
+
+import com.jewelry.pos.core.metrics.OperationMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of API requests in flight. With virtual threads Tomcat no longer has a thread
+ * limit, so without this a burst would park hundreds of requests on the H2 connection pool until
+ * they time out. A request that cannot get a slot within the queue timeout gets 503 with
+ * {@code Retry-After}, which the POS client retries. Rejections are counted as
+ * {@code http.server.requests.throttled}.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore slots;
+    private final long queueTimeoutMs;
+    private final OperationMetrics metrics;
+
+    public ConcurrencyLimitFilter(int maxConcurrent, long queueTimeoutMs, OperationMetrics metrics) {
+        this.slots = new Semaphore(maxConcurrent, true);
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        boolean acquired;
+        try {
+            acquired = slots.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            log.warn("Server busy: rejected {} {} after waiting {} ms", request.getMethod(), request.getRequestURI(), queueTimeoutMs);
+            metrics.count("http.server.requests.throttled", 1);
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server busy, please retry");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            slots.release();
+        }
+    }
+
+    public int availableSlots() {
+        return slots.availablePermits();
+    }
+}
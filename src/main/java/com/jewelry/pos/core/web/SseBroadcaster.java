@@ -0,0 +1,172 @@
+package com.jewelry.pos.core.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Server-sent event streams to the POS terminals, one subscriber set per topic.
+ * <p>
+ * An idle subscriber is only an open async request: it holds no thread (and, since the request
+ * returns from {@link ConcurrencyLimitFilter} as soon as it goes async, no request slot either).
+ * A broadcast serializes its payload once, then each subscriber writes it on a virtual thread, so a
+ * slow or dead client can't hold up the others. Each subscriber drains its own queue, so events
+ * arrive in the order they were broadcast.
+ * <p>
+ * A new subscriber's snapshot is read and queued under the same topic lock a broadcast takes to queue
+ * its event. A change is therefore either already in the snapshot or queued after it, as long as the
+ * publisher updates its state before it broadcasts.
+ * <p>
+ * Streams end after {@code sse.timeout-ms}; the client reconnects, which re-checks its token.
+ * A comment line every {@code sse.heartbeat-ms} keeps proxies from closing a quiet stream and
+ * finds the clients that went away.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SseBroadcaster {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final Map<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-", 0).factory());
+
+    // name == null is a heartbeat comment
+    private record Message(String name, String json) {
+    }
+
+    /**
+     * Opens a stream on {@code topic}. The {@code snapshot} is read as the subscriber joins and, when not
+     * null, sent first as {@code eventName}, so a new subscriber starts from the current state instead of
+     * waiting for a change. It runs under the topic lock: it must not take a lock held around a broadcast.
+     */
+    public SseEmitter subscribe(String topic, String eventName, Supplier<?> snapshot) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Set<Subscriber> subscribers = topics.computeIfAbsent(topic, k -> ConcurrentHashMap.newKeySet());
+        Subscriber subscriber = new Subscriber(emitter, subscribers);
+
+        emitter.onCompletion(subscriber::drop);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscriber.drop());
+
+        synchronized (subscribers) {
+            Object current = snapshot.get();
+            if (current != null) {
+                subscriber.offer(new Message(eventName, serialize(current)));
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    /**
+     * Sends {@code data} as {@code eventName} to every subscriber of {@code topic}. Returns at once.
+     */
+    public void broadcast(String topic, String eventName, Object data) {
+        Set<Subscriber> subscribers = topics.get(topic);
+        if (subscribers == null) {
+            return; // nobody ever subscribed (subscribe creates the set before reading its snapshot)
+        }
+        Message message = new Message(eventName, serialize(data));
+        // Checked under the lock: a first subscriber may be reading its snapshot right now
+        synchronized (subscribers) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(message);
+            }
+        }
+    }
+
+    public int subscriberCount(String topic) {
+        Set<Subscriber> subscribers = topics.get(topic);
+        return subscribers == null ? 0 : subscribers.size();
+    }
+
+    @Scheduled(fixedDelayString = "${sse.heartbeat-ms:25000}", initialDelayString = "${sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        Message ping = new Message(null, null);
+        for (Set<Subscriber> subscribers : topics.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(ping);
+            }
+        }
+    }
+
+    private String serialize(Object data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event payload cannot be serialized: " + e.getMessage(), e);
+        }
+    }
+
+    // ==========================================
+    // SUBSCRIBER (one ordered send queue per stream)
+    // ==========================================
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Subscriber> topic;
+        private final Queue<Message> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Set<Subscriber> topic) {
+            this.emitter = emitter;
+            this.topic = topic;
+        }
+
+        void offer(Message message) {
+            pending.add(message);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Message message;
+                while ((message = pending.poll()) != null) {
+                    emitter.send(message.name() == null
+                            ? SseEmitter.event().comment("ping")
+                            : SseEmitter.event().name(message.name()).data(message.json(), MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client gone (or the stream already completed)
+                log.debug("SSE subscriber dropped: {}", e.getMessage());
+                drop();
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // A message offered while we were finishing up
+            if (!pending.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        void drop() {
+            topic.remove(this);
+            pending.clear();
+        }
+    }
+}
@@ -30,6 +30,10 @@ public class AppUser extends Auditable {
 
     private boolean enabled = true;
 
+    // Embedded in each JWT at login; bumped to revoke every token issued before an access change
+    @Column(nullable = false)
+    private int tokenVersion;
+
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
             name = "user_roles",
@@ -0,0 +1,124 @@
+package com.jewelry.pos.domain.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * The additive figures tracked per day in {@link DailyLedgerSummary}.
+ * Used both as the change a single write applies to its day and as the
+ * total of a range of days. Every field is additive, so voids and deletes
+ * are recorded as the {@link #negate() negated} figures of the original write.
+ */
+public record DailyLedgerFigures(
+        long salesCount,
+        BigDecimal salesRevenue,
+        BigDecimal salesCost,
+        BigDecimal oldGoldWeight,
+        BigDecimal oldGoldValue,
+        BigDecimal purificationIncome,
+        BigDecimal personalMoneyReceivable,
+        BigDecimal personalMoneyPayable,
+        BigDecimal personalWeightReceivable,
+        BigDecimal personalWeightPayable,
+        BigDecimal supplierFeesReceivable,
+        BigDecimal supplierFeesPayable,
+        BigDecimal supplierWeightReceivable,
+        BigDecimal supplierWeightPayable,
+        BigDecimal homeMoneyReceivable,
+        BigDecimal homeMoneyPayable,
+        BigDecimal homeWeightReceivable,
+        BigDecimal homeWeightPayable
+) {
+
+    private static final BigDecimal Z = BigDecimal.ZERO;
+
+    public static final DailyLedgerFigures ZERO =
+            new DailyLedgerFigures(0, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z);
+
+    // --- Factories: one per kind of write ---
+
+    public static DailyLedgerFigures sale(BigDecimal revenue, BigDecimal cost) {
+        return sales(1, revenue, cost);
+    }
+
+    public static DailyLedgerFigures sales(long count, BigDecimal revenue, BigDecimal cost) {
+        return new DailyLedgerFigures(count, nz(revenue), nz(cost), Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z);
+    }
+
+    public static DailyLedgerFigures oldGold(BigDecimal weight, BigDecimal value) {
+        return new DailyLedgerFigures(0, Z, Z, nz(weight), nz(value), Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z);
+    }
+
+    public static DailyLedgerFigures purification(BigDecimal cashReceived) {
+        return new DailyLedgerFigures(0, Z, Z, Z, Z, nz(cashReceived), Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z);
+    }
+
+    public static DailyLedgerFigures personal(TransactionTypeEnum type, BigDecimal money, BigDecimal weight) {
+        boolean in = type == TransactionTypeEnum.RECEIVABLE;
+        return new DailyLedgerFigures(0, Z, Z, Z, Z, Z,
+                in ? nz(money) : Z, in ? Z : nz(money), in ? nz(weight) : Z, in ? Z : nz(weight),
+                Z, Z, Z, Z, Z, Z, Z, Z);
+    }
+
+    public static DailyLedgerFigures supplier(TransactionTypeEnum type, BigDecimal fees, BigDecimal weight) {
+        boolean in = type == TransactionTypeEnum.RECEIVABLE;
+        return new DailyLedgerFigures(0, Z, Z, Z, Z, Z, Z, Z, Z, Z,
+                in ? nz(fees) : Z, in ? Z : nz(fees), in ? nz(weight) : Z, in ? Z : nz(weight),
+                Z, Z, Z, Z);
+    }
+
+    public static DailyLedgerFigures home(TransactionTypeEnum type, BigDecimal money, BigDecimal weight) {
+        boolean in = type == TransactionTypeEnum.RECEIVABLE;
+        return new DailyLedgerFigures(0, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z, Z,
+                in ? nz(money) : Z, in ? Z : nz(money), in ? nz(weight) : Z, in ? Z : nz(weight));
+    }
+
+    // --- Arithmetic ---
+
+    public DailyLedgerFigures plus(DailyLedgerFigures o) {
+        return new DailyLedgerFigures(
+                salesCount + o.salesCount,
+                salesRevenue.add(o.salesRevenue),
+                salesCost.add(o.salesCost),
+                oldGoldWeight.add(o.oldGoldWeight),
+                oldGoldValue.add(o.oldGoldValue),
+                purificationIncome.add(o.purificationIncome),
+                personalMoneyReceivable.add(o.personalMoneyReceivable),
+                personalMoneyPayable.add(o.personalMoneyPayable),
+                personalWeightReceivable.add(o.personalWeightReceivable),
+                personalWeightPayable.add(o.personalWeightPayable),
+                supplierFeesReceivable.add(o.supplierFeesReceivable),
+                supplierFeesPayable.add(o.supplierFeesPayable),
+                supplierWeightReceivable.add(o.supplierWeightReceivable),
+                supplierWeightPayable.add(o.supplierWeightPayable),
+                homeMoneyReceivable.add(o.homeMoneyReceivable),
+                homeMoneyPayable.add(o.homeMoneyPayable),
+                homeWeightReceivable.add(o.homeWeightReceivable),
+                homeWeightPayable.add(o.homeWeightPayable));
+    }
+
+    public DailyLedgerFigures negate() {
+        return new DailyLedgerFigures(
+                -salesCount,
+                salesRevenue.negate(),
+                salesCost.negate(),
+                oldGoldWeight.negate(),
+                oldGoldValue.negate(),
+                purificationIncome.negate(),
+                personalMoneyReceivable.negate(),
+                personalMoneyPayable.negate(),
+                personalWeightReceivable.negate(),
+                personalWeightPayable.negate(),
+                supplierFeesReceivable.negate(),
+                supplierFeesPayable.negate(),
+                supplierWeightReceivable.negate(),
+                supplierWeightPayable.negate(),
+                homeMoneyReceivable.negate(),
+                homeMoneyPayable.negate(),
+                homeWeightReceivable.negate(),
+                homeWeightPayable.negate());
+    }
+
+    private static BigDecimal nz(BigDecimal value) {
+        return value != null ? value : Z;
+    }
+}
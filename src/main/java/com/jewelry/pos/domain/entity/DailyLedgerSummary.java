@@ -0,0 +1,114 @@
+package com.jewelry.pos.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_ledger_summary")
+@Getter @Setter
+@NoArgsConstructor
+public class DailyLedgerSummary {
+
+    @Id
+    private LocalDate summaryDate;
+
+    // --- Sales ---
+    @Column(nullable = false)
+    private long salesCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal salesRevenue = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal salesCost = BigDecimal.ZERO; // COGS snapshot at checkout
+
+    // --- Old Gold ---
+    @Column(nullable = false, precision = 12, scale = 3)
+    private BigDecimal oldGoldWeight = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal oldGoldValue = BigDecimal.ZERO;
+
+    // --- Purification ---
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal purificationIncome = BigDecimal.ZERO;
+
+    // --- Personal Accounts ---
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal personalMoneyReceivable = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal personalMoneyPayable = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 12, scale = 3)
+    private BigDecimal personalWeightReceivable = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 12, scale = 3)
+    private BigDecimal personalWeightPayable = BigDecimal.ZERO;
+
+    // --- Supplier Accounts ---
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal supplierFeesReceivable = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal supplierFeesPayable = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 12, scale = 3)
+    private BigDecimal supplierWeightReceivable = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 12, scale = 3)
+    private BigDecimal supplierWeightPayable = BigDecimal.ZERO;
+
+    // --- Home Expenses ---
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal homeMoneyReceivable = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal homeMoneyPayable = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 12, scale = 3)
+    private BigDecimal homeWeightReceivable = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 12, scale = 3)
+    private BigDecimal homeWeightPayable = BigDecimal.ZERO;
+
+    public DailyLedgerSummary(LocalDate summaryDate, DailyLedgerFigures f) {
+        this.summaryDate = summaryDate;
+        this.salesCount = f.salesCount();
+        this.salesRevenue = f.salesRevenue();
+        this.salesCost = f.salesCost();
+        this.oldGoldWeight = f.oldGoldWeight();
+        this.oldGoldValue = f.oldGoldValue();
+        this.purificationIncome = f.purificationIncome();
+        this.personalMoneyReceivable = f.personalMoneyReceivable();
+        this.personalMoneyPayable = f.personalMoneyPayable();
+        this.personalWeightReceivable = f.personalWeightReceivable();
+        this.personalWeightPayable = f.personalWeightPayable();
+        this.supplierFeesReceivable = f.supplierFeesReceivable();
+        this.supplierFeesPayable = f.supplierFeesPayable();
+        this.supplierWeightReceivable = f.supplierWeightReceivable();
+        this.supplierWeightPayable = f.supplierWeightPayable();
+        this.homeMoneyReceivable = f.homeMoneyReceivable();
+        this.homeMoneyPayable = f.homeMoneyPayable();
+        this.homeWeightReceivable = f.homeWeightReceivable();
+        this.homeWeightPayable = f.homeWeightPayable();
+    }
+
+    public DailyLedgerFigures toFigures() {
+        return new DailyLedgerFigures(
+                salesCount, salesRevenue, salesCost,
+                oldGoldWeight, oldGoldValue,
+                purificationIncome,
+                personalMoneyReceivable, personalMoneyPayable, personalWeightReceivable, personalWeightPayable,
+                supplierFeesReceivable, supplierFeesPayable, supplierWeightReceivable, supplierWeightPayable,
+                homeMoneyReceivable, homeMoneyPayable, homeWeightReceivable, homeWeightPayable);
+    }
+}
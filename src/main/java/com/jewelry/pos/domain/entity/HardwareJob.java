@@ -0,0 +1,41 @@
+package com.jewelry.pos.domain.entity;
+
+import io.hypersistence.utils.hibernate.id.Tsid;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row for a cash drawer / printer command.
+ * Written in the same transaction as the sale, executed later by the hardware worker,
+ * so a command is never lost to a restart and never sent for a rolled back sale.
+ */
+@Entity
+@Getter @Setter
+@Table(name = "hardware_job", indexes = @Index(columnList = "status, created_date"))
+public class HardwareJob extends Auditable {
+
+    @Id @Tsid
+    @Column(length = 26)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private HardwareJobTypeEnum jobType;
+
+    private String payload; // TEXT column
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private HardwareJobStatusEnum status = HardwareJobStatusEnum.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,7 @@
+package com.jewelry.pos.domain.entity;
+
+public enum HardwareJobStatusEnum {
+    PENDING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.jewelry.pos.domain.entity;
+
+public enum HardwareJobTypeEnum {
+    OPEN_CASH_DRAWER, // payload: sale id (for the log only)
+    PRINT_RECEIPT,    // payload: receipt text
+    PRINT_LABELS      // payload: ZPL stream (one ^XA...^XZ block per label)
+}
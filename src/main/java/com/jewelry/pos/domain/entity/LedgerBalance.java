@@ -0,0 +1,51 @@
+package com.jewelry.pos.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "ledger_balance")
+@Getter @Setter
+@NoArgsConstructor
+public class LedgerBalance {
+
+    public static final String HOME_PARTY_ID = "HOME";
+
+    @EmbeddedId
+    private LedgerBalanceId id;
+
+    @Column(nullable = false)
+    private long entryCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal moneyReceivable = BigDecimal.ZERO; // fees for supplier accounts
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal moneyPayable = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 12, scale = 3)
+    private BigDecimal weightReceivable = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 12, scale = 3)
+    private BigDecimal weightPayable = BigDecimal.ZERO;
+
+    public LedgerBalance(LedgerBalanceId id, LedgerBalanceFigures f) {
+        this.id = id;
+        this.entryCount = f.entryCount();
+        this.moneyReceivable = f.moneyReceivable();
+        this.moneyPayable = f.moneyPayable();
+        this.weightReceivable = f.weightReceivable();
+        this.weightPayable = f.weightPayable();
+    }
+
+    public LedgerBalanceFigures toFigures() {
+        return new LedgerBalanceFigures(entryCount, moneyReceivable, moneyPayable, weightReceivable, weightPayable);
+    }
+}
@@ -0,0 +1,75 @@
+package com.jewelry.pos.domain.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * The running totals kept per ledger party in {@link LedgerBalance}.
+ * Like {@link DailyLedgerFigures}, every field is additive: a new entry adds its figures,
+ * a deleted entry adds the {@link #negate() negated} figures. "Money" is the fees column
+ * for supplier accounts.
+ */
+public record LedgerBalanceFigures(
+        long entryCount,
+        BigDecimal moneyReceivable,
+        BigDecimal moneyPayable,
+        BigDecimal weightReceivable,
+        BigDecimal weightPayable
+) {
+
+    private static final BigDecimal Z = BigDecimal.ZERO;
+
+    public static final LedgerBalanceFigures ZERO = new LedgerBalanceFigures(0, Z, Z, Z, Z);
+
+    // One ledger entry (or several entries of the same direction)
+    public static LedgerBalanceFigures entries(long count, TransactionTypeEnum type, BigDecimal money, BigDecimal weight) {
+        boolean in = type == TransactionTypeEnum.RECEIVABLE;
+        return new LedgerBalanceFigures(count,
+                in ? nz(money) : Z, in ? Z : nz(money),
+                in ? nz(weight) : Z, in ? Z : nz(weight));
+    }
+
+    public static LedgerBalanceFigures entry(TransactionTypeEnum type, BigDecimal money, BigDecimal weight) {
+        return entries(1, type, money, weight);
+    }
+
+    public BigDecimal netMoney() {
+        return moneyReceivable.subtract(moneyPayable);
+    }
+
+    public BigDecimal netWeight() {
+        return weightReceivable.subtract(weightPayable);
+    }
+
+    // --- Arithmetic ---
+
+    public LedgerBalanceFigures plus(LedgerBalanceFigures o) {
+        return new LedgerBalanceFigures(
+                entryCount + o.entryCount,
+                moneyReceivable.add(o.moneyReceivable),
+                moneyPayable.add(o.moneyPayable),
+                weightReceivable.add(o.weightReceivable),
+                weightPayable.add(o.weightPayable));
+    }
+
+    public LedgerBalanceFigures negate() {
+        return new LedgerBalanceFigures(
+                -entryCount,
+                moneyReceivable.negate(),
+                moneyPayable.negate(),
+                weightReceivable.negate(),
+                weightPayable.negate());
+    }
+
+    // Value equality regardless of BigDecimal scale (DECIMAL columns come back as 12.50, sums as 12.5)
+    public boolean sameAs(LedgerBalanceFigures o) {
+        return entryCount == o.entryCount
+                && moneyReceivable.compareTo(o.moneyReceivable) == 0
+                && moneyPayable.compareTo(o.moneyPayable) == 0
+                && weightReceivable.compareTo(o.weightReceivable) == 0
+                && weightPayable.compareTo(o.weightPayable) == 0;
+    }
+
+    private static BigDecimal nz(BigDecimal value) {
+        return value != null ? value : Z;
+    }
+}
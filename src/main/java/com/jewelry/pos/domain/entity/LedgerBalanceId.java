@@ -0,0 +1,28 @@
+package com.jewelry.pos.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class LedgerBalanceId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LedgerTypeEnum ledgerType;
+
+    // Person / supplier id, or LedgerBalance.HOME_PARTY_ID for the single home-expense ledger
+    @Column(nullable = false, length = 26)
+    private String partyId;
+}
@@ -0,0 +1,7 @@
+package com.jewelry.pos.domain.entity;
+
+public enum LedgerTypeEnum {
+    PERSONAL,
+    SUPPLIER,
+    HOME
+}
@@ -2,6 +2,7 @@ package com.jewelry.pos.domain.entity;
 
 import io.hypersistence.utils.hibernate.id.Tsid;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -10,7 +11,10 @@ import java.math.BigDecimal;
 
 @Entity
 @Getter @Setter
-@Table(name = "product", indexes = @Index(columnList = "barcode"))
+@Table(name = "product", indexes = {
+        @Index(columnList = "barcode"),
+        @Index(name = "idx_product_list_order", columnList = "status_rank, last_modified_date DESC, id DESC")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Product extends Auditable {
     @Id @Tsid @Column(length = 26)
@@ -42,6 +46,11 @@ public class Product extends Auditable {
     @Column(nullable = false)
     private ProductStatusEnum status = ProductStatusEnum.AVAILABLE;
 
+    // Derived from status (see setStatus). Persisted and indexed for the inventory list order.
+    @Setter(AccessLevel.NONE)
+    @Column(name = "status_rank", nullable = false)
+    private int statusRank = ProductStatusEnum.AVAILABLE.getRank();
+
     // السعر اثناء الشراء التلفة الكلية و العماله
     @Column(nullable = false)
     private BigDecimal costPrice; // Cost of acquisition (Gold + Labor)
@@ -49,4 +58,8 @@ public class Product extends Auditable {
     @Version
     private Integer version;
 
+    public void setStatus(ProductStatusEnum status) {
+        this.status = status;
+        this.statusRank = status.getRank();
+    }
 }
\ No newline at end of file
@@ -1,7 +1,18 @@
 package com.jewelry.pos.domain.entity;
 
 public enum ProductStatusEnum {
-    AVAILABLE,
-    SOLD,
-    RESERVED
-}
\ No newline at end of file
+    AVAILABLE(1),
+    SOLD(3),
+    RESERVED(2);
+
+    // Inventory list order (persisted in product.status_rank so the sort can use an index)
+    private final int rank;
+
+    ProductStatusEnum(int rank) {
+        this.rank = rank;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+}
@@ -0,0 +1,18 @@
+package com.jewelry.pos.domain.repository;
+
+import com.jewelry.pos.domain.entity.DailyLedgerFigures;
+
+import java.time.LocalDate;
+
+/**
+ * Atomic write path for {@link com.jewelry.pos.domain.entity.DailyLedgerSummary}.
+ * Mixed into {@link DailyLedgerSummaryRepository} as a Spring Data fragment.
+ */
+public interface DailyLedgerSummaryOperations {
+
+    /**
+     * Adds {@code figures} to the row of {@code day}, creating the row on first use.
+     * Runs as {@code SET col = col + ?} so concurrent terminals never overwrite each other.
+     */
+    void addToDay(LocalDate day, DailyLedgerFigures figures);
+}
@@ -0,0 +1,60 @@
+package com.jewelry.pos.domain.repository;
+
+import com.jewelry.pos.domain.entity.DailyLedgerFigures;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+@RequiredArgsConstructor
+public class DailyLedgerSummaryOperationsImpl implements DailyLedgerSummaryOperations {
+
+    private static final String ADD_SQL =
+            "UPDATE daily_ledger_summary SET " +
+            "sales_count = sales_count + ?, sales_revenue = sales_revenue + ?, sales_cost = sales_cost + ?, " +
+            "old_gold_weight = old_gold_weight + ?, old_gold_value = old_gold_value + ?, " +
+            "purification_income = purification_income + ?, " +
+            "personal_money_receivable = personal_money_receivable + ?, personal_money_payable = personal_money_payable + ?, " +
+            "personal_weight_receivable = personal_weight_receivable + ?, personal_weight_payable = personal_weight_payable + ?, " +
+            "supplier_fees_receivable = supplier_fees_receivable + ?, supplier_fees_payable = supplier_fees_payable + ?, " +
+            "supplier_weight_receivable = supplier_weight_receivable + ?, supplier_weight_payable = supplier_weight_payable + ?, " +
+            "home_money_receivable = home_money_receivable + ?, home_money_payable = home_money_payable + ?, " +
+            "home_weight_receivable = home_weight_receivable + ?, home_weight_payable = home_weight_payable + ? " +
+            "WHERE summary_date = ?";
+
+    private static final String CREATE_DAY_SQL = "INSERT INTO daily_ledger_summary (summary_date) VALUES (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addToDay(LocalDate day, DailyLedgerFigures figures) {
+        if (add(day, figures) > 0) {
+            return;
+        }
+
+        // First write of the day: create the zero row, then apply the figures.
+        // If another terminal created it between our UPDATE and INSERT, the retry below still lands.
+        try {
+            jdbcTemplate.update(CREATE_DAY_SQL, Date.valueOf(day));
+        } catch (DuplicateKeyException ignored) {
+            // Row already exists - fall through to the increment
+        }
+        add(day, figures);
+    }
+
+    private int add(LocalDate day, DailyLedgerFigures f) {
+        return jdbcTemplate.update(ADD_SQL,
+                f.salesCount(), f.salesRevenue(), f.salesCost(),
+                f.oldGoldWeight(), f.oldGoldValue(),
+                f.purificationIncome(),
+                f.personalMoneyReceivable(), f.personalMoneyPayable(),
+                f.personalWeightReceivable(), f.personalWeightPayable(),
+                f.supplierFeesReceivable(), f.supplierFeesPayable(),
+                f.supplierWeightReceivable(), f.supplierWeightPayable(),
+                f.homeMoneyReceivable(), f.homeMoneyPayable(),
+                f.homeWeightReceivable(), f.homeWeightPayable(),
+                Date.valueOf(day));
+    }
+}
@@ -0,0 +1,19 @@
+package com.jewelry.pos.domain.repository;
+
+import com.jewelry.pos.domain.entity.DailyLedgerSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyLedgerSummaryRepository extends JpaRepository<DailyLedgerSummary, LocalDate>, DailyLedgerSummaryOperations {
+
+    List<DailyLedgerSummary> findAllBySummaryDateBetweenOrderBySummaryDate(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM DailyLedgerSummary d WHERE d.summaryDate BETWEEN :from AND :to")
+    int deleteAllBySummaryDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,31 @@
+package com.jewelry.pos.domain.repository;
+
+import com.jewelry.pos.domain.entity.HardwareJob;
+import com.jewelry.pos.domain.entity.HardwareJobStatusEnum;
+import com.jewelry.pos.domain.entity.HardwareJobTypeEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface HardwareJobRepository extends JpaRepository<HardwareJob, String> {
+
+    // Outbox recovery: jobs that were committed but never executed (restart / full queue)
+    @Query("SELECT j.id FROM HardwareJob j WHERE j.status = :status AND j.createdDate < :before ORDER BY j.createdDate")
+    List<String> findIdsByStatusCreatedBefore(@Param("status") HardwareJobStatusEnum status, @Param("before") LocalDateTime before);
+
+    // Restart: jobs of one type that are too old to run now (e.g. a drawer with nobody at the till)
+    @Query("SELECT j FROM HardwareJob j WHERE j.status = :status AND j.jobType = :type AND j.createdDate < :before")
+    List<HardwareJob> findByStatusAndTypeCreatedBefore(@Param("status") HardwareJobStatusEnum status,
+                                                       @Param("type") HardwareJobTypeEnum type,
+                                                       @Param("before") LocalDateTime before);
+
+    long countByStatus(HardwareJobStatusEnum status);
+
+    @Modifying
+    @Query("DELETE FROM HardwareJob j WHERE j.status = :status AND j.completedAt < :before")
+    int deleteByStatusCompletedBefore(@Param("status") HardwareJobStatusEnum status, @Param("before") LocalDateTime before);
+}
@@ -2,6 +2,8 @@ package com.jewelry.pos.domain.repository;
 
 import com.jewelry.pos.domain.entity.HomeExpense;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -11,4 +13,17 @@ import java.util.List;
 public interface HomeExpenseRepository extends JpaRepository<HomeExpense, String> {
     
     List<HomeExpense> findAllByTransactionDateBetween(LocalDateTime start, LocalDateTime end);
+
+    // Daily totals per direction - Returns date, type, money, weight (used to rebuild the daily ledger summary)
+    @Query("SELECT CAST(h.transactionDate AS LocalDate), h.transactionType, SUM(h.money), SUM(h.weight) " +
+           "FROM HomeExpense h " +
+           "WHERE h.transactionDate BETWEEN :start AND :end " +
+           "GROUP BY CAST(h.transactionDate AS LocalDate), h.transactionType")
+    List<Object[]> findDailyTotals(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Totals per direction - Returns type, count, money, weight (used to rebuild / verify ledger_balance)
+    @Query("SELECT h.transactionType, COUNT(h), SUM(h.money), SUM(h.weight) " +
+           "FROM HomeExpense h " +
+           "GROUP BY h.transactionType")
+    List<Object[]> findBalanceTotals();
 }
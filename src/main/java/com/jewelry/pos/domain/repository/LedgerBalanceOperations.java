@@ -0,0 +1,17 @@
+package com.jewelry.pos.domain.repository;
+
+import com.jewelry.pos.domain.entity.LedgerBalanceFigures;
+import com.jewelry.pos.domain.entity.LedgerTypeEnum;
+
+/**
+ * Atomic write path for {@link com.jewelry.pos.domain.entity.LedgerBalance}.
+ * Mixed into {@link LedgerBalanceRepository} as a Spring Data fragment.
+ */
+public interface LedgerBalanceOperations {
+
+    /**
+     * Adds {@code figures} to the balance of one party, creating the row on first use.
+     * Runs as {@code SET col = col + ?} so concurrent terminals never overwrite each other.
+     */
+    void addToBalance(LedgerTypeEnum ledgerType, String partyId, LedgerBalanceFigures figures);
+}
@@ -0,0 +1,46 @@
+package com.jewelry.pos.domain.repository;
+
+import com.jewelry.pos.domain.entity.LedgerBalanceFigures;
+import com.jewelry.pos.domain.entity.LedgerTypeEnum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@RequiredArgsConstructor
+public class LedgerBalanceOperationsImpl implements LedgerBalanceOperations {
+
+    private static final String ADD_SQL =
+            "UPDATE ledger_balance SET " +
+            "entry_count = entry_count + ?, " +
+            "money_receivable = money_receivable + ?, money_payable = money_payable + ?, " +
+            "weight_receivable = weight_receivable + ?, weight_payable = weight_payable + ? " +
+            "WHERE ledger_type = ? AND party_id = ?";
+
+    private static final String CREATE_SQL = "INSERT INTO ledger_balance (ledger_type, party_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addToBalance(LedgerTypeEnum ledgerType, String partyId, LedgerBalanceFigures figures) {
+        if (add(ledgerType, partyId, figures) > 0) {
+            return;
+        }
+
+        // First entry of this party: create the zero row, then apply the figures.
+        // If another terminal created it between our UPDATE and INSERT, the retry below still lands.
+        try {
+            jdbcTemplate.update(CREATE_SQL, ledgerType.name(), partyId);
+        } catch (DuplicateKeyException ignored) {
+            // Row already exists - fall through to the increment
+        }
+        add(ledgerType, partyId, figures);
+    }
+
+    private int add(LedgerTypeEnum ledgerType, String partyId, LedgerBalanceFigures f) {
+        return jdbcTemplate.update(ADD_SQL,
+                f.entryCount(),
+                f.moneyReceivable(), f.moneyPayable(),
+                f.weightReceivable(), f.weightPayable(),
+                ledgerType.name(), partyId);
+    }
+}
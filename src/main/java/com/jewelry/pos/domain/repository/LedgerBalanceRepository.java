@@ -0,0 +1,16 @@
+package com.jewelry.pos.domain.repository;
+
+import com.jewelry.pos.domain.entity.LedgerBalance;
+import com.jewelry.pos.domain.entity.LedgerBalanceId;
+import com.jewelry.pos.domain.entity.LedgerTypeEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface LedgerBalanceRepository extends JpaRepository<LedgerBalance, LedgerBalanceId>, LedgerBalanceOperations {
+
+    @Query("SELECT b FROM LedgerBalance b WHERE b.id.ledgerType = :ledgerType")
+    List<LedgerBalance> findAllByLedgerType(@Param("ledgerType") LedgerTypeEnum ledgerType);
+}
@@ -2,6 +2,8 @@ package com.jewelry.pos.domain.repository;
 
 import com.jewelry.pos.domain.entity.OldGoldPurchase;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -11,4 +13,11 @@ public interface OldGoldPurchaseRepository extends JpaRepository<OldGoldPurchase
     // Add this method inside the interface
     List<OldGoldPurchase> findAllByTransactionDateBetween(LocalDateTime start, LocalDateTime end);
 
+    // Daily totals - Returns date, weight, value (used to rebuild the daily ledger summary)
+    @Query("SELECT CAST(o.transactionDate AS LocalDate), SUM(o.weight), SUM(o.totalValue) " +
+           "FROM OldGoldPurchase o " +
+           "WHERE o.transactionDate BETWEEN :start AND :end " +
+           "GROUP BY CAST(o.transactionDate AS LocalDate)")
+    List<Object[]> findDailyTotals(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
 }
\ No newline at end of file
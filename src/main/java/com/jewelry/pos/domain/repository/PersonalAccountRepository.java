@@ -4,6 +4,8 @@ import com.jewelry.pos.domain.entity.PersonalAccount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -15,6 +17,30 @@ public interface PersonalAccountRepository extends JpaRepository<PersonalAccount
     Page<PersonalAccount> findByPersonId(String personId, Pageable pageable);
 
     List<PersonalAccount> findByPersonId(String personId);
+
+    // Net balance per person from the materialized ledger_balance rows (no ledger scan)
+    // Returns personId, personName, netMoney, netWeight, transactionCount - persons without entries included
+    @Query("SELECT pp.id, pp.name, " +
+           "COALESCE(b.moneyReceivable - b.moneyPayable, 0), " +
+           "COALESCE(b.weightReceivable - b.weightPayable, 0), " +
+           "COALESCE(b.entryCount, 0) " +
+           "FROM PersonalPerson pp LEFT JOIN LedgerBalance b " +
+           "ON b.id.ledgerType = com.jewelry.pos.domain.entity.LedgerTypeEnum.PERSONAL AND b.id.partyId = pp.id " +
+           "ORDER BY pp.id")
+    List<Object[]> findPersonBalances();
+
+    // Totals per person and direction - Returns personId, type, count, money, weight (used to rebuild / verify ledger_balance)
+    @Query("SELECT p.personId, p.transactionType, COUNT(p), SUM(p.money), SUM(p.weight) " +
+           "FROM PersonalAccount p " +
+           "GROUP BY p.personId, p.transactionType")
+    List<Object[]> findBalanceTotals();
     
     List<PersonalAccount> findAllByTransactionDateBetween(LocalDateTime start, LocalDateTime end);
+
+    // Daily totals per direction - Returns date, type, money, weight (used to rebuild the daily ledger summary)
+    @Query("SELECT CAST(p.transactionDate AS LocalDate), p.transactionType, SUM(p.money), SUM(p.weight) " +
+           "FROM PersonalAccount p " +
+           "WHERE p.transactionDate BETWEEN :start AND :end " +
+           "GROUP BY CAST(p.transactionDate AS LocalDate), p.transactionType")
+    List<Object[]> findDailyTotals(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 }
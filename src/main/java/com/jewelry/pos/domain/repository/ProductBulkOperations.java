@@ -0,0 +1,24 @@
+package com.jewelry.pos.domain.repository;
+
+import com.jewelry.pos.domain.entity.Product;
+
+import java.util.Collection;
+
+/**
+ * Bulk write operations on products that bypass the per-entity flush.
+ * Mixed into {@link ProductRepository} as a Spring Data fragment.
+ */
+public interface ProductBulkOperations {
+
+    /**
+     * Flips every given product from AVAILABLE to SOLD in a single JDBC batch.
+     * Each row is matched on its id AND the {@code @Version} value that was loaded,
+     * so a concurrent sale or edit of any item fails the whole checkout.
+     * <p>
+     * On success the given instances are detached from the persistence context (any unflushed change
+     * to them is dropped) and updated to the new status, version and audit fields.
+     *
+     * @throws IllegalStateException if any row was changed by another transaction
+     */
+    void markAsSold(Collection<Product> products);
+}
@@ -0,0 +1,69 @@
+package com.jewelry.pos.domain.repository;
+
+import com.jewelry.pos.domain.entity.Product;
+import com.jewelry.pos.domain.entity.ProductStatusEnum;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ProductBulkOperationsImpl implements ProductBulkOperations {
+
+    // Version + status guard: a row only flips if nobody sold or edited it since we loaded it.
+    // status_rank is bound from ProductStatusEnum so it cannot drift from Product.setStatus.
+    private static final String MARK_SOLD_SQL =
+            "UPDATE product SET status = 'SOLD', status_rank = ?, version = version + 1, " +
+            "last_modified_by = ?, last_modified_date = ? " +
+            "WHERE id = ? AND version = ? AND status = 'AVAILABLE'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<String> auditorProvider;
+    private final EntityManager entityManager;
+
+    @Override
+    public void markAsSold(Collection<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+
+        List<Product> batch = new ArrayList<>(products);
+        String modifiedBy = auditorProvider.getCurrentAuditor().orElse("SYSTEM");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int[][] counts = jdbcTemplate.batchUpdate(MARK_SOLD_SQL, batch, batch.size(), (ps, product) -> {
+            ps.setInt(1, ProductStatusEnum.SOLD.getRank());
+            ps.setString(2, modifiedBy);
+            ps.setTimestamp(3, now);
+            ps.setString(4, product.getId());
+            ps.setObject(5, product.getVersion());
+        });
+
+        // A single batch of batch.size() statements -> counts[0][i] belongs to batch.get(i)
+        for (int i = 0; i < batch.size(); i++) {
+            if (counts[0][i] == 0) {
+                Product stale = batch.get(i);
+                throw new IllegalStateException("Item '" + stale.getModelName() + "' (" + stale.getBarcode() +
+                        ") was sold or modified by another terminal. Please rescan the cart.");
+            }
+        }
+
+        // The rows changed behind Hibernate's back. Left managed, these instances would still read
+        // AVAILABLE with the old version, and a dirty flush of one would fail its version check.
+        // Detached, a later load in this transaction re-reads the row; the instances the caller
+        // holds are brought in line with it (sale lines only need their id).
+        for (Product product : batch) {
+            entityManager.detach(product);
+            product.setStatus(ProductStatusEnum.SOLD);
+            product.setVersion(product.getVersion() == null ? null : product.getVersion() + 1);
+            product.setLastModifiedBy(modifiedBy);
+            product.setLastModifiedDate(now.toLocalDateTime());
+        }
+    }
+}
@@ -11,22 +11,50 @@ import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ProductRepository extends JpaRepository<Product, String> {
+public interface ProductRepository extends JpaRepository<Product, String>, ProductBulkOperations {
     Optional<Product> findByBarcode(String barcode);
+
+    // Checkout: resolve a whole cart in one round trip
+    List<Product> findAllByBarcodeIn(Collection<String> barcodes);
+
     long countByStatus(ProductStatusEnum status);
 
-    @Query("SELECT p FROM Product p ORDER BY " +
-            "CASE " +
-            "  WHEN p.status = 'AVAILABLE' THEN 1 " +
-            "  WHEN p.status = 'RESERVED' THEN 2 " +
-            "  WHEN p.status = 'SOLD' THEN 3 " +
-            "  ELSE 4 " +
-            "END, " +
-            "p.lastModifiedDate DESC")
+    // Search index load at startup
+    List<Product> findAllByStatus(ProductStatusEnum status);
+
+    // Label batch for a stock lot: everything still in stock that was created in the window, in arrival order
+    @Query("SELECT p FROM Product p WHERE p.status = 'AVAILABLE' " +
+            "AND p.createdDate >= :createdFrom AND p.createdDate <= :createdTo " +
+            "ORDER BY p.createdDate, p.id")
+    List<Product> findAvailableCreatedBetween(
+        @Param("createdFrom") LocalDateTime createdFrom,
+        @Param("createdTo") LocalDateTime createdTo,
+        Pageable limit
+    );
+
+    @Query("SELECT p FROM Product p ORDER BY p.statusRank, p.lastModifiedDate DESC, p.id DESC")
     Page<Product> findAllOrderByStatusPriorityAndLastModifiedDateDesc(Pageable pageable);
+
+    // Keyset pages over idx_product_list_order (statusRank, lastModifiedDate DESC, id DESC).
+    // List return type: Spring Data applies the limit but never issues a count query.
+    @Query("SELECT p FROM Product p ORDER BY p.statusRank, p.lastModifiedDate DESC, p.id DESC")
+    List<Product> findFirstListPage(Pageable limit);
+
+    @Query("SELECT p FROM Product p WHERE " +
+            "p.statusRank > :statusRank " +
+            "OR (p.statusRank = :statusRank AND p.lastModifiedDate < :lastModifiedDate) " +
+            "OR (p.statusRank = :statusRank AND p.lastModifiedDate = :lastModifiedDate AND p.id < :id) " +
+            "ORDER BY p.statusRank, p.lastModifiedDate DESC, p.id DESC")
+    List<Product> findListPageAfter(
+        @Param("statusRank") int statusRank,
+        @Param("lastModifiedDate") LocalDateTime lastModifiedDate,
+        @Param("id") String id,
+        Pageable limit
+    );
     
     @Query("SELECT p FROM Product p WHERE " +
             "(LOWER(p.modelName) LIKE LOWER(CONCAT('%', :query, '%')) " +
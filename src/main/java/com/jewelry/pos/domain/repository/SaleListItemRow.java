@@ -0,0 +1,14 @@
+package com.jewelry.pos.domain.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of a sale on the sales history list ({@link SaleRepository#findItemRowsBySaleIds}).
+ */
+public record SaleListItemRow(
+        String saleId,
+        String productName,
+        BigDecimal weight,
+        BigDecimal priceSnapshot
+) {
+}
@@ -0,0 +1,20 @@
+package com.jewelry.pos.domain.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One sale of the sales history list, read with a JPQL constructor expression
+ * ({@link SaleRepository#searchSaleRows}), so no {@code Sale} entity is loaded.
+ */
+public record SaleListRow(
+        String id,
+        LocalDateTime transactionDate,
+        BigDecimal totalAmount,
+        BigDecimal oldGoldTotalValue,
+        BigDecimal netCashPaid,
+        String createdBy,
+        String customerName,
+        String customerPhone
+) {
+}
@@ -1,12 +1,19 @@
 package com.jewelry.pos.domain.repository;
 
 import com.jewelry.pos.domain.entity.Sale;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import java.math.BigDecimal;
 
@@ -15,6 +22,45 @@ public interface SaleRepository extends JpaRepository<Sale, String>, JpaSpecific
     @Query("SELECT s FROM Sale s WHERE s.transactionDate BETWEEN :start AND :end")
     List<Sale> findSalesBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
+    // Sales history list, read path: one flat query for the page (plus its count), one for the lines of
+    // that page. Nothing is hydrated, so no lazy items / products are touched per row.
+    // Null filters are ignored; the Pageable's sort is applied to the Sale alias "s".
+    @Query(value = "SELECT new com.jewelry.pos.domain.repository.SaleListRow(" +
+                   "s.id, s.transactionDate, s.totalAmount, s.oldGoldTotalValue, s.netCashPaid, s.createdBy, s.customerName, s.customerPhone) " +
+                   "FROM Sale s " +
+                   "WHERE (:likePattern IS NULL OR LOWER(s.id) LIKE :likePattern " +
+                   "    OR LOWER(s.customerName) LIKE :likePattern OR s.customerPhone LIKE :likePattern) " +
+                   "AND (:start IS NULL OR s.transactionDate >= :start) " +
+                   "AND (:end IS NULL OR s.transactionDate <= :end)",
+           countQuery = "SELECT COUNT(s) FROM Sale s " +
+                   "WHERE (:likePattern IS NULL OR LOWER(s.id) LIKE :likePattern " +
+                   "    OR LOWER(s.customerName) LIKE :likePattern OR s.customerPhone LIKE :likePattern) " +
+                   "AND (:start IS NULL OR s.transactionDate >= :start) " +
+                   "AND (:end IS NULL OR s.transactionDate <= :end)")
+    Page<SaleListRow> searchSaleRows(
+            @Param("likePattern") String likePattern,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            Pageable pageable);
+
+    // Lines of the sales on one list page, in the order they were rung up
+    @Query("SELECT new com.jewelry.pos.domain.repository.SaleListItemRow(si.sale.id, p.modelName, si.weightSnapshot, si.priceSnapshot) " +
+           "FROM SaleItem si LEFT JOIN si.product p " +
+           "WHERE si.sale.id IN :saleIds " +
+           "ORDER BY si.id")
+    List<SaleListItemRow> findItemRowsBySaleIds(@Param("saleIds") Collection<String> saleIds);
+
+    // One page of sales picked by the in-memory search index (primary key lookups, any order)
+    @Query("SELECT new com.jewelry.pos.domain.repository.SaleListRow(" +
+           "s.id, s.transactionDate, s.totalAmount, s.oldGoldTotalValue, s.netCashPaid, s.createdBy, s.customerName, s.customerPhone) " +
+           "FROM Sale s WHERE s.id IN :ids")
+    List<SaleListRow> findSaleRowsByIds(@Param("ids") Collection<String> ids);
+
+    // Startup load of the sales search index; read from idx_sale_search_cover without touching the table rows
+    @Query("SELECT new com.jewelry.pos.domain.repository.SaleSearchRow(s.id, s.transactionDate, s.customerName, s.customerPhone) " +
+           "FROM Sale s")
+    List<SaleSearchRow> findAllSearchRows();
+
     // Sum of sales between two dates
     @Query("SELECT COALESCE(SUM(s.totalAmount), 0) FROM Sale s WHERE s.transactionDate BETWEEN :start AND :end")
     BigDecimal sumTotalSales(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
@@ -49,4 +95,31 @@ public interface SaleRepository extends JpaRepository<Sale, String>, JpaSpecific
            "GROUP BY CAST(s.transactionDate AS LocalDate) " +
            "ORDER BY CAST(s.transactionDate AS LocalDate)")
     List<Object[]> findDailySalesTrend(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
-}
\ No newline at end of file
+
+    // Daily Cost of Goods Sold - Returns date, cost (used to rebuild the daily ledger summary)
+    @Query("SELECT CAST(si.sale.transactionDate AS LocalDate), SUM(si.product.costPrice) " +
+           "FROM SaleItem si " +
+           "WHERE si.sale.transactionDate BETWEEN :start AND :end " +
+           "GROUP BY CAST(si.sale.transactionDate AS LocalDate)")
+    List<Object[]> findDailyCostOfGoods(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Z-Report streaming: one projected row per sale / sale line, read with a forward-only cursor.
+    // Caller must be @Transactional and close the stream.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.totalAmount, s.netCashPaid, s.oldGoldTotalValue " +
+           "FROM Sale s " +
+           "WHERE s.transactionDate BETWEEN :start AND :end")
+    Stream<Object[]> streamSaleTotals(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.purityEnum, si.weightSnapshot " +
+           "FROM SaleItem si JOIN si.product p " +
+           "WHERE si.sale.transactionDate BETWEEN :start AND :end")
+    Stream<Object[]> streamSaleLineWeights(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+}
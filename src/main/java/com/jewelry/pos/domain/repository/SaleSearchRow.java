@@ -0,0 +1,15 @@
+package com.jewelry.pos.domain.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The searchable fields of one sale, read once at startup to build the in-memory sales search index
+ * ({@link SaleRepository#findAllSearchRows}).
+ */
+public record SaleSearchRow(
+        String id,
+        LocalDateTime transactionDate,
+        String customerName,
+        String customerPhone
+) {
+}
@@ -0,0 +1,24 @@
+package com.jewelry.pos.domain.repository;
+
+import com.jewelry.pos.domain.entity.KaratEnum;
+
+import java.math.BigDecimal;
+
+/**
+ * Atomic write path for {@link com.jewelry.pos.domain.entity.ScrapInventory}.
+ * Mixed into {@link ScrapInventoryRepository} as a Spring Data fragment.
+ */
+public interface ScrapInventoryOperations {
+
+    /**
+     * Adds {@code weight} to the scrap box of one purity, creating the row on first use.
+     * Runs as {@code SET total_weight = total_weight + ?} so concurrent trade-ins never overwrite each other.
+     */
+    void addWeight(KaratEnum purity, BigDecimal weight);
+
+    /**
+     * Takes {@code weight} out of the scrap box, in the same statement that checks there is enough.
+     * Returns false (and changes nothing) when the box holds less.
+     */
+    boolean removeWeight(KaratEnum purity, BigDecimal weight);
+}
@@ -0,0 +1,55 @@
+package com.jewelry.pos.domain.repository;
+
+import com.jewelry.pos.core.journal.JournalEventListener;
+import com.jewelry.pos.domain.entity.KaratEnum;
+import com.jewelry.pos.domain.entity.ScrapInventory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class ScrapInventoryOperationsImpl implements ScrapInventoryOperations {
+
+    private static final String ADD_SQL = "UPDATE scrap_inventory SET total_weight = total_weight + ? WHERE purity = ?";
+
+    private static final String REMOVE_SQL =
+            "UPDATE scrap_inventory SET total_weight = total_weight - ? WHERE purity = ? AND total_weight >= ?";
+
+    private static final String CREATE_SQL = "INSERT INTO scrap_inventory (purity, total_weight) VALUES (?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JournalEventListener journalEventListener;
+
+    @Override
+    public void addWeight(KaratEnum purity, BigDecimal weight) {
+        if (jdbcTemplate.update(ADD_SQL, weight, purity.name()) == 0) {
+            // First scrap of this purity: create the zero row, then apply the weight.
+            // If another counter created it between our UPDATE and INSERT, the retry below still lands.
+            try {
+                jdbcTemplate.update(CREATE_SQL, purity.name());
+            } catch (DuplicateKeyException ignored) {
+                // Row already exists - fall through to the increment
+            }
+            jdbcTemplate.update(ADD_SQL, weight, purity.name());
+        }
+        journal(purity, weight);
+    }
+
+    @Override
+    public boolean removeWeight(KaratEnum purity, BigDecimal weight) {
+        if (jdbcTemplate.update(REMOVE_SQL, weight, purity.name(), weight) == 0) {
+            return false;
+        }
+        journal(purity, weight.negate());
+        return true;
+    }
+
+    // Plain JDBC raises no Hibernate event, so the change journal is told directly
+    private void journal(KaratEnum purity, BigDecimal change) {
+        journalEventListener.recordAddition(ScrapInventory.class, "scrap_inventory",
+                Map.of("purity", purity.name()), Map.of("total_weight", change));
+    }
+}
@@ -4,5 +4,5 @@ import com.jewelry.pos.domain.entity.KaratEnum;
 import com.jewelry.pos.domain.entity.ScrapInventory;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface ScrapInventoryRepository extends JpaRepository<ScrapInventory, KaratEnum> {
+public interface ScrapInventoryRepository extends JpaRepository<ScrapInventory, KaratEnum>, ScrapInventoryOperations {
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.jewelry.pos.domain.repository;
 
 import com.jewelry.pos.domain.entity.ScrapPurification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -9,4 +11,11 @@ import java.util.List;
 public interface ScrapPurificationRepository extends JpaRepository<ScrapPurification, String> {
     // Add this method inside the interface
     List<ScrapPurification> findAllByTransactionDateBetween(LocalDateTime start, LocalDateTime end);
+
+    // Daily totals - Returns date, cash received (used to rebuild the daily ledger summary)
+    @Query("SELECT CAST(p.transactionDate AS LocalDate), SUM(p.cashReceived) " +
+           "FROM ScrapPurification p " +
+           "WHERE p.transactionDate BETWEEN :start AND :end " +
+           "GROUP BY CAST(p.transactionDate AS LocalDate)")
+    List<Object[]> findDailyTotals(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 }
\ No newline at end of file
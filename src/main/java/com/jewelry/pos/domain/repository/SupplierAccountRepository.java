@@ -4,6 +4,8 @@ import com.jewelry.pos.domain.entity.SupplierAccount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -15,6 +17,30 @@ public interface SupplierAccountRepository extends JpaRepository<SupplierAccount
     Page<SupplierAccount> findBySupplierId(String supplierId, Pageable pageable);
     
     List<SupplierAccount> findBySupplierId(String supplierId);
+
+    // Net balance per supplier from the materialized ledger_balance rows (no ledger scan)
+    // Returns supplierId, supplierName, netFees, netWeight, transactionCount - suppliers without entries included
+    @Query("SELECT s.id, s.name, " +
+           "COALESCE(b.moneyReceivable - b.moneyPayable, 0), " +
+           "COALESCE(b.weightReceivable - b.weightPayable, 0), " +
+           "COALESCE(b.entryCount, 0) " +
+           "FROM Supplier s LEFT JOIN LedgerBalance b " +
+           "ON b.id.ledgerType = com.jewelry.pos.domain.entity.LedgerTypeEnum.SUPPLIER AND b.id.partyId = s.id " +
+           "ORDER BY s.id")
+    List<Object[]> findSupplierBalances();
+
+    // Totals per supplier and direction - Returns supplierId, type, count, fees, weight (used to rebuild / verify ledger_balance)
+    @Query("SELECT s.supplierId, s.transactionType, COUNT(s), SUM(s.fees), SUM(s.weight) " +
+           "FROM SupplierAccount s " +
+           "GROUP BY s.supplierId, s.transactionType")
+    List<Object[]> findBalanceTotals();
     
     List<SupplierAccount> findAllByTransactionDateBetween(LocalDateTime start, LocalDateTime end);
+
+    // Daily totals per direction - Returns date, type, fees, weight (used to rebuild the daily ledger summary)
+    @Query("SELECT CAST(s.transactionDate AS LocalDate), s.transactionType, SUM(s.fees), SUM(s.weight) " +
+           "FROM SupplierAccount s " +
+           "WHERE s.transactionDate BETWEEN :start AND :end " +
+           "GROUP BY CAST(s.transactionDate AS LocalDate), s.transactionType")
+    List<Object[]> findDailyTotals(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 }
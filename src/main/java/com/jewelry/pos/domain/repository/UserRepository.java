@@ -2,9 +2,17 @@ package com.jewelry.pos.domain.repository;
 
 import com.jewelry.pos.domain.entity.AppUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<AppUser, String> {
     Optional<AppUser> findByUsername(String username);
     boolean existsByUsername(String username);
-}
\ No newline at end of file
+
+    // [tokenVersion, enabled] without loading roles and permissions
+    @Query("SELECT u.tokenVersion, u.enabled FROM AppUser u WHERE u.username = :username")
+    List<Object[]> findTokenStateByUsername(@Param("username") String username);
+}
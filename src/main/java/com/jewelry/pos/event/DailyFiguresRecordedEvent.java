@@ -0,0 +1,12 @@
+package com.jewelry.pos.event;
+
+import com.jewelry.pos.domain.entity.DailyLedgerFigures;
+
+import java.time.LocalDate;
+
+/**
+ * Published by the daily ledger summary for every write it adds to a day (a reversal carries the
+ * negated figures), so the live dashboard can apply the same delta without re-reading the row.
+ */
+public record DailyFiguresRecordedEvent(LocalDate day, DailyLedgerFigures figures) {
+}
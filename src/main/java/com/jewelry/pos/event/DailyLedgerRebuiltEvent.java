@@ -0,0 +1,14 @@
+package com.jewelry.pos.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published when the daily ledger summary has been recomputed from the source tables for a range
+ * of days, replacing the incremental figures for those days.
+ */
+public record DailyLedgerRebuiltEvent(LocalDate fromDate, LocalDate toDate) {
+
+    public boolean covers(LocalDate day) {
+        return !day.isBefore(fromDate) && !day.isAfter(toDate);
+    }
+}
@@ -0,0 +1,10 @@
+package com.jewelry.pos.event;
+
+import com.jewelry.pos.domain.entity.GoldRate;
+
+/**
+ * Published when a new gold rate has been saved (manually or by the price scraper).
+ * Listeners with {@code @TransactionalEventListener} only see it once the rate is committed.
+ */
+public record GoldRateChangedEvent(GoldRate rate) {
+}
@@ -0,0 +1,8 @@
+package com.jewelry.pos.event;
+
+/**
+ * Published when a hardware job has been written to the outbox.
+ * The queue only hands it to the worker after the enclosing transaction commits.
+ */
+public record HardwareJobQueuedEvent(String jobId) {
+}
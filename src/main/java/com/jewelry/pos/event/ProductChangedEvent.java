@@ -0,0 +1,9 @@
+package com.jewelry.pos.event;
+
+import com.jewelry.pos.domain.entity.Product;
+
+/**
+ * Published after a product is created or edited through the inventory screens.
+ */
+public record ProductChangedEvent(Product product) {
+}
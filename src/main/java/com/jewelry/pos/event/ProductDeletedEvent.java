@@ -0,0 +1,7 @@
+package com.jewelry.pos.event;
+
+/**
+ * Published after a product is deleted.
+ */
+public record ProductDeletedEvent(String productId) {
+}
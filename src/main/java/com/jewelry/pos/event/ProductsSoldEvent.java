@@ -0,0 +1,10 @@
+package com.jewelry.pos.event;
+
+import java.util.Collection;
+
+/**
+ * Published by checkout once the cart's products have been flipped to SOLD.
+ * The flip is a bulk JDBC update, so no per-entity JPA callbacks fire for it.
+ */
+public record ProductsSoldEvent(Collection<String> productIds) {
+}
@@ -0,0 +1,10 @@
+package com.jewelry.pos.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by checkout once a sale and its lines are saved. Carries only the fields
+ * the sales history search indexes, so listeners never touch the persistence context.
+ */
+public record SaleRecordedEvent(String saleId, LocalDateTime transactionDate, String customerName, String customerPhone) {
+}
@@ -0,0 +1,7 @@
+package com.jewelry.pos.event;
+
+/**
+ * Published when a sale is voided (deleted) from the sales history.
+ */
+public record SaleVoidedEvent(String saleId) {
+}
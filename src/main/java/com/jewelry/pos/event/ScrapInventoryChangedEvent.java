@@ -0,0 +1,12 @@
+package com.jewelry.pos.event;
+
+import com.jewelry.pos.domain.entity.KaratEnum;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when weight is added to (trade-in) or taken from (purification) a scrap box.
+ * {@code weightDelta} is negative for a removal.
+ */
+public record ScrapInventoryChangedEvent(KaratEnum purity, BigDecimal weightDelta) {
+}
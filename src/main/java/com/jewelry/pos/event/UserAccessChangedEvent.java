@@ -0,0 +1,8 @@
+package com.jewelry.pos.event;
+
+/**
+ * Published when a user is disabled, deleted or has their roles changed.
+ * Tokens issued to that user before the change stop being accepted once it is committed.
+ */
+public record UserAccessChangedEvent(String username) {
+}
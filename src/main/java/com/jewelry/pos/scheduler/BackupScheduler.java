@@ -1,74 +1,95 @@
 package com.jewelry.pos.scheduler;
 
+import com.jewelry.pos.core.metrics.OperationMetrics;
+import com.jewelry.pos.service.backup.IncrementalBackupService;
+import com.jewelry.pos.service.backup.IncrementalBackupService.DeltaResult;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.stream.Stream;
+import java.util.Optional;
 
+/**
+ * Full snapshot at closing time, and every few minutes a delta of the rows written since the
+ * previous backup (see {@link IncrementalBackupService}). A delta is a handful of row reads, so the
+ * counter does not notice it; the snapshot is an online dump and does not lock the shop either.
+ * When the newest snapshot is missing or older than {@code backup.full-max-age-hours} (the PC was
+ * off at closing time), the next delta run takes a snapshot instead.
+ */
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class BackupScheduler {
 
-    private final JdbcTemplate jdbcTemplate;
-    private static final String BACKUP_DIR = "backups";
+    private final IncrementalBackupService backupService;
+    private final OperationMetrics metrics;
 
-    // Cron: Runs every day at 2:00 PM and 9:00 PM (Shop closing/opening times)
+    @Value("${backup.full-max-age-hours:24}")
+    private int fullMaxAgeHours;
+
+    @Value("${backup.retention-days:7}")
+    private int retentionDays;
+
+    // Cron: Runs every day at 9:00 PM (Shop closing time)
     // Format: second, minute, hour, day, month, weekday
-    @Scheduled(cron = "0 0 14,21 * * *") 
+    @Scheduled(cron = "${backup.full-cron:0 0 21 * * *}")
     public void performBackup() {
-        log.info("Starting scheduled database backup...");
-        
+        log.info("Starting scheduled full database backup...");
+        Timer.Sample sample = metrics.start();
+        String outcome = OperationMetrics.ERROR;
+
         try {
-            // 1. Ensure directory exists
-            Files.createDirectories(Paths.get(BACKUP_DIR));
+            // 1. Encrypted online snapshot
+            log.info("Backup successful: {}", backupService.fullSnapshot());
+            outcome = OperationMetrics.SUCCESS;
 
-            // 2. Generate Filename
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String fileName = BACKUP_DIR + "/auto_backup_" + timestamp + ".zip";
+            // 2. Cleanup old snapshots and the deltas that depend on them
+            backupService.cleanOldBackups(retentionDays);
 
-            // 3. Execute H2 Safe Backup Command
-            jdbcTemplate.execute("BACKUP TO '" + fileName + "'");
-            
-            log.info("Backup successful: {}", fileName);
+        } catch (Exception e) {
+            log.error("Scheduled backup failed!", e);
+        } finally {
+            metrics.stop(sample, "backup.duration", outcome, "type", "full");
+        }
+    }
 
-            // 4. Cleanup old backups (older than 7 days)
-            cleanOldBackups();
+    @Scheduled(fixedDelayString = "${backup.delta-interval-ms:300000}", initialDelayString = "${backup.delta-interval-ms:300000}")
+    public void performDeltaBackup() {
+        if (snapshotTooOld()) {
+            performBackup();
+            return;
+        }
 
+        Timer.Sample sample = metrics.start();
+        String outcome = OperationMetrics.ERROR;
+        try {
+            Optional<DeltaResult> delta = backupService.writeDelta();
+            if (delta.isPresent()) {
+                log.info("Delta backup: {} ({} rows)", delta.get().file(), delta.get().changes());
+                metrics.count("backup.delta.rows", delta.get().changes());
+                outcome = OperationMetrics.SUCCESS;
+            } else {
+                outcome = OperationMetrics.SKIPPED;
+            }
         } catch (Exception e) {
-            log.error("Scheduled backup failed!", e);
+            log.error("Delta backup failed!", e);
+        } finally {
+            metrics.stop(sample, "backup.duration", outcome, "type", "delta");
         }
     }
 
-    private void cleanOldBackups() {
-        try (Stream<Path> files = Files.list(Paths.get(BACKUP_DIR))) {
-            files.filter(path -> path.toString().endsWith(".zip"))
-                 .filter(path -> {
-                     // Simple logic: Check file Last Modified Time
-                     File file = path.toFile();
-                     long diff = System.currentTimeMillis() - file.lastModified();
-                     return diff > (7L * 24 * 60 * 60 * 1000); // 7 Days in milliseconds
-                 })
-                 .forEach(path -> {
-                     try {
-                         Files.delete(path);
-                         log.info("Deleted old backup: {}", path);
-                     } catch (IOException e) {
-                         log.error("Failed to delete old backup", e);
-                     }
-                 });
-        } catch (IOException e) {
-            log.error("Cleanup failed", e);
+    private boolean snapshotTooOld() {
+        try {
+            return backupService.latestSnapshotTime()
+                    .map(taken -> taken.isBefore(LocalDateTime.now().minusHours(fullMaxAgeHours)))
+                    .orElse(true);
+        } catch (Exception e) {
+            log.error("Could not list backups", e);
+            return false;
         }
     }
-}
\ No newline at end of file
+}
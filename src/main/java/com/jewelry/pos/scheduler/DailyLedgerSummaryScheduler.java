@@ -0,0 +1,44 @@
+package com.jewelry.pos.scheduler;
+
+import com.jewelry.pos.service.DailyLedgerSummaryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DailyLedgerSummaryScheduler {
+
+    // How many past days the nightly reconciliation recomputes
+    private static final int RECONCILE_DAYS = 7;
+
+    private final DailyLedgerSummaryService ledgerSummaryService;
+
+    // First start after the migration: back-fill the summary from the existing history
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            ledgerSummaryService.rebuildIfEmpty();
+        } catch (Exception e) {
+            log.error("❌ Daily ledger summary back-fill failed: {}", e.getMessage());
+        }
+    }
+
+    // Run daily at 3 AM (after the gold rate cleanup) to correct any drift in the last week
+    @Scheduled(cron = "0 0 3 * * ?")
+    public void reconcileRecentDays() {
+        try {
+            LocalDate today = LocalDate.now();
+            ledgerSummaryService.rebuild(today.minusDays(RECONCILE_DAYS), today);
+            log.info("✅ Daily ledger summary reconciled for the last {} days", RECONCILE_DAYS);
+        } catch (Exception e) {
+            log.error("❌ Daily ledger summary reconciliation failed: {}", e.getMessage());
+        }
+    }
+}
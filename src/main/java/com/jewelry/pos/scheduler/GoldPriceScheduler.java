@@ -1,10 +1,12 @@
 package com.jewelry.pos.scheduler;
 
+import com.jewelry.pos.core.metrics.OperationMetrics;
 import com.jewelry.pos.service.GoldRateService;
 import com.jewelry.pos.service.SystemConfigService;
 import com.jewelry.pos.web.dto.GoldRateRequestDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.Timer;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -25,17 +27,30 @@ public class GoldPriceScheduler {
 
     private final GoldRateService goldRateService;
     private final SystemConfigService configService;
+    private final OperationMetrics metrics;
 
     // ✅ CORRECTED URL (Tested & Valid)
     private static final String SCRAPE_URL = "https://egypt.gold-price-today.com/";
 
+    // gold.price.fetch outcome when the page loaded but had no 24k row
+    private static final String NO_PRICE = "no-price";
+
     // Run every 5 minutes
     @Scheduled(fixedRate = 300000)
     public void fetchGoldPrice() {
-        if (!configService.isGoldAutoUpdateEnabled()) {
-            return;
+        Timer.Sample sample = metrics.start();
+        String outcome = OperationMetrics.SKIPPED;
+        try {
+            if (configService.isGoldAutoUpdateEnabled()) {
+                outcome = scrapeGoldPrice();
+            }
+        } finally {
+            metrics.stop(sample, "gold.price.fetch", outcome);
         }
+    }
 
+    // Returns the gold.price.fetch outcome; failures are logged, the old price stays
+    private String scrapeGoldPrice() {
         log.info("Connecting to Gold Price Source: {}", SCRAPE_URL);
 
         try {
@@ -58,12 +73,15 @@ public class GoldPriceScheduler {
                 goldRateService.setDailyRate(dto);
 
                 log.info("✅ Gold Price Updated: 24k = {} EGP", price24k.intValue());
+                return OperationMetrics.SUCCESS;
             } else {
                 log.warn("⚠️ Content found, but could not identify 24k price row.");
+                return NO_PRICE;
             }
 
         } catch (Exception e) {
             log.error("❌ Scrape failed: {}. Keeping old price.", e.getMessage());
+            return OperationMetrics.ERROR;
         }
     }
 
@@ -0,0 +1,42 @@
+package com.jewelry.pos.scheduler;
+
+import com.jewelry.pos.service.LedgerBalanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class LedgerBalanceScheduler {
+
+    private final LedgerBalanceService ledgerBalanceService;
+
+    // First start after the migration: fill the balances from the existing ledger entries
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            ledgerBalanceService.rebuildIfEmpty();
+        } catch (Exception e) {
+            log.error("❌ Ledger balance back-fill failed: {}", e.getMessage());
+        }
+    }
+
+    // Run daily at 3:30 AM (after the daily summary reconciliation) to catch and repair any drift
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void verifyBalances() {
+        try {
+            int corrected = ledgerBalanceService.verifyAndRepair();
+            if (corrected == 0) {
+                log.info("✅ Ledger balances verified against the ledgers");
+            } else {
+                log.warn("⚠️ Ledger balance verification corrected {} balances", corrected);
+            }
+        } catch (Exception e) {
+            log.error("❌ Ledger balance verification failed: {}", e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.jewelry.pos.security;
 
-import com.jewelry.pos.service.CustomUserDetailsService;
+import com.jewelry.pos.core.metrics.OperationMetrics;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,55 +10,79 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates API calls from the Bearer token alone: the authorities come from the token's
+ * "roles" claim, and {@link UserTokenVersionCache} rejects tokens that were revoked by disabling
+ * the user or changing their roles. No database access on the request path once the user's
+ * version is cached, and no signature check for a token {@link JwtTokenVerifier} has seen recently.
+ * <p>
+ * The filter's own work is timed as {@code auth.jwt.filter}, tagged with the outcome:
+ * {@code authenticated}, {@code invalid}, {@code revoked} or {@code anonymous} (no Bearer header).
+ */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final JwtTokenVerifier tokenVerifier;
+    private final UserTokenVersionCache tokenVersionCache;
+    private final OperationMetrics metrics;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
+        // Started before the header check, so every outcome (anonymous included) times the same work
+        Timer.Sample sample = metrics.start();
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            logger.debug("No Authorization header found or invalid format");
+            metrics.stop(sample, "auth.jwt.filter", "anonymous");
+        } else if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            String outcome = OperationMetrics.ERROR;
             try {
-                username = jwtUtil.extractUsername(jwt);
-                logger.info("JWT Token found for user: " + username);
-            } catch (Exception e) {
-                logger.error("JWT Token extraction failed: " + e.getMessage(), e);
+                outcome = authenticate(authorizationHeader.substring(7), request);
+            } finally {
+                metrics.stop(sample, "auth.jwt.filter", outcome);
             }
-        } else {
-            logger.warn("No Authorization header found or invalid format");
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authenticationToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-                logger.info("JWT authentication successful for user: " + username);
-            } else {
-                logger.warn("JWT token validation failed for user: " + username);
-            }
+        filterChain.doFilter(request, response);
+    }
+
+    // Returns the auth.jwt.filter outcome
+    private String authenticate(String jwt, HttpServletRequest request) {
+        VerifiedToken token;
+        try {
+            // 1. Signature and expiry (once per token)
+            token = tokenVerifier.verify(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.warn("JWT token validation failed: " + e.getMessage());
+            return "invalid";
         }
 
-        filterChain.doFilter(request, response);
+        // 2. Revocation (user disabled, deleted or roles changed since login)
+        String username = token.username();
+        if (username == null || !tokenVersionCache.isCurrent(username, token.tokenVersion())) {
+            logger.warn("JWT token revoked for user: " + username);
+            return "revoked";
+        }
+
+        // 3. Authorities exactly as issued at login
+        User principal = new User(username, "", token.authorities());
+
+        UsernamePasswordAuthenticationToken authenticationToken =
+                new UsernamePasswordAuthenticationToken(principal, null, token.authorities());
+        authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+        logger.debug("JWT authentication successful for user: " + username);
+        return "authenticated";
     }
 }
@@ -0,0 +1,72 @@
+package com.jewelry.pos.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifies each Bearer token once and keeps the result for the next requests.
+ * <p>
+ * A terminal sends the same token on every call until it logs in again, so the last
+ * {@value #CACHE_SIZE} verified tokens are kept (least recently used goes first) and a repeat
+ * request skips the HMAC check and the JSON parse. A cached token is still dropped at its expiry.
+ * Revocation is not cached here: {@link UserTokenVersionCache} is checked on every request.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtTokenVerifier {
+
+    private static final int CACHE_SIZE = 256;
+
+    private final JwtUtil jwtUtil;
+
+    private final Map<String, VerifiedToken> recentTokens = Collections.synchronizedMap(
+            new LinkedHashMap<>(CACHE_SIZE * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    /**
+     * Throws {@link io.jsonwebtoken.JwtException} if the token is forged, malformed or expired.
+     */
+    public VerifiedToken verify(String token) {
+        Instant now = Instant.now();
+        VerifiedToken cached = recentTokens.get(token);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            recentTokens.remove(token);
+            throw new ExpiredJwtException(null, null, "JWT expired at " + cached.expiresAt());
+        }
+
+        // Signature, expiry and payload in a single parse
+        Claims claims = jwtUtil.parseClaims(token);
+        List<GrantedAuthority> authorities = jwtUtil.extractRoles(claims).stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                authorities,
+                jwtUtil.extractTokenVersion(claims),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+
+        recentTokens.put(token, verified);
+        return verified;
+    }
+
+    public int cachedTokenCount() {
+        return recentTokens.size();
+    }
+}
@@ -0,0 +1,50 @@
+package com.jewelry.pos.security;
+
+import com.jewelry.pos.domain.repository.UserRepository;
+import com.jewelry.pos.event.UserAccessChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The current token version of each user, so {@link JwtAuthenticationFilter} can trust the
+ * authorities inside a JWT without loading the user on every request.
+ * <p>
+ * A user's version is read from the database on their first request and then kept until
+ * {@link UserAccessChangedEvent} evicts it (after commit). Disabled and deleted users are
+ * cached as revoked, so none of their tokens pass.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserTokenVersionCache {
+
+    private static final int REVOKED = -1;
+
+    private final UserRepository userRepository;
+
+    private final ConcurrentMap<String, Integer> versions = new ConcurrentHashMap<>();
+
+    public boolean isCurrent(String username, int tokenVersion) {
+        int current = versions.computeIfAbsent(username, this::loadVersion);
+        return current != REVOKED && current == tokenVersion;
+    }
+
+    @TransactionalEventListener
+    public void onUserAccessChanged(UserAccessChangedEvent event) {
+        versions.remove(event.username());
+    }
+
+    private int loadVersion(String username) {
+        List<Object[]> rows = userRepository.findTokenStateByUsername(username);
+        if (rows.isEmpty()) {
+            return REVOKED;
+        }
+        Object[] row = rows.get(0);
+        boolean enabled = Boolean.TRUE.equals(row[1]);
+        return enabled ? ((Number) row[0]).intValue() : REVOKED;
+    }
+}
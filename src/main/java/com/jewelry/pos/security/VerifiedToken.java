@@ -0,0 +1,17 @@
+package com.jewelry.pos.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * What a request needs from a JWT once its signature has been checked:
+ * the subject, the authorities from the "roles" claim, the token version and the expiry.
+ */
+public record VerifiedToken(String username, List<GrantedAuthority> authorities, int tokenVersion, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -1,21 +1,28 @@
 package com.jewelry.pos.service;
 
+import com.jewelry.pos.core.metrics.OperationMetrics;
 import com.jewelry.pos.domain.entity.*;
 import com.jewelry.pos.domain.repository.*;
+import com.jewelry.pos.event.ProductsSoldEvent;
+import com.jewelry.pos.event.SaleRecordedEvent;
 import com.jewelry.pos.web.dto.OldGoldRequestDTO;
 import com.jewelry.pos.web.dto.SaleRequestDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,9 +31,11 @@ public class CheckoutService {
 
     private final ProductRepository productRepository;
     private final SaleRepository saleRepository;
-    private final HardwareService hardwareService;
-    private final SystemConfigService configService;
+    private final HardwareJobQueue hardwareJobQueue;
     private final OldGoldService oldGoldService; // <--- 1. Inject New Service
+    private final DailyLedgerSummaryService ledgerSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OperationMetrics metrics;
 
     // Self-Inject to allow internal method calls to go through the Spring Proxy
     @Autowired
@@ -35,19 +44,19 @@ public class CheckoutService {
 
     /**
      * Orchestrator Method:
-     * 1. Persist Data (Critical, Transactional)
-     * 2. Trigger Hardware (Non-Critical, Retryable)
+     * 1. Persist Data (Critical, Transactional) - this also queues the cash drawer job
+     * 2. Return to the cashier; the hardware worker opens the drawer in the background
+     * <p>
+     * Metrics: {@code checkout.sale} (the whole call) and {@code checkout.phase} with {@code phase=database}
+     * (the transaction up to commit). The drawer phase runs on the hardware worker and is timed there as
+     * {@code hardware.job.execution} with {@code type=OPEN_CASH_DRAWER}.
      */
     public void processSale(SaleRequestDTO request) {
-        // Step 1: Execute DB Transaction via the 'self' proxy
-        Sale savedSale = self.executeFinancialTransaction(request);
-
-        // Step 2: Trigger Hardware with Automatic Retries
-        try {
-            self.triggerHardwareSafely(savedSale.getId());
-        } catch (Exception e) {
-            log.error("CRITICAL HARDWARE FAILURE: Cash drawer failed to open for Sale {}. Please use manual key.", savedSale.getId(), e);
-        }
+        metrics.run("checkout.sale", () -> {
+            // Execute DB Transaction via the 'self' proxy. No hardware wait (or retry delay) on this thread.
+            Sale sale = metrics.record("checkout.phase", () -> self.executeFinancialTransaction(request), "phase", "database");
+            metrics.count("checkout.items", sale.getItems().size());
+        });
     }
 
     /**
@@ -60,7 +69,7 @@ public class CheckoutService {
         Sale sale = new Sale();
 
         // Validate Request Integrity
-        Set<String> uniqueRequestBarcodes = new HashSet<>(request.barcodes());
+        Set<String> uniqueRequestBarcodes = new LinkedHashSet<>(request.barcodes());
         if (uniqueRequestBarcodes.size() < request.barcodes().size()) {
             throw new IllegalArgumentException("Duplicate items detected in the cart. Please check scanned list.");
         }
@@ -68,14 +77,22 @@ public class CheckoutService {
         sale.setCustomerName(request.customerName());
         sale.setCustomerPhone(request.customerPhone());
 
+        // 2. Resolve the whole cart with a single IN query (instead of one lookup per barcode)
+        Map<String, Product> productsByBarcode = productRepository.findAllByBarcodeIn(uniqueRequestBarcodes).stream()
+                .collect(Collectors.toMap(Product::getBarcode, Function.identity()));
+
+        List<Product> cartProducts = new ArrayList<>(uniqueRequestBarcodes.size());
         BigDecimal totalCartAmount = BigDecimal.ZERO;
+        BigDecimal totalCartCost = BigDecimal.ZERO; // COGS, for the daily ledger summary
 
-        // 2. Loop through each New Item (Selling)
+        // 3. Loop through each New Item (Selling) in scan order
         for (String barcode : uniqueRequestBarcodes) {
-            Product product = productRepository.findByBarcode(barcode)
-                    .orElseThrow(() -> new IllegalArgumentException("Product not found: " + barcode));
+            Product product = productsByBarcode.get(barcode);
+            if (product == null) {
+                throw new IllegalArgumentException("Product not found: " + barcode);
+            }
 
-            // A. Inventory Check
+            // A. Inventory Check (in memory - the bulk update below re-checks it under lock)
             if (product.getStatus() != ProductStatusEnum.AVAILABLE) {
                 throw new IllegalStateException("Item '" + product.getModelName() + "' (" + barcode + ") is not AVAILABLE for sale. Current status: " + product.getStatus());
             }
@@ -96,19 +113,26 @@ public class CheckoutService {
 
             // E. Add to Total
             totalCartAmount = totalCartAmount.add(itemTotal);
+            if (product.getCostPrice() != null) {
+                totalCartCost = totalCartCost.add(product.getCostPrice());
+            }
 
-            // F. Mark Product as SOLD
-            product.setStatus(ProductStatusEnum.SOLD);
-            productRepository.save(product);
+            cartProducts.add(product);
         }
 
-        // 3. Set Gross Total (Before Trade-in)
+        // F. Mark every Product as SOLD in one versioned batch update. It is plain JDBC, so it also
+        //    detaches the cart's Product instances: the persistence context would otherwise keep
+        //    serving them as AVAILABLE with the old version for the rest of this transaction.
+        productRepository.markAsSold(cartProducts);
+        eventPublisher.publishEvent(new ProductsSoldEvent(cartProducts.stream().map(Product::getId).toList()));
+
+        // 4. Set Gross Total (Before Trade-in)
         sale.setTotalAmount(totalCartAmount);
 
-        // 4. Save Sale FIRST to generate the ID (Needed to link Old Gold records)
+        // 5. Save Sale FIRST to generate the ID (Needed to link Old Gold records)
         Sale savedSale = saleRepository.save(sale);
 
-        // 5. Process Trade-Ins (Old Gold)
+        // 6. Process Trade-Ins (Old Gold)
         BigDecimal totalOldGoldValue = BigDecimal.ZERO;
 
         if (request.tradeInItems() != null && !request.tradeInItems().isEmpty()) {
@@ -120,36 +144,29 @@ public class CheckoutService {
             }
         }
 
-        // 6. Final Calculations (Net Pay)
+        // 7. Final Calculations (Net Pay)
         BigDecimal netToPay = totalCartAmount.subtract(totalOldGoldValue);
 
         savedSale.setOldGoldTotalValue(totalOldGoldValue);
         savedSale.setNetCashPaid(netToPay);
 
-        // 7. Update and Final Save
+        // 8. Update and Final Save
         Sale finalSale = saleRepository.save(savedSale);
 
+        // 9. Roll the sale into today's dashboard figures (same transaction)
+        ledgerSummaryService.record(finalSale.getTransactionDate(), DailyLedgerFigures.sale(totalCartAmount, totalCartCost));
+
+        // 10. Queue the cash drawer (outbox row in this transaction, runs after commit)
+        hardwareJobQueue.enqueue(HardwareJobTypeEnum.OPEN_CASH_DRAWER, finalSale.getId());
+
+        // 11. Make the sale findable in the history search (applied after commit)
+        eventPublisher.publishEvent(new SaleRecordedEvent(finalSale.getId(), finalSale.getTransactionDate(),
+                finalSale.getCustomerName(), finalSale.getCustomerPhone()));
+
         log.info("Financial Transaction Persisted: Sale ID {} | Total: {} | Old Gold: {} | Net Paid: {}",
                 finalSale.getId(), finalSale.getTotalAmount(), totalOldGoldValue, netToPay);
 
         return finalSale;
     }
 
-    /**
-     * HARDWARE BOUNDARY
-     */
-    @Retryable(
-            retryFor = { Exception.class },
-            maxAttempts = 3,
-            backoff = @Backoff(delay = 1000)
-    )
-    public void triggerHardwareSafely(String saleId) {
-        if (!configService.isHardwareEnabled()) {
-            log.info("Hardware disabled in settings. Skipping cash drawer/printer.");
-            return;
-        }
-
-        log.info("Attempting hardware trigger for Sale {}", saleId);
-        hardwareService.openCashDrawer();
-    }
-}
\ No newline at end of file
+}
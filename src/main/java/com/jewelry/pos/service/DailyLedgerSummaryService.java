@@ -0,0 +1,144 @@
+package com.jewelry.pos.service;
+
+import com.jewelry.pos.domain.entity.DailyLedgerFigures;
+import com.jewelry.pos.domain.entity.DailyLedgerSummary;
+import com.jewelry.pos.domain.entity.TransactionTypeEnum;
+import com.jewelry.pos.domain.repository.*;
+import com.jewelry.pos.event.DailyFiguresRecordedEvent;
+import com.jewelry.pos.event.DailyLedgerRebuiltEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps the {@code daily_ledger_summary} table in step with the financial writes.
+ * Writers call {@link #record} inside their own transaction, so a rolled back sale
+ * or ledger entry never reaches the summary. Readers get one row per day.
+ * <p>
+ * Each write is also published as a {@link DailyFiguresRecordedEvent}; after-commit listeners
+ * (the live dashboard) apply the same delta in memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DailyLedgerSummaryService {
+
+    // Lower bound used when rebuilding "everything"
+    private static final LocalDate HISTORY_START = LocalDate.of(2000, 1, 1);
+
+    private final DailyLedgerSummaryRepository summaryRepository;
+
+    // Source tables (only touched by the rebuild job)
+    private final SaleRepository saleRepository;
+    private final OldGoldPurchaseRepository oldGoldRepository;
+    private final ScrapPurificationRepository purificationRepository;
+    private final PersonalAccountRepository personalAccountRepository;
+    private final SupplierAccountRepository supplierAccountRepository;
+    private final HomeExpenseRepository homeExpenseRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    // ==========================================
+    // WRITE PATH (called by the business services)
+    // ==========================================
+
+    @Transactional
+    public void record(LocalDateTime transactionDate, DailyLedgerFigures figures) {
+        summaryRepository.addToDay(transactionDate.toLocalDate(), figures);
+        eventPublisher.publishEvent(new DailyFiguresRecordedEvent(transactionDate.toLocalDate(), figures));
+    }
+
+    // Reverse a previously recorded write (void / delete)
+    @Transactional
+    public void reverse(LocalDateTime transactionDate, DailyLedgerFigures figures) {
+        DailyLedgerFigures reversal = figures.negate();
+        summaryRepository.addToDay(transactionDate.toLocalDate(), reversal);
+        eventPublisher.publishEvent(new DailyFiguresRecordedEvent(transactionDate.toLocalDate(), reversal));
+    }
+
+    // ==========================================
+    // READ PATH (dashboard)
+    // ==========================================
+
+    @Transactional(readOnly = true)
+    public DailyLedgerFigures getTotals(LocalDate fromDate, LocalDate toDate) {
+        return summaryRepository.findAllBySummaryDateBetweenOrderBySummaryDate(fromDate, toDate).stream()
+                .map(DailyLedgerSummary::toFigures)
+                .reduce(DailyLedgerFigures.ZERO, DailyLedgerFigures::plus);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailyLedgerSummary> getDays(LocalDate fromDate, LocalDate toDate) {
+        return summaryRepository.findAllBySummaryDateBetweenOrderBySummaryDate(fromDate, toDate);
+    }
+
+    // ==========================================
+    // REBUILD JOB (historical back-fill / reconciliation)
+    // ==========================================
+
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (summaryRepository.count() == 0) {
+            log.info("Daily ledger summary is empty - rebuilding from history...");
+            rebuild(HISTORY_START, LocalDate.now());
+        }
+    }
+
+    /**
+     * Recomputes every day in the range from the source tables with one grouped query per table,
+     * replacing whatever the incremental path wrote for those days.
+     */
+    @Transactional
+    public int rebuild(LocalDate fromDate, LocalDate toDate) {
+        LocalDateTime start = fromDate.atStartOfDay();
+        LocalDateTime end = toDate.atTime(LocalTime.MAX);
+
+        Map<LocalDate, DailyLedgerFigures> days = new TreeMap<>();
+
+        for (Object[] row : saleRepository.findDailySalesTrend(start, end)) {
+            // date, count, revenue
+            merge(days, (LocalDate) row[0], DailyLedgerFigures.sales(((Number) row[1]).longValue(), (BigDecimal) row[2], BigDecimal.ZERO));
+        }
+        for (Object[] row : saleRepository.findDailyCostOfGoods(start, end)) {
+            merge(days, (LocalDate) row[0], DailyLedgerFigures.sales(0, BigDecimal.ZERO, (BigDecimal) row[1]));
+        }
+        for (Object[] row : oldGoldRepository.findDailyTotals(start, end)) {
+            merge(days, (LocalDate) row[0], DailyLedgerFigures.oldGold((BigDecimal) row[1], (BigDecimal) row[2]));
+        }
+        for (Object[] row : purificationRepository.findDailyTotals(start, end)) {
+            merge(days, (LocalDate) row[0], DailyLedgerFigures.purification((BigDecimal) row[1]));
+        }
+        for (Object[] row : personalAccountRepository.findDailyTotals(start, end)) {
+            merge(days, (LocalDate) row[0], DailyLedgerFigures.personal((TransactionTypeEnum) row[1], (BigDecimal) row[2], (BigDecimal) row[3]));
+        }
+        for (Object[] row : supplierAccountRepository.findDailyTotals(start, end)) {
+            merge(days, (LocalDate) row[0], DailyLedgerFigures.supplier((TransactionTypeEnum) row[1], (BigDecimal) row[2], (BigDecimal) row[3]));
+        }
+        for (Object[] row : homeExpenseRepository.findDailyTotals(start, end)) {
+            merge(days, (LocalDate) row[0], DailyLedgerFigures.home((TransactionTypeEnum) row[1], (BigDecimal) row[2], (BigDecimal) row[3]));
+        }
+
+        summaryRepository.deleteAllBySummaryDateBetween(fromDate, toDate);
+        summaryRepository.saveAll(days.entrySet().stream()
+                .map(e -> new DailyLedgerSummary(e.getKey(), e.getValue()))
+                .toList());
+        eventPublisher.publishEvent(new DailyLedgerRebuiltEvent(fromDate, toDate));
+
+        log.info("Daily ledger summary rebuilt for {} .. {} ({} days with activity)", fromDate, toDate, days.size());
+        return days.size();
+    }
+
+    private void merge(Map<LocalDate, DailyLedgerFigures> days, LocalDate day, DailyLedgerFigures figures) {
+        days.merge(day, figures, DailyLedgerFigures::plus);
+    }
+}
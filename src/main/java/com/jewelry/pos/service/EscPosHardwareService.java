@@ -2,6 +2,7 @@ package com.jewelry.pos.service;
 
 import com.jewelry.pos.service.HardwareService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
@@ -22,6 +23,10 @@ public class EscPosHardwareService implements HardwareService {
     // Cut Paper Command (GS V 66 0)
     private static final byte[] CUT_PAPER_CMD = {0x1D, 0x56, 0x42, 0x00};
 
+    // The Zebra label printer, by its OS printer name. Blank = the default printer.
+    @Value("${hardware.label-printer:}")
+    private String labelPrinterName;
+
     @Override
     public void openCashDrawer() {
         log.info("Attempting to open cash drawer via Default Printer...");
@@ -42,10 +47,32 @@ public class EscPosHardwareService implements HardwareService {
         sendBytesToDefaultPrinter(combined);
     }
 
+    @Override
+    public void printLabels(String zpl) {
+        log.info("Sending label batch to label printer...");
+        // ZPL is raw bytes for the printer, like the ESC/POS commands (field data in UTF-8, see ^CI28)
+        sendBytes(labelPrinter(), zpl.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PrintService labelPrinter() {
+        if (labelPrinterName == null || labelPrinterName.isBlank()) {
+            return PrintServiceLookup.lookupDefaultPrintService();
+        }
+        for (PrintService service : PrintServiceLookup.lookupPrintServices(null, null)) {
+            if (service.getName().equalsIgnoreCase(labelPrinterName)) {
+                return service;
+            }
+        }
+        log.warn("Label printer '{}' not found. Using the default printer.", labelPrinterName);
+        return PrintServiceLookup.lookupDefaultPrintService();
+    }
+
     private void sendBytesToDefaultPrinter(byte[] data) {
         // 1. Find the default printer service (The OS default printer)
-        PrintService service = PrintServiceLookup.lookupDefaultPrintService();
+        sendBytes(PrintServiceLookup.lookupDefaultPrintService(), data);
+    }
 
+    private void sendBytes(PrintService service, byte[] data) {
         if (service == null) {
             log.error("CRITICAL: No default printer found! Cannot open drawer or print.");
             // In production, you might throw a custom RuntimeException here to alert the UI
@@ -1,23 +1,45 @@
 package com.jewelry.pos.service;
 
+import com.jewelry.pos.core.web.SseBroadcaster;
 import com.jewelry.pos.domain.entity.GoldRate;
 import com.jewelry.pos.domain.entity.PurityEnum;
 import com.jewelry.pos.domain.repository.GoldRateRepository;
+import com.jewelry.pos.event.GoldRateChangedEvent;
 import com.jewelry.pos.web.dto.GoldRateRequestDTO;
+import com.jewelry.pos.web.dto.KaratRateDTO;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
 public class GoldRateService {
 
+    // Request attribute holding the rate the current HTTP request is priced against
+    private static final String REQUEST_SNAPSHOT_ATTRIBUTE = GoldRateService.class.getName() + ".SNAPSHOT";
+
+    // Server-sent event stream of the current rate (see streamRates)
+    static final String RATES_TOPIC = "gold-rates";
+    static final String RATES_EVENT = "rates";
+
     private final GoldRateRepository goldRateRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SseBroadcaster sseBroadcaster;
+
+    // In-process copy of the active rate. Loaded once, then swapped by GoldRateChangedEvent.
+    private final AtomicReference<GoldRate> currentRate = new AtomicReference<>();
 
     @Transactional
     public void setDailyRate(GoldRateRequestDTO dto) {
@@ -32,7 +54,37 @@ public class GoldRateService {
         rate.setEffectiveDate(LocalDateTime.now());
         rate.setActive(true);
         
-        goldRateRepository.save(rate);
+        GoldRate saved = goldRateRepository.save(rate);
+
+        // The cached rate is swapped after commit (see onGoldRateChanged)
+        eventPublisher.publishEvent(new GoldRateChangedEvent(saved));
+    }
+
+    @TransactionalEventListener
+    public void onGoldRateChanged(GoldRateChangedEvent event) {
+        GoldRate previous = currentRate.getAndSet(event.rate());
+
+        // Push to the terminals once per actual change (the scraper re-saves an unchanged price every run)
+        if (previous == null || !samePrices(previous, event.rate())) {
+            sseBroadcaster.broadcast(RATES_TOPIC, RATES_EVENT, toKaratRates(event.rate()));
+        }
+    }
+
+    /**
+     * Stream of the current rate for the terminals: the latest value right away, then one
+     * {@code rates} event per change. Replaces polling {@code /current}.
+     */
+    public SseEmitter streamRates() {
+        return sseBroadcaster.subscribe(RATES_TOPIC, RATES_EVENT, this::getCurrentKaratRates);
+    }
+
+    // The current rate per karat; empty while no rate has been set
+    public List<KaratRateDTO> getCurrentKaratRates() {
+        try {
+            return toKaratRates(getLatestRate());
+        } catch (IllegalStateException e) {
+            return List.of();
+        }
     }
 
     public Page<GoldRate> getRateHistory(Pageable pageable) {
@@ -40,22 +92,72 @@ public class GoldRateService {
     }
     
     public GoldRate getLatestRate() {
-        return goldRateRepository.findTopByActiveTrueOrderByEffectiveDateDesc()
-                .orElseThrow(() -> new IllegalStateException("No Gold Rate set for today."));
+        GoldRate rate = currentRate.get();
+        if (rate == null) {
+            rate = goldRateRepository.findTopByActiveTrueOrderByEffectiveDateDesc()
+                    .orElseThrow(() -> new IllegalStateException("No Gold Rate set for today."));
+            // Don't overwrite a rate that an event installed while we were loading
+            if (!currentRate.compareAndSet(null, rate)) {
+                rate = currentRate.get();
+            }
+        }
+        return rate;
+    }
+
+    /**
+     * The rate the current HTTP request is priced against. Taken from {@link #getLatestRate()}
+     * on first use and then kept for the rest of the request, so every row of a page is priced
+     * with the same rate even if a new one is published half way through.
+     * Outside a web request this is just the latest rate.
+     */
+    public GoldRate getRequestSnapshot() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return getLatestRate();
+        }
+
+        GoldRate snapshot = (GoldRate) attributes.getAttribute(REQUEST_SNAPSHOT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (snapshot == null) {
+            snapshot = getLatestRate();
+            attributes.setAttribute(REQUEST_SNAPSHOT_ATTRIBUTE, snapshot, RequestAttributes.SCOPE_REQUEST);
+        }
+        return snapshot;
     }
     
     public BigDecimal getCurrentSellRateForPurity(PurityEnum purity) {
-        GoldRate latestRate = getLatestRate();
-        
-        return switch (purity) {
-            case K24 -> latestRate.getRate24k();
-            case K21 -> latestRate.getRate21k();
-            case K18 -> latestRate.getRate18k();
-        };
+        return sellRateForPurity(getLatestRate(), purity);
+    }
+
+    public BigDecimal getSnapshotSellRateForPurity(PurityEnum purity) {
+        return sellRateForPurity(getRequestSnapshot(), purity);
     }
 
     @Transactional
     public void deleteRatesOlderThan(LocalDateTime cutoffDate) {
         goldRateRepository.deleteByEffectiveDateBefore(cutoffDate);
+        // If the cached rate was one of them, reload on next use
+        currentRate.updateAndGet(rate -> rate != null && rate.getEffectiveDate().isBefore(cutoffDate) ? null : rate);
+    }
+
+    private List<KaratRateDTO> toKaratRates(GoldRate rate) {
+        String lastUpdated = rate.getEffectiveDate().toString();
+        return List.of(
+                new KaratRateDTO("KARAT_24", rate.getRate24k(), rate.getRate24k(), lastUpdated),
+                new KaratRateDTO("KARAT_21", rate.getRate21k(), rate.getRate21k(), lastUpdated),
+                new KaratRateDTO("KARAT_18", rate.getRate18k(), rate.getRate18k(), lastUpdated));
+    }
+
+    static boolean samePrices(GoldRate a, GoldRate b) {
+        return a.getRate24k().compareTo(b.getRate24k()) == 0
+                && a.getRate21k().compareTo(b.getRate21k()) == 0
+                && a.getRate18k().compareTo(b.getRate18k()) == 0;
+    }
+
+    public static BigDecimal sellRateForPurity(GoldRate rate, PurityEnum purity) {
+        return switch (purity) {
+            case K24 -> rate.getRate24k();
+            case K21 -> rate.getRate21k();
+            case K18 -> rate.getRate18k();
+        };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,271 @@
+package com.jewelry.pos.service;
+
+import com.jewelry.pos.domain.entity.HardwareJob;
+import com.jewelry.pos.domain.entity.HardwareJobStatusEnum;
+import com.jewelry.pos.domain.entity.HardwareJobTypeEnum;
+import com.jewelry.pos.domain.repository.HardwareJobRepository;
+import com.jewelry.pos.event.HardwareJobQueuedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Runs cash drawer / printer commands off the request thread.
+ * <p>
+ * {@link #enqueue} writes a {@link HardwareJob} outbox row in the caller's transaction. After commit
+ * the job id goes onto a bounded in-memory queue drained by one dedicated worker thread (the shop
+ * has one drawer and one printer, so commands run in order). Each job gets up to 3 attempts, 1s apart.
+ * Ids that did not fit in the queue, or were pending at shutdown, are picked up again from the outbox.
+ * A cash drawer job older than {@code hardware.drawer-job-ttl-seconds} is never run: it is marked FAILED
+ * instead, so a restart can't open the drawer for a sale that finished long ago. Print jobs are always run.
+ * <p>
+ * Metrics (Actuator): {@code hardware.queue.depth}, {@code hardware.job.latency} (enqueue to finish,
+ * tagged by type and outcome), {@code hardware.job.execution} (the device work itself, all attempts
+ * included, same tags) and {@code hardware.job.failures}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class HardwareJobQueue {
+
+    private static final int QUEUE_CAPACITY = 500;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final HardwareJobRepository jobRepository;
+    private final HardwareService hardwareService;
+    private final SystemConfigService configService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final BlockingQueue<String> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private volatile Thread worker;
+
+    @Value("${hardware.retry-delay-ms:1000}")
+    private long retryDelayMs = 1000;
+
+    // A drawer job still pending after this long (crash, long outage) is expired, not run
+    @Value("${hardware.drawer-job-ttl-seconds:120}")
+    private long drawerJobTtlSeconds = 120;
+
+    // The worker mostly waits on the device, so it follows the application's thread model
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("hardware.queue.depth", queue, BlockingQueue::size)
+                .description("Hardware jobs waiting for the worker")
+                .register(meterRegistry);
+    }
+
+    // ==========================================
+    // PRODUCER SIDE
+    // ==========================================
+
+    // Joins the caller's transaction: the job only exists if the sale (or label batch) commits
+    @Transactional
+    public HardwareJob enqueue(HardwareJobTypeEnum type, String payload) {
+        HardwareJob job = new HardwareJob();
+        job.setJobType(type);
+        job.setPayload(payload);
+        HardwareJob saved = jobRepository.save(job);
+
+        eventPublisher.publishEvent(new HardwareJobQueuedEvent(saved.getId()));
+        return saved;
+    }
+
+    @TransactionalEventListener
+    public void onJobQueued(HardwareJobQueuedEvent event) {
+        if (!queue.offer(event.jobId())) {
+            log.warn("Hardware queue full ({} jobs). Job {} stays in the outbox and will be retried.", QUEUE_CAPACITY, event.jobId());
+        }
+    }
+
+    // ==========================================
+    // WORKER LIFECYCLE
+    // ==========================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        expireStaleDrawerJobs();
+        requeuePendingJobs(LocalDateTime.now());
+
+        Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        worker = builder.name("hardware-worker").start(this::runWorker);
+        log.info("Hardware worker started ({} jobs queued)", queue.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    // Picks up jobs that overflowed the queue. Only rows older than a minute, so fresh ones aren't doubled.
+    @Scheduled(fixedDelay = 60000)
+    public void requeueStaleJobs() {
+        if (worker != null) {
+            requeuePendingJobs(LocalDateTime.now().minusMinutes(1));
+        }
+    }
+
+    // Run daily at 2:30 AM: the outbox only needs to keep recent history
+    @Scheduled(cron = "0 30 2 * * ?")
+    @Transactional
+    public void cleanupCompletedJobs() {
+        int deleted = jobRepository.deleteByStatusCompletedBefore(HardwareJobStatusEnum.DONE, LocalDateTime.now().minusDays(7));
+        log.info("Cleaned up {} completed hardware jobs", deleted);
+    }
+
+    // A drawer job can also still be PENDING because the process died after driving the device
+    private void expireStaleDrawerJobs() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(drawerJobTtlSeconds);
+        for (HardwareJob job : jobRepository.findByStatusAndTypeCreatedBefore(
+                HardwareJobStatusEnum.PENDING, HardwareJobTypeEnum.OPEN_CASH_DRAWER, before)) {
+            expire(job);
+        }
+    }
+
+    private boolean isExpired(HardwareJob job) {
+        return job.getJobType() == HardwareJobTypeEnum.OPEN_CASH_DRAWER
+                && job.getCreatedDate() != null
+                && job.getCreatedDate().isBefore(LocalDateTime.now().minusSeconds(drawerJobTtlSeconds));
+    }
+
+    private void expire(HardwareJob job) {
+        log.warn("Hardware job {} ({}) for {} expired: created {}, not run after {}s.",
+                job.getId(), job.getJobType(), job.getPayload(), job.getCreatedDate(), drawerJobTtlSeconds);
+        finish(job, HardwareJobStatusEnum.FAILED, new IllegalStateException("Expired: not run within " + drawerJobTtlSeconds + "s"));
+    }
+
+    private void requeuePendingJobs(LocalDateTime createdBefore) {
+        for (String jobId : jobRepository.findIdsByStatusCreatedBefore(HardwareJobStatusEnum.PENDING, createdBefore)) {
+            if (!queue.contains(jobId) && !queue.offer(jobId)) {
+                break; // still full, next sweep
+            }
+        }
+    }
+
+    private void runWorker() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                processJob(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Hardware worker error", e);
+            }
+        }
+    }
+
+    // ==========================================
+    // EXECUTION
+    // ==========================================
+
+    void processJob(String jobId) throws InterruptedException {
+        HardwareJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != HardwareJobStatusEnum.PENDING) {
+            return; // already handled (e.g. queued twice by a sweep)
+        }
+        if (isExpired(job)) {
+            expire(job); // reached the worker too late (full queue picked up by a sweep)
+            return;
+        }
+
+        if (!configService.isHardwareEnabled()) {
+            log.info("Hardware disabled in settings. Skipping {} job {}.", job.getJobType(), jobId);
+            finish(job, HardwareJobStatusEnum.DONE, null);
+            return;
+        }
+
+        long started = System.nanoTime();
+        Exception lastFailure = null;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            job.setAttempts(job.getAttempts() + 1);
+            try {
+                execute(job);
+                recordExecution(job, HardwareJobStatusEnum.DONE, started);
+                finish(job, HardwareJobStatusEnum.DONE, null);
+                return;
+            } catch (Exception e) {
+                lastFailure = e;
+                log.warn("Hardware job {} ({}) attempt {}/{} failed: {}", jobId, job.getJobType(), attempt, MAX_ATTEMPTS, e.getMessage());
+                if (attempt < MAX_ATTEMPTS) {
+                    Thread.sleep(retryDelayMs);
+                }
+            }
+        }
+
+        if (job.getJobType() == HardwareJobTypeEnum.OPEN_CASH_DRAWER) {
+            log.error("CRITICAL HARDWARE FAILURE: Cash drawer failed to open for Sale {}. Please use manual key.", job.getPayload(), lastFailure);
+        } else {
+            log.error("CRITICAL HARDWARE FAILURE: {} job {} failed.", job.getJobType(), jobId, lastFailure);
+        }
+        recordExecution(job, HardwareJobStatusEnum.FAILED, started);
+        finish(job, HardwareJobStatusEnum.FAILED, lastFailure);
+    }
+
+    private void execute(HardwareJob job) {
+        switch (job.getJobType()) {
+            case OPEN_CASH_DRAWER -> hardwareService.openCashDrawer();
+            case PRINT_RECEIPT -> hardwareService.printReceipt(job.getPayload());
+            case PRINT_LABELS -> hardwareService.printLabels(job.getPayload());
+        }
+    }
+
+    private void recordExecution(HardwareJob job, HardwareJobStatusEnum status, long startedNanos) {
+        Timer.builder("hardware.job.execution")
+                .description("Time spent driving the device, retries included")
+                .tag("type", job.getJobType().name())
+                .tag("outcome", status.name())
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - startedNanos));
+    }
+
+    private void finish(HardwareJob job, HardwareJobStatusEnum status, Exception failure) {
+        LocalDateTime now = LocalDateTime.now();
+        job.setStatus(status);
+        job.setCompletedAt(now);
+        if (failure != null) {
+            String message = String.valueOf(failure.getMessage());
+            job.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+        }
+        jobRepository.save(job);
+
+        String type = job.getJobType().name();
+        if (job.getCreatedDate() != null) {
+            Timer.builder("hardware.job.latency")
+                    .description("Time from enqueue to the job finishing")
+                    .tag("type", type)
+                    .tag("outcome", status.name())
+                    .register(meterRegistry)
+                    .record(Duration.between(job.getCreatedDate(), now));
+        }
+        if (status == HardwareJobStatusEnum.FAILED) {
+            Counter.builder("hardware.job.failures")
+                    .description("Hardware jobs that failed after all attempts")
+                    .tag("type", type)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
@@ -3,4 +3,5 @@ package com.jewelry.pos.service;
 public interface HardwareService {
     void openCashDrawer();
     void printReceipt(String content);
+    void printLabels(String zpl);
 }
\ No newline at end of file
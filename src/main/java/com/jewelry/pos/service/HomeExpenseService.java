@@ -1,7 +1,10 @@
 package com.jewelry.pos.service;
 
+import com.jewelry.pos.domain.entity.DailyLedgerFigures;
 import com.jewelry.pos.domain.entity.HomeExpense;
-import com.jewelry.pos.domain.entity.TransactionTypeEnum;
+import com.jewelry.pos.domain.entity.LedgerBalance;
+import com.jewelry.pos.domain.entity.LedgerBalanceFigures;
+import com.jewelry.pos.domain.entity.LedgerTypeEnum;
 import com.jewelry.pos.domain.repository.HomeExpenseRepository;
 import com.jewelry.pos.web.dto.HomeExpenseRequestDTO;
 import com.jewelry.pos.web.dto.HomeExpenseSummaryDTO;
@@ -12,13 +15,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class HomeExpenseService {
 
     private final HomeExpenseRepository homeExpenseRepository;
+    private final DailyLedgerSummaryService ledgerSummaryService;
+    private final LedgerBalanceService ledgerBalanceService;
 
     @Transactional
     public HomeExpense createTransaction(HomeExpenseRequestDTO dto) {
@@ -28,7 +32,10 @@ public class HomeExpenseService {
         expense.setTransactionType(dto.transactionType());
         expense.setWeight(dto.weight() != null ? dto.weight() : BigDecimal.ZERO);
         expense.setMoney(dto.money() != null ? dto.money() : BigDecimal.ZERO);
-        return homeExpenseRepository.save(expense);
+        HomeExpense saved = homeExpenseRepository.save(expense);
+        ledgerSummaryService.record(saved.getTransactionDate(), toFigures(saved));
+        ledgerBalanceService.record(LedgerTypeEnum.HOME, LedgerBalance.HOME_PARTY_ID, toBalanceFigures(saved));
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -38,39 +45,34 @@ public class HomeExpenseService {
 
     @Transactional(readOnly = true)
     public HomeExpenseSummaryDTO getSummary() {
-        List<HomeExpense> allExpenses = homeExpenseRepository.findAll();
-        
-        BigDecimal totalMoneyReceivable = BigDecimal.ZERO;
-        BigDecimal totalMoneyPayable = BigDecimal.ZERO;
-        BigDecimal totalWeightReceivable = BigDecimal.ZERO;
-        BigDecimal totalWeightPayable = BigDecimal.ZERO;
-        
-        for (HomeExpense expense : allExpenses) {
-            if (expense.getTransactionType() == TransactionTypeEnum.RECEIVABLE) {
-                totalMoneyReceivable = totalMoneyReceivable.add(expense.getMoney());
-                totalWeightReceivable = totalWeightReceivable.add(expense.getWeight());
-            } else {
-                totalMoneyPayable = totalMoneyPayable.add(expense.getMoney());
-                totalWeightPayable = totalWeightPayable.add(expense.getWeight());
-            }
-        }
-        
-        BigDecimal netMoney = totalMoneyReceivable.subtract(totalMoneyPayable);
-        BigDecimal netWeight = totalWeightReceivable.subtract(totalWeightPayable);
-        
+        // Maintained running totals: one row, however long the ledger is
+        LedgerBalanceFigures balance = ledgerBalanceService.getBalance(LedgerTypeEnum.HOME, LedgerBalance.HOME_PARTY_ID);
+
         return new HomeExpenseSummaryDTO(
-            totalMoneyReceivable,
-            totalMoneyPayable,
-            totalWeightReceivable,
-            totalWeightPayable,
-            netMoney,
-            netWeight,
-            allExpenses.size()
+            balance.moneyReceivable(),
+            balance.moneyPayable(),
+            balance.weightReceivable(),
+            balance.weightPayable(),
+            balance.netMoney(),
+            balance.netWeight(),
+            balance.entryCount()
         );
     }
 
     @Transactional
     public void deleteTransaction(String id) {
-        homeExpenseRepository.deleteById(id);
+        homeExpenseRepository.findById(id).ifPresent(expense -> {
+            ledgerSummaryService.reverse(expense.getTransactionDate(), toFigures(expense));
+            ledgerBalanceService.reverse(LedgerTypeEnum.HOME, LedgerBalance.HOME_PARTY_ID, toBalanceFigures(expense));
+            homeExpenseRepository.delete(expense);
+        });
+    }
+
+    private DailyLedgerFigures toFigures(HomeExpense expense) {
+        return DailyLedgerFigures.home(expense.getTransactionType(), expense.getMoney(), expense.getWeight());
+    }
+
+    private LedgerBalanceFigures toBalanceFigures(HomeExpense expense) {
+        return LedgerBalanceFigures.entry(expense.getTransactionType(), expense.getMoney(), expense.getWeight());
     }
 }
@@ -2,17 +2,25 @@ package com.jewelry.pos.service;
 
 import com.jewelry.pos.domain.entity.Product;
 import com.jewelry.pos.domain.repository.ProductRepository;
+import com.jewelry.pos.event.ProductChangedEvent;
+import com.jewelry.pos.event.ProductDeletedEvent;
+import com.jewelry.pos.service.search.ProductSearchIndex;
+import com.jewelry.pos.web.dto.CursorPageDTO;
 import com.jewelry.pos.web.dto.ProductLiteDTO;
 import com.jewelry.pos.web.dto.ProductRequestDTO;
 import com.jewelry.pos.web.mapper.ProductMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,8 +28,13 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class InventoryService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int AUTOCOMPLETE_LIMIT = 50;
+
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ProductSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Product createProduct(ProductRequestDTO dto) {
@@ -29,14 +42,14 @@ public class InventoryService {
 //        String barcode = (dto.barcode() == null || dto.barcode().isBlank())
 //            ? java.util.UUID.randomUUID().toString()
 //            : dto.barcode();
+        // A fresh random UUID cannot already be taken (and the unique index still guards it), so no lookup first
         String barcode = java.util.UUID.randomUUID().toString();
-        if (productRepository.findByBarcode(barcode).isPresent()) {
-            throw new IllegalStateException("Product with this barcode already exists.");
-        }
-        
+
         Product product = productMapper.toEntity(dto);
         product.setBarcode(barcode);
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(saved));
+        return saved;
     }
 
     @Transactional
@@ -45,7 +58,9 @@ public class InventoryService {
                 .orElseThrow(() -> new IllegalStateException("Product not found"));
         
         productMapper.updateEntityFromDto(dto, product);
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(saved));
+        return saved;
     }
 
     @Transactional
@@ -55,6 +70,7 @@ public class InventoryService {
             throw new IllegalStateException("Product not found");
         }
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProductDeletedEvent(id));
     }
 
     // 1. Get All Products (Paged)
@@ -64,6 +80,32 @@ public class InventoryService {
                 .map(productMapper::toLiteDTO);
     }
 
+    // 1b. Get All Products (Cursor paged - cost does not grow with page depth, no count unless asked)
+    public CursorPageDTO<ProductLiteDTO> getProductsPage(String cursor, int size, boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize + 1); // one extra row tells us if there is a next page
+
+        List<Product> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = productRepository.findFirstListPage(limit);
+        } else {
+            ProductCursor after = ProductCursor.decode(cursor);
+            rows = productRepository.findListPageAfter(after.statusRank(), after.lastModifiedDate(), after.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Product> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? ProductCursor.of(page.get(page.size() - 1)).encode() : null;
+        Long totalCount = includeTotal ? productRepository.count() : null;
+
+        return new CursorPageDTO<>(
+                page.stream().map(productMapper::toLiteDTO).collect(Collectors.toList()),
+                nextCursor,
+                hasNext,
+                totalCount
+        );
+    }
+
     // 2. Get Single Product
     public ProductLiteDTO getProductById(String id) {
         return productRepository.findById(id)
@@ -76,7 +118,13 @@ public class InventoryService {
             return List.of(); // Return empty if nothing typed
         }
 
-        return productRepository.searchAvailableProducts(query).stream()
+        // Served from memory once the index is loaded (no table scan per keystroke)
+        List<Product> matches = searchIndex.isReady()
+                ? searchIndex.search(query, product -> true, AUTOCOMPLETE_LIMIT)
+                : productRepository.searchAvailableProducts(query);
+
+        return matches.stream()
+                .limit(AUTOCOMPLETE_LIMIT)
                 .map(productMapper::toLiteDTO)
                 .collect(Collectors.toList());
     }
@@ -91,9 +139,49 @@ public class InventoryService {
             LocalDateTime createdTo,
             Pageable pageable) {
 
-        return productRepository.searchProductsWithFilters(query, purity, type, minWeight, maxWeight, createdFrom, createdTo, pageable)
-                .map(productMapper::toLiteDTO);
+        if (!searchIndex.isReady()) {
+            return productRepository.searchProductsWithFilters(query, purity, type, minWeight, maxWeight, createdFrom, createdTo, pageable)
+                    .map(productMapper::toLiteDTO);
+        }
+
+        // Rank only up to the end of the requested page; the total is counted in the same pass
+        int limit = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+        ProductSearchIndex.Hits hits = searchIndex.searchWithTotal(query, product ->
+                (purity == null || product.getPurityEnum() == purity)
+                && (type == null || product.getType() == type)
+                && (minWeight == null || (product.getGrossWeight() != null && product.getGrossWeight().compareTo(minWeight) >= 0))
+                && (maxWeight == null || (product.getGrossWeight() != null && product.getGrossWeight().compareTo(maxWeight) <= 0))
+                && (createdFrom == null || (product.getCreatedDate() != null && !product.getCreatedDate().isBefore(createdFrom)))
+                && (createdTo == null || (product.getCreatedDate() != null && !product.getCreatedDate().isAfter(createdTo))),
+                limit);
+
+        List<Product> top = hits.products();
+        int from = (int) Math.min(pageable.getOffset(), top.size());
+        List<ProductLiteDTO> content = top.subList(from, top.size()).stream()
+                .map(productMapper::toLiteDTO)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, hits.total());
     }
 
+    // Opaque continuation token: the sort key of the last row on the page, Base64 encoded
+    private record ProductCursor(int statusRank, LocalDateTime lastModifiedDate, String id) {
 
-}
\ No newline at end of file
+        static ProductCursor of(Product product) {
+            return new ProductCursor(product.getStatusRank(), product.getLastModifiedDate(), product.getId());
+        }
+
+        String encode() {
+            String raw = statusRank + "|" + lastModifiedDate + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ProductCursor decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 3);
+                return new ProductCursor(Integer.parseInt(parts[0]), LocalDateTime.parse(parts[1]), parts[2]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+        }
+    }
+}
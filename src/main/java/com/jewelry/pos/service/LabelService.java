@@ -1,34 +1,193 @@
 package com.jewelry.pos.service;
 
+import com.jewelry.pos.domain.entity.HardwareJobTypeEnum;
 import com.jewelry.pos.domain.entity.Product;
 import com.jewelry.pos.domain.repository.ProductRepository;
+import com.jewelry.pos.web.dto.LabelBatchRequestDTO;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class LabelService {
 
+    // A delivery is a few hundred pieces; this only stops a runaway date range
+    static final int MAX_BATCH_LABELS = 5000;
+
+    /*
+       ZPL Logic Explained:
+       ^XA : Start Label
+       ^CI28 : Field data is UTF-8
+       ^FO : Field Origin (X,Y coordinates)
+       ^BC : Code 128 Barcode
+       ^FH : Field Hex - a '^', '~' or '_' in the data is sent as _5E, _7E, _5F so it can't end the field
+       ^FD : Field Data (The content)
+       ^FS : Field Separator (End of line)
+       ^XZ : End Label
+    */
+    private static final ZplTemplate LABEL = ZplTemplate.compile(
+            "^XA^CI28" +
+            "^FO50,50^ADN,36,20^FH^FD{modelName}^FS" +
+            "^FO50,100^ADN,36,20^FH^FD{weight}g^FS" +
+            "^FO50,150^BCN,100,Y,N,N^FH^FD{barcode}^FS" +
+            "^XZ",
+            Map.of(
+                    "modelName", Product::getModelName,
+                    "weight", product -> product.getGrossWeight() == null ? "" : product.getGrossWeight().toPlainString(),
+                    "barcode", Product::getBarcode));
+
     private final ProductRepository productRepository;
+    private final HardwareJobQueue hardwareJobQueue;
 
     public String generateZplLabel(String barcode) {
         Product product = productRepository.findByBarcode(barcode)
                 .orElseThrow(() -> new IllegalArgumentException("Product not found"));
+        return LABEL.render(product, new StringBuilder(256)).toString();
+    }
+
+    /**
+     * Writes the labels of a whole stock lot to {@code out} as one ZPL stream.
+     * The products come from a single query; nothing is written until they are loaded,
+     * so a bad request still gets a normal error response.
+     *
+     * @return the number of labels written
+     */
+    @Transactional(readOnly = true)
+    public int writeLabels(LabelBatchRequestDTO request, Writer out) {
+        List<Product> products = loadProducts(request);
+        StringBuilder label = new StringBuilder(256);
+        try {
+            for (Product product : products) {
+                label.setLength(0);
+                out.append(LABEL.render(product, label));
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return products.size();
+    }
+
+    /**
+     * Sends the labels of a stock lot to the label printer as one hardware job
+     * (one print job instead of one per piece). Returns the number of labels queued.
+     */
+    @Transactional
+    public int printLabels(LabelBatchRequestDTO request) {
+        StringWriter zpl = new StringWriter();
+        int count = writeLabels(request, zpl);
+        if (count > 0) {
+            hardwareJobQueue.enqueue(HardwareJobTypeEnum.PRINT_LABELS, zpl.toString());
+        }
+        return count;
+    }
+
+    // ==========================================
+    // LOADING (one query per batch)
+    // ==========================================
+
+    private List<Product> loadProducts(LabelBatchRequestDTO request) {
+        if (request.productIds() != null && !request.productIds().isEmpty()) {
+            List<String> ids = request.productIds().stream().distinct().toList();
+            if (ids.size() > MAX_BATCH_LABELS) {
+                throw new IllegalStateException("At most " + MAX_BATCH_LABELS + " labels per batch.");
+            }
+
+            // 1. One IN query, 2. back into the order the ids were given
+            Map<String, Product> byId = productRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            List<String> missing = ids.stream().filter(id -> !byId.containsKey(id)).toList();
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("Products not found: " + String.join(", ", missing));
+            }
+            return ids.stream().map(byId::get).toList();
+        }
+
+        if (request.createdFrom() != null) {
+            LocalDateTime to = request.createdTo() != null ? request.createdTo() : LocalDateTime.now();
+            // One row more than allowed tells us the range is too wide
+            List<Product> products = productRepository.findAvailableCreatedBetween(
+                    request.createdFrom(), to, PageRequest.of(0, MAX_BATCH_LABELS + 1));
+            if (products.size() > MAX_BATCH_LABELS) {
+                throw new IllegalStateException("More than " + MAX_BATCH_LABELS + " products in this range. Please narrow it down.");
+            }
+            return products;
+        }
+
+        throw new IllegalStateException("Choose the products: a list of ids or a created-date range.");
+    }
+
+    // ==========================================
+    // TEMPLATE
+    // ==========================================
+
+    /**
+     * A label layout parsed once into literal pieces and field lookups, so rendering a label is a few
+     * appends - no per-label string formatting or placeholder search.
+     */
+    static final class ZplTemplate {
+        private final String[] literals;
+        private final List<Function<Product, String>> fields;
+
+        private ZplTemplate(String[] literals, List<Function<Product, String>> fields) {
+            this.literals = literals;
+            this.fields = fields;
+        }
+
+        static ZplTemplate compile(String layout, Map<String, Function<Product, String>> fieldsByName) {
+            List<String> literals = new ArrayList<>();
+            List<Function<Product, String>> fields = new ArrayList<>();
+            int from = 0;
+            int open;
+            while ((open = layout.indexOf('{', from)) >= 0) {
+                int close = layout.indexOf('}', open);
+                Function<Product, String> field = fieldsByName.get(layout.substring(open + 1, close));
+                if (field == null) {
+                    throw new IllegalArgumentException("Unknown label field " + layout.substring(open, close + 1));
+                }
+                literals.add(layout.substring(from, open));
+                fields.add(field);
+                from = close + 1;
+            }
+            literals.add(layout.substring(from));
+            return new ZplTemplate(literals.toArray(String[]::new), fields);
+        }
+
+        StringBuilder render(Product product, StringBuilder out) {
+            for (int i = 0; i < fields.size(); i++) {
+                out.append(literals[i]);
+                appendEscaped(fields.get(i).apply(product), out);
+            }
+            return out.append(literals[fields.size()]);
+        }
 
-        /*
-           ZPL Logic Explained:
-           ^XA : Start Label
-           ^FO : Field Origin (X,Y coordinates)
-           ^BC : Code 128 Barcode
-           ^FD : Field Data (The content)
-           ^FS : Field Separator (End of line)
-           ^XZ : End Label
-        */
-        
-        return "^XA" +
-               "^FO50,50^ADN,36,20^FD" + product.getModelName() + "^FS" +
-               "^FO50,100^ADN,36,20^FD" + product.getGrossWeight() + "g^FS" +
-               "^FO50,150^BCN,100,Y,N,N^FD" + product.getBarcode() + "^FS" +
-               "^XZ";
+        // ^FH hex escapes for the characters ZPL would read as commands (and the escape character itself)
+        private static void appendEscaped(String value, StringBuilder out) {
+            if (value == null) {
+                return;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '^' -> out.append("_5E");
+                    case '~' -> out.append("_7E");
+                    case '_' -> out.append("_5F");
+                    default -> out.append(c);
+                }
+            }
+        }
     }
-}
\ No newline at end of file
+}
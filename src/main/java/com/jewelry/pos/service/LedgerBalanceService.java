@@ -0,0 +1,136 @@
+package com.jewelry.pos.service;
+
+import com.jewelry.pos.domain.entity.LedgerBalance;
+import com.jewelry.pos.domain.entity.LedgerBalanceFigures;
+import com.jewelry.pos.domain.entity.LedgerBalanceId;
+import com.jewelry.pos.domain.entity.LedgerTypeEnum;
+import com.jewelry.pos.domain.entity.TransactionTypeEnum;
+import com.jewelry.pos.domain.repository.HomeExpenseRepository;
+import com.jewelry.pos.domain.repository.LedgerBalanceRepository;
+import com.jewelry.pos.domain.repository.PersonalAccountRepository;
+import com.jewelry.pos.domain.repository.SupplierAccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the {@code ledger_balance} table in step with the personal, supplier and home-expense ledgers.
+ * Writers call {@link #record} / {@link #reverse} inside their own transaction, so a balance never
+ * includes an entry that was rolled back. Readers get one row per party instead of the whole history.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerBalanceService {
+
+    private final LedgerBalanceRepository balanceRepository;
+
+    // Source tables (only touched by the rebuild / verification job)
+    private final PersonalAccountRepository personalAccountRepository;
+    private final SupplierAccountRepository supplierAccountRepository;
+    private final HomeExpenseRepository homeExpenseRepository;
+
+    // ==========================================
+    // WRITE PATH (called by the ledger services)
+    // ==========================================
+
+    @Transactional
+    public void record(LedgerTypeEnum ledgerType, String partyId, LedgerBalanceFigures figures) {
+        balanceRepository.addToBalance(ledgerType, partyId, figures);
+    }
+
+    // Reverse a previously recorded entry (delete)
+    @Transactional
+    public void reverse(LedgerTypeEnum ledgerType, String partyId, LedgerBalanceFigures figures) {
+        balanceRepository.addToBalance(ledgerType, partyId, figures.negate());
+    }
+
+    // ==========================================
+    // READ PATH
+    // ==========================================
+
+    @Transactional(readOnly = true)
+    public LedgerBalanceFigures getBalance(LedgerTypeEnum ledgerType, String partyId) {
+        return balanceRepository.findById(new LedgerBalanceId(ledgerType, partyId))
+                .map(LedgerBalance::toFigures)
+                .orElse(LedgerBalanceFigures.ZERO);
+    }
+
+    // ==========================================
+    // REBUILD / VERIFICATION JOB
+    // ==========================================
+
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (balanceRepository.count() == 0) {
+            log.info("Ledger balances are empty - rebuilding from the ledgers...");
+            for (LedgerTypeEnum ledgerType : LedgerTypeEnum.values()) {
+                Map<String, LedgerBalanceFigures> expected = computeFromLedger(ledgerType);
+                balanceRepository.saveAll(expected.entrySet().stream()
+                        .map(e -> new LedgerBalance(new LedgerBalanceId(ledgerType, e.getKey()), e.getValue()))
+                        .toList());
+            }
+        }
+    }
+
+    /**
+     * Recomputes every balance from the ledgers (one grouped query per ledger) and corrects
+     * the stored rows that drifted. Returns how many balances had to be corrected.
+     */
+    @Transactional
+    public int verifyAndRepair() {
+        int corrected = 0;
+        for (LedgerTypeEnum ledgerType : LedgerTypeEnum.values()) {
+            Map<String, LedgerBalanceFigures> expected = computeFromLedger(ledgerType);
+
+            Map<String, LedgerBalance> stored = new HashMap<>();
+            balanceRepository.findAllByLedgerType(ledgerType).forEach(b -> stored.put(b.getId().getPartyId(), b));
+
+            // 1. Stored rows: compare with the ledger (missing from the ledger means zero)
+            for (LedgerBalance balance : stored.values()) {
+                String partyId = balance.getId().getPartyId();
+                LedgerBalanceFigures actual = expected.getOrDefault(partyId, LedgerBalanceFigures.ZERO);
+                if (!balance.toFigures().sameAs(actual)) {
+                    log.warn("Ledger balance drift for {} {}: stored {} but ledger has {}", ledgerType, partyId, balance.toFigures(), actual);
+                    balanceRepository.save(new LedgerBalance(balance.getId(), actual));
+                    corrected++;
+                }
+            }
+
+            // 2. Parties with entries but no row at all
+            for (Map.Entry<String, LedgerBalanceFigures> e : expected.entrySet()) {
+                if (!stored.containsKey(e.getKey())) {
+                    log.warn("Ledger balance missing for {} {}: ledger has {}", ledgerType, e.getKey(), e.getValue());
+                    balanceRepository.save(new LedgerBalance(new LedgerBalanceId(ledgerType, e.getKey()), e.getValue()));
+                    corrected++;
+                }
+            }
+        }
+        return corrected;
+    }
+
+    private Map<String, LedgerBalanceFigures> computeFromLedger(LedgerTypeEnum ledgerType) {
+        Map<String, LedgerBalanceFigures> balances = new HashMap<>();
+        switch (ledgerType) {
+            case PERSONAL -> personalAccountRepository.findBalanceTotals().forEach(row ->
+                    merge(balances, (String) row[0], (TransactionTypeEnum) row[1], row[2], row[3], row[4]));
+            case SUPPLIER -> supplierAccountRepository.findBalanceTotals().forEach(row ->
+                    merge(balances, (String) row[0], (TransactionTypeEnum) row[1], row[2], row[3], row[4]));
+            case HOME -> homeExpenseRepository.findBalanceTotals().forEach(row ->
+                    merge(balances, LedgerBalance.HOME_PARTY_ID, (TransactionTypeEnum) row[0], row[1], row[2], row[3]));
+        }
+        return balances;
+    }
+
+    // count, money, weight of one party + direction
+    private void merge(Map<String, LedgerBalanceFigures> balances, String partyId, TransactionTypeEnum type,
+                       Object count, Object money, Object weight) {
+        LedgerBalanceFigures figures = LedgerBalanceFigures.entries(((Number) count).longValue(), type, (BigDecimal) money, (BigDecimal) weight);
+        balances.merge(partyId, figures, LedgerBalanceFigures::plus);
+    }
+}
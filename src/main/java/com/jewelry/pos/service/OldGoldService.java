@@ -1,7 +1,10 @@
 package com.jewelry.pos.service;
 
+import com.jewelry.pos.domain.entity.DailyLedgerFigures;
 import com.jewelry.pos.domain.entity.OldGoldPurchase;
 import com.jewelry.pos.domain.entity.KaratEnum;
+import com.jewelry.pos.domain.entity.LedgerBalanceFigures;
+import com.jewelry.pos.domain.entity.LedgerTypeEnum;
 import com.jewelry.pos.domain.entity.PurityEnum;
 import com.jewelry.pos.domain.entity.PurityEnumKaratConverter;
 import com.jewelry.pos.domain.entity.ScrapInventory;
@@ -12,9 +15,11 @@ import com.jewelry.pos.domain.repository.OldGoldPurchaseRepository;
 import com.jewelry.pos.domain.repository.ScrapInventoryRepository;
 import com.jewelry.pos.domain.repository.ScrapPurificationRepository;
 import com.jewelry.pos.domain.repository.SupplierAccountRepository;
+import com.jewelry.pos.event.ScrapInventoryChangedEvent;
 import com.jewelry.pos.web.dto.OldGoldRequestDTO;
 import com.jewelry.pos.web.dto.PurificationRequestDTO;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +35,9 @@ public class OldGoldService {
     private final ScrapInventoryRepository scrapRepository;
     private final ScrapPurificationRepository purificationRepository;
     private final SupplierAccountRepository supplierAccountRepository;
+    private final DailyLedgerSummaryService ledgerSummaryService;
+    private final LedgerBalanceService ledgerBalanceService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // --- 1. BUY LOGIC (Add to Scrap Box) ---
     @Transactional
@@ -54,9 +62,11 @@ public class OldGoldService {
         // Note: createdBy and createdDate are handled by @Auditable
 
         purchaseRepository.save(purchase);
+        ledgerSummaryService.record(purchase.getTransactionDate(), DailyLedgerFigures.oldGold(request.weight(), totalValue));
 
-        // C. Update Scrap Inventory (Increase Weight)
-        addToScrapInventory(request.purity(), request.weight());
+        // C. Update Scrap Inventory (Increase Weight) - atomic, concurrent trade-ins never lose weight
+        scrapRepository.addWeight(request.purity(), request.weight());
+        eventPublisher.publishEvent(new ScrapInventoryChangedEvent(request.purity(), request.weight()));
 
         return totalValue;
     }
@@ -67,17 +77,13 @@ public class OldGoldService {
         PurityEnum purityEnum = new PurityEnumKaratConverter().convertToEntityAttribute(request.purity());
         KaratEnum karatEnum = KaratEnum.valueOf(new PurityEnumKaratConverter().convertToDatabaseColumn(purityEnum));
 
-        // A. Check Availability
-        ScrapInventory inventory = scrapRepository.findById(karatEnum)
-                .orElseThrow(() -> new IllegalArgumentException("No scrap record found for " + request.purity()));
-
-        if (inventory.getTotalWeight().compareTo(request.weightToSell()) < 0) {
+        // A + B. Check Availability and Deduct Weight in one statement, so two counters can't both spend the same scrap
+        if (!scrapRepository.removeWeight(karatEnum, request.weightToSell())) {
+            ScrapInventory inventory = scrapRepository.findById(karatEnum)
+                    .orElseThrow(() -> new IllegalArgumentException("No scrap record found for " + request.purity()));
             throw new IllegalStateException("Not enough scrap! Available: " + inventory.getTotalWeight() + "g");
         }
-
-        // B. Deduct Weight
-        inventory.setTotalWeight(inventory.getTotalWeight().subtract(request.weightToSell()));
-        scrapRepository.save(inventory);
+        eventPublisher.publishEvent(new ScrapInventoryChangedEvent(karatEnum, request.weightToSell().negate()));
 
         // C. Log Transaction
         ScrapPurification purification = new ScrapPurification();
@@ -88,6 +94,7 @@ public class OldGoldService {
         purification.setSupplierId(request.supplierId());
 
         ScrapPurification savedPurification = purificationRepository.save(purification);
+        ledgerSummaryService.record(savedPurification.getTransactionDate(), DailyLedgerFigures.purification(request.cashReceived()));
 
         // D. Create Supplier Account Transaction (Payable - we sent weight to supplier, received cash)
         SupplierAccount supplierAccount = new SupplierAccount();
@@ -100,16 +107,10 @@ public class OldGoldService {
         supplierAccount.setPurificationId(savedPurification.getId());
         
         supplierAccountRepository.save(supplierAccount);
-    }
-
-    // Helper: Safely add weight to inventory
-    private void addToScrapInventory(KaratEnum purity, BigDecimal weight) {
-//        KaratEnum karatEnum = KaratEnum.valueOf(new PurityEnumKaratConverter().convertToDatabaseColumn(purity));
-        ScrapInventory inventory = scrapRepository.findById(purity)
-                .orElse(new ScrapInventory(purity, BigDecimal.ZERO));
-
-        inventory.setTotalWeight(inventory.getTotalWeight().add(weight));
-        scrapRepository.save(inventory);
+        ledgerSummaryService.record(supplierAccount.getTransactionDate(), DailyLedgerFigures.supplier(
+                supplierAccount.getTransactionType(), supplierAccount.getFees(), supplierAccount.getWeight()));
+        ledgerBalanceService.record(LedgerTypeEnum.SUPPLIER, supplierAccount.getSupplierId(), LedgerBalanceFigures.entry(
+                supplierAccount.getTransactionType(), supplierAccount.getFees(), supplierAccount.getWeight()));
     }
 
     // Get current scrap inventory for dashboard
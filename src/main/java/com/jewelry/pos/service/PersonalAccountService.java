@@ -1,10 +1,10 @@
 package com.jewelry.pos.service;
 
+import com.jewelry.pos.domain.entity.DailyLedgerFigures;
+import com.jewelry.pos.domain.entity.LedgerBalanceFigures;
+import com.jewelry.pos.domain.entity.LedgerTypeEnum;
 import com.jewelry.pos.domain.entity.PersonalAccount;
-import com.jewelry.pos.domain.entity.PersonalPerson;
-import com.jewelry.pos.domain.entity.TransactionTypeEnum;
 import com.jewelry.pos.domain.repository.PersonalAccountRepository;
-import com.jewelry.pos.domain.repository.PersonalPersonRepository;
 import com.jewelry.pos.web.dto.PersonalAccountRequestDTO;
 import com.jewelry.pos.web.dto.PersonalAccountSummaryDTO;
 import lombok.RequiredArgsConstructor;
@@ -22,7 +22,8 @@ import java.util.stream.Collectors;
 public class PersonalAccountService {
 
     private final PersonalAccountRepository personalAccountRepository;
-    private final PersonalPersonRepository personalPersonRepository;
+    private final DailyLedgerSummaryService ledgerSummaryService;
+    private final LedgerBalanceService ledgerBalanceService;
 
     @Transactional
     public PersonalAccount createTransaction(PersonalAccountRequestDTO dto) {
@@ -33,7 +34,10 @@ public class PersonalAccountService {
         account.setTransactionType(dto.transactionType());
         account.setWeight(dto.weight() != null ? dto.weight() : BigDecimal.ZERO);
         account.setMoney(dto.money() != null ? dto.money() : BigDecimal.ZERO);
-        return personalAccountRepository.save(account);
+        PersonalAccount saved = personalAccountRepository.save(account);
+        ledgerSummaryService.record(saved.getTransactionDate(), toFigures(saved));
+        ledgerBalanceService.record(LedgerTypeEnum.PERSONAL, saved.getPersonId(), toBalanceFigures(saved));
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -48,43 +52,47 @@ public class PersonalAccountService {
 
     @Transactional(readOnly = true)
     public List<PersonalAccountSummaryDTO> getPersonSummaries() {
-        List<PersonalPerson> persons = personalPersonRepository.findAll();
+        // One row per person from the maintained balances, however long the ledger is
+        return personalAccountRepository.findPersonBalances().stream().map(row -> {
+            BigDecimal netMoney = toBigDecimal(row[2]);
+            BigDecimal netWeight = toBigDecimal(row[3]);
 
-        return persons.stream().map(person -> {
-            List<PersonalAccount> transactions = personalAccountRepository.findByPersonId(person.getId());
-            
-            BigDecimal netMoney = BigDecimal.ZERO;
-            BigDecimal netWeight = BigDecimal.ZERO;
-            
-            for (PersonalAccount tx : transactions) {
-                if (tx.getTransactionType() == TransactionTypeEnum.RECEIVABLE) {
-                    netMoney = netMoney.add(tx.getMoney());
-                    netWeight = netWeight.add(tx.getWeight());
-                } else {
-                    netMoney = netMoney.subtract(tx.getMoney());
-                    netWeight = netWeight.subtract(tx.getWeight());
-                }
-            }
-            
-            String moneyStatus = netMoney.compareTo(BigDecimal.ZERO) > 0 ? "RECEIVABLE" : 
-                                netMoney.compareTo(BigDecimal.ZERO) < 0 ? "PAYABLE" : "SETTLED";
-            String weightStatus = netWeight.compareTo(BigDecimal.ZERO) > 0 ? "RECEIVABLE" : 
-                                 netWeight.compareTo(BigDecimal.ZERO) < 0 ? "PAYABLE" : "SETTLED";
-            
             return new PersonalAccountSummaryDTO(
-                person.getId(),
-                person.getName(),
+                (String) row[0],
+                (String) row[1],
                 netMoney,
                 netWeight,
-                moneyStatus,
-                weightStatus,
-                transactions.size()
+                balanceStatus(netMoney),
+                balanceStatus(netWeight),
+                ((Number) row[4]).longValue()
             );
         }).collect(Collectors.toList());
     }
 
     @Transactional
     public void deleteTransaction(String id) {
-        personalAccountRepository.deleteById(id);
+        personalAccountRepository.findById(id).ifPresent(account -> {
+            ledgerSummaryService.reverse(account.getTransactionDate(), toFigures(account));
+            ledgerBalanceService.reverse(LedgerTypeEnum.PERSONAL, account.getPersonId(), toBalanceFigures(account));
+            personalAccountRepository.delete(account);
+        });
+    }
+
+    private String balanceStatus(BigDecimal net) {
+        return net.compareTo(BigDecimal.ZERO) > 0 ? "RECEIVABLE" :
+               net.compareTo(BigDecimal.ZERO) < 0 ? "PAYABLE" : "SETTLED";
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        if (value == null) return BigDecimal.ZERO;
+        return value instanceof BigDecimal bd ? bd : new BigDecimal(value.toString());
+    }
+
+    private DailyLedgerFigures toFigures(PersonalAccount account) {
+        return DailyLedgerFigures.personal(account.getTransactionType(), account.getMoney(), account.getWeight());
+    }
+
+    private LedgerBalanceFigures toBalanceFigures(PersonalAccount account) {
+        return LedgerBalanceFigures.entry(account.getTransactionType(), account.getMoney(), account.getWeight());
     }
 }
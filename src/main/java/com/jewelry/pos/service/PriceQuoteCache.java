@@ -0,0 +1,172 @@
+package com.jewelry.pos.service;
+
+import com.jewelry.pos.domain.entity.GoldRate;
+import com.jewelry.pos.domain.entity.Product;
+import com.jewelry.pos.domain.entity.ProductStatusEnum;
+import com.jewelry.pos.domain.repository.ProductRepository;
+import com.jewelry.pos.event.GoldRateChangedEvent;
+import com.jewelry.pos.event.ProductChangedEvent;
+import com.jewelry.pos.event.ProductDeletedEvent;
+import com.jewelry.pos.event.ProductsSoldEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The estimated price of each product, so catalog pages, searches and scans don't redo the
+ * {@code rate * weight + making charge} maths for every row of every response.
+ * <p>
+ * A quote is valid for one product version at one set of rate prices: a product edit bumps the
+ * version and a new price doesn't match, so a stale quote is never served, only recomputed. Quotes
+ * are matched on the prices rather than the rate row, because the scraper saves a new row every run
+ * even when nothing moved. There is at most one quote per product and at most
+ * {@code price-quote.cache.max-entries} in total.
+ * <p>
+ * When a rate with new prices is committed the whole cache is dropped and the AVAILABLE stock is priced
+ * again on the {@code applicationTaskExecutor}, so the request thread finds the quotes already there.
+ */
+@Component
+@Slf4j
+public class PriceQuoteCache {
+
+    private final ProductRepository productRepository;
+    private final GoldRateService goldRateService;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    // Qualified: the scheduler is an AsyncTaskExecutor too
+    public PriceQuoteCache(ProductRepository productRepository, GoldRateService goldRateService,
+                           @Qualifier("applicationTaskExecutor") AsyncTaskExecutor applicationTaskExecutor) {
+        this.productRepository = productRepository;
+        this.goldRateService = goldRateService;
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
+
+    @Value("${price-quote.cache.max-entries:50000}")
+    private int maxEntries;
+
+    private final ConcurrentMap<String, Quote> quotes = new ConcurrentHashMap<>(); // productId -> quote
+
+    // Quotes are only stored at this rate's prices, so a late warm-up can't refill the cache with old ones
+    private volatile GoldRate activeRate;
+
+    private record Quote(Integer productVersion, GoldRate rate, BigDecimal price) {
+    }
+
+    /**
+     * The estimated price of {@code product} at {@code rate}, from the cache when it holds a quote for
+     * this version of the product and this rate.
+     */
+    public BigDecimal price(Product product, GoldRate rate) {
+        String productId = product.getId();
+        if (productId == null) {
+            return calculatePrice(product, rate); // not persisted yet: nothing to key on
+        }
+
+        Quote quote = quotes.get(productId);
+        if (quote != null && Objects.equals(quote.productVersion(), product.getVersion()) && GoldRateService.samePrices(quote.rate(), rate)) {
+            return quote.price();
+        }
+
+        BigDecimal price = calculatePrice(product, rate);
+        store(product, rate, price);
+        return price;
+    }
+
+    public int size() {
+        return quotes.size();
+    }
+
+    // (gold rate per gram for the purity * weight) + making charge
+    static BigDecimal calculatePrice(Product product, GoldRate rate) {
+        if (product.getGrossWeight() == null || product.getMakingCharge() == null) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal goldRatePerGram = GoldRateService.sellRateForPurity(rate, product.getPurityEnum());
+        return goldRatePerGram.multiply(product.getGrossWeight()).add(product.getMakingCharge());
+    }
+
+    // ==========================================
+    // INVALIDATION AND WARM-UP
+    // ==========================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmOnStartup() {
+        try {
+            GoldRate rate = goldRateService.getLatestRate();
+            activeRate = rate;
+            applicationTaskExecutor.execute(() -> warm(rate));
+        } catch (IllegalStateException e) {
+            log.info("Price quote cache not warmed: {}", e.getMessage()); // no rate set yet
+        }
+    }
+
+    @TransactionalEventListener
+    public void onGoldRateChanged(GoldRateChangedEvent event) {
+        GoldRate rate = event.rate();
+        GoldRate previous = activeRate;
+        activeRate = rate;
+        if (previous != null && GoldRateService.samePrices(previous, rate)) {
+            return; // the scraper re-saved an unchanged price: every quote is still right
+        }
+        quotes.clear();
+        applicationTaskExecutor.execute(() -> warm(rate));
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        quotes.remove(event.product().getId());
+    }
+
+    @TransactionalEventListener
+    public void onProductDeleted(ProductDeletedEvent event) {
+        quotes.remove(event.productId());
+    }
+
+    @TransactionalEventListener
+    public void onProductsSold(ProductsSoldEvent event) {
+        event.productIds().forEach(quotes::remove);
+    }
+
+    void warm(GoldRate rate) {
+        try {
+            long start = System.currentTimeMillis();
+            List<Product> available = productRepository.findAllByStatus(ProductStatusEnum.AVAILABLE);
+            for (Product product : available) {
+                if (!isActive(rate)) {
+                    return; // a newer rate arrived; its own warm-up takes over
+                }
+                store(product, rate, calculatePrice(product, rate));
+            }
+            log.info("Price quote cache warmed: {} products at rate {} in {} ms",
+                    available.size(), rate.getId(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Price quote cache warm-up failed, prices are computed on demand: {}", e.getMessage());
+        }
+    }
+
+    private boolean isActive(GoldRate rate) {
+        GoldRate active = activeRate;
+        return active != null && GoldRateService.samePrices(active, rate);
+    }
+
+    private void store(Product product, GoldRate rate, BigDecimal price) {
+        if (!isActive(rate) || product.getId() == null) {
+            return;
+        }
+        if (quotes.size() >= maxEntries && !quotes.containsKey(product.getId())) {
+            return; // full: price on demand rather than evict
+        }
+        quotes.put(product.getId(), new Quote(product.getVersion(), rate, price));
+    }
+}
@@ -0,0 +1,358 @@
+package com.jewelry.pos.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jewelry.pos.core.metrics.OperationMetrics;
+import com.jewelry.pos.domain.entity.JewelryTypeEnum;
+import com.jewelry.pos.domain.entity.Product;
+import com.jewelry.pos.domain.entity.PurityEnum;
+import com.jewelry.pos.domain.repository.ProductRepository;
+import com.jewelry.pos.event.ProductChangedEvent;
+import com.jewelry.pos.web.dto.ProductImportReportDTO;
+import com.jewelry.pos.web.dto.ProductImportReportDTO.RowResultDTO;
+import com.jewelry.pos.web.dto.ProductRequestDTO;
+import com.jewelry.pos.web.mapper.ProductMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bulk product import for new stock lots: a CSV file or a JSON array of {@link ProductRequestDTO},
+ * read from the request body as it arrives.
+ * <p>
+ * Every row is validated on its own (same rules as the single-product form); bad rows are reported and
+ * skipped, good rows are inserted in chunks of {@value #CHUNK_SIZE}, one transaction per chunk, which
+ * Hibernate sends as JDBC batches ({@code hibernate.jdbc.batch_size}). A chunk commits on its own, so a
+ * problem late in the file does not undo the rows before it - the report says exactly which rows are in.
+ * <p>
+ * Like {@link InventoryService#createProduct}, every product gets a generated barcode; a barcode column in
+ * the upload is ignored.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private static final List<String> CSV_COLUMNS = List.of(
+            "modelName", "purityEnum", "type", "grossWeight", "makingCharge", "description", "costPrice");
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of(
+            "modelName", "purityEnum", "type", "grossWeight", "makingCharge", "costPrice");
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OperationMetrics metrics;
+
+    // Self-Inject so each chunk runs in its own transaction through the Spring Proxy
+    @Autowired
+    @Lazy
+    private ProductImportService self;
+
+    public ProductImportReportDTO importCsv(InputStream body) {
+        return metrics.record("product.import", () -> {
+            Run run = new Run();
+            readCsv(body, run);
+            return run.finish();
+        }, "format", "csv");
+    }
+
+    public ProductImportReportDTO importJson(InputStream body) {
+        return metrics.record("product.import", () -> {
+            Run run = new Run();
+            readJson(body, run);
+            return run.finish();
+        }, "format", "json");
+    }
+
+    /**
+     * Inserts one chunk of already validated rows. Called through the proxy, one transaction per chunk;
+     * the persistence context is cleared afterwards so a long import does not keep every product in memory.
+     */
+    @Transactional
+    public List<Product> insertChunk(List<ProductRequestDTO> rows) {
+        List<Product> products = new ArrayList<>(rows.size());
+        for (ProductRequestDTO row : rows) {
+            Product product = productMapper.toEntity(row);
+            product.setBarcode(UUID.randomUUID().toString());
+            products.add(product);
+        }
+
+        List<Product> saved = productRepository.saveAll(products);
+        productRepository.flush();
+        entityManager.clear();
+        saved.forEach(product -> eventPublisher.publishEvent(new ProductChangedEvent(product)));
+        return saved;
+    }
+
+    // ==========================================
+    // CSV
+    // ==========================================
+
+    // Header row first (column names as in ProductRequestDTO, any order), then one product per line
+    private void readCsv(InputStream body, Run run) {
+        try {
+            CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+            Map<String, Integer> columns = csvHeader(csv.next());
+
+            List<String> fields;
+            while ((fields = csv.next()) != null) {
+                if (fields.stream().allMatch(String::isBlank)) {
+                    continue;
+                }
+                List<String> errors = new ArrayList<>();
+                ProductRequestDTO dto = new ProductRequestDTO(
+                        null,
+                        text(fields, columns, "modelName"),
+                        enumValue(PurityEnum.class, fields, columns, "purityEnum", errors),
+                        enumValue(JewelryTypeEnum.class, fields, columns, "type", errors),
+                        number(fields, columns, "grossWeight", errors),
+                        number(fields, columns, "makingCharge", errors),
+                        text(fields, columns, "description"),
+                        number(fields, columns, "costPrice", errors));
+                run.accept(dto, errors);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, Integer> csvHeader(List<String> header) {
+        if (header == null) {
+            throw new IllegalStateException("The CSV file is empty.");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim(); // Excel writes a BOM
+            String column = "purity".equalsIgnoreCase(name) ? "purityEnum" : name;
+            for (String known : CSV_COLUMNS) {
+                if (known.equalsIgnoreCase(column)) {
+                    columns.put(known, i);
+                }
+            }
+        }
+        List<String> missing = REQUIRED_CSV_COLUMNS.stream().filter(c -> !columns.containsKey(c)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("The CSV header is missing the column(s): " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private static String text(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isBlank()) {
+            return null;
+        }
+        return fields.get(index).trim();
+    }
+
+    private static BigDecimal number(List<String> fields, Map<String, Integer> columns, String column, List<String> errors) {
+        String value = text(fields, columns, column);
+        if (value == null) {
+            return null; // reported by the @NotNull check
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            errors.add(column + ": '" + value + "' is not a number");
+            return null;
+        }
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, List<String> fields, Map<String, Integer> columns,
+                                                   String column, List<String> errors) {
+        String value = text(fields, columns, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            errors.add(column + ": '" + value + "' is not one of " + Arrays.toString(type.getEnumConstants()));
+            return null;
+        }
+    }
+
+    // ==========================================
+    // JSON
+    // ==========================================
+
+    // A top-level array, read one element at a time - the whole upload is never held in memory
+    private void readJson(InputStream body, Run run) {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Expected a JSON array of products.");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    run.accept(null, List.of("Not a JSON object"));
+                    continue;
+                }
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    run.accept(objectMapper.treeToValue(node, ProductRequestDTO.class), List.of());
+                } catch (JsonMappingException e) {
+                    run.accept(null, List.of(fieldOf(e) + e.getOriginalMessage()));
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // Broken JSON: keep what was imported so far and say where it stopped
+            run.accept(null, List.of("Malformed JSON, import stopped here: " + e.getOriginalMessage()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String fieldOf(JsonMappingException e) {
+        return e.getPath().isEmpty() || e.getPath().get(0).getFieldName() == null
+                ? ""
+                : e.getPath().get(0).getFieldName() + ": ";
+    }
+
+    // ==========================================
+    // ONE IMPORT
+    // ==========================================
+
+    private record Pending(int row, ProductRequestDTO dto) {}
+
+    private class Run {
+        private final long startedAt = System.nanoTime();
+        private final List<RowResultDTO> results = new ArrayList<>();
+        private final List<Pending> pending = new ArrayList<>(CHUNK_SIZE);
+        private int rows;
+
+        // 1. Validate the row, 2. queue it, 3. insert when a chunk is full
+        void accept(ProductRequestDTO dto, List<String> parseErrors) {
+            int row = ++rows;
+            List<String> errors = new ArrayList<>(parseErrors);
+            if (dto != null) {
+                for (ConstraintViolation<ProductRequestDTO> violation : validator.validate(dto)) {
+                    errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+                }
+            }
+            if (!errors.isEmpty() || dto == null) {
+                results.add(new RowResultDTO(row, false, null, null, errors));
+                return;
+            }
+
+            pending.add(new Pending(row, dto));
+            if (pending.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        ProductImportReportDTO finish() {
+            flush();
+            results.sort(Comparator.comparingInt(RowResultDTO::row));
+            int imported = (int) results.stream().filter(RowResultDTO::imported).count();
+            metrics.count("product.import.rows", imported, "outcome", "imported");
+            metrics.count("product.import.rows", rows - imported, "outcome", "failed");
+            return new ProductImportReportDTO(rows, imported, rows - imported,
+                    (System.nanoTime() - startedAt) / 1_000_000, results);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                List<Product> saved = self.insertChunk(pending.stream().map(Pending::dto).toList());
+                for (int i = 0; i < saved.size(); i++) {
+                    Product product = saved.get(i);
+                    results.add(new RowResultDTO(pending.get(i).row(), true, product.getId(), product.getBarcode(), List.of()));
+                }
+            } catch (DataAccessException e) {
+                // The whole chunk rolled back
+                String reason = "Not saved, the database rejected rows " + pending.get(0).row() + "-"
+                        + pending.get(pending.size() - 1).row() + ": " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                log.warn("Product import chunk failed: {}", reason);
+                pending.forEach(p -> results.add(new RowResultDTO(p.row(), false, null, null, List.of(reason))));
+            }
+            pending.clear();
+        }
+    }
+
+    // ==========================================
+    // CSV PARSING (RFC 4180: quoted fields may hold commas, quotes and line breaks)
+    // ==========================================
+
+    private static final class CsvReader {
+        private final BufferedReader in;
+
+        CsvReader(BufferedReader in) {
+            this.in = in;
+        }
+
+        // The fields of the next record, or null at the end of the input
+        List<String> next() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int c = in.read();
+            if (c == -1) {
+                return null;
+            }
+            for (; c != -1; c = in.read()) {
+                if (quoted) {
+                    if (c != '"') {
+                        field.append((char) c);
+                        continue;
+                    }
+                    in.mark(1);
+                    if (in.read() == '"') {
+                        field.append('"');
+                    } else {
+                        in.reset();
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.jewelry.pos.service;
 
+import com.jewelry.pos.core.metrics.OperationMetrics;
+import com.jewelry.pos.domain.entity.PurityEnum;
 import com.jewelry.pos.domain.entity.Sale;
 import com.jewelry.pos.domain.entity.SaleItem;
 import com.jewelry.pos.domain.repository.SaleRepository;
@@ -9,16 +11,19 @@ import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -26,8 +31,15 @@ public class ReceiptService {
 
     private final SaleRepository saleRepository;
 
+    // receipt.pdf timer, tagged by document and outcome
+    private final OperationMetrics metrics;
+
     // --- 1. Customer Receipt ---
     public byte[] generateReceiptPdf(String saleId) {
+        return metrics.record("receipt.pdf", () -> buildReceiptPdf(saleId), "document", "receipt");
+    }
+
+    private byte[] buildReceiptPdf(String saleId) {
         Sale sale = saleRepository.findById(saleId)
                 .orElseThrow(() -> new IllegalArgumentException("Sale not found"));
 
@@ -114,107 +126,151 @@ public class ReceiptService {
     }
 
     // --- 2. Z-Report (End of Day Summary) ---
+    // Buffered variant: loads the day's Sale graph and returns the whole PDF as bytes.
+    // Prefer writeZReport for large or multi-day reports.
+    @Transactional(readOnly = true)
     public byte[] generateZReport(LocalDate date) {
+        return metrics.record("receipt.pdf", () -> buildZReport(date), "document", "z-report");
+    }
+
+    private byte[] buildZReport(LocalDate date) {
         LocalDateTime start = date.atStartOfDay();
         LocalDateTime end = date.atTime(LocalTime.MAX);
 
         List<Sale> sales = saleRepository.findAllByTransactionDateBetween(start, end);
 
-        BigDecimal totalRevenue = BigDecimal.ZERO;
-        BigDecimal totalNetCash = BigDecimal.ZERO;
-        BigDecimal totalOldGoldIn = BigDecimal.ZERO;
-
-        Map<String, BigDecimal> weightByKarat = new HashMap<>();
-
+        ZReportTotals totals = new ZReportTotals();
         for (Sale sale : sales) {
-            totalRevenue = totalRevenue.add(sale.getTotalAmount());
-
-            if (sale.getNetCashPaid() != null) {
-                totalNetCash = totalNetCash.add(sale.getNetCashPaid());
-            } else {
-                totalNetCash = totalNetCash.add(sale.getTotalAmount());
-            }
-
-            if (sale.getOldGoldTotalValue() != null) {
-                totalOldGoldIn = totalOldGoldIn.add(sale.getOldGoldTotalValue());
-            }
+            totals.addSale(sale.getTotalAmount(), sale.getNetCashPaid(), sale.getOldGoldTotalValue());
 
             for (SaleItem item : sale.getItems()) {
-                // --- FIX IS HERE: Added .name() ---
-                String purity = (item.getProduct().getPurityEnum() != null) ? item.getProduct().getPurityEnum().name() : "UNKNOWN";
-                BigDecimal weight = item.getWeightSnapshot();
-                weightByKarat.merge(purity, weight, BigDecimal::add);
+                totals.addLine(item.getProduct().getPurityEnum(), item.getWeightSnapshot());
             }
         }
 
         try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            Document document = new Document(PageSize.A4);
-            PdfWriter.getInstance(document, out);
-            document.open();
-
-            // Header
-            Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 20);
-            Paragraph header = new Paragraph("Z-REPORT (END OF DAY)", headerFont);
-            header.setAlignment(Element.ALIGN_CENTER);
-            document.add(header);
-
-            Font subHeaderFont = FontFactory.getFont(FontFactory.HELVETICA, 12);
-            Paragraph subHeader = new Paragraph("Date: " + date.format(DateTimeFormatter.ISO_DATE), subHeaderFont);
-            subHeader.setAlignment(Element.ALIGN_CENTER);
-            document.add(subHeader);
-            document.add(new Paragraph(" "));
-
-            // Financial Table
-            PdfPTable financeTable = new PdfPTable(2);
-            financeTable.setWidthPercentage(100);
-            financeTable.addCell(new PdfPCell(new Phrase("Metric", FontFactory.getFont(FontFactory.HELVETICA_BOLD))));
-            financeTable.addCell(new PdfPCell(new Phrase("Value", FontFactory.getFont(FontFactory.HELVETICA_BOLD))));
-
-            financeTable.addCell("Total Sales (Revenue)");
-            financeTable.addCell(totalRevenue + " EGP");
+            writeZReportPdf(date, date, totals, out);
+            return out.toByteArray();
+        } catch (Exception e) {
+            throw new RuntimeException("Error generating Z-Report", e);
+        }
+    }
 
-            financeTable.addCell("Less: Old Gold Received");
-            financeTable.addCell("-" + totalOldGoldIn + " EGP");
+    // Streaming variant: aggregates projected rows as they come off the cursor (no Sale entities,
+    // no per-day list) and writes the PDF straight to the given stream, e.g. the servlet response.
+    @Transactional(readOnly = true)
+    public void writeZReport(LocalDate fromDate, LocalDate toDate, OutputStream out) {
+        metrics.run("receipt.pdf", () -> streamZReport(fromDate, toDate, out), "document", "z-report-stream");
+    }
 
-            financeTable.addCell("Net Cash In Drawer");
-            financeTable.addCell(totalNetCash + " EGP");
+    private void streamZReport(LocalDate fromDate, LocalDate toDate, OutputStream out) {
+        LocalDateTime start = fromDate.atStartOfDay();
+        LocalDateTime end = toDate.atTime(LocalTime.MAX);
 
-            financeTable.addCell("Total Transactions");
-            financeTable.addCell(String.valueOf(sales.size()));
+        ZReportTotals totals = new ZReportTotals();
+        try (Stream<Object[]> rows = saleRepository.streamSaleTotals(start, end)) {
+            rows.forEach(row -> totals.addSale((BigDecimal) row[0], (BigDecimal) row[1], (BigDecimal) row[2]));
+        }
+        try (Stream<Object[]> rows = saleRepository.streamSaleLineWeights(start, end)) {
+            rows.forEach(row -> totals.addLine((PurityEnum) row[0], (BigDecimal) row[1]));
+        }
 
-            document.add(financeTable);
-            document.add(new Paragraph(" "));
+        try {
+            writeZReportPdf(fromDate, toDate, totals, out);
+        } catch (Exception e) {
+            throw new RuntimeException("Error generating Z-Report", e);
+        }
+    }
 
-            // Weight Table
-            Paragraph inventoryTitle = new Paragraph("Gold Weight Sold by Karat", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14));
-            document.add(inventoryTitle);
-            document.add(new Paragraph(" "));
+    // Running totals for one Z-Report; memory does not depend on the number of sales or lines
+    private static class ZReportTotals {
+        private long transactions;
+        private BigDecimal totalRevenue = BigDecimal.ZERO;
+        private BigDecimal totalNetCash = BigDecimal.ZERO;
+        private BigDecimal totalOldGoldIn = BigDecimal.ZERO;
+        private final Map<String, BigDecimal> weightByKarat = new TreeMap<>();
+
+        void addSale(BigDecimal totalAmount, BigDecimal netCashPaid, BigDecimal oldGoldTotalValue) {
+            transactions++;
+            totalRevenue = totalRevenue.add(totalAmount);
+            totalNetCash = totalNetCash.add(netCashPaid != null ? netCashPaid : totalAmount);
+            if (oldGoldTotalValue != null) {
+                totalOldGoldIn = totalOldGoldIn.add(oldGoldTotalValue);
+            }
+        }
 
-            PdfPTable weightTable = new PdfPTable(2);
-            weightTable.setWidthPercentage(100);
-            weightTable.addCell("Karat / Purity");
-            weightTable.addCell("Total Weight (grams)");
+        void addLine(PurityEnum purity, BigDecimal weight) {
+            weightByKarat.merge(purity != null ? purity.name() : "UNKNOWN", weight, BigDecimal::add);
+        }
+    }
 
-            if (weightByKarat.isEmpty()) {
-                PdfPCell emptyCell = new PdfPCell(new Phrase("No items sold today"));
-                emptyCell.setColspan(2);
-                weightTable.addCell(emptyCell);
-            } else {
-                for (Map.Entry<String, BigDecimal> entry : weightByKarat.entrySet()) {
-                    weightTable.addCell(entry.getKey());
-                    weightTable.addCell(entry.getValue() + " g");
-                }
+    private void writeZReportPdf(LocalDate fromDate, LocalDate toDate, ZReportTotals totals, OutputStream out) throws DocumentException {
+        Document document = new Document(PageSize.A4);
+        PdfWriter.getInstance(document, out);
+        document.open();
+
+        // Header
+        Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 20);
+        Paragraph header = new Paragraph("Z-REPORT (END OF DAY)", headerFont);
+        header.setAlignment(Element.ALIGN_CENTER);
+        document.add(header);
+
+        Font subHeaderFont = FontFactory.getFont(FontFactory.HELVETICA, 12);
+        String period = fromDate.equals(toDate)
+                ? "Date: " + fromDate.format(DateTimeFormatter.ISO_DATE)
+                : "Period: " + fromDate.format(DateTimeFormatter.ISO_DATE) + " to " + toDate.format(DateTimeFormatter.ISO_DATE);
+        Paragraph subHeader = new Paragraph(period, subHeaderFont);
+        subHeader.setAlignment(Element.ALIGN_CENTER);
+        document.add(subHeader);
+        document.add(new Paragraph(" "));
+
+        // Financial Table
+        PdfPTable financeTable = new PdfPTable(2);
+        financeTable.setWidthPercentage(100);
+        financeTable.addCell(new PdfPCell(new Phrase("Metric", FontFactory.getFont(FontFactory.HELVETICA_BOLD))));
+        financeTable.addCell(new PdfPCell(new Phrase("Value", FontFactory.getFont(FontFactory.HELVETICA_BOLD))));
+
+        financeTable.addCell("Total Sales (Revenue)");
+        financeTable.addCell(totals.totalRevenue + " EGP");
+
+        financeTable.addCell("Less: Old Gold Received");
+        financeTable.addCell("-" + totals.totalOldGoldIn + " EGP");
+
+        financeTable.addCell("Net Cash In Drawer");
+        financeTable.addCell(totals.totalNetCash + " EGP");
+
+        financeTable.addCell("Total Transactions");
+        financeTable.addCell(String.valueOf(totals.transactions));
+
+        document.add(financeTable);
+        document.add(new Paragraph(" "));
+
+        // Weight Table
+        Paragraph inventoryTitle = new Paragraph("Gold Weight Sold by Karat", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14));
+        document.add(inventoryTitle);
+        document.add(new Paragraph(" "));
+
+        PdfPTable weightTable = new PdfPTable(2);
+        weightTable.setWidthPercentage(100);
+        weightTable.addCell("Karat / Purity");
+        weightTable.addCell("Total Weight (grams)");
+
+        if (totals.weightByKarat.isEmpty()) {
+            PdfPCell emptyCell = new PdfPCell(new Phrase("No items sold in this period"));
+            emptyCell.setColspan(2);
+            weightTable.addCell(emptyCell);
+        } else {
+            for (Map.Entry<String, BigDecimal> entry : totals.weightByKarat.entrySet()) {
+                weightTable.addCell(entry.getKey());
+                weightTable.addCell(entry.getValue() + " g");
             }
-            document.add(weightTable);
+        }
+        document.add(weightTable);
 
-            document.add(new Paragraph(" "));
-            document.add(new Paragraph("Generated automatically by Jewelry POS System."));
+        document.add(new Paragraph(" "));
+        document.add(new Paragraph("Generated automatically by Jewelry POS System."));
 
-            document.close();
-            return out.toByteArray();
-        } catch (Exception e) {
-            throw new RuntimeException("Error generating Z-Report", e);
-        }
+        document.close();
     }
 
     private void addTotalRow(PdfPTable table, String label, String value, boolean isBold) {
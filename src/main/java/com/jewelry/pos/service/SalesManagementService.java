@@ -1,16 +1,29 @@
 package com.jewelry.pos.service;
 
+import com.jewelry.pos.domain.entity.DailyLedgerFigures;
 import com.jewelry.pos.domain.entity.Sale;
+import com.jewelry.pos.domain.entity.SaleItem;
+import com.jewelry.pos.domain.repository.SaleListItemRow;
+import com.jewelry.pos.domain.repository.SaleListRow;
 import com.jewelry.pos.domain.repository.SaleRepository;
+import com.jewelry.pos.event.SaleVoidedEvent;
+import com.jewelry.pos.service.search.SaleSearchIndex;
 import com.jewelry.pos.web.dto.SaleResponseDTO;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,11 +31,13 @@ import java.util.stream.Collectors;
 public class SalesManagementService {
 
     private final SaleRepository saleRepository;
+    private final DailyLedgerSummaryService ledgerSummaryService;
+    private final SaleSearchIndex saleSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     // 1. Get All Sales (Paged)
     public Page<SaleResponseDTO> getAllSales(Pageable pageable) {
-        return saleRepository.findAll(pageable)
-                .map(this::mapToDTO);
+        return searchSales(null, null, null, pageable);
     }
 
     // 2. Get Sale by ID
@@ -37,10 +52,18 @@ public class SalesManagementService {
     // In a real system, you would mark status="VOIDED" and return items to inventory.
     @Transactional
     public void voidSale(String id) {
-        if (!saleRepository.existsById(id)) {
-            throw new IllegalStateException("Sale not found");
-        }
-        saleRepository.deleteById(id); 
+        Sale sale = saleRepository.findById(id)
+                .orElseThrow(() -> new IllegalStateException("Sale not found"));
+
+        // Take the sale back out of its day's dashboard figures
+        BigDecimal cost = sale.getItems().stream()
+                .map(SaleItem::getProduct)
+                .map(product -> product.getCostPrice() != null ? product.getCostPrice() : BigDecimal.ZERO)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        ledgerSummaryService.reverse(sale.getTransactionDate(), DailyLedgerFigures.sale(sale.getTotalAmount(), cost));
+
+        saleRepository.delete(sale);
+        eventPublisher.publishEvent(new SaleVoidedEvent(id));
     }
 
     private SaleResponseDTO mapToDTO(Sale sale) {
@@ -66,38 +89,88 @@ public class SalesManagementService {
         );
     }
 
+    /**
+     * Sales history search. Read path only: the page comes from a flat projection query and the lines of
+     * that page from a second one, so a page costs two queries (plus the count) whatever its size -
+     * instead of one query per sale for its items and one per item for the product name.
+     * <p>
+     * A text query is matched in memory by {@link SaleSearchIndex} (ID / phone prefix, customer name
+     * n-grams) and only the page it picks is read, by primary key. The database filter
+     * ({@code LIKE '%q%'}, a full scan of the sale table) is the fallback until the index is loaded,
+     * or for a sort the index can't serve.
+     */
     public Page<SaleResponseDTO> searchSales(
             String query, // Can be ID, Name, or Phone
             LocalDate fromDate,
             LocalDate toDate,
             Pageable pageable
     ) {
-        Specification<Sale> spec = Specification.where(null);
-
-        // 1. Text Filter (Matches ID OR Name OR Phone)
-        if (query != null && !query.isBlank()) {
-            String likePattern = "%" + query.toLowerCase() + "%";
-            spec = spec.and((root, cq, cb) -> cb.or(
-                    cb.like(cb.lower(root.get("id")), likePattern),
-                    cb.like(cb.lower(root.get("customerName")), likePattern),
-                    cb.like(root.get("customerPhone"), likePattern)
-            ));
+        boolean hasText = query != null && !query.isBlank();
+
+        // 1. Date Filter (From Start of Day to End of Day)
+        LocalDateTime start = fromDate != null ? fromDate.atStartOfDay() : null;
+        LocalDateTime end = toDate != null ? toDate.atTime(23, 59, 59) : null;
+
+        // 2. Text Filter from the search index, then the page's sales by ID
+        if (hasText && saleSearchIndex.isReady() && SaleSearchIndex.supports(pageable.getSort())) {
+            SaleSearchIndex.Hits hits = saleSearchIndex.search(query, start, end, pageable);
+            List<SaleListRow> rows = hits.saleIds().isEmpty()
+                    ? List.of()
+                    : inIndexOrder(saleRepository.findSaleRowsByIds(hits.saleIds()), hits.saleIds());
+            Map<String, List<SaleResponseDTO.SaleItemDTO>> itemsBySale = itemsOf(rows);
+            List<SaleResponseDTO> content = rows.stream()
+                    .map(row -> toDTO(row, itemsBySale.getOrDefault(row.id(), List.of())))
+                    .toList();
+            return new PageImpl<>(content, pageable, hits.total());
         }
 
-        // 2. Date Filter (From Start of Day to End of Day)
-        if (fromDate != null) {
-            spec = spec.and((root, cq, cb) ->
-                    cb.greaterThanOrEqualTo(root.get("transactionDate"), fromDate.atStartOfDay())
-            );
+        // 3. Otherwise the database filter (Matches ID OR Name OR Phone)
+        String likePattern = hasText ? "%" + query.toLowerCase() + "%" : null;
+        Page<SaleListRow> rows = saleRepository.searchSaleRows(likePattern, start, end, pageable);
+        Map<String, List<SaleResponseDTO.SaleItemDTO>> itemsBySale = itemsOf(rows.getContent());
+        return rows.map(row -> toDTO(row, itemsBySale.getOrDefault(row.id(), List.of())));
+    }
+
+    // All lines of a page in one query, grouped by sale
+    private Map<String, List<SaleResponseDTO.SaleItemDTO>> itemsOf(List<SaleListRow> rows) {
+        Map<String, List<SaleResponseDTO.SaleItemDTO>> itemsBySale = new HashMap<>();
+        if (rows.isEmpty()) {
+            return itemsBySale;
+        }
+        List<String> saleIds = rows.stream().map(SaleListRow::id).toList();
+        for (SaleListItemRow item : saleRepository.findItemRowsBySaleIds(saleIds)) {
+            itemsBySale.computeIfAbsent(item.saleId(), id -> new ArrayList<>())
+                    .add(new SaleResponseDTO.SaleItemDTO(item.productName(), item.weight(), item.priceSnapshot()));
         }
-        if (toDate != null) {
-            spec = spec.and((root, cq, cb) ->
-                    cb.lessThanOrEqualTo(root.get("transactionDate"), toDate.atTime(23, 59, 59))
-            );
+        return itemsBySale;
+    }
+
+    // IN (...) returns rows in any order; a sale voided since the index was read is simply left out
+    private List<SaleListRow> inIndexOrder(List<SaleListRow> rows, List<String> saleIds) {
+        Map<String, SaleListRow> byId = new HashMap<>();
+        rows.forEach(row -> byId.put(row.id(), row));
+        List<SaleListRow> ordered = new ArrayList<>(saleIds.size());
+        for (String id : saleIds) {
+            SaleListRow row = byId.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
         }
+        return ordered;
+    }
 
-        return saleRepository.findAll(spec, pageable)
-                .map(this::mapToDTO);
+    private SaleResponseDTO toDTO(SaleListRow row, List<SaleResponseDTO.SaleItemDTO> items) {
+        return new SaleResponseDTO(
+                row.id(),
+                row.transactionDate(),
+                row.totalAmount(),
+                row.oldGoldTotalValue(),
+                row.netCashPaid(),
+                row.createdBy(),
+                row.customerName(),
+                row.customerPhone(),
+                items
+        );
     }
 
 }
\ No newline at end of file
@@ -17,4 +17,9 @@ public class StubHardwareService implements HardwareService {
     public void printReceipt(String content) {
         log.info("[SIMULATION] Printing Receipt:\n{}", content);
     }
+
+    @Override
+    public void printLabels(String zpl) {
+        log.info("[SIMULATION] Printing {} Labels ({} bytes of ZPL)", zpl.split("\\^XZ", -1).length - 1, zpl.length());
+    }
 }
\ No newline at end of file
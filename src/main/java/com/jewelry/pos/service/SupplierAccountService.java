@@ -1,10 +1,10 @@
 package com.jewelry.pos.service;
 
-import com.jewelry.pos.domain.entity.Supplier;
+import com.jewelry.pos.domain.entity.DailyLedgerFigures;
+import com.jewelry.pos.domain.entity.LedgerBalanceFigures;
+import com.jewelry.pos.domain.entity.LedgerTypeEnum;
 import com.jewelry.pos.domain.entity.SupplierAccount;
-import com.jewelry.pos.domain.entity.TransactionTypeEnum;
 import com.jewelry.pos.domain.repository.SupplierAccountRepository;
-import com.jewelry.pos.domain.repository.SupplierRepository;
 import com.jewelry.pos.web.dto.SupplierAccountRequestDTO;
 import com.jewelry.pos.web.dto.SupplierAccountSummaryDTO;
 import lombok.RequiredArgsConstructor;
@@ -22,7 +22,8 @@ import java.util.stream.Collectors;
 public class SupplierAccountService {
 
     private final SupplierAccountRepository supplierAccountRepository;
-    private final SupplierRepository supplierRepository;
+    private final DailyLedgerSummaryService ledgerSummaryService;
+    private final LedgerBalanceService ledgerBalanceService;
 
     @Transactional
     public SupplierAccount createTransaction(SupplierAccountRequestDTO dto) {
@@ -35,7 +36,10 @@ public class SupplierAccountService {
         account.setFees(dto.fees() != null ? dto.fees() : BigDecimal.ZERO);
         account.setNumberOfPieces(dto.numberOfPieces());
         account.setPurificationId(dto.purificationId());
-        return supplierAccountRepository.save(account);
+        SupplierAccount saved = supplierAccountRepository.save(account);
+        ledgerSummaryService.record(saved.getTransactionDate(), toFigures(saved));
+        ledgerBalanceService.record(LedgerTypeEnum.SUPPLIER, saved.getSupplierId(), toBalanceFigures(saved));
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -50,43 +54,47 @@ public class SupplierAccountService {
 
     @Transactional(readOnly = true)
     public List<SupplierAccountSummaryDTO> getSupplierSummaries() {
-        List<Supplier> suppliers = supplierRepository.findAll();
-        
-        return suppliers.stream().map(supplier -> {
-            List<SupplierAccount> transactions = supplierAccountRepository.findBySupplierId(supplier.getId());
-            
-            BigDecimal netFees = BigDecimal.ZERO;
-            BigDecimal netWeight = BigDecimal.ZERO;
-            
-            for (SupplierAccount tx : transactions) {
-                if (tx.getTransactionType() == TransactionTypeEnum.RECEIVABLE) {
-                    netFees = netFees.add(tx.getFees());
-                    netWeight = netWeight.add(tx.getWeight());
-                } else {
-                    netFees = netFees.subtract(tx.getFees());
-                    netWeight = netWeight.subtract(tx.getWeight());
-                }
-            }
-            
-            String feesStatus = netFees.compareTo(BigDecimal.ZERO) > 0 ? "RECEIVABLE" : 
-                               netFees.compareTo(BigDecimal.ZERO) < 0 ? "PAYABLE" : "SETTLED";
-            String weightStatus = netWeight.compareTo(BigDecimal.ZERO) > 0 ? "RECEIVABLE" : 
-                                 netWeight.compareTo(BigDecimal.ZERO) < 0 ? "PAYABLE" : "SETTLED";
-            
+        // One row per supplier from the maintained balances, however long the ledger is
+        return supplierAccountRepository.findSupplierBalances().stream().map(row -> {
+            BigDecimal netFees = toBigDecimal(row[2]);
+            BigDecimal netWeight = toBigDecimal(row[3]);
+
             return new SupplierAccountSummaryDTO(
-                supplier.getId(),
-                supplier.getName(),
+                (String) row[0],
+                (String) row[1],
                 netFees,
                 netWeight,
-                feesStatus,
-                weightStatus,
-                transactions.size()
+                balanceStatus(netFees),
+                balanceStatus(netWeight),
+                ((Number) row[4]).longValue()
             );
         }).collect(Collectors.toList());
     }
 
     @Transactional
     public void deleteTransaction(String id) {
-        supplierAccountRepository.deleteById(id);
+        supplierAccountRepository.findById(id).ifPresent(account -> {
+            ledgerSummaryService.reverse(account.getTransactionDate(), toFigures(account));
+            ledgerBalanceService.reverse(LedgerTypeEnum.SUPPLIER, account.getSupplierId(), toBalanceFigures(account));
+            supplierAccountRepository.delete(account);
+        });
+    }
+
+    private String balanceStatus(BigDecimal net) {
+        return net.compareTo(BigDecimal.ZERO) > 0 ? "RECEIVABLE" :
+               net.compareTo(BigDecimal.ZERO) < 0 ? "PAYABLE" : "SETTLED";
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        if (value == null) return BigDecimal.ZERO;
+        return value instanceof BigDecimal bd ? bd : new BigDecimal(value.toString());
+    }
+
+    private DailyLedgerFigures toFigures(SupplierAccount account) {
+        return DailyLedgerFigures.supplier(account.getTransactionType(), account.getFees(), account.getWeight());
+    }
+
+    private LedgerBalanceFigures toBalanceFigures(SupplierAccount account) {
+        return LedgerBalanceFigures.entry(account.getTransactionType(), account.getFees(), account.getWeight());
     }
 }
@@ -2,10 +2,12 @@ package com.jewelry.pos.service;
 
 import com.jewelry.pos.domain.entity.*;
 import com.jewelry.pos.domain.repository.*;
+import com.jewelry.pos.event.UserAccessChangedEvent;
 import com.jewelry.pos.web.dto.CreateUserDTO;
 import com.jewelry.pos.web.dto.UpdateUserDTO;
 import com.jewelry.pos.web.dto.UserResponseDTO;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,6 +25,7 @@ public class UserManagementService {
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     // 1. GET ALL (Paged)
     public Page<UserResponseDTO> getAllUsers(Pageable pageable) {
@@ -46,10 +49,15 @@ public class UserManagementService {
         AppUser user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalStateException("User not found"));
 
+        boolean accessChanged = false;
+
         // Update fields if they are present in DTO
         if (dto.firstName() != null) user.setFirstName(dto.firstName());
         if (dto.lastName() != null) user.setLastName(dto.lastName());
-        if (dto.enabled() != null) user.setEnabled(dto.enabled());
+        if (dto.enabled() != null && dto.enabled() != user.isEnabled()) {
+            user.setEnabled(dto.enabled());
+            accessChanged = true;
+        }
 
         // Update Roles if provided
         if (dto.roles() != null && !dto.roles().isEmpty()) {
@@ -57,21 +65,28 @@ public class UserManagementService {
                     .map(name -> roleRepository.findByName(name)
                             .orElseThrow(() -> new IllegalArgumentException("Role not found: " + name)))
                     .collect(Collectors.toSet());
+            accessChanged |= !newRoles.equals(user.getRoles());
             user.setRoles(newRoles);
         }
 
+        // Tokens carry the authorities from login: revoke them so the change applies immediately
+        if (accessChanged) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+            eventPublisher.publishEvent(new UserAccessChangedEvent(user.getUsername()));
+        }
+
         return mapToResponse(userRepository.save(user));
     }
 
     // 4. DELETE USER
     @Transactional
     public void deleteUser(String id) {
-        if (!userRepository.existsById(id)) {
-            throw new IllegalStateException("User not found");
-        }
+        AppUser user = userRepository.findById(id)
+                .orElseThrow(() -> new IllegalStateException("User not found"));
         // Prevent deleting the Super Admin or yourself (logic can be refined)
         // For now, simpler delete:
-        userRepository.deleteById(id);
+        userRepository.delete(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(user.getUsername()));
     }
 
     // --- USER CRUD ---
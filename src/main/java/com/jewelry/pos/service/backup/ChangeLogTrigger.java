@@ -0,0 +1,48 @@
+package com.jewelry.pos.service.backup;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * H2 row trigger behind {@code backup_change_log} (see V10): records which row of which table changed,
+ * inside the writing transaction, so the delta backup sees every write path - JPA, bulk JPQL updates
+ * and plain JDBC alike. Rolled-back writes leave no trace.
+ */
+public class ChangeLogTrigger implements Trigger {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO backup_change_log (table_name, row_id, operation) VALUES (?, ?, ?)";
+
+    private String tableName;
+    private int idIndex = -1;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName,
+                     boolean before, int type) throws SQLException {
+        this.tableName = tableName;
+        try (ResultSet columns = conn.getMetaData().getColumns(null, schemaName, tableName, null)) {
+            while (columns.next()) {
+                if ("ID".equalsIgnoreCase(columns.getString("COLUMN_NAME"))) {
+                    idIndex = columns.getInt("ORDINAL_POSITION") - 1;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        Object[] row = newRow != null ? newRow : oldRow;
+        String operation = oldRow == null ? "I" : newRow == null ? "D" : "U";
+
+        try (PreparedStatement insert = conn.prepareStatement(INSERT_SQL)) {
+            insert.setString(1, tableName);
+            insert.setString(2, idIndex >= 0 ? (String) row[idIndex] : null);
+            insert.setString(3, operation);
+            insert.executeUpdate();
+        }
+    }
+}
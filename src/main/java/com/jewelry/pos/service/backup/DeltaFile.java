@@ -0,0 +1,231 @@
+package com.jewelry.pos.service.backup;
+
+import com.jewelry.pos.core.journal.ColumnValueCodec;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * On-disk format of one delta backup.
+ * <pre>
+ * "JPDELTA1" | salt (16) | iv (12) | AES-GCM( deflate( tables ) )
+ * </pre>
+ * The AES key comes from the backup password (PBKDF2), as the full snapshots are encrypted with the
+ * same password, so a delta is no easier to read than the database it came from. The body is
+ * streamed through the cipher straight into the {@link FileChannel} and forced to disk before
+ * the file is handed back.
+ */
+final class DeltaFile {
+
+    private static final byte[] MAGIC = "JPDELTA1".getBytes(StandardCharsets.US_ASCII);
+    private static final int SALT_LENGTH = 16;
+    private static final int IV_LENGTH = 12;
+    private static final int KEY_ITERATIONS = 65_536;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * The changes of one table. {@code replace} tables (no id column) carry all of their rows and
+     * are rewritten whole on restore; the others carry the current state of the changed rows plus
+     * the ids that no longer exist.
+     */
+    record TableDelta(String table, boolean replace, List<String> columns, List<Object[]> rows, List<String> deletedIds) {
+
+        int changeCount() {
+            return rows.size() + deletedIds.size();
+        }
+    }
+
+    private DeltaFile() {
+    }
+
+    // ==========================================
+    // WRITE
+    // ==========================================
+
+    static void write(Path file, List<TableDelta> tables, String password) throws IOException, GeneralSecurityException {
+        byte[] salt = randomBytes(SALT_LENGTH);
+        byte[] iv = randomBytes(IV_LENGTH);
+        Cipher cipher = cipher(Cipher.ENCRYPT_MODE, password, salt, iv);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            writeFully(channel, ByteBuffer.allocate(MAGIC.length + SALT_LENGTH + IV_LENGTH).put(MAGIC).put(salt).put(iv).flip());
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new DeflaterOutputStream(new CipherChannelSink(channel, cipher)), 64 * 1024))) {
+                out.writeInt(tables.size());
+                for (TableDelta table : tables) {
+                    writeTable(out, table);
+                }
+            }
+        }
+    }
+
+    private static void writeTable(DataOutputStream out, TableDelta table) throws IOException {
+        out.writeUTF(table.table());
+        out.writeBoolean(table.replace());
+        out.writeInt(table.columns().size());
+        for (String column : table.columns()) {
+            out.writeUTF(column);
+        }
+        out.writeInt(table.rows().size());
+        for (Object[] row : table.rows()) {
+            for (Object value : row) {
+                ColumnValueCodec.write(out, value);
+            }
+        }
+        out.writeInt(table.deletedIds().size());
+        for (String id : table.deletedIds()) {
+            out.writeUTF(id);
+        }
+    }
+
+    // ==========================================
+    // READ
+    // ==========================================
+
+    static List<TableDelta> read(Path file, String password) throws IOException, GeneralSecurityException {
+        ByteBuffer content;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            content = ByteBuffer.allocate((int) channel.size());
+            while (content.hasRemaining() && channel.read(content) >= 0) {
+                // read until full
+            }
+        }
+        content.flip();
+
+        byte[] magic = new byte[MAGIC.length];
+        byte[] salt = new byte[SALT_LENGTH];
+        byte[] iv = new byte[IV_LENGTH];
+        content.get(magic).get(salt).get(iv);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IllegalStateException("Not a delta backup: " + file);
+        }
+
+        ByteBuffer plain = ByteBuffer.allocate(content.remaining());
+        cipher(Cipher.DECRYPT_MODE, password, salt, iv).doFinal(content, plain);
+
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(
+                new ByteArrayInputStream(plain.array(), 0, plain.position())))) {
+            int tableCount = in.readInt();
+            List<TableDelta> tables = new ArrayList<>(tableCount);
+            for (int t = 0; t < tableCount; t++) {
+                tables.add(readTable(in));
+            }
+            return tables;
+        }
+    }
+
+    private static TableDelta readTable(DataInputStream in) throws IOException {
+        String table = in.readUTF();
+        boolean replace = in.readBoolean();
+
+        int columnCount = in.readInt();
+        List<String> columns = new ArrayList<>(columnCount);
+        for (int c = 0; c < columnCount; c++) {
+            columns.add(in.readUTF());
+        }
+
+        int rowCount = in.readInt();
+        List<Object[]> rows = new ArrayList<>(rowCount);
+        for (int r = 0; r < rowCount; r++) {
+            Object[] row = new Object[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                row[c] = ColumnValueCodec.read(in);
+            }
+            rows.add(row);
+        }
+
+        int deleteCount = in.readInt();
+        List<String> deletedIds = new ArrayList<>(deleteCount);
+        for (int d = 0; d < deleteCount; d++) {
+            deletedIds.add(in.readUTF());
+        }
+        return new TableDelta(table, replace, columns, rows, deletedIds);
+    }
+
+    // ==========================================
+    // CRYPTO / CHANNEL
+    // ==========================================
+
+    private static Cipher cipher(int mode, String password, byte[] salt, byte[] iv) throws GeneralSecurityException {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, KEY_ITERATIONS, 256);
+        byte[] key = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        spec.clearPassword();
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(mode, new SecretKeySpec(key, "AES"), new GCMParameterSpec(128, iv));
+        cipher.updateAAD(MAGIC);
+        return cipher;
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Encrypts what the deflater produces straight into the channel. Closing it writes the GCM tag
+     * and forces the file to disk; the channel itself stays open for its owner to close.
+     */
+    private static final class CipherChannelSink extends OutputStream {
+        private final FileChannel channel;
+        private final Cipher cipher;
+
+        CipherChannelSink(FileChannel channel, Cipher cipher) {
+            this.channel = channel;
+            this.cipher = cipher;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            byte[] encrypted = cipher.update(b, off, len);
+            if (encrypted != null) {
+                writeFully(channel, ByteBuffer.wrap(encrypted));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                writeFully(channel, ByteBuffer.wrap(cipher.doFinal()));
+            } catch (GeneralSecurityException e) {
+                throw new IOException("Could not finish encrypting the delta backup", e);
+            }
+            channel.force(true);
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.jewelry.pos.service.backup;
+
+import com.jewelry.pos.service.backup.DeltaFile.TableDelta;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Incremental backups of the H2 database: an encrypted full snapshot ({@code SCRIPT TO}) now and
+ * then, and in between small deltas holding only the rows written since the previous backup.
+ * <p>
+ * What changed comes from {@code backup_change_log}, which a trigger on every shop table fills in
+ * the writing transaction (see {@link ChangeLogTrigger}). A delta stores the <i>current</i> state of
+ * each logged row - or its id when the row is gone - so replaying it is idempotent, and a change
+ * that is logged twice is simply written twice. Log rows are only removed once the file holding
+ * them is on disk; rows of transactions still open while a backup runs stay for the next one.
+ * <p>
+ * Restore loads the newest snapshot into an empty database and replays the deltas taken after it,
+ * oldest first. Files are named {@code full_<stamp>.snapshot} / {@code delta_<stamp>.delta}, so the
+ * name order is the replay order.
+ */
+@Service
+@Slf4j
+public class IncrementalBackupService {
+
+    static final String SNAPSHOT_PREFIX = "full_";
+    static final String SNAPSHOT_SUFFIX = ".snapshot";
+    static final String DELTA_PREFIX = "delta_";
+    static final String DELTA_SUFFIX = ".delta";
+    private static final String LEGACY_PREFIX = "auto_backup_";
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+    private static final int BATCH_SIZE = 500;
+
+    private final DataSource dataSource;
+    private final Path backupDir;
+    private final String password;
+    private LocalDateTime lastStamp = LocalDateTime.MIN;
+
+    public IncrementalBackupService(DataSource dataSource,
+                                    @Value("${backup.dir:backups}") String backupDir,
+                                    @Value("${backup.password:${spring.datasource.password}}") String password) {
+        this.dataSource = dataSource;
+        this.backupDir = Paths.get(backupDir);
+        this.password = password;
+    }
+
+    /** A written delta: the file and how many rows it upserts or deletes. */
+    public record DeltaResult(Path file, int changes) {
+    }
+
+    // ==========================================
+    // FULL SNAPSHOT
+    // ==========================================
+
+    public synchronized Path fullSnapshot() throws IOException, SQLException {
+        Files.createDirectories(backupDir);
+        Path file = backupDir.resolve(SNAPSHOT_PREFIX + nextStamp() + SNAPSHOT_SUFFIX);
+        Path partial = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (Connection conn = dataSource.getConnection()) {
+            // 1. Everything logged so far is committed, so the snapshot below contains it
+            List<Long> covered = loggedChanges(conn, new LinkedHashMap<>(), new LinkedHashSet<>());
+
+            // 2. Online dump; MVCC lets the counter keep writing meanwhile
+            try (Statement statement = conn.createStatement()) {
+                statement.execute("SCRIPT TO " + literal(partial.toAbsolutePath().toString())
+                        + " COMPRESSION DEFLATE CIPHER AES PASSWORD " + literal(password));
+            }
+            Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE);
+
+            // 3. The next delta starts from here
+            forget(conn, covered);
+        }
+        return file;
+    }
+
+    // ==========================================
+    // DELTA
+    // ==========================================
+
+    /** Writes the rows changed since the last backup; empty when nothing changed. */
+    public synchronized Optional<DeltaResult> writeDelta() throws IOException, SQLException, GeneralSecurityException {
+        try (Connection conn = dataSource.getConnection()) {
+            // 1. What changed, per table
+            Map<String, Set<String>> changedIds = new LinkedHashMap<>();
+            Set<String> replaceTables = new LinkedHashSet<>();
+            List<Long> seqs = loggedChanges(conn, changedIds, replaceTables);
+            if (seqs.isEmpty()) {
+                return Optional.empty();
+            }
+
+            // 2. Current state of those rows
+            List<TableDelta> tables = new ArrayList<>();
+            for (String table : replaceTables) {
+                tables.add(readWholeTable(conn, table));
+            }
+            for (Map.Entry<String, Set<String>> entry : changedIds.entrySet()) {
+                tables.add(readRows(conn, entry.getKey(), entry.getValue()));
+            }
+
+            // 3. Compressed, encrypted and forced to disk before the log is trimmed
+            Files.createDirectories(backupDir);
+            Path file = backupDir.resolve(DELTA_PREFIX + nextStamp() + DELTA_SUFFIX);
+            Path partial = file.resolveSibling(file.getFileName() + ".tmp");
+            DeltaFile.write(partial, tables, password);
+            Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE);
+
+            // 4. Trim exactly the log rows that were read
+            forget(conn, seqs);
+            return Optional.of(new DeltaResult(file, tables.stream().mapToInt(TableDelta::changeCount).sum()));
+        }
+    }
+
+    private List<Long> loggedChanges(Connection conn, Map<String, Set<String>> changedIds, Set<String> replaceTables) throws SQLException {
+        List<Long> seqs = new ArrayList<>();
+        try (Statement statement = conn.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT seq, table_name, row_id FROM backup_change_log ORDER BY seq")) {
+            while (rs.next()) {
+                seqs.add(rs.getLong(1));
+                String table = rs.getString(2);
+                String rowId = rs.getString(3);
+                if (rowId == null) {
+                    replaceTables.add(table);
+                } else {
+                    changedIds.computeIfAbsent(table, t -> new LinkedHashSet<>()).add(rowId);
+                }
+            }
+        }
+        return seqs;
+    }
+
+    private TableDelta readWholeTable(Connection conn, String table) throws SQLException {
+        try (Statement statement = conn.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT * FROM " + quote(table))) {
+            List<Object[]> rows = new ArrayList<>();
+            while (rs.next()) {
+                rows.add(readRow(rs));
+            }
+            return new TableDelta(table, true, columns(rs.getMetaData()), rows, List.of());
+        }
+    }
+
+    private TableDelta readRows(Connection conn, String table, Set<String> ids) throws SQLException {
+        List<String> columns = List.of();
+        List<Object[]> rows = new ArrayList<>();
+        Set<String> deleted = new LinkedHashSet<>(ids);
+
+        List<String> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+            List<String> chunk = all.subList(from, Math.min(from + BATCH_SIZE, all.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+
+            try (PreparedStatement select = conn.prepareStatement(
+                    "SELECT * FROM " + quote(table) + " WHERE \"ID\" IN (" + placeholders + ")")) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    select.setString(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = select.executeQuery()) {
+                    columns = columns(rs.getMetaData());
+                    while (rs.next()) {
+                        rows.add(readRow(rs));
+                        deleted.remove(rs.getString("ID"));
+                    }
+                }
+            }
+        }
+        return new TableDelta(table, false, columns, rows, new ArrayList<>(deleted));
+    }
+
+    private Object[] readRow(ResultSet rs) throws SQLException {
+        int count = rs.getMetaData().getColumnCount();
+        Object[] row = new Object[count];
+        for (int c = 0; c < count; c++) {
+            Object value = rs.getObject(c + 1);
+            if (value instanceof Clob) {
+                value = rs.getString(c + 1);
+            } else if (value instanceof Blob) {
+                value = rs.getBytes(c + 1);
+            }
+            row[c] = value;
+        }
+        return row;
+    }
+
+    private List<String> columns(ResultSetMetaData meta) throws SQLException {
+        List<String> columns = new ArrayList<>(meta.getColumnCount());
+        for (int c = 1; c <= meta.getColumnCount(); c++) {
+            columns.add(meta.getColumnName(c));
+        }
+        return columns;
+    }
+
+    private void forget(Connection conn, List<Long> seqs) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement delete = conn.prepareStatement("DELETE FROM backup_change_log WHERE seq = ?")) {
+            for (int i = 0; i < seqs.size(); i++) {
+                delete.setLong(1, seqs.get(i));
+                delete.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    delete.executeBatch();
+                }
+            }
+            delete.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    // ==========================================
+    // RESTORE
+    // ==========================================
+
+    /**
+     * Loads the newest snapshot into {@code target}, which must be an empty database, and replays
+     * the deltas taken after it. Returns the number of deltas replayed.
+     */
+    public synchronized int restore(DataSource target) throws IOException, SQLException, GeneralSecurityException {
+        Path snapshot = latestSnapshot()
+                .orElseThrow(() -> new IllegalStateException("No full snapshot in " + backupDir.toAbsolutePath()));
+        List<Path> deltas = deltasAfter(snapshot);
+
+        try (Connection conn = target.getConnection(); Statement statement = conn.createStatement()) {
+            // 1. Never on top of live data
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC'")) {
+                rs.next();
+                if (rs.getInt(1) > 0) {
+                    throw new IllegalStateException("Restore target is not empty");
+                }
+            }
+
+            // 2. Full snapshot
+            log.info("Restoring snapshot {}", snapshot.getFileName());
+            statement.execute("RUNSCRIPT FROM " + literal(snapshot.toAbsolutePath().toString())
+                    + " COMPRESSION DEFLATE CIPHER AES PASSWORD " + literal(password));
+
+            // 3. Deltas, oldest first; rows may arrive before the rows they reference
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            conn.setAutoCommit(false);
+            for (Path delta : deltas) {
+                for (TableDelta table : DeltaFile.read(delta, password)) {
+                    apply(conn, table);
+                }
+                log.info("Replayed delta {}", delta.getFileName());
+            }
+
+            // 4. The replay itself is not a change to back up
+            statement.execute("DELETE FROM backup_change_log");
+            conn.commit();
+            conn.setAutoCommit(true);
+            statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        }
+        return deltas.size();
+    }
+
+    private void apply(Connection conn, TableDelta table) throws SQLException {
+        String columns = table.columns().stream().map(this::quote).collect(Collectors.joining(", "));
+        String placeholders = String.join(", ", Collections.nCopies(table.columns().size(), "?"));
+
+        if (table.replace()) {
+            try (Statement statement = conn.createStatement()) {
+                statement.execute("DELETE FROM " + quote(table.table()));
+            }
+        }
+        if (!table.rows().isEmpty()) {
+            String sql = table.replace()
+                    ? "INSERT INTO " + quote(table.table()) + " (" + columns + ") VALUES (" + placeholders + ")"
+                    : "MERGE INTO " + quote(table.table()) + " (" + columns + ") KEY (\"ID\") VALUES (" + placeholders + ")";
+            try (PreparedStatement write = conn.prepareStatement(sql)) {
+                for (Object[] row : table.rows()) {
+                    for (int c = 0; c < row.length; c++) {
+                        write.setObject(c + 1, row[c]);
+                    }
+                    write.addBatch();
+                }
+                write.executeBatch();
+            }
+        }
+        if (!table.deletedIds().isEmpty()) {
+            try (PreparedStatement delete = conn.prepareStatement("DELETE FROM " + quote(table.table()) + " WHERE \"ID\" = ?")) {
+                for (String id : table.deletedIds()) {
+                    delete.setString(1, id);
+                    delete.addBatch();
+                }
+                delete.executeBatch();
+            }
+        }
+    }
+
+    // ==========================================
+    // FILES
+    // ==========================================
+
+    public Optional<LocalDateTime> latestSnapshotTime() throws IOException {
+        return latestSnapshot().map(snapshot -> stampOf(snapshot, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX));
+    }
+
+    /**
+     * Drops snapshots older than {@code retentionDays} (the newest one is always kept), the deltas
+     * that only apply to dropped snapshots, and old {@code BACKUP TO} zips of the former scheduler.
+     */
+    public synchronized void cleanOldBackups(int retentionDays) throws IOException {
+        if (!Files.isDirectory(backupDir)) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        List<Path> snapshots = list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+
+        List<Path> expired = snapshots.stream()
+                .limit(Math.max(0, snapshots.size() - 1))
+                .filter(snapshot -> stampOf(snapshot, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX).isBefore(cutoff))
+                .toList();
+        for (Path snapshot : expired) {
+            delete(snapshot);
+        }
+
+        Optional<String> oldestKept = snapshots.stream().filter(s -> !expired.contains(s)).findFirst()
+                .map(s -> stamp(s, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX));
+        if (oldestKept.isPresent()) {
+            for (Path delta : list(DELTA_PREFIX, DELTA_SUFFIX)) {
+                if (stamp(delta, DELTA_PREFIX, DELTA_SUFFIX).compareTo(oldestKept.get()) < 0) {
+                    delete(delta);
+                }
+            }
+        }
+
+        long cutoffMillis = System.currentTimeMillis() - retentionDays * 24L * 60 * 60 * 1000;
+        for (Path legacy : list(LEGACY_PREFIX, ".zip")) {
+            if (Files.getLastModifiedTime(legacy).toMillis() < cutoffMillis) {
+                delete(legacy);
+            }
+        }
+    }
+
+    private Optional<Path> latestSnapshot() throws IOException {
+        List<Path> snapshots = list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        return snapshots.isEmpty() ? Optional.empty() : Optional.of(snapshots.get(snapshots.size() - 1));
+    }
+
+    private List<Path> deltasAfter(Path snapshot) throws IOException {
+        String snapshotStamp = stamp(snapshot, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        return list(DELTA_PREFIX, DELTA_SUFFIX).stream()
+                .filter(delta -> stamp(delta, DELTA_PREFIX, DELTA_SUFFIX).compareTo(snapshotStamp) > 0)
+                .toList();
+    }
+
+    // Matching files, oldest first (the stamp in the name sorts by time)
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        if (!Files.isDirectory(backupDir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(backupDir)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(suffix);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.delete(file);
+            log.info("Deleted old backup: {}", file);
+        } catch (IOException e) {
+            log.error("Failed to delete old backup {}", file, e);
+        }
+    }
+
+    // Strictly increasing, so two backups within the same millisecond still replay in order
+    private String nextStamp() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        lastStamp = now.isAfter(lastStamp) ? now : lastStamp.plus(1, ChronoUnit.MILLIS);
+        return STAMP.format(lastStamp);
+    }
+
+    private static String stamp(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        return name.substring(prefix.length(), name.length() - suffix.length());
+    }
+
+    private static LocalDateTime stampOf(Path file, String prefix, String suffix) {
+        return LocalDateTime.parse(stamp(file, prefix, suffix), STAMP);
+    }
+
+    private String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String literal(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+}
@@ -0,0 +1,26 @@
+package com.jewelry.pos.service.datagen;
+
+/**
+ * How much data one {@link SyntheticDataGenerator#generate} run writes.
+ *
+ * @param days                length of the history, ending today
+ * @param salesPerDay         average sales on a normal weekday; Thursday / Friday, the summer wedding
+ *                            season and the later part of the history get more
+ * @param tradeInPercent      share of sales where the customer also sells old gold
+ * @param availableProducts   unsold stock on the shelves at the end of the history
+ * @param suppliers           suppliers, each with its own account ledger
+ * @param persons             personal-account persons, each with its own ledger
+ * @param ledgerEntriesPerDay supplier, personal and home ledger entries per day, spread over the three
+ * @param seed                the same seed produces the same rows (apart from the id prefix)
+ */
+public record GenerationPlan(
+        int days,
+        int salesPerDay,
+        int tradeInPercent,
+        int availableProducts,
+        int suppliers,
+        int persons,
+        int ledgerEntriesPerDay,
+        long seed
+) {
+}
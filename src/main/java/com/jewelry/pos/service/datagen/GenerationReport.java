@@ -0,0 +1,20 @@
+package com.jewelry.pos.service.datagen;
+
+/**
+ * Row counts written by one {@link SyntheticDataGenerator#generate} run.
+ */
+public record GenerationReport(
+        int goldRates,
+        int availableProducts,
+        int sales,
+        int saleItems,
+        int tradeIns,
+        int purifications,
+        int suppliers,
+        int persons,
+        int supplierEntries,
+        int personalEntries,
+        int homeEntries,
+        long elapsedMillis
+) {
+}
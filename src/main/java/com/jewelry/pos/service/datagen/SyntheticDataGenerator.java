@@ -0,0 +1,466 @@
+package com.jewelry.pos.service.datagen;
+
+import com.jewelry.pos.domain.entity.JewelryTypeEnum;
+import com.jewelry.pos.domain.entity.KaratEnum;
+import com.jewelry.pos.domain.entity.PurityEnum;
+import com.jewelry.pos.domain.entity.TransactionTypeEnum;
+import com.jewelry.pos.service.DailyLedgerSummaryService;
+import com.jewelry.pos.service.LedgerBalanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fills the database with a realistic-looking shop history for load tests and benchmarks:
+ * gold-rate history, stock, sales with their items, old gold trade-ins, weekly scrap purifications,
+ * and the supplier / personal / home ledgers. Rows go in through plain JDBC batches (JPA would
+ * dominate the run time for 100k+ rows); the derived tables (daily ledger summary, ledger balances,
+ * scrap inventory) are brought in line at the end.
+ * <p>
+ * Volume follows the shop's real rhythm: Thursday and Friday are the busy days, the summer wedding
+ * season is busier than winter, business grows over the history, and sales cluster around the
+ * midday and evening peaks. The output is deterministic for a given {@link GenerationPlan#seed()}.
+ * <p>
+ * Every run writes under its own id / barcode prefix, so it can be run again on a database that
+ * already holds generated (or real) data. Only active under the {@code datagen} and {@code benchmark} profiles.
+ */
+@Component
+@Profile({"datagen", "benchmark"})
+@Slf4j
+@RequiredArgsConstructor
+public class SyntheticDataGenerator {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String[] MODELS = {"Ring", "Chain", "Bracelet", "Necklace", "Earring", "Bangle", "Pendant", "Set"};
+    private static final String[] CASHIERS = {"super_admin", "cashier_1", "cashier_2", "cashier_3"};
+    private static final String[] FIRST_NAMES = {"Ahmed", "Mohamed", "Mahmoud", "Omar", "Youssef", "Fatma", "Mona", "Heba", "Sara", "Nour"};
+    private static final String[] LAST_NAMES = {"Hassan", "Ali", "Ibrahim", "Saleh", "Mostafa", "Fathy", "Abdallah", "Kamal"};
+    private static final String[] HOME_EXPENSES = {"Rent", "Electricity", "Groceries", "School fees", "Family support", "Maintenance"};
+
+    // Opening hours 10:00 - 22:00; weight of each hour (midday and evening peaks)
+    private static final int FIRST_HOUR = 10;
+    private static final int[] HOUR_WEIGHTS = {3, 5, 8, 9, 7, 4, 4, 6, 9, 10, 8, 4};
+    private static final int HOUR_WEIGHT_TOTAL = 77;
+
+    private static final BigDecimal RATIO_21K = new BigDecimal("0.875");
+    private static final BigDecimal RATIO_18K = new BigDecimal("0.750");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DailyLedgerSummaryService ledgerSummaryService;
+    private final LedgerBalanceService ledgerBalanceService;
+
+    // ==========================================
+    // FULL HISTORY
+    // ==========================================
+
+    public GenerationReport generate(GenerationPlan plan) {
+        long start = System.currentTimeMillis();
+        Run run = new Run(plan.seed(), "G" + Long.toString(start, 36).toUpperCase());
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusDays(plan.days() - 1L);
+        log.info("Generating {} days of shop history under prefix {}", plan.days(), run.prefix);
+
+        // 1. Parties first: the ledgers reference them
+        List<String> suppliers = insertSuppliers(run, plan.suppliers());
+        List<String> persons = insertPersons(run, plan.persons());
+        run.flush();
+
+        // 2. Day by day: gold rate, sales (+ trade-ins), purifications, ledgers
+        BigDecimal rate24k = new BigDecimal("3400.00");
+        Map<KaratEnum, BigDecimal> scrap = new EnumMap<>(KaratEnum.class);
+        for (int d = 0; d < plan.days(); d++) {
+            LocalDate day = firstDay.plusDays(d);
+            rate24k = nextRate(run, rate24k);
+            insertGoldRate(run, day, rate24k);
+
+            double growth = 0.85 + 0.3 * d / Math.max(1, plan.days() - 1);
+            int sales = poisson(run, plan.salesPerDay() * dayFactor(day) * growth);
+            for (int s = 0; s < sales; s++) {
+                insertSale(run, plan, atHour(run, day), rate24k, scrap);
+            }
+
+            if (day.getDayOfWeek() == DayOfWeek.SATURDAY && !suppliers.isEmpty()) {
+                purifyScrap(run, day, rate24k, scrap, suppliers);
+            }
+            insertLedgerEntries(run, plan, day, suppliers, persons);
+        }
+
+        // 3. Stock still on the shelves today
+        for (int n = 0; n < plan.availableProducts(); n++) {
+            run.add(INSERT_PRODUCT, productRow(run, run.id("P"), run.prefix + "-BC-" + n, "AVAILABLE", 1,
+                    Timestamp.valueOf(LocalDateTime.now()), rate24k));
+            run.availableProducts++;
+        }
+        run.flush();
+
+        // 4. Derived tables
+        scrap.forEach(this::addToScrapInventory);
+        ledgerSummaryService.rebuild(firstDay, today);
+        ledgerBalanceService.verifyAndRepair();
+
+        GenerationReport report = new GenerationReport(plan.days(), run.availableProducts, run.sales, run.saleItems, run.tradeIns,
+                run.purifications, suppliers.size(), persons.size(), run.supplierEntries, run.personalEntries, run.homeEntries,
+                System.currentTimeMillis() - start);
+        log.info("Synthetic data generated: {}", report);
+        return report;
+    }
+
+    // ==========================================
+    // STOCK ONLY (benchmarks)
+    // ==========================================
+
+    /**
+     * {@code count} AVAILABLE products with ids and barcodes under {@code prefix}; returns the barcodes
+     * in insertion order. Every call needs its own prefix.
+     */
+    public List<String> seedAvailableProducts(String prefix, int count) {
+        Run run = new Run(prefix.hashCode(), prefix);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        BigDecimal rate24k = new BigDecimal("3400.00");
+
+        List<String> barcodes = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            String barcode = prefix + "-BC-" + n;
+            barcodes.add(barcode);
+            run.add(INSERT_PRODUCT, productRow(run, run.id("P"), barcode, "AVAILABLE", 1, now, rate24k));
+        }
+        run.flush();
+        return barcodes;
+    }
+
+    // ==========================================
+    // ROW WRITERS
+    // ==========================================
+
+    private static final String INSERT_PRODUCT = "INSERT INTO product (id, barcode, model_name, purity_enum, type, gross_weight, " +
+            "making_charge, cost_price, status, status_rank, created_date, last_modified_date, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_SALE = "INSERT INTO sale (id, customer_name, customer_phone, transaction_date, total_amount, " +
+            "old_gold_total_value, net_cash_paid, created_by, created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SALE_ITEM = "INSERT INTO sale_item (id, sale_id, product_id, applied_gold_rate, weight_snapshot, " +
+            "price_snapshot) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_OLD_GOLD = "INSERT INTO old_gold_purchase (id, transaction_date, purity, weight, buy_rate, " +
+            "total_value, sale_id, customer_phone_number, description, created_by, created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_GOLD_RATE = "INSERT INTO gold_rate (id, rate_24k, rate_21k, rate_18k, effective_date, is_active, " +
+            "created_date) VALUES (?, ?, ?, ?, ?, FALSE, ?)";
+    private static final String INSERT_PURIFICATION = "INSERT INTO scrap_purification (id, transaction_date, purity, weight_out, " +
+            "cash_received, supplier_id, created_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SUPPLIER = "INSERT INTO supplier (id, name, phone_number, address, created_date) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_PERSON = "INSERT INTO personal_person (id, name, phone_number, address, created_date) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_SUPPLIER_ACCOUNT = "INSERT INTO supplier_account (id, supplier_id, transaction_date, statement, " +
+            "transaction_type, weight, fees, number_of_pieces, purification_id, created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PERSONAL_ACCOUNT = "INSERT INTO personal_account (id, person_id, transaction_date, statement, " +
+            "transaction_type, weight, money, created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_HOME_EXPENSE = "INSERT INTO home_expense (id, transaction_date, description, transaction_type, " +
+            "weight, money, created_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private List<String> insertSuppliers(Run run, int count) {
+        List<String> ids = new ArrayList<>(count);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int n = 0; n < count; n++) {
+            String id = run.id("U");
+            ids.add(id);
+            run.add(INSERT_SUPPLIER, new Object[]{id, "Workshop " + run.prefix + "-" + n, phone(run), "Al Sagha, Cairo", now});
+        }
+        return ids;
+    }
+
+    private List<String> insertPersons(Run run, int count) {
+        List<String> ids = new ArrayList<>(count);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int n = 0; n < count; n++) {
+            String id = run.id("R");
+            ids.add(id);
+            run.add(INSERT_PERSON, new Object[]{id, personName(run), phone(run), "Cairo", now});
+        }
+        return ids;
+    }
+
+    private void insertGoldRate(Run run, LocalDate day, BigDecimal rate24k) {
+        // History only: the shop's active rate stays the one set through the app
+        Timestamp at = Timestamp.valueOf(day.atTime(9, 0));
+        run.add(INSERT_GOLD_RATE, new Object[]{run.id("G"), rate24k, rateFor(PurityEnum.K21, rate24k), rateFor(PurityEnum.K18, rate24k), at, at});
+    }
+
+    private void insertSale(Run run, GenerationPlan plan, LocalDateTime at, BigDecimal rate24k, Map<KaratEnum, BigDecimal> scrap) {
+        Timestamp ts = Timestamp.valueOf(at);
+        String saleId = run.id("S");
+        BigDecimal total = BigDecimal.ZERO;
+        List<Object[]> items = new ArrayList<>();
+
+        // 1. Items: mostly single pieces, sometimes a set for a wedding
+        int itemCount = itemCount(run);
+        for (int k = 0; k < itemCount; k++) {
+            String productId = run.id("P");
+            Object[] product = productRow(run, productId, run.prefix + "-SOLD-" + run.saleItems, "SOLD", 3, ts, rate24k);
+            BigDecimal weight = (BigDecimal) product[5];
+            BigDecimal rate = rateFor(PurityEnum.valueOf((String) product[3]), rate24k);
+            BigDecimal price = weight.multiply(rate).add((BigDecimal) product[6]).setScale(2, RoundingMode.HALF_UP);
+            total = total.add(price);
+
+            run.add(INSERT_PRODUCT, product);
+            items.add(new Object[]{run.id("I"), saleId, productId, rate, weight, price});
+            run.saleItems++;
+        }
+
+        // 2. Trade-in: old gold bought below the selling rate, never worth more than the purchase
+        BigDecimal oldGoldValue = BigDecimal.ZERO;
+        Object[] tradeIn = null;
+        if (run.random.nextInt(100) < plan.tradeInPercent()) {
+            PurityEnum purity = run.random.nextInt(10) < 7 ? PurityEnum.K21 : PurityEnum.K18;
+            BigDecimal buyRate = rateFor(purity, rate24k).multiply(new BigDecimal("0.97")).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal weight = BigDecimal.valueOf(2_000 + run.random.nextInt(18_000), 3);
+            BigDecimal maxWeight = total.divide(buyRate, 3, RoundingMode.DOWN);
+            if (weight.compareTo(maxWeight) > 0) {
+                weight = maxWeight;
+            }
+            oldGoldValue = weight.multiply(buyRate).setScale(2, RoundingMode.HALF_UP);
+            String karat = karatOf(purity).name();
+            tradeIn = new Object[]{run.id("O"), ts, karat, weight, buyRate, oldGoldValue, saleId, phone(run), "Trade-in", CASHIERS[0], ts};
+            scrap.merge(karatOf(purity), weight, BigDecimal::add);
+            run.tradeIns++;
+        }
+
+        run.add(INSERT_SALE, new Object[]{saleId, personName(run), phone(run), ts, total, oldGoldValue, total.subtract(oldGoldValue),
+                CASHIERS[run.random.nextInt(CASHIERS.length)], ts});
+        items.forEach(item -> run.add(INSERT_SALE_ITEM, item));
+        if (tradeIn != null) {
+            run.add(INSERT_OLD_GOLD, tradeIn);
+        }
+        run.sales++;
+    }
+
+    // Weekly trip to the refinery: most of the collected scrap of each karat goes out
+    private void purifyScrap(Run run, LocalDate day, BigDecimal rate24k, Map<KaratEnum, BigDecimal> scrap, List<String> suppliers) {
+        Timestamp at = Timestamp.valueOf(day.atTime(11, 0));
+        for (Map.Entry<KaratEnum, BigDecimal> e : scrap.entrySet()) {
+            BigDecimal weightOut = e.getValue().multiply(new BigDecimal("0.9")).setScale(3, RoundingMode.DOWN);
+            if (weightOut.signum() <= 0) {
+                continue;
+            }
+            PurityEnum purity = e.getKey() == KaratEnum.KARAT_21 ? PurityEnum.K21 : PurityEnum.K18;
+            BigDecimal cash = weightOut.multiply(rateFor(purity, rate24k)).multiply(new BigDecimal("0.98")).setScale(2, RoundingMode.HALF_UP);
+            String supplierId = suppliers.get(run.random.nextInt(suppliers.size()));
+            String purificationId = run.id("F");
+
+            run.add(INSERT_PURIFICATION, new Object[]{purificationId, at, e.getKey().name(), weightOut, cash, supplierId, at});
+            run.add(INSERT_SUPPLIER_ACCOUNT, new Object[]{run.id("A"), supplierId, at, "Purification - Sent scrap to factory",
+                    TransactionTypeEnum.PAYABLE.name(), weightOut, cash, null, purificationId, at});
+            e.setValue(e.getValue().subtract(weightOut));
+            run.purifications++;
+            run.supplierEntries++;
+        }
+    }
+
+    // Roughly 40% supplier, 40% personal, 20% home
+    private void insertLedgerEntries(Run run, GenerationPlan plan, LocalDate day, List<String> suppliers, List<String> persons) {
+        int entries = poisson(run, plan.ledgerEntriesPerDay());
+        for (int n = 0; n < entries; n++) {
+            Timestamp at = Timestamp.valueOf(atHour(run, day));
+            TransactionTypeEnum type = run.random.nextBoolean() ? TransactionTypeEnum.RECEIVABLE : TransactionTypeEnum.PAYABLE;
+            int pick = run.random.nextInt(10);
+
+            if (pick < 4 && !suppliers.isEmpty()) {
+                String supplierId = suppliers.get(run.random.nextInt(suppliers.size()));
+                int pieces = 1 + run.random.nextInt(20);
+                run.add(INSERT_SUPPLIER_ACCOUNT, new Object[]{run.id("A"), supplierId, at,
+                        type == TransactionTypeEnum.RECEIVABLE ? "Received finished pieces" : "Sent gold for manufacturing",
+                        type.name(), grams(run, 5, 200), money(run, 200, 5_000), pieces, null, at});
+                run.supplierEntries++;
+            } else if (pick < 8 && !persons.isEmpty()) {
+                String personId = persons.get(run.random.nextInt(persons.size()));
+                boolean gold = run.random.nextInt(4) == 0;
+                run.add(INSERT_PERSONAL_ACCOUNT, new Object[]{run.id("L"), personId, at,
+                        type == TransactionTypeEnum.RECEIVABLE ? "Installment" : "Loan",
+                        type.name(), gold ? grams(run, 1, 30) : BigDecimal.ZERO.setScale(3), gold ? BigDecimal.ZERO.setScale(2) : money(run, 500, 50_000), at});
+                run.personalEntries++;
+            } else {
+                // Home: mostly money going out
+                TransactionTypeEnum homeType = run.random.nextInt(5) == 0 ? TransactionTypeEnum.RECEIVABLE : TransactionTypeEnum.PAYABLE;
+                run.add(INSERT_HOME_EXPENSE, new Object[]{run.id("H"), at, HOME_EXPENSES[run.random.nextInt(HOME_EXPENSES.length)],
+                        homeType.name(), BigDecimal.ZERO.setScale(3), money(run, 100, 10_000), at});
+                run.homeEntries++;
+            }
+        }
+    }
+
+    // id, barcode, model, purity, type, weight, making charge, cost, status, rank, created, modified
+    private Object[] productRow(Run run, String id, String barcode, String status, int statusRank, Timestamp created, BigDecimal rate24k) {
+        PurityEnum purity = purity(run);
+        BigDecimal weight = BigDecimal.valueOf(weightMilligrams(run), 3);
+        BigDecimal makingCharge = weight.multiply(BigDecimal.valueOf(40 + run.random.nextInt(80))).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal cost = weight.multiply(rateFor(purity, rate24k)).multiply(new BigDecimal("0.92")).setScale(2, RoundingMode.HALF_UP);
+        String model = MODELS[run.random.nextInt(MODELS.length)] + " " + (char) ('A' + run.random.nextInt(26)) + run.random.nextInt(1000);
+        JewelryTypeEnum type = JewelryTypeEnum.values()[run.random.nextInt(JewelryTypeEnum.values().length)];
+        return new Object[]{id, barcode, model, purity.name(), type.name(), weight, makingCharge, cost, status, statusRank, created, created};
+    }
+
+    // Update first; insert only for a purity the migration did not seed
+    private void addToScrapInventory(KaratEnum purity, BigDecimal weight) {
+        int updated = jdbcTemplate.update("UPDATE scrap_inventory SET total_weight = total_weight + ? WHERE purity = ?", weight, purity.name());
+        if (updated == 0) {
+            jdbcTemplate.update("INSERT INTO scrap_inventory (purity, total_weight) VALUES (?, ?)", purity.name(), weight);
+        }
+    }
+
+    // ==========================================
+    // DISTRIBUTIONS
+    // ==========================================
+
+    private double dayFactor(LocalDate day) {
+        double weekday = switch (day.getDayOfWeek()) {
+            case THURSDAY -> 1.4;
+            case FRIDAY -> 1.6;
+            case SATURDAY -> 1.1;
+            default -> 0.85;
+        };
+        double season = switch (day.getMonth()) {
+            case JUNE, JULY, AUGUST -> 1.3;
+            case DECEMBER, JANUARY, FEBRUARY -> 0.85;
+            default -> 1.0;
+        };
+        return weekday * season;
+    }
+
+    private LocalDateTime atHour(Run run, LocalDate day) {
+        int pick = run.random.nextInt(HOUR_WEIGHT_TOTAL);
+        int hour = 0;
+        while (pick >= HOUR_WEIGHTS[hour]) {
+            pick -= HOUR_WEIGHTS[hour++];
+        }
+        return day.atTime(FIRST_HOUR + hour, run.random.nextInt(60), run.random.nextInt(60));
+    }
+
+    private int itemCount(Run run) {
+        int p = run.random.nextInt(100);
+        if (p < 55) return 1;
+        if (p < 80) return 2;
+        if (p < 92) return 3;
+        return 4 + run.random.nextInt(3);
+    }
+
+    private PurityEnum purity(Run run) {
+        int p = run.random.nextInt(10);
+        return p < 6 ? PurityEnum.K21 : p < 9 ? PurityEnum.K18 : PurityEnum.K24;
+    }
+
+    // Log-normal around 6 g, clamped to 1 - 60 g
+    private long weightMilligrams(Run run) {
+        double grams = Math.exp(Math.log(6) + 0.6 * run.random.nextGaussian());
+        return Math.round(Math.min(60, Math.max(1, grams)) * 1_000);
+    }
+
+    // Daily random walk: slight upward drift, ~0.8% daily volatility
+    private BigDecimal nextRate(Run run, BigDecimal rate24k) {
+        double change = 1.0005 + 0.008 * run.random.nextGaussian();
+        return rate24k.multiply(BigDecimal.valueOf(change)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private int poisson(Run run, double mean) {
+        if (mean <= 0) return 0;
+        if (mean > 30) {
+            return (int) Math.max(0, Math.round(mean + Math.sqrt(mean) * run.random.nextGaussian()));
+        }
+        double limit = Math.exp(-mean);
+        double product = run.random.nextDouble();
+        int n = 0;
+        while (product > limit) {
+            product *= run.random.nextDouble();
+            n++;
+        }
+        return n;
+    }
+
+    private BigDecimal rateFor(PurityEnum purity, BigDecimal rate24k) {
+        BigDecimal rate = switch (purity) {
+            case K24 -> rate24k;
+            case K21 -> rate24k.multiply(RATIO_21K);
+            case K18 -> rate24k.multiply(RATIO_18K);
+        };
+        return rate.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private KaratEnum karatOf(PurityEnum purity) {
+        return switch (purity) {
+            case K24 -> KaratEnum.KARAT_24;
+            case K21 -> KaratEnum.KARAT_21;
+            case K18 -> KaratEnum.KARAT_18;
+        };
+    }
+
+    private BigDecimal grams(Run run, int min, int max) {
+        return BigDecimal.valueOf(min * 1_000L + run.random.nextInt((max - min) * 1_000), 3);
+    }
+
+    private BigDecimal money(Run run, int min, int max) {
+        return BigDecimal.valueOf(min + run.random.nextInt(max - min)).setScale(2);
+    }
+
+    private String personName(Run run) {
+        return FIRST_NAMES[run.random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[run.random.nextInt(LAST_NAMES.length)];
+    }
+
+    private String phone(Run run) {
+        return "01" + run.random.nextInt(3) + String.format("%08d", run.random.nextInt(100_000_000));
+    }
+
+    // ==========================================
+    // RUN STATE
+    // ==========================================
+
+    /**
+     * One generation run: its random stream, id counter and the pending JDBC batches.
+     * Batches flush together in first-use order, so parents always reach the database before their children.
+     */
+    private class Run {
+        final Random random;
+        final String prefix;
+        final Map<String, List<Object[]>> pending = new LinkedHashMap<>();
+        long nextId;
+        int pendingRows;
+        int availableProducts, sales, saleItems, tradeIns, purifications, supplierEntries, personalEntries, homeEntries;
+
+        Run(long seed, String prefix) {
+            this.random = new Random(seed);
+            this.prefix = prefix;
+        }
+
+        // prefix + kind + zero-padded counter: 26 characters like a TSID
+        String id(String kind) {
+            String head = prefix + kind;
+            return head + String.format("%0" + (26 - head.length()) + "d", nextId++);
+        }
+
+        void add(String sql, Object[] row) {
+            pending.computeIfAbsent(sql, k -> new ArrayList<>()).add(row);
+            if (++pendingRows >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            for (Map.Entry<String, List<Object[]>> e : pending.entrySet()) {
+                if (!e.getValue().isEmpty()) {
+                    jdbcTemplate.batchUpdate(e.getKey(), e.getValue());
+                    e.getValue().clear();
+                }
+            }
+            pendingRows = 0;
+        }
+    }
+}
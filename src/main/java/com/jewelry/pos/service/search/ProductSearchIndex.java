@@ -0,0 +1,376 @@
+package com.jewelry.pos.service.search;
+
+import com.jewelry.pos.domain.entity.Product;
+import com.jewelry.pos.domain.entity.ProductStatusEnum;
+import com.jewelry.pos.domain.repository.ProductRepository;
+import com.jewelry.pos.event.ProductChangedEvent;
+import com.jewelry.pos.event.ProductDeletedEvent;
+import com.jewelry.pos.event.ProductsSoldEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory search index over the AVAILABLE products, used by the cashier's autocomplete.
+ * <p>
+ * Barcode, model name and description are normalized with {@link SearchTextNormalizer}.
+ * Queries of 3+ characters intersect trigram posting lists and then check each candidate
+ * with a real substring match, so the result is exactly what {@code LIKE '%q%'} returned.
+ * Shorter queries match word prefixes.
+ * <p>
+ * The index is loaded once at startup and then kept current from the product events, which
+ * are delivered after commit. Events that arrive while the table is being read are applied again
+ * on top of the loaded rows (requests are already served during startup), so a sale or edit
+ * committed during the load is not lost. Until the first load finishes {@link #isReady()} is false
+ * and callers should fall back to the database.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> entries = new HashMap<>();              // productId -> entry
+    private final Map<String, Set<String>> gramPostings = new HashMap<>();   // trigram -> productIds
+    private final NavigableMap<String, Set<String>> wordPostings = new TreeMap<>(); // word -> productIds
+    private volatile boolean ready;
+
+    // Events seen since the current load started reading the table (guarded by the lock)
+    private final List<Object> eventsDuringLoad = new ArrayList<>();
+    private boolean loading;
+
+    // Normalized copy of the searchable fields plus a detached copy of the product for mapping
+    private record Entry(Product product, String barcode, String name, String description, Set<String> grams, Set<String> words) {
+    }
+
+    // ==========================================
+    // LOADING
+    // ==========================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            long start = System.currentTimeMillis();
+            beginLoad();
+            replaceAll(productRepository.findAllByStatus(ProductStatusEnum.AVAILABLE));
+            log.info("Product search index loaded: {} products in {} ms", size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            endLoad();
+            log.error("Product search index load failed, search stays on the database: {}", e.getMessage());
+        }
+    }
+
+    // From here until replaceAll, events are also kept to be replayed over the (older) table snapshot
+    private void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = true;
+            eventsDuringLoad.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void endLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = false;
+            eventsDuringLoad.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            gramPostings.clear();
+            wordPostings.clear();
+            for (Product product : products) {
+                if (product.getStatus() == ProductStatusEnum.AVAILABLE) {
+                    add(product);
+                }
+            }
+            // Each event sets the product's final state, so replaying one the snapshot already reflects is harmless
+            eventsDuringLoad.forEach(this::apply);
+            eventsDuringLoad.clear();
+            loading = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==========================================
+    // EVENTS (after commit)
+    // ==========================================
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        onEvent(event);
+    }
+
+    @TransactionalEventListener
+    public void onProductDeleted(ProductDeletedEvent event) {
+        onEvent(event);
+    }
+
+    @TransactionalEventListener
+    public void onProductsSold(ProductsSoldEvent event) {
+        onEvent(event);
+    }
+
+    private void onEvent(Object event) {
+        lock.writeLock().lock();
+        try {
+            apply(event);
+            if (loading) {
+                eventsDuringLoad.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Object event) {
+        if (event instanceof ProductChangedEvent changed) {
+            Product product = changed.product();
+            remove(product.getId());
+            if (product.getStatus() == ProductStatusEnum.AVAILABLE) {
+                add(product);
+            }
+        } else if (event instanceof ProductDeletedEvent deleted) {
+            remove(deleted.productId());
+        } else if (event instanceof ProductsSoldEvent sold) {
+            sold.productIds().forEach(this::remove);
+        }
+    }
+
+    // ==========================================
+    // SEARCH
+    // ==========================================
+
+    /**
+     * The best matches, in order, and the number of matches overall.
+     */
+    public record Hits(List<Product> products, long total) {
+    }
+
+    /**
+     * The best {@code limit} matches for {@code query} that also pass {@code filter}.
+     * Order: barcode match, model name starting with the query, model name containing it,
+     * description match; then by model name. A blank query matches every indexed product.
+     */
+    public List<Product> search(String query, Predicate<Product> filter, int limit) {
+        return searchWithTotal(query, filter, limit).products();
+    }
+
+    /**
+     * Like {@link #search}, plus the total number of matches, counted in the same pass: a paged caller
+     * asks for {@code offset + pageSize} and never ranks more than that.
+     */
+    public Hits searchWithTotal(String query, Predicate<Product> filter, int limit) {
+        String q = SearchTextNormalizer.normalize(query).trim();
+
+        lock.readLock().lock();
+        try {
+            // Keep only the best `limit` matches (worst on top) instead of sorting every match
+            PriorityQueue<Ranked> best = new PriorityQueue<>(RANKING.reversed());
+            long total = 0;
+            for (Entry entry : candidates(q)) {
+                int rank = rank(entry, q);
+                if (rank < 0 || !filter.test(entry.product())) {
+                    continue;
+                }
+                total++;
+                if (limit <= 0) {
+                    continue;
+                }
+                Ranked match = new Ranked(entry, rank);
+                if (best.size() < limit) {
+                    best.add(match);
+                } else if (RANKING.compare(match, best.peek()) < 0) {
+                    best.poll();
+                    best.add(match);
+                }
+            }
+
+            List<Ranked> ordered = new ArrayList<>(best);
+            ordered.sort(RANKING);
+            List<Product> result = new ArrayList<>(ordered.size());
+            for (Ranked match : ordered) {
+                result.add(match.entry().product());
+            }
+            return new Hits(result, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final Comparator<Ranked> RANKING = Comparator.comparingInt(Ranked::rank)
+            .thenComparing(r -> r.entry().name())
+            .thenComparing(r -> r.entry().product().getId());
+
+    private record Ranked(Entry entry, int rank) {
+    }
+
+    // Caller holds the read lock, so the blank query can walk the live map without copying it
+    private Collection<Entry> candidates(String q) {
+        if (q.isEmpty()) {
+            return entries.values();
+        }
+
+        Set<String> ids;
+        if (q.length() < SearchTextNormalizer.GRAM_LENGTH) {
+            // Too short for a trigram: every word starting with the query
+            ids = new HashSet<>();
+            for (Set<String> postings : wordPostings.subMap(q, true, q + Character.MAX_VALUE, false).values()) {
+                ids.addAll(postings);
+            }
+        } else {
+            // Intersect the posting lists, smallest first
+            List<Set<String>> lists = new ArrayList<>();
+            for (String gram : SearchTextNormalizer.grams(q)) {
+                Set<String> postings = gramPostings.get(gram);
+                if (postings == null) {
+                    return List.of();
+                }
+                lists.add(postings);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+            ids = new HashSet<>(lists.get(0));
+            for (int i = 1; i < lists.size() && !ids.isEmpty(); i++) {
+                ids.retainAll(lists.get(i));
+            }
+        }
+
+        List<Entry> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            result.add(entries.get(id));
+        }
+        return result;
+    }
+
+    // -1 = no real match (trigram false positive)
+    private int rank(Entry entry, String q) {
+        if (q.isEmpty()) {
+            return 0;
+        }
+        boolean prefixOnly = q.length() < SearchTextNormalizer.GRAM_LENGTH;
+
+        if (prefixOnly ? entry.barcode().startsWith(q) : entry.barcode().contains(q)) {
+            return 1;
+        }
+        if (entry.name().startsWith(q)) {
+            return 2;
+        }
+        if (prefixOnly ? hasWordStartingWith(entry.name(), q) : entry.name().contains(q)) {
+            return 3;
+        }
+        if (prefixOnly ? hasWordStartingWith(entry.description(), q) : entry.description().contains(q)) {
+            return 4;
+        }
+        return -1;
+    }
+
+    private boolean hasWordStartingWith(String text, String prefix) {
+        return text.startsWith(prefix) || text.contains(" " + prefix);
+    }
+
+    // ==========================================
+    // INDEX MAINTENANCE (caller holds the write lock)
+    // ==========================================
+
+    private void add(Product product) {
+        String barcode = SearchTextNormalizer.normalize(product.getBarcode());
+        String name = SearchTextNormalizer.normalize(product.getModelName());
+        String description = SearchTextNormalizer.normalize(product.getDescription());
+
+        Set<String> grams = new HashSet<>();
+        grams.addAll(SearchTextNormalizer.grams(barcode));
+        grams.addAll(SearchTextNormalizer.grams(name));
+        grams.addAll(SearchTextNormalizer.grams(description));
+
+        Set<String> words = new HashSet<>();
+        words.addAll(SearchTextNormalizer.words(barcode));
+        words.addAll(SearchTextNormalizer.words(name));
+        words.addAll(SearchTextNormalizer.words(description));
+
+        String id = product.getId();
+        entries.put(id, new Entry(copyOf(product), barcode, name, description, grams, words));
+        for (String gram : grams) {
+            gramPostings.computeIfAbsent(gram, k -> new HashSet<>()).add(id);
+        }
+        for (String word : words) {
+            wordPostings.computeIfAbsent(word, k -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void remove(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String gram : entry.grams()) {
+            removePosting(gramPostings, gram, id);
+        }
+        for (String word : entry.words()) {
+            removePosting(wordPostings, word, id);
+        }
+    }
+
+    private void removePosting(Map<String, Set<String>> postings, String key, String id) {
+        Set<String> ids = postings.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    // The index must not share instances with a persistence context
+    private Product copyOf(Product source) {
+        Product copy = new Product();
+        copy.setId(source.getId());
+        copy.setBarcode(source.getBarcode());
+        copy.setModelName(source.getModelName());
+        copy.setPurityEnum(source.getPurityEnum());
+        copy.setType(source.getType());
+        copy.setGrossWeight(source.getGrossWeight());
+        copy.setMakingCharge(source.getMakingCharge());
+        copy.setDescription(source.getDescription());
+        copy.setStatus(source.getStatus());
+        copy.setCostPrice(source.getCostPrice());
+        copy.setVersion(source.getVersion());
+        copy.setCreatedBy(source.getCreatedBy());
+        copy.setCreatedDate(source.getCreatedDate());
+        copy.setLastModifiedBy(source.getLastModifiedBy());
+        copy.setLastModifiedDate(source.getLastModifiedDate());
+        return copy;
+    }
+}
@@ -0,0 +1,360 @@
+package com.jewelry.pos.service.search;
+
+import com.jewelry.pos.domain.repository.SaleRepository;
+import com.jewelry.pos.domain.repository.SaleSearchRow;
+import com.jewelry.pos.event.SaleRecordedEvent;
+import com.jewelry.pos.event.SaleVoidedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search index over the sales history, used by {@code GET /api/pos/sales}.
+ * <p>
+ * A query matches a sale when:
+ * <ul>
+ *     <li>it is a prefix of the sale ID (case-insensitive), or</li>
+ *     <li>its digits are a prefix of the customer's phone digits - spaces, dashes and the like are
+ *     ignored on both sides and Arabic-Indic / Persian digits count as ASCII ones, or</li>
+ *     <li>it occurs in the customer name, normalized with {@link SearchTextNormalizer}. Queries of 3+
+ *     characters go through trigram posting lists, shorter ones match word prefixes.</li>
+ * </ul>
+ * Matches are ordered by sale time (newest first by default), so the page is the same one the
+ * database would return for the history list's time sort.
+ * <p>
+ * The index is loaded once at startup and then kept current from {@link SaleRecordedEvent} and
+ * {@link SaleVoidedEvent}, which are delivered after commit. Events that arrive while the table is
+ * being read are applied again on top of the loaded rows, so a sale committed during the load is not
+ * lost. Until the first load finishes {@link #isReady()} is false and callers should fall back to the database.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SaleSearchIndex {
+
+    // Sorts the index can serve: all of them are the time the sale was rung up
+    private static final Set<String> TIME_PROPERTIES = Set.of("transactionDate", "createdDate", "lastModifiedDate");
+
+    private final SaleRepository saleRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> entries = new HashMap<>();                       // saleId -> entry
+    private final NavigableMap<String, String> idKeys = new TreeMap<>();               // lower-cased id -> saleId
+    private final NavigableMap<String, Set<String>> phonePostings = new TreeMap<>();   // phone digits -> saleIds
+    private final Map<String, Set<String>> gramPostings = new HashMap<>();             // name trigram -> saleIds
+    private final NavigableMap<String, Set<String>> wordPostings = new TreeMap<>();    // name word -> saleIds
+    private volatile boolean ready;
+
+    // Events seen since the current load started reading the table (guarded by the lock)
+    private final List<Object> eventsDuringLoad = new ArrayList<>();
+    private boolean loading;
+
+    private record Entry(String id, LocalDateTime transactionDate, String idKey, String phone, String name,
+                         Set<String> grams, Set<String> words) {
+    }
+
+    /**
+     * One page of matches: the sale IDs of the page, in order, and the number of matches overall.
+     */
+    public record Hits(List<String> saleIds, long total) {
+    }
+
+    // ==========================================
+    // LOADING
+    // ==========================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            long start = System.currentTimeMillis();
+            beginLoad();
+            replaceAll(saleRepository.findAllSearchRows());
+            log.info("Sale search index loaded: {} sales in {} ms", size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            endLoad();
+            log.error("Sale search index load failed, sales search stays on the database: {}", e.getMessage());
+        }
+    }
+
+    // From here until replaceAll, events are also kept to be replayed over the (older) table snapshot
+    private void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = true;
+            eventsDuringLoad.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void endLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = false;
+            eventsDuringLoad.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(Collection<SaleSearchRow> sales) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            idKeys.clear();
+            phonePostings.clear();
+            gramPostings.clear();
+            wordPostings.clear();
+            for (SaleSearchRow sale : sales) {
+                add(sale.id(), sale.transactionDate(), sale.customerName(), sale.customerPhone());
+            }
+            // Both events are idempotent, so replaying one the snapshot already reflects is harmless
+            eventsDuringLoad.forEach(this::apply);
+            eventsDuringLoad.clear();
+            loading = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==========================================
+    // EVENTS (after commit)
+    // ==========================================
+
+    @TransactionalEventListener
+    public void onSaleRecorded(SaleRecordedEvent event) {
+        onEvent(event);
+    }
+
+    @TransactionalEventListener
+    public void onSaleVoided(SaleVoidedEvent event) {
+        onEvent(event);
+    }
+
+    private void onEvent(Object event) {
+        lock.writeLock().lock();
+        try {
+            apply(event);
+            if (loading) {
+                eventsDuringLoad.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Object event) {
+        if (event instanceof SaleRecordedEvent recorded) {
+            remove(recorded.saleId());
+            add(recorded.saleId(), recorded.transactionDate(), recorded.customerName(), recorded.customerPhone());
+        } else if (event instanceof SaleVoidedEvent voided) {
+            remove(voided.saleId());
+        }
+    }
+
+    // ==========================================
+    // SEARCH
+    // ==========================================
+
+    /**
+     * True when the index can order a page by {@code sort}: unsorted, or a single sort on the sale time.
+     */
+    public static boolean supports(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        return orders.isEmpty() || (orders.size() == 1 && TIME_PROPERTIES.contains(orders.get(0).getProperty()));
+    }
+
+    /**
+     * The page of {@code pageable} among the sales matching {@code query} with a sale time in
+     * [{@code start}, {@code end}] (either bound may be null). The sort must pass {@link #supports(Sort)}.
+     */
+    public Hits search(String query, LocalDateTime start, LocalDateTime end, Pageable pageable) {
+        String q = SearchTextNormalizer.normalize(query).trim();
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(null);
+        Comparator<Entry> ordering = order != null && order.isAscending() ? OLDEST_FIRST : OLDEST_FIRST.reversed();
+
+        lock.readLock().lock();
+        try {
+            List<Entry> matches = new ArrayList<>();
+            for (String id : candidates(q)) {
+                Entry entry = entries.get(id);
+                if ((start == null || !entry.transactionDate().isBefore(start))
+                        && (end == null || !entry.transactionDate().isAfter(end))) {
+                    matches.add(entry);
+                }
+            }
+            matches.sort(ordering);
+
+            int from = (int) Math.min(pageable.getOffset(), matches.size());
+            int to = Math.min(from + pageable.getPageSize(), matches.size());
+            List<String> page = new ArrayList<>(to - from);
+            for (Entry entry : matches.subList(from, to)) {
+                page.add(entry.id());
+            }
+            return new Hits(page, matches.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // TSIDs grow with time, so the id breaks ties the same way the creation order would
+    private static final Comparator<Entry> OLDEST_FIRST = Comparator.comparing(Entry::transactionDate)
+            .thenComparing(Entry::id);
+
+    private Set<String> candidates(String q) {
+        if (q.isEmpty()) {
+            return new HashSet<>(entries.keySet());
+        }
+        Set<String> ids = new HashSet<>();
+
+        // 1. ID: exact or prefix
+        String idKey = q.replace(" ", "");
+        idKeys.subMap(idKey, true, idKey + Character.MAX_VALUE, false).values().forEach(ids::add);
+
+        // 2. Phone: exact or prefix on the digits, when the query reads like a phone number
+        String digits = phoneDigits(q);
+        if (digits != null) {
+            for (Set<String> postings : phonePostings.subMap(digits, true, digits + Character.MAX_VALUE, false).values()) {
+                ids.addAll(postings);
+            }
+        }
+
+        // 3. Customer name: substring through trigrams, word prefix below the trigram length
+        ids.addAll(nameMatches(q));
+        return ids;
+    }
+
+    private Set<String> nameMatches(String q) {
+        Set<String> ids = new HashSet<>();
+        if (q.length() < SearchTextNormalizer.GRAM_LENGTH) {
+            for (Set<String> postings : wordPostings.subMap(q, true, q + Character.MAX_VALUE, false).values()) {
+                ids.addAll(postings);
+            }
+            return ids;
+        }
+
+        // Intersect the posting lists, smallest first, then drop the trigram false positives
+        List<Set<String>> lists = new ArrayList<>();
+        for (String gram : SearchTextNormalizer.grams(q)) {
+            Set<String> postings = gramPostings.get(gram);
+            if (postings == null) {
+                return ids;
+            }
+            lists.add(postings);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        ids.addAll(lists.get(0));
+        for (int i = 1; i < lists.size() && !ids.isEmpty(); i++) {
+            ids.retainAll(lists.get(i));
+        }
+        ids.removeIf(id -> !entries.get(id).name().contains(q));
+        return ids;
+    }
+
+    /**
+     * The digits of an already normalized phone number or query, or null when the text is not a phone
+     * number: anything but digits, spaces and {@code + - ( ) .}, or no digit at all.
+     */
+    static String phoneDigits(String normalized) {
+        if (normalized == null || normalized.isEmpty()) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c != ' ' && c != '+' && c != '-' && c != '(' && c != ')' && c != '.') {
+                return null;
+            }
+        }
+        return digits.isEmpty() ? null : digits.toString();
+    }
+
+    // A stored phone keeps every digit it has, whatever else was typed around them ("010 1234 5678 ext")
+    private static String storedPhoneDigits(String normalized) {
+        StringBuilder digits = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.isEmpty() ? null : digits.toString();
+    }
+
+    // ==========================================
+    // INDEX MAINTENANCE (caller holds the write lock)
+    // ==========================================
+
+    private void add(String id, LocalDateTime transactionDate, String customerName, String customerPhone) {
+        String idKey = SearchTextNormalizer.normalize(id);
+        String phone = storedPhoneDigits(SearchTextNormalizer.normalize(customerPhone));
+        String name = SearchTextNormalizer.normalize(customerName);
+        Set<String> grams = SearchTextNormalizer.grams(name);
+        Set<String> words = new HashSet<>(SearchTextNormalizer.words(name));
+
+        entries.put(id, new Entry(id, transactionDate, idKey, phone, name, grams, words));
+        idKeys.put(idKey, id);
+        if (phone != null) {
+            phonePostings.computeIfAbsent(phone, k -> new HashSet<>()).add(id);
+        }
+        for (String gram : grams) {
+            gramPostings.computeIfAbsent(gram, k -> new HashSet<>()).add(id);
+        }
+        for (String word : words) {
+            wordPostings.computeIfAbsent(word, k -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void remove(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        idKeys.remove(entry.idKey());
+        if (entry.phone() != null) {
+            removePosting(phonePostings, entry.phone(), id);
+        }
+        for (String gram : entry.grams()) {
+            removePosting(gramPostings, gram, id);
+        }
+        for (String word : entry.words()) {
+            removePosting(wordPostings, word, id);
+        }
+    }
+
+    private void removePosting(Map<String, Set<String>> postings, String key, String id) {
+        Set<String> ids = postings.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.jewelry.pos.service.search;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Folds Arabic and Latin text into one comparable form for the in-memory search indexes:
+ * <ul>
+ *     <li>Latin letters are lower-cased.</li>
+ *     <li>Arabic diacritics (tashkeel) and tatweel are dropped.</li>
+ *     <li>Alef variants (أ إ آ ٱ) become ا, ى and ئ become ي, ؤ becomes و, ة becomes ه.</li>
+ *     <li>Arabic-Indic and Persian digits become ASCII digits.</li>
+ *     <li>Whitespace runs collapse to a single space.</li>
+ * </ul>
+ * A cashier typing "خاتم" therefore finds "خَاتِم", and "٢١" finds "21".
+ */
+public final class SearchTextNormalizer {
+
+    public static final int GRAM_LENGTH = 3;
+
+    private SearchTextNormalizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+                continue;
+            }
+            if ((c >= '\u064B' && c <= '\u065F') || c == '\u0670' || c == '\u0640') {
+                continue; // tashkeel / superscript alef / tatweel
+            }
+
+            char folded = fold(c);
+            if (pendingSpace) {
+                sb.append(' ');
+                pendingSpace = false;
+            }
+            sb.append(folded);
+        }
+        return sb.toString();
+    }
+
+    // Every distinct 3-character window of an already normalized string
+    public static Set<String> grams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    // Space separated words of an already normalized string
+    public static List<String> words(String normalized) {
+        List<String> words = new ArrayList<>();
+        for (String word : normalized.split(" ")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static char fold(char c) {
+        return switch (c) {
+            case '\u0623', '\u0625', '\u0622', '\u0671' -> '\u0627'; // alef variants -> bare alef
+            case '\u0649', '\u0626' -> '\u064A';                     // alef maqsura, yeh hamza -> yeh
+            case '\u0624' -> '\u0648';                               // waw hamza -> waw
+            case '\u0629' -> '\u0647';                               // teh marbuta -> heh
+            default -> {
+                if (c >= '\u0660' && c <= '\u0669') {
+                    yield (char) ('0' + (c - '\u0660'));             // Arabic-Indic digits
+                }
+                if (c >= '\u06F0' && c <= '\u06F9') {
+                    yield (char) ('0' + (c - '\u06F0'));             // Persian digits
+                }
+                yield Character.toLowerCase(c);
+            }
+        };
+    }
+}
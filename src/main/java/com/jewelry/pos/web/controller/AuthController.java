@@ -44,11 +44,12 @@ public class AuthController {
             );
 
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String jwt = jwtUtil.generateToken(userDetails);
 
             AppUser user = userRepository.findByUsername(loginRequest.getUsername())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
+            String jwt = jwtUtil.generateToken(userDetails, user.getTokenVersion());
+
             String primaryRole = user.getRoles().stream()
                     .map(Role::getName)
                     .findFirst()
@@ -1,14 +1,18 @@
 package com.jewelry.pos.web.controller;
 
+import com.jewelry.pos.service.DailyLedgerSummaryService;
 import com.jewelry.pos.service.DashboardService;
+import com.jewelry.pos.service.LiveDashboardService;
 import com.jewelry.pos.web.dto.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -21,6 +25,8 @@ import java.util.Map;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DailyLedgerSummaryService ledgerSummaryService;
+    private final LiveDashboardService liveDashboardService;
 
     @GetMapping("/stats")
     @PreAuthorize("hasAuthority('PRODUCT_MANAGE')") // Managers Only
@@ -36,6 +42,13 @@ public class DashboardController {
         return ResponseEntity.ok(dashboardService.getTodayStats());
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAuthority('PRODUCT_MANAGE')") // Managers Only
+    @Operation(summary = "Stream of today's dashboard statistics: a snapshot on connect, then the changed fields per update")
+    public SseEmitter streamToday() {
+        return liveDashboardService.streamToday();
+    }
+
     // ==========================================
     // ENHANCED DASHBOARD ENDPOINTS
     // ==========================================
@@ -86,4 +99,17 @@ public class DashboardController {
         LocalDate to = toDate != null ? toDate : LocalDate.now();
         return ResponseEntity.ok(dashboardService.getSalesTrend(from, to));
     }
-}
\ No newline at end of file
+
+    @PostMapping("/summary/rebuild")
+    @PreAuthorize("hasAuthority('PRODUCT_MANAGE')")
+    @Operation(summary = "Recompute the pre-aggregated daily figures from the source tables")
+    public ResponseEntity<Map<String, Object>> rebuildSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate
+    ) {
+        LocalDate from = fromDate != null ? fromDate : LocalDate.now().minusDays(30);
+        LocalDate to = toDate != null ? toDate : LocalDate.now();
+        int days = ledgerSummaryService.rebuild(from, to);
+        return ResponseEntity.ok(Map.of("fromDate", from, "toDate", to, "daysWithActivity", days));
+    }
+}
@@ -3,6 +3,7 @@ package com.jewelry.pos.web.controller;
 import com.jewelry.pos.domain.entity.GoldRate;
 import com.jewelry.pos.service.GoldRateService;
 import com.jewelry.pos.web.dto.GoldRateRequestDTO;
+import com.jewelry.pos.web.dto.KaratRateDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -11,9 +12,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/gold-rates")
@@ -40,34 +45,16 @@ public class GoldRateController {
 
     @GetMapping("/current")
     @PreAuthorize("hasAuthority('SALE_EXECUTE')")
-    public ResponseEntity<?> getCurrentRate() {
-        try {
-            GoldRate rate = goldRateService.getLatestRate();
-            // Convert to frontend-compatible format (array of karat rates)
-            return ResponseEntity.ok(java.util.List.of(
-                new java.util.HashMap<String, Object>() {{
-                    put("karat", "KARAT_24");
-                    put("buyRate", rate.getRate24k());
-                    put("sellRate", rate.getRate24k());
-                    put("lastUpdated", rate.getEffectiveDate().toString());
-                }},
-                new java.util.HashMap<String, Object>() {{
-                    put("karat", "KARAT_21");
-                    put("buyRate", rate.getRate21k());
-                    put("sellRate", rate.getRate21k());
-                    put("lastUpdated", rate.getEffectiveDate().toString());
-                }},
-                new java.util.HashMap<String, Object>() {{
-                    put("karat", "KARAT_18");
-                    put("buyRate", rate.getRate18k());
-                    put("sellRate", rate.getRate18k());
-                    put("lastUpdated", rate.getEffectiveDate().toString());
-                }}
-            ));
-        } catch (IllegalStateException e) {
-            // Return empty array if no rates exist
-            return ResponseEntity.ok(java.util.Collections.emptyList());
-        }
+    public ResponseEntity<List<KaratRateDTO>> getCurrentRate() {
+        // Frontend-compatible format (array of karat rates); empty if no rates exist
+        return ResponseEntity.ok(goldRateService.getCurrentKaratRates());
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream of the current gold rate: the latest value on connect, then one event per change")
+    @PreAuthorize("hasAuthority('SALE_EXECUTE')")
+    public SseEmitter streamRates() {
+        return goldRateService.streamRates();
     }
 
     @GetMapping("/history")
@@ -1,6 +1,7 @@
 package com.jewelry.pos.web.controller;
 
 import com.jewelry.pos.service.InventoryService;
+import com.jewelry.pos.web.dto.CursorPageDTO;
 import com.jewelry.pos.web.dto.ProductLiteDTO;
 import com.jewelry.pos.web.dto.ProductRequestDTO;
 import io.swagger.v3.oas.annotations.Operation;
@@ -57,6 +58,17 @@ public class InventoryController {
         return ResponseEntity.ok(inventoryService.getAllProducts(pageable));
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "List all products (Cursor paged, pass nextCursor back as cursor)")
+    @PreAuthorize("hasAuthority('SALE_EXECUTE')")
+    public ResponseEntity<CursorPageDTO<ProductLiteDTO>> getProductsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ResponseEntity.ok(inventoryService.getProductsPage(cursor, size, includeTotal));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get product details by ID")
     @PreAuthorize("hasAuthority('SALE_EXECUTE')")
@@ -2,6 +2,9 @@ package com.jewelry.pos.web.controller;
 
 import com.jewelry.pos.domain.repository.ProductRepository;
 import com.jewelry.pos.service.InventoryService;
+import com.jewelry.pos.service.ProductImportService;
+import com.jewelry.pos.web.dto.CursorPageDTO;
+import com.jewelry.pos.web.dto.ProductImportReportDTO;
 import com.jewelry.pos.web.dto.ProductLiteDTO;
 import com.jewelry.pos.web.dto.ProductRequestDTO;
 import com.jewelry.pos.web.mapper.ProductMapper;
@@ -14,11 +17,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -29,6 +34,7 @@ import java.util.List;
 public class ProductController {
 
     private final InventoryService inventoryService;
+    private final ProductImportService productImportService;
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
 
@@ -41,6 +47,17 @@ public class ProductController {
         return ResponseEntity.ok(inventoryService.getAllProducts(pageable));
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "List all products (Cursor paged, pass nextCursor back as cursor)")
+    @PreAuthorize("hasAuthority('SALE_EXECUTE')")
+    public ResponseEntity<CursorPageDTO<ProductLiteDTO>> getProductsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ResponseEntity.ok(inventoryService.getProductsPage(cursor, size, includeTotal));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID")
     @PreAuthorize("hasAuthority('SALE_EXECUTE')")
@@ -66,6 +83,20 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasAuthority('PRODUCT_MANAGE')")
+    @Operation(summary = "Bulk import products from CSV (header row with the ProductRequestDTO field names)")
+    public ResponseEntity<ProductImportReportDTO> importProductsCsv(InputStream body) {
+        return ResponseEntity.ok(productImportService.importCsv(body));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('PRODUCT_MANAGE')")
+    @Operation(summary = "Bulk import products from a JSON array of ProductRequestDTO")
+    public ResponseEntity<ProductImportReportDTO> importProductsJson(InputStream body) {
+        return ResponseEntity.ok(productImportService.importJson(body));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAuthority('PRODUCT_MANAGE')")
     @Operation(summary = "Update an existing product")
@@ -1,12 +1,14 @@
 package com.jewelry.pos.web.controller;
 
 import com.jewelry.pos.service.ZReportService;
+import com.jewelry.pos.web.dto.LabelBatchRequestDTO;
 import com.jewelry.pos.web.dto.RecentTransactionDTO;
 import com.jewelry.pos.web.dto.ZReportDTO;
 import com.jewelry.pos.service.ReceiptService;
 import com.jewelry.pos.service.LabelService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
@@ -15,7 +17,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -49,6 +54,23 @@ public class ReportController {
         return ResponseEntity.ok(zReportService.generateEndOfDayReport(reportDate));
     }
 
+    @GetMapping(value = "/z-report/pdf", produces = MediaType.APPLICATION_PDF_VALUE)
+    @Operation(summary = "Download the Z-Report as PDF (single day or a date range), streamed to the client")
+    @PreAuthorize("hasAuthority('PRODUCT_MANAGE')")
+    public void downloadZReportPdf(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            HttpServletResponse response
+    ) throws IOException {
+        // Default to today; a single date gives the classic end of day report
+        LocalDate from = (fromDate != null) ? fromDate : LocalDate.now();
+        LocalDate to = (toDate != null) ? toDate : from;
+
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=z_report_" + from + (from.equals(to) ? "" : "_" + to) + ".pdf");
+        receiptService.writeZReport(from, to, response.getOutputStream());
+    }
+
     @GetMapping(value = "/receipt/{saleId}", produces = MediaType.APPLICATION_PDF_VALUE)
     @PreAuthorize("hasAuthority('SALE_EXECUTE')")
     public ResponseEntity<byte[]> downloadReceipt(@PathVariable String saleId) {
@@ -65,4 +87,21 @@ public class ReportController {
         // Content-Type "text/plain" is fine for raw ZPL
         return ResponseEntity.ok(labelService.generateZplLabel(barcode));
     }
+
+    @PostMapping(value = "/labels", produces = MediaType.TEXT_PLAIN_VALUE)
+    @Operation(summary = "Labels for a stock lot (product ids or a created-date range) as one ZPL stream")
+    @PreAuthorize("hasAuthority('PRODUCT_MANAGE')")
+    public void downloadLabels(@RequestBody LabelBatchRequestDTO request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=labels.zpl");
+        labelService.writeLabels(request, response.getWriter());
+    }
+
+    @PostMapping("/labels/print")
+    @Operation(summary = "Send the labels of a stock lot to the label printer as one job")
+    @PreAuthorize("hasAuthority('PRODUCT_MANAGE')")
+    public ResponseEntity<Map<String, Integer>> printLabels(@RequestBody LabelBatchRequestDTO request) {
+        return ResponseEntity.accepted().body(Map.of("labels", labelService.printLabels(request)));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.jewelry.pos.web.dto;
+
+import java.util.List;
+
+/**
+ * One page of a cursor (keyset) paged list.
+ * Pass {@code nextCursor} back as {@code cursor} to get the following page; it is null on the last page.
+ * {@code totalCount} is only filled in when the caller asks for it.
+ */
+public record CursorPageDTO<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext,
+        Long totalCount
+) {}
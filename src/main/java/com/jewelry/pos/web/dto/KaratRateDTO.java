@@ -0,0 +1,11 @@
+package com.jewelry.pos.web.dto;
+
+import java.math.BigDecimal;
+
+// One karat of the current gold rate, in the shape the terminals' gold ticker reads
+public record KaratRateDTO(
+        String karat,
+        BigDecimal buyRate,
+        BigDecimal sellRate,
+        String lastUpdated
+) {}
@@ -0,0 +1,15 @@
+package com.jewelry.pos.web.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Which products to print labels for: either explicit ids (printed in the given order),
+ * or a stock lot by arrival - every AVAILABLE product created between {@code createdFrom} and
+ * {@code createdTo} (defaults to now), e.g. one supplier delivery entered or imported in one go.
+ */
+public record LabelBatchRequestDTO(
+    List<String> productIds,
+    LocalDateTime createdFrom,
+    LocalDateTime createdTo
+) {}
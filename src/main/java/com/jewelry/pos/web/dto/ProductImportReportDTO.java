@@ -0,0 +1,23 @@
+package com.jewelry.pos.web.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk product import: one entry per data row of the upload, in upload order.
+ * Rows are numbered from 1 (the CSV header line is not counted).
+ */
+public record ProductImportReportDTO(
+    int totalRows,
+    int imported,
+    int failed,
+    long durationMs,
+    List<RowResultDTO> rows
+) {
+    public record RowResultDTO(
+        int row,
+        boolean imported,
+        String productId,
+        String barcode,
+        List<String> errors
+    ) {}
+}
@@ -16,6 +16,9 @@ public abstract class ProductMapper {
     @Autowired
     protected com.jewelry.pos.service.GoldRateService goldRateService;
 
+    @Autowired
+    protected com.jewelry.pos.service.PriceQuoteCache priceQuoteCache;
+
     // Entity to Lite DTO (Existing)
     @Mapping(target = "estimatedPrice", expression = "java(calculatePrice(product))")
     @Mapping(source = "createdDate", target = "createdDate")
@@ -40,11 +43,8 @@ public abstract class ProductMapper {
             return BigDecimal.ZERO;
         }
         
-        // Get current gold rate for the product's purity
-        BigDecimal goldRatePerGram = goldRateService.getCurrentSellRateForPurity(product.getPurityEnum());
-        
-        // Calculate: (gold rate per gram * weight) + making charge
-        BigDecimal goldValue = goldRatePerGram.multiply(product.getGrossWeight());
-        return goldValue.add(product.getMakingCharge());
+        // (gold rate per gram * weight) + making charge at the request's rate snapshot (no query per row),
+        // usually already computed by the quote cache's warm-up
+        return priceQuoteCache.price(product, goldRateService.getRequestSnapshot());
     }
 }
\ No newline at end of file
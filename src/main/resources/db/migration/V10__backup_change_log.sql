@@ -0,0 +1,44 @@
+-- =====================================================
+-- Backup Change Log (Incremental Backups)
+-- Flyway Migration V10
+-- =====================================================
+-- Every insert / update / delete on a shop table adds one
+-- row here, in the same transaction, through an AFTER
+-- trigger. The delta backup job reads the log, writes the
+-- current state of the changed rows (or their deletion)
+-- to a compressed delta file and removes the rows it has
+-- exported. A full snapshot empties it as well.
+-- row_id is the changed row's id; it is NULL for tables
+-- without an id column (join tables, settings, summaries),
+-- which are copied whole into the delta instead.
+-- =====================================================
+
+CREATE TABLE backup_change_log (
+    seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+    table_name VARCHAR(64) NOT NULL,
+    row_id VARCHAR(26),
+    operation CHAR(1) NOT NULL,
+    changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TRIGGER trg_backup_roles AFTER INSERT, UPDATE, DELETE ON roles FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_permission AFTER INSERT, UPDATE, DELETE ON permission FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_app_user AFTER INSERT, UPDATE, DELETE ON app_user FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_user_roles AFTER INSERT, UPDATE, DELETE ON user_roles FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_role_permissions AFTER INSERT, UPDATE, DELETE ON role_permissions FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_product AFTER INSERT, UPDATE, DELETE ON product FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_gold_rate AFTER INSERT, UPDATE, DELETE ON gold_rate FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_sale AFTER INSERT, UPDATE, DELETE ON sale FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_sale_item AFTER INSERT, UPDATE, DELETE ON sale_item FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_old_gold_purchase AFTER INSERT, UPDATE, DELETE ON old_gold_purchase FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_scrap_inventory AFTER INSERT, UPDATE, DELETE ON scrap_inventory FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_scrap_purification AFTER INSERT, UPDATE, DELETE ON scrap_purification FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_supplier AFTER INSERT, UPDATE, DELETE ON supplier FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_personal_person AFTER INSERT, UPDATE, DELETE ON personal_person FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_personal_account AFTER INSERT, UPDATE, DELETE ON personal_account FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_supplier_account AFTER INSERT, UPDATE, DELETE ON supplier_account FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_home_expense AFTER INSERT, UPDATE, DELETE ON home_expense FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_system_setting AFTER INSERT, UPDATE, DELETE ON system_setting FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_daily_ledger_summary AFTER INSERT, UPDATE, DELETE ON daily_ledger_summary FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_hardware_job AFTER INSERT, UPDATE, DELETE ON hardware_job FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
+CREATE TRIGGER trg_backup_ledger_balance AFTER INSERT, UPDATE, DELETE ON ledger_balance FOR EACH ROW CALL 'com.jewelry.pos.service.backup.ChangeLogTrigger';
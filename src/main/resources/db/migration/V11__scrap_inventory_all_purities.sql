@@ -0,0 +1,14 @@
+-- =====================================================
+-- Scrap Inventory: one row per purity
+-- Flyway Migration V11
+-- =====================================================
+-- Scrap weight is now changed with atomic
+-- UPDATE ... SET total_weight = total_weight + ? statements
+-- (ScrapInventoryOperations). V1 only seeded 21K and 18K;
+-- add the 24K row so every purity is a plain increment
+-- and a journal replay finds the row it adds to.
+-- =====================================================
+
+INSERT INTO scrap_inventory (purity, total_weight)
+SELECT 'KARAT_24', 0.000
+WHERE NOT EXISTS (SELECT 1 FROM scrap_inventory WHERE purity = 'KARAT_24');
@@ -0,0 +1,29 @@
+-- =====================================================
+-- Sales History Search Indexes
+-- Flyway Migration V12
+-- =====================================================
+-- Text search over sales (ID, customer name, phone) is now
+-- served from an in-memory index (SaleSearchIndex), so
+-- idx_sale_customer_name - which a '%q%' filter could never
+-- use - only cost writes. Two covering indexes are added,
+-- each replacing the single-column index it starts with,
+-- so a checkout still maintains the same number of indexes:
+--  * idx_sale_search_cover (replaces idx_sale_transaction_date):
+--    every column the search index loads at startup, so the
+--    load is an index-only scan; still serves the date range
+--    and newest-first history queries.
+--  * idx_sale_item_list_cover (replaces idx_sale_item_sale_id):
+--    the lines of a history page by sale in ring-up order,
+--    without reading the rows; still serves the sale_id join
+--    and the foreign key's cascade delete.
+-- Phone search has no index: it runs in memory, and the
+-- database fallback is a '%q%' filter.
+-- =====================================================
+
+DROP INDEX IF EXISTS idx_sale_customer_name;
+
+CREATE INDEX idx_sale_search_cover ON sale(transaction_date DESC, id, customer_name, customer_phone);
+DROP INDEX IF EXISTS idx_sale_transaction_date;
+
+CREATE INDEX idx_sale_item_list_cover ON sale_item(sale_id, id, product_id, weight_snapshot, price_snapshot);
+DROP INDEX IF EXISTS idx_sale_item_sale_id;
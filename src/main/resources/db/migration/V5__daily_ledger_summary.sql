@@ -0,0 +1,48 @@
+-- =====================================================
+-- Daily Ledger Summary (Pre-aggregated Dashboard Figures)
+-- Flyway Migration V5
+-- =====================================================
+-- One row per calendar day, kept current at write time by
+-- checkout, old gold, purification and the three ledgers.
+-- The dashboard reads these rows instead of scanning
+-- sale / sale_item / product and every ledger table.
+-- Historical rows are back-filled by the rebuild job.
+-- =====================================================
+
+CREATE TABLE daily_ledger_summary (
+    summary_date DATE PRIMARY KEY,
+
+    -- Sales
+    sales_count BIGINT NOT NULL DEFAULT 0,
+    sales_revenue DECIMAL(14,2) NOT NULL DEFAULT 0,
+    sales_cost DECIMAL(14,2) NOT NULL DEFAULT 0,
+
+    -- Old Gold (Trade-in / Buying)
+    old_gold_weight DECIMAL(12,3) NOT NULL DEFAULT 0,
+    old_gold_value DECIMAL(14,2) NOT NULL DEFAULT 0,
+
+    -- Purification (Factory)
+    purification_income DECIMAL(14,2) NOT NULL DEFAULT 0,
+
+    -- Personal Accounts
+    personal_money_receivable DECIMAL(14,2) NOT NULL DEFAULT 0,
+    personal_money_payable DECIMAL(14,2) NOT NULL DEFAULT 0,
+    personal_weight_receivable DECIMAL(12,3) NOT NULL DEFAULT 0,
+    personal_weight_payable DECIMAL(12,3) NOT NULL DEFAULT 0,
+
+    -- Supplier Accounts
+    supplier_fees_receivable DECIMAL(14,2) NOT NULL DEFAULT 0,
+    supplier_fees_payable DECIMAL(14,2) NOT NULL DEFAULT 0,
+    supplier_weight_receivable DECIMAL(12,3) NOT NULL DEFAULT 0,
+    supplier_weight_payable DECIMAL(12,3) NOT NULL DEFAULT 0,
+
+    -- Home Expenses
+    home_money_receivable DECIMAL(14,2) NOT NULL DEFAULT 0,
+    home_money_payable DECIMAL(14,2) NOT NULL DEFAULT 0,
+    home_weight_receivable DECIMAL(12,3) NOT NULL DEFAULT 0,
+    home_weight_payable DECIMAL(12,3) NOT NULL DEFAULT 0
+);
+
+-- =====================================================
+-- END OF MIGRATION V5
+-- =====================================================
@@ -0,0 +1,27 @@
+-- =====================================================
+-- Product Status Rank (Keyset Pagination for Inventory)
+-- Flyway Migration V6
+-- =====================================================
+-- The inventory list is ordered AVAILABLE, RESERVED, SOLD,
+-- then most recently modified first. That order used to be
+-- a CASE expression, which no index can serve. It is now a
+-- persisted column (kept in step by Product.setStatus) so
+-- (status_rank, last_modified_date, id) can be read straight
+-- off one index and paged with a cursor instead of OFFSET.
+-- =====================================================
+
+ALTER TABLE product ADD COLUMN status_rank INTEGER NOT NULL DEFAULT 1;
+
+UPDATE product SET status_rank = CASE status
+    WHEN 'AVAILABLE' THEN 1
+    WHEN 'RESERVED' THEN 2
+    WHEN 'SOLD' THEN 3
+    ELSE 4
+END;
+
+-- The cursor compares on last_modified_date, so it must never be NULL
+UPDATE product
+SET last_modified_date = COALESCE(created_date, CURRENT_TIMESTAMP)
+WHERE last_modified_date IS NULL;
+
+CREATE INDEX idx_product_list_order ON product(status_rank, last_modified_date DESC, id DESC);
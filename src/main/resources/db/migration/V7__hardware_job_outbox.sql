@@ -0,0 +1,26 @@
+-- =====================================================
+-- Hardware Job Outbox (Async Cash Drawer / Printer)
+-- Flyway Migration V7
+-- =====================================================
+-- Checkout writes one row per hardware command inside the
+-- sale transaction and returns. A background worker runs
+-- the commands (with retries) and marks them DONE / FAILED.
+-- PENDING rows left over from a restart are re-queued at
+-- startup, so no command is lost.
+-- =====================================================
+
+CREATE TABLE hardware_job (
+    id VARCHAR(26) PRIMARY KEY,
+    job_type VARCHAR(30) NOT NULL,
+    payload TEXT,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    completed_at TIMESTAMP,
+    created_by VARCHAR(100),
+    created_date TIMESTAMP,
+    last_modified_by VARCHAR(100),
+    last_modified_date TIMESTAMP
+);
+
+CREATE INDEX idx_hardware_job_status ON hardware_job(status, created_date);
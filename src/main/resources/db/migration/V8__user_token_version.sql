@@ -0,0 +1,12 @@
+-- =====================================================
+-- User Token Version (Stateless JWT Authorization)
+-- Flyway Migration V8
+-- =====================================================
+-- Requests are authorized from the authorities embedded in
+-- the JWT instead of reloading the user on every call.
+-- Each token carries the user's token_version at login;
+-- disabling a user or changing their roles bumps it, which
+-- revokes every token issued before the change.
+-- =====================================================
+
+ALTER TABLE app_user ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,28 @@
+-- =====================================================
+-- Ledger Balance (Materialized Running Balances)
+-- Flyway Migration V9
+-- =====================================================
+-- One row per person (PERSONAL), supplier (SUPPLIER) and
+-- one row for the home-expense ledger (HOME / 'HOME').
+-- Kept current in the same transaction as every ledger
+-- entry create / delete, so balance views no longer sum
+-- the whole ledger history. Filled from the existing
+-- entries on first start and checked nightly by the
+-- verification job.
+-- For supplier accounts the money columns hold the fees.
+-- =====================================================
+
+CREATE TABLE ledger_balance (
+    ledger_type VARCHAR(20) NOT NULL,
+    party_id VARCHAR(26) NOT NULL,
+    entry_count BIGINT NOT NULL DEFAULT 0,
+    money_receivable DECIMAL(14,2) NOT NULL DEFAULT 0,
+    money_payable DECIMAL(14,2) NOT NULL DEFAULT 0,
+    weight_receivable DECIMAL(12,3) NOT NULL DEFAULT 0,
+    weight_payable DECIMAL(12,3) NOT NULL DEFAULT 0,
+    PRIMARY KEY (ledger_type, party_id)
+);
+
+-- =====================================================
+-- END OF MIGRATION V9
+-- =====================================================
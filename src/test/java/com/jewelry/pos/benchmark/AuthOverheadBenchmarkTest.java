@@ -0,0 +1,104 @@
+package com.jewelry.pos.benchmark;
+
+import com.jewelry.pos.domain.repository.UserRepository;
+import com.jewelry.pos.security.JwtAuthenticationFilter;
+import com.jewelry.pos.security.JwtUtil;
+import com.jewelry.pos.service.CustomUserDetailsService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+
+/**
+ * Authentication cost per API request: the old filter path (reload the user, roles and
+ * permissions, then validate the token) against {@link JwtAuthenticationFilter}, which trusts
+ * the token's claims and only checks the cached token version.
+ * Run with {@code mvn -Pbenchmark test}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles({"test", "benchmark"})
+class AuthOverheadBenchmarkTest {
+
+    private static final String USERNAME = "super_admin"; // seeded by DataSeeder
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int MEASURED_REQUESTS = 20_000;
+
+    @Autowired private JwtAuthenticationFilter jwtAuthenticationFilter;
+    @Autowired private JwtUtil jwtUtil;
+    @Autowired private CustomUserDetailsService userDetailsService;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void authOverheadPerRequest() throws Exception {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(USERNAME);
+        int tokenVersion = userRepository.findByUsername(USERNAME).orElseThrow().getTokenVersion();
+        String token = jwtUtil.generateToken(userDetails, tokenVersion);
+
+        long[] legacy = sample(() -> legacyAuthenticate(token));
+        long[] claims = sample(() -> filterAuthenticate(token));
+
+        log.info(String.format("%-22s %12s %12s %12s", "path", "p50 (us)", "p95 (us)", "p99 (us)"));
+        log.info(String.format("%-22s %12.1f %12.1f %12.1f", "load user per request",
+                legacy[0] / 1e3, legacy[1] / 1e3, legacy[2] / 1e3));
+        log.info(String.format("%-22s %12.1f %12.1f %12.1f", "token claims",
+                claims[0] / 1e3, claims[1] / 1e3, claims[2] / 1e3));
+    }
+
+    // The filter as it was: one user + roles + permissions load per request, then a second token parse
+    private void legacyAuthenticate(String token) {
+        String username = jwtUtil.extractUsername(token);
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (jwtUtil.validateToken(token, userDetails)) {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        }
+    }
+
+    private void filterAuthenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("Authorization", "Bearer " + token);
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    // Returns p50, p95, p99 in nanoseconds
+    private long[] sample(ThrowingRunnable request) throws Exception {
+        long[] samples = new long[MEASURED_REQUESTS];
+        for (int i = 0; i < WARMUP_REQUESTS + MEASURED_REQUESTS; i++) {
+            SecurityContextHolder.clearContext();
+            long start = System.nanoTime();
+            request.run();
+            long elapsed = System.nanoTime() - start;
+
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                throw new IllegalStateException("Request was not authenticated");
+            }
+            if (i >= WARMUP_REQUESTS) {
+                samples[i - WARMUP_REQUESTS] = elapsed;
+            }
+        }
+        SecurityContextHolder.clearContext();
+
+        Arrays.sort(samples);
+        return new long[]{
+                samples[samples.length / 2],
+                samples[(int) (samples.length * 0.95)],
+                samples[(int) (samples.length * 0.99)]
+        };
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,125 @@
+package com.jewelry.pos.benchmark;
+
+import com.jewelry.pos.domain.entity.*;
+import com.jewelry.pos.domain.repository.ProductRepository;
+import com.jewelry.pos.domain.repository.SaleRepository;
+import com.jewelry.pos.service.CheckoutService;
+import com.jewelry.pos.web.dto.SaleRequestDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Checkout latency per cart size: the old per-barcode path (findByBarcode + save per item)
+ * against the batched path in {@link CheckoutService#executeFinancialTransaction}.
+ * Run with {@code mvn -Pbenchmark test}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles({"test", "benchmark"})
+class CheckoutLatencyBenchmarkTest {
+
+    private static final int[] CART_SIZES = {1, 10, 50, 200};
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+    private static final BigDecimal GOLD_RATE = new BigDecimal("3500.00");
+
+    @Autowired private CheckoutService checkoutService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private SaleRepository saleRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Test
+    void checkoutLatencyByCartSize() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        log.info(String.format("%-10s %16s %16s %10s", "cart size", "per-item (ms)", "batched (ms)", "speed-up"));
+        for (int cartSize : CART_SIZES) {
+            long legacy = medianNanos(cartSize, barcodes -> tx.executeWithoutResult(status -> legacyCheckout(barcodes)));
+            long batched = medianNanos(cartSize, barcodes -> checkoutService.executeFinancialTransaction(request(barcodes)));
+
+            log.info(String.format("%-10d %16.2f %16.2f %9.1fx",
+                    cartSize, legacy / 1e6, batched / 1e6, (double) legacy / batched));
+        }
+    }
+
+    private long medianNanos(int cartSize, Consumer<List<String>> checkout) {
+        long[] samples = new long[MEASURED_ROUNDS];
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            // Fresh AVAILABLE stock every round so both paths always sell real items
+            List<String> barcodes = seedProducts(cartSize);
+
+            long start = System.nanoTime();
+            checkout.accept(barcodes);
+            long elapsed = System.nanoTime() - start;
+
+            if (round >= WARMUP_ROUNDS) {
+                samples[round - WARMUP_ROUNDS] = elapsed;
+            }
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    // The checkout loop as it was before batching: one SELECT and one UPDATE per scanned barcode
+    private void legacyCheckout(List<String> barcodes) {
+        Sale sale = new Sale();
+        sale.setCustomerName("Benchmark");
+        BigDecimal total = BigDecimal.ZERO;
+
+        for (String barcode : barcodes) {
+            Product product = productRepository.findByBarcode(barcode)
+                    .orElseThrow(() -> new IllegalArgumentException("Product not found: " + barcode));
+
+            BigDecimal itemTotal = product.getGrossWeight().multiply(GOLD_RATE).add(product.getMakingCharge());
+
+            SaleItem item = new SaleItem();
+            item.setProduct(product);
+            item.setAppliedGoldRate(GOLD_RATE);
+            item.setWeightSnapshot(product.getGrossWeight());
+            item.setPriceSnapshot(itemTotal);
+            sale.addItem(item);
+            total = total.add(itemTotal);
+
+            product.setStatus(ProductStatusEnum.SOLD);
+            productRepository.save(product);
+        }
+
+        sale.setTotalAmount(total);
+        sale.setNetCashPaid(total);
+        saleRepository.save(sale);
+    }
+
+    private SaleRequestDTO request(List<String> barcodes) {
+        return new SaleRequestDTO(barcodes, GOLD_RATE, "Benchmark", null, null);
+    }
+
+    private List<String> seedProducts(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setBarcode(UUID.randomUUID().toString());
+            product.setModelName("Bench Ring " + i);
+            product.setPurityEnum(PurityEnum.K21);
+            product.setType(JewelryTypeEnum.RING);
+            product.setGrossWeight(new BigDecimal("4.250"));
+            product.setMakingCharge(new BigDecimal("150.00"));
+            product.setCostPrice(new BigDecimal("14000.00"));
+            products.add(product);
+        }
+        return productRepository.saveAll(products).stream().map(Product::getBarcode).toList();
+    }
+}
@@ -0,0 +1,36 @@
+package com.jewelry.pos.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the JMH benchmarks in {@code com.jewelry.pos.benchmark.jmh}: pricing, checkout, old gold valuation,
+ * dashboard aggregation (all on the seeded benchmark H2, see {@code SeededApplicationState}) and JWT verification.
+ * Run with {@code mvn -Pbenchmark test} (the profile adds the JMH annotation processor).
+ * Narrow the run with {@code -Djmh.include=Checkout}. Results also go to target/jmh-result.json,
+ * so two runs can be compared side by side.
+ */
+@Tag("benchmark")
+class JmhBenchmarksTest {
+
+    @Test
+    void runJmhBenchmarks() throws Exception {
+        Options options = new OptionsBuilder()
+                .include("com\\.jewelry\\.pos\\.benchmark\\.jmh\\..*" + System.getProperty("jmh.include", ""))
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build();
+
+        new Runner(options).run();
+    }
+}
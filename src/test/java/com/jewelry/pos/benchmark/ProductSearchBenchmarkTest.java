@@ -0,0 +1,89 @@
+package com.jewelry.pos.benchmark;
+
+import com.jewelry.pos.domain.entity.JewelryTypeEnum;
+import com.jewelry.pos.domain.entity.Product;
+import com.jewelry.pos.domain.entity.PurityEnum;
+import com.jewelry.pos.service.search.ProductSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Autocomplete latency of {@link ProductSearchIndex} with 100k AVAILABLE products
+ * (mixed Arabic and Latin names), one query per keystroke.
+ * Run with {@code mvn -Pbenchmark test}.
+ */
+@Slf4j
+@Tag("benchmark")
+class ProductSearchBenchmarkTest {
+
+    private static final int PRODUCT_COUNT = 100_000;
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int MEASURED_ROUNDS = 10_000;
+
+    private static final String[] ARABIC_NAMES = {"\u062E\u0627\u062A\u0645", "\u0633\u0644\u0633\u0644\u0629", "\u0627\u0633\u0648\u0631\u0629", "\u062D\u0644\u0642", "\u062F\u0628\u0644\u0629", "\u0643\u0648\u0644\u064A\u0647"};
+    private static final String[] LATIN_NAMES = {"Ring", "Chain", "Bracelet", "Earring", "Wedding Band", "Necklace"};
+    private static final String[] STYLES = {"Classic", "Italian", "Turkish", "Gulf", "Modern", "Vintage", "Twisted", "Hollow"};
+
+    // What a cashier types, keystroke by keystroke
+    private static final String[] QUERIES = {
+            "ri", "rin", "ring", "ring cl", "ring classic",
+            "\u062E\u0627", "\u062E\u0627\u062A\u0645", "\u0633\u0644\u0633\u0644\u0629",
+            "bc-0", "bc-04", "bc-0421", "bc-042137"
+    };
+
+    @Test
+    void autocompleteLatencyAt100kProducts() {
+        ProductSearchIndex index = new ProductSearchIndex(null);
+
+        long loadStart = System.nanoTime();
+        index.replaceAll(seed(PRODUCT_COUNT));
+        log.info("Indexed {} products in {} ms", index.size(), (System.nanoTime() - loadStart) / 1_000_000);
+
+        log.info(String.format("%-16s %10s %12s %12s", "query", "matches", "p50 (us)", "p99 (us)"));
+        for (String query : QUERIES) {
+            int matches = index.search(query, p -> true, Integer.MAX_VALUE).size();
+            long[] samples = new long[MEASURED_ROUNDS];
+            for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+                long start = System.nanoTime();
+                // Same limit as the autocomplete endpoint
+                index.search(query, p -> true, 50);
+                long elapsed = System.nanoTime() - start;
+                if (round >= WARMUP_ROUNDS) {
+                    samples[round - WARMUP_ROUNDS] = elapsed;
+                }
+            }
+            Arrays.sort(samples);
+            log.info(String.format("%-16s %10d %12.1f %12.1f", query, matches,
+                    samples[samples.length / 2] / 1e3, samples[(int) (samples.length * 0.99)] / 1e3));
+        }
+    }
+
+    private List<Product> seed(int count) {
+        Random random = new Random(42);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean arabic = random.nextBoolean();
+            String[] names = arabic ? ARABIC_NAMES : LATIN_NAMES;
+
+            Product product = new Product();
+            product.setId(String.format("P%08d", i));
+            product.setBarcode(String.format("BC-%06d", i));
+            product.setModelName(names[random.nextInt(names.length)] + " " + STYLES[random.nextInt(STYLES.length)] + " " + random.nextInt(500));
+            product.setDescription(random.nextInt(4) == 0 ? "Gift box included" : null);
+            product.setPurityEnum(PurityEnum.values()[random.nextInt(PurityEnum.values().length)]);
+            product.setType(JewelryTypeEnum.RING);
+            product.setGrossWeight(new BigDecimal("4.250"));
+            product.setMakingCharge(new BigDecimal("150.00"));
+            product.setCostPrice(new BigDecimal("14000.00"));
+            products.add(product);
+        }
+        return products;
+    }
+}
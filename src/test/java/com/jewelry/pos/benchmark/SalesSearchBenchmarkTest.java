@@ -0,0 +1,198 @@
+package com.jewelry.pos.benchmark;
+
+import com.jewelry.pos.core.metrics.StatementCounter;
+import com.jewelry.pos.domain.entity.Sale;
+import com.jewelry.pos.domain.repository.SaleRepository;
+import com.jewelry.pos.service.SalesManagementService;
+import com.jewelry.pos.service.search.SaleSearchIndex;
+import com.jewelry.pos.web.dto.SaleResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Sales history search at 100k sales: the entity path (Specification over {@code Sale}, then
+ * {@code sale.getItems()} and {@code item.getProduct()} per row) against the projection path in
+ * {@link SalesManagementService#searchSales}. The entity path runs in a read-only transaction,
+ * as it does under open-in-view in the application. Text queries on the projection path are answered
+ * by {@link SaleSearchIndex}, reloaded after the seed since it bypasses checkout.
+ * Run with {@code mvn -Pbenchmark test}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles({"test", "benchmark"})
+class SalesSearchBenchmarkTest {
+
+    private static final int SALE_COUNT = 100_000;
+    private static final int ITEMS_PER_SALE = 2;
+    private static final int SEED_BATCH = 10_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 1, 1);
+    private static final String[] CUSTOMERS = {"Fatma Hassan", "Mona Adel", "Ahmed Samir", "Heba Mostafa", "Omar Khaled", "Sara Nabil"};
+
+    @Autowired private SalesManagementService salesManagementService;
+    @Autowired private SaleRepository saleRepository;
+    @Autowired private SaleSearchIndex saleSearchIndex;
+    @Autowired private StatementCounter statementCounter;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private record Scenario(String name, String query, LocalDate from, LocalDate to, Pageable pageable) {}
+
+    @Test
+    void salesSearchLatencyAt100kSales() {
+        seed();
+        saleSearchIndex.loadOnStartup();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "lastModifiedDate");
+        List<Scenario> scenarios = List.of(
+                new Scenario("first page", null, null, null, PageRequest.of(0, 20, newestFirst)),
+                new Scenario("page 200", null, null, null, PageRequest.of(200, 20, newestFirst)),
+                new Scenario("name filter", "fatma", null, null, PageRequest.of(0, 20, newestFirst)),
+                new Scenario("phone", "01000054321", null, null, PageRequest.of(0, 20, newestFirst)),
+                new Scenario("one month", null, FIRST_DAY.plusMonths(6), FIRST_DAY.plusMonths(7).minusDays(1), PageRequest.of(0, 20, newestFirst)),
+                new Scenario("page of 100", null, null, null, PageRequest.of(0, 100, newestFirst)));
+
+        log.info(String.format("%-12s %14s %16s %12s %12s %10s",
+                "scenario", "entity (ms)", "projection (ms)", "entity SQL", "proj. SQL", "speed-up"));
+        for (Scenario s : scenarios) {
+            Supplier<Page<SaleResponseDTO>> entityPath = () -> readOnly.execute(status -> legacySearch(s.query(), s.from(), s.to(), s.pageable()));
+            Supplier<Page<SaleResponseDTO>> projectionPath = () -> salesManagementService.searchSales(s.query(), s.from(), s.to(), s.pageable());
+
+            // Same page, same content
+            assertEquals(entityPath.get().getContent(), projectionPath.get().getContent());
+
+            long entity = medianNanos(entityPath);
+            long projection = medianNanos(projectionPath);
+            log.info(String.format("%-12s %14.2f %16.2f %12d %12d %9.1fx", s.name(), entity / 1e6, projection / 1e6,
+                    statements(entityPath), statements(projectionPath), (double) entity / projection));
+        }
+    }
+
+    // ==========================================
+    // The entity path, as searchSales was before the projection queries
+    // ==========================================
+
+    private Page<SaleResponseDTO> legacySearch(String query, LocalDate fromDate, LocalDate toDate, Pageable pageable) {
+        Specification<Sale> spec = Specification.where(null);
+        if (query != null && !query.isBlank()) {
+            String likePattern = "%" + query.toLowerCase() + "%";
+            spec = spec.and((root, cq, cb) -> cb.or(
+                    cb.like(cb.lower(root.get("id")), likePattern),
+                    cb.like(cb.lower(root.get("customerName")), likePattern),
+                    cb.like(root.get("customerPhone"), likePattern)
+            ));
+        }
+        if (fromDate != null) {
+            spec = spec.and((root, cq, cb) -> cb.greaterThanOrEqualTo(root.get("transactionDate"), fromDate.atStartOfDay()));
+        }
+        if (toDate != null) {
+            spec = spec.and((root, cq, cb) -> cb.lessThanOrEqualTo(root.get("transactionDate"), toDate.atTime(23, 59, 59)));
+        }
+
+        return saleRepository.findAll(spec, pageable).map(sale -> new SaleResponseDTO(
+                sale.getId(),
+                sale.getTransactionDate(),
+                sale.getTotalAmount(),
+                sale.getOldGoldTotalValue(),
+                sale.getNetCashPaid(),
+                sale.getCreatedBy(),
+                sale.getCustomerName(),
+                sale.getCustomerPhone(),
+                sale.getItems().stream()
+                        .map(item -> new SaleResponseDTO.SaleItemDTO(item.getProduct().getModelName(), item.getWeightSnapshot(), item.getPriceSnapshot()))
+                        .toList()));
+    }
+
+    // ==========================================
+    // MEASUREMENT
+    // ==========================================
+
+    private long medianNanos(Supplier<?> search) {
+        long[] samples = new long[MEASURED_ROUNDS];
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            search.get();
+            long elapsed = System.nanoTime() - start;
+            if (round >= WARMUP_ROUNDS) {
+                samples[round - WARMUP_ROUNDS] = elapsed;
+            }
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    private int statements(Supplier<?> search) {
+        statementCounter.start();
+        search.get();
+        return statementCounter.stop();
+    }
+
+    // Plain JDBC batches, one sale every ~8 minutes over about two years. Items are ordered by id,
+    // as the TSIDs of a real checkout would be.
+    private void seed() {
+        List<Object[]> products = new ArrayList<>(SEED_BATCH * ITEMS_PER_SALE);
+        List<Object[]> sales = new ArrayList<>(SEED_BATCH);
+        List<Object[]> items = new ArrayList<>(SEED_BATCH * ITEMS_PER_SALE);
+        LocalDateTime first = FIRST_DAY.atTime(10, 0);
+
+        for (int s = 0; s < SALE_COUNT; s++) {
+            String saleId = id("SS", s);
+            Timestamp at = Timestamp.valueOf(first.plusMinutes(8L * s));
+            sales.add(new Object[]{saleId, CUSTOMERS[s % CUSTOMERS.length], "010" + String.format("%08d", s), at,
+                    new BigDecimal("30050.00"), BigDecimal.ZERO, new BigDecimal("30050.00"), "cashier", at, at});
+
+            for (int k = 0; k < ITEMS_PER_SALE; k++) {
+                int n = s * ITEMS_PER_SALE + k;
+                String productId = id("SP", n);
+                products.add(new Object[]{productId, "SS-BC-" + n, "Search Ring " + n, "K21", "RING",
+                        new BigDecimal("4.250"), new BigDecimal("150.00"), new BigDecimal("14000.00")});
+                items.add(new Object[]{id("SI", n), saleId, productId, new BigDecimal("3500.00"),
+                        new BigDecimal("4.250"), new BigDecimal("15025.00")});
+            }
+
+            if (sales.size() == SEED_BATCH || s == SALE_COUNT - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO product (id, barcode, model_name, purity_enum, type, gross_weight, making_charge, " +
+                        "cost_price, status, status_rank, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'SOLD', 3, 0)", products);
+                jdbcTemplate.batchUpdate("INSERT INTO sale (id, customer_name, customer_phone, transaction_date, total_amount, " +
+                        "old_gold_total_value, net_cash_paid, created_by, created_date, last_modified_date) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", sales);
+                jdbcTemplate.batchUpdate("INSERT INTO sale_item (id, sale_id, product_id, applied_gold_rate, weight_snapshot, " +
+                        "price_snapshot) VALUES (?, ?, ?, ?, ?, ?)", items);
+                products.clear();
+                sales.clear();
+                items.clear();
+            }
+        }
+    }
+
+    private String id(String prefix, int n) {
+        return prefix + String.format("%0" + (26 - prefix.length()) + "d", n);
+    }
+}
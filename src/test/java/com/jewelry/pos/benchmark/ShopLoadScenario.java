@@ -0,0 +1,203 @@
+package com.jewelry.pos.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * A scripted shop day against a running server: {@code concurrency} clients each loop over
+ * the cashier's mix of calls (scan 40%, search 30%, checkout 20%, dashboard 10%) for a fixed time,
+ * and the latency of every call is kept per endpoint.
+ * <p>
+ * Checkouts sell real stock, so they take barcodes from a shared queue; scans use a separate set
+ * of barcodes that is never sold. Calls made during the warm-up are not recorded.
+ */
+public class ShopLoadScenario {
+
+    public enum Endpoint {SCAN, SEARCH, CHECKOUT, DASHBOARD}
+
+    private static final String[] SEARCH_TERMS = {"Ring", "Chain", "Brac", "Neck", "Set A", "Pend", "-BC-1", "Earring B"};
+    private static final String GOLD_RATE = "3500.00";
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+    private final String token;
+    private final List<String> scanBarcodes;
+    private final Queue<String> checkoutStock;
+
+    public ShopLoadScenario(String baseUrl, String token, List<String> scanBarcodes, List<String> checkoutBarcodes) {
+        this.baseUrl = baseUrl;
+        this.token = token;
+        this.scanBarcodes = scanBarcodes;
+        this.checkoutStock = new ConcurrentLinkedQueue<>(checkoutBarcodes);
+    }
+
+    // The login response's token, for the given user
+    public static String login(String baseUrl, String username, String password) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                .build();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        return new ObjectMapper().readTree(response.body()).get("token").asText();
+    }
+
+    // ==========================================
+    // RUN
+    // ==========================================
+
+    public Map<Endpoint, Result> run(int concurrency, Duration warmup, Duration measured) throws Exception {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + measured.toNanos();
+
+        List<Future<Recorder>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService pool = Executors.newFixedThreadPool(concurrency)) {
+            for (int c = 0; c < concurrency; c++) {
+                long seed = c;
+                clients.add(pool.submit(() -> clientLoop(new Random(seed), measureFrom, stopAt)));
+            }
+        }
+
+        Recorder total = new Recorder();
+        for (Future<Recorder> client : clients) {
+            total.addAll(client.get());
+        }
+        return total.results(measured);
+    }
+
+    private Recorder clientLoop(Random random, long measureFrom, long stopAt) {
+        Recorder recorder = new Recorder();
+        while (System.nanoTime() < stopAt) {
+            int pick = random.nextInt(10);
+            Endpoint endpoint = pick < 4 ? Endpoint.SCAN : pick < 7 ? Endpoint.SEARCH : pick < 9 ? Endpoint.CHECKOUT : Endpoint.DASHBOARD;
+            HttpRequest request = request(endpoint, random);
+            if (request == null) {
+                continue; // out of stock to sell
+            }
+
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+            } catch (Exception e) {
+                ok = false;
+            }
+            if (start >= measureFrom) {
+                recorder.record(endpoint, System.nanoTime() - start, ok);
+            }
+        }
+        return recorder;
+    }
+
+    private HttpRequest request(Endpoint endpoint, Random random) {
+        return switch (endpoint) {
+            case SCAN -> post("/api/pos/scan/" + scanBarcodes.get(random.nextInt(scanBarcodes.size())), "");
+            case SEARCH -> get("/api/products/search?query=" + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)].replace(" ", "%20"));
+            case DASHBOARD -> get(random.nextBoolean() ? "/api/dashboard/today" : "/api/dashboard/stats");
+            case CHECKOUT -> {
+                List<String> cart = new ArrayList<>();
+                int size = 1 + random.nextInt(3);
+                for (String barcode; cart.size() < size && (barcode = checkoutStock.poll()) != null; ) {
+                    cart.add(barcode);
+                }
+                if (cart.isEmpty()) {
+                    yield null;
+                }
+                String barcodes = cart.stream().map(b -> "\"" + b + "\"").collect(Collectors.joining(","));
+                yield post("/api/pos/checkout", "{\"barcodes\":[" + barcodes + "],\"currentGoldRate\":" + GOLD_RATE
+                        + ",\"customerName\":\"Load test\"}");
+            }
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    // ==========================================
+    // RESULTS
+    // ==========================================
+
+    public record Result(int requests, int errors, double perSecond, double p50Ms, double p95Ms, double p99Ms) {
+
+        public static String header() {
+            return String.format("%-10s %9s %7s %9s %9s %9s %9s", "endpoint", "requests", "errors", "req/s", "p50 (ms)", "p95 (ms)", "p99 (ms)");
+        }
+
+        public String row(Endpoint endpoint) {
+            return String.format("%-10s %9d %7d %9.1f %9.2f %9.2f %9.2f", endpoint, requests, errors, perSecond, p50Ms, p95Ms, p99Ms);
+        }
+    }
+
+    // Per-client latencies; merged once the clients are done, so recording needs no locking
+    private static class Recorder {
+        private final Map<Endpoint, long[]> latencies = new EnumMap<>(Endpoint.class);
+        private final Map<Endpoint, Integer> counts = new EnumMap<>(Endpoint.class);
+        private final Map<Endpoint, Integer> errors = new EnumMap<>(Endpoint.class);
+
+        void record(Endpoint endpoint, long nanos, boolean ok) {
+            int n = counts.getOrDefault(endpoint, 0);
+            long[] samples = latencies.computeIfAbsent(endpoint, k -> new long[1024]);
+            if (n == samples.length) {
+                samples = Arrays.copyOf(samples, n * 2);
+                latencies.put(endpoint, samples);
+            }
+            samples[n] = nanos;
+            counts.put(endpoint, n + 1);
+            if (!ok) {
+                errors.merge(endpoint, 1, Integer::sum);
+            }
+        }
+
+        void addAll(Recorder other) {
+            other.counts.forEach((endpoint, n) -> {
+                long[] samples = other.latencies.get(endpoint);
+                for (int i = 0; i < n; i++) {
+                    record(endpoint, samples[i], true);
+                }
+            });
+            other.errors.forEach((endpoint, n) -> errors.merge(endpoint, n, Integer::sum));
+        }
+
+        Map<Endpoint, Result> results(Duration measured) {
+            Map<Endpoint, Result> results = new EnumMap<>(Endpoint.class);
+            counts.forEach((endpoint, n) -> {
+                long[] sorted = Arrays.copyOf(latencies.get(endpoint), n);
+                Arrays.sort(sorted);
+                results.put(endpoint, new Result(n, errors.getOrDefault(endpoint, 0), n / (measured.toMillis() / 1000.0),
+                        percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99)));
+            });
+            return results;
+        }
+
+        private double percentile(long[] sorted, int p) {
+            int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.jewelry.pos.benchmark;
+
+import com.jewelry.pos.benchmark.ShopLoadScenario.Endpoint;
+import com.jewelry.pos.benchmark.ShopLoadScenario.Result;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The scripted shop load ({@link ShopLoadScenario}) against the real server on a database filled by
+ * the {@code datagen} profile. Tune with {@code -Dload.concurrency=8 -Dload.seconds=30 -Dload.warmup-seconds=5}.
+ * Run with {@code mvn -Pbenchmark test -Dtest=ShopLoadScenarioTest}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "datagen.days=120",
+        "datagen.sales-per-day=40",
+        "datagen.available-products=10000"
+})
+@ActiveProfiles({"test", "benchmark", "datagen"})
+class ShopLoadScenarioTest {
+
+    private static final int SCAN_BARCODES = 1_000;
+
+    @LocalServerPort private int port;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shopLoad() throws Exception {
+        int concurrency = Integer.getInteger("load.concurrency", 8);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("load.warmup-seconds", 5));
+        Duration measured = Duration.ofSeconds(Integer.getInteger("load.seconds", 30));
+
+        String baseUrl = "http://localhost:" + port;
+        List<String> stock = jdbcTemplate.queryForList("SELECT barcode FROM product WHERE status = 'AVAILABLE' ORDER BY id", String.class);
+        ShopLoadScenario scenario = new ShopLoadScenario(baseUrl, ShopLoadScenario.login(baseUrl, "super_admin", "super_admin123"),
+                stock.subList(0, SCAN_BARCODES), stock.subList(SCAN_BARCODES, stock.size()));
+
+        Map<Endpoint, Result> results = scenario.run(concurrency, warmup, measured);
+
+        log.info("Shop load: {} clients, {} s measured", concurrency, measured.toSeconds());
+        log.info(Result.header());
+        results.forEach((endpoint, result) -> log.info(result.row(endpoint)));
+    }
+}
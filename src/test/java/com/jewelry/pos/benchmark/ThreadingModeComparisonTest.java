@@ -0,0 +1,74 @@
+package com.jewelry.pos.benchmark;
+
+import com.jewelry.pos.JewelryShopApplication;
+import com.jewelry.pos.benchmark.ShopLoadScenario.Endpoint;
+import com.jewelry.pos.benchmark.ShopLoadScenario.Result;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The shop load ({@link ShopLoadScenario}) against the application on platform threads and on
+ * virtual threads ({@code spring.threads.virtual.enabled}), at each client count in
+ * {@code -Dload.concurrency-levels} (default 8,64,256). Every run gets its own freshly generated
+ * in-memory database, so all of them sell from the same stock. Past {@code requests.max-concurrent}
+ * clients the errors column shows the 503s of the concurrency guard, in both modes.
+ * Run with {@code mvn -Pbenchmark test -Dtest=ThreadingModeComparisonTest}.
+ */
+@Slf4j
+@Tag("benchmark")
+class ThreadingModeComparisonTest {
+
+    private static final int SCAN_BARCODES = 1_000;
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        int[] levels = Arrays.stream(System.getProperty("load.concurrency-levels", "8,64,256").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("load.warmup-seconds", 5));
+        Duration measured = Duration.ofSeconds(Integer.getInteger("load.seconds", 20));
+
+        for (boolean virtual : new boolean[]{false, true}) {
+            for (int concurrency : levels) {
+                Map<Endpoint, Result> results = runMode(virtual, concurrency, warmup, measured);
+
+                log.info("{} threads, {} clients, {} s measured", virtual ? "Virtual" : "Platform", concurrency, measured.toSeconds());
+                log.info(Result.header());
+                results.forEach((endpoint, result) -> log.info(result.row(endpoint)));
+            }
+        }
+    }
+
+    private Map<Endpoint, Result> runMode(boolean virtual, int concurrency, Duration warmup, Duration measured) throws Exception {
+        String database = "jewelry_load_" + (virtual ? "virtual" : "platform") + "_" + concurrency;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(JewelryShopApplication.class)
+                .profiles("test", "benchmark", "datagen")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "datagen.days=60",
+                        "datagen.available-products=20000")
+                .run()) {
+
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port;
+            List<String> stock = context.getBean(JdbcTemplate.class)
+                    .queryForList("SELECT barcode FROM product WHERE status = 'AVAILABLE' ORDER BY id", String.class);
+
+            ShopLoadScenario scenario = new ShopLoadScenario(baseUrl, ShopLoadScenario.login(baseUrl, "super_admin", "super_admin123"),
+                    stock.subList(0, SCAN_BARCODES), stock.subList(SCAN_BARCODES, stock.size()));
+            return scenario.run(concurrency, warmup, measured);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.jewelry.pos.benchmark;
+
+import com.jewelry.pos.service.ReceiptService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Peak heap while building a Z-Report PDF: the buffered path ({@link ReceiptService#generateZReport},
+ * whole Sale graph + byte[]) against the streaming path ({@link ReceiptService#writeZReport},
+ * projected rows + output stream). Each size is seeded on its own day.
+ * Run with {@code mvn -Pbenchmark test}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles({"test", "benchmark"})
+class ZReportMemoryBenchmarkTest {
+
+    private static final int[] SALE_ITEM_COUNTS = {1_000, 10_000, 100_000};
+    private static final int ITEMS_PER_SALE = 10;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final String[] PURITIES = {"K24", "K21", "K18"};
+
+    @Autowired private ReceiptService receiptService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void zReportPeakHeapBySaleItemCount() {
+        log.info(String.format("%-12s %18s %18s", "sale items", "buffered (MB)", "streaming (MB)"));
+        for (int i = 0; i < SALE_ITEM_COUNTS.length; i++) {
+            LocalDate day = FIRST_DAY.plusDays(i);
+            seedDay(day, SALE_ITEM_COUNTS[i], "D" + i);
+
+            long buffered = peakHeapDuring(() -> receiptService.generateZReport(day));
+            long streaming = peakHeapDuring(() -> receiptService.writeZReport(day, day, OutputStream.nullOutputStream()));
+
+            log.info(String.format("%-12d %18.1f %18.1f", SALE_ITEM_COUNTS[i], buffered / 1e6, streaming / 1e6));
+        }
+    }
+
+    // Heap growth above the post-GC baseline. Sums each pool's own peak, so it is an upper bound.
+    private long peakHeapDuring(Runnable task) {
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+
+        System.gc();
+        long baseline = heapPools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        task.run();
+
+        long peak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        return Math.max(0, peak - baseline);
+    }
+
+    // Plain JDBC batches: seeding 100k lines through JPA would dominate the run time
+    private void seedDay(LocalDate day, int itemCount, String prefix) {
+        Timestamp at = Timestamp.valueOf(day.atTime(12, 0));
+        int saleCount = itemCount / ITEMS_PER_SALE;
+
+        List<Object[]> products = new ArrayList<>(itemCount);
+        List<Object[]> sales = new ArrayList<>(saleCount);
+        List<Object[]> items = new ArrayList<>(itemCount);
+
+        for (int s = 0; s < saleCount; s++) {
+            String saleId = id(prefix + "S", s);
+            sales.add(new Object[]{saleId, "Benchmark", at, new BigDecimal("150000.00"), BigDecimal.ZERO, new BigDecimal("150000.00")});
+
+            for (int k = 0; k < ITEMS_PER_SALE; k++) {
+                int n = s * ITEMS_PER_SALE + k;
+                String productId = id(prefix + "P", n);
+                products.add(new Object[]{productId, prefix + "-BC-" + n, "Bench Ring " + n, PURITIES[n % PURITIES.length], "RING",
+                        new BigDecimal("4.250"), new BigDecimal("150.00"), new BigDecimal("14000.00")});
+                items.add(new Object[]{id(prefix + "I", n), saleId, productId, new BigDecimal("3500.00"),
+                        new BigDecimal("4.250"), new BigDecimal("15025.00")});
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO product (id, barcode, model_name, purity_enum, type, gross_weight, making_charge, " +
+                "cost_price, status, status_rank, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'SOLD', 3, 0)", products);
+        jdbcTemplate.batchUpdate("INSERT INTO sale (id, customer_name, transaction_date, total_amount, old_gold_total_value, " +
+                "net_cash_paid) VALUES (?, ?, ?, ?, ?, ?)", sales);
+        jdbcTemplate.batchUpdate("INSERT INTO sale_item (id, sale_id, product_id, applied_gold_rate, weight_snapshot, " +
+                "price_snapshot) VALUES (?, ?, ?, ?, ?, ?)", items);
+    }
+
+    private String id(String prefix, int n) {
+        return prefix + String.format("%0" + (26 - prefix.length()) + "d", n);
+    }
+}
@@ -0,0 +1,75 @@
+package com.jewelry.pos.benchmark.jmh;
+
+import com.jewelry.pos.domain.entity.Product;
+import com.jewelry.pos.domain.entity.Sale;
+import com.jewelry.pos.domain.repository.ProductRepository;
+import com.jewelry.pos.service.CheckoutService;
+import com.jewelry.pos.web.dto.SaleRequestDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CheckoutService#executeFinancialTransaction} per cart size on the seeded database
+ * (every invocation sells fresh AVAILABLE stock), and the cart arithmetic of its step 3 on its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CheckoutBenchmark {
+
+    private static final BigDecimal GOLD_RATE = new BigDecimal("3500.00");
+
+    @Param({"1", "10", "50"})
+    public int cartSize;
+
+    private SeededApplicationState app;
+    private CheckoutService checkoutService;
+    private List<Product> sampleCart;
+
+    private List<String> stock;
+    private int nextBarcode;
+    private int restockBatch;
+    private SaleRequestDTO request;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplicationState app) {
+        this.app = app;
+        checkoutService = app.bean(CheckoutService.class);
+        stock = app.availableBarcodes;
+        sampleCart = app.bean(ProductRepository.class).findAllByBarcodeIn(stock.subList(0, cartSize));
+    }
+
+    // Untimed: the next cartSize unsold barcodes (more stock is generated when the seed runs out)
+    @Setup(Level.Invocation)
+    public void nextCart() {
+        if (nextBarcode + cartSize > stock.size()) {
+            stock = app.generator.seedAvailableProducts("CK" + restockBatch++, SeededApplicationState.AVAILABLE_PRODUCTS);
+            nextBarcode = 0;
+        }
+        request = new SaleRequestDTO(stock.subList(nextBarcode, nextBarcode + cartSize), GOLD_RATE, "Benchmark", null, null);
+        nextBarcode += cartSize;
+    }
+
+    @Benchmark
+    public Sale checkout() {
+        return checkoutService.executeFinancialTransaction(request);
+    }
+
+    // Same BigDecimal work as step 3 (B and E) of executeFinancialTransaction, without the database
+    @Benchmark
+    public BigDecimal[] cartArithmetic() {
+        BigDecimal totalCartAmount = BigDecimal.ZERO;
+        BigDecimal totalCartCost = BigDecimal.ZERO;
+        for (Product product : sampleCart) {
+            BigDecimal itemTotal = product.getGrossWeight().multiply(GOLD_RATE).add(product.getMakingCharge());
+            totalCartAmount = totalCartAmount.add(itemTotal);
+            if (product.getCostPrice() != null) {
+                totalCartCost = totalCartCost.add(product.getCostPrice());
+            }
+        }
+        return new BigDecimal[]{totalCartAmount, totalCartCost};
+    }
+}
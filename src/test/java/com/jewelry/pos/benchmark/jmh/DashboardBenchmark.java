@@ -0,0 +1,53 @@
+package com.jewelry.pos.benchmark.jmh;
+
+import com.jewelry.pos.service.DashboardService;
+import com.jewelry.pos.web.dto.DashboardStatsDTO;
+import com.jewelry.pos.web.dto.SalesTrendDTO;
+import com.jewelry.pos.web.dto.TopProductDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The dashboard aggregations over the seeded year of sales
+ * ({@value SeededApplicationState#SALES_PER_DAY} sales a day).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DashboardBenchmark {
+
+    private DashboardService dashboardService;
+    private LocalDate today;
+    private LocalDate yearAgo;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplicationState app) {
+        dashboardService = app.bean(DashboardService.class);
+        today = LocalDate.now();
+        yearAgo = today.minusDays(SeededApplicationState.HISTORY_DAYS - 1);
+    }
+
+    @Benchmark
+    public Map<String, Object> todayStats() {
+        return dashboardService.getTodayStats();
+    }
+
+    @Benchmark
+    public DashboardStatsDTO yearStats() {
+        return dashboardService.getStatsForDateRange(yearAgo, today);
+    }
+
+    @Benchmark
+    public List<SalesTrendDTO> yearSalesTrend() {
+        return dashboardService.getSalesTrend(yearAgo, today);
+    }
+
+    @Benchmark
+    public List<TopProductDTO> monthTopProducts() {
+        return dashboardService.getTopProducts(today.minusDays(29), today, 10);
+    }
+}
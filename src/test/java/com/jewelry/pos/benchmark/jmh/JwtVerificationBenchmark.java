@@ -0,0 +1,80 @@
+package com.jewelry.pos.benchmark.jmh;
+
+import com.jewelry.pos.security.JwtTokenVerifier;
+import com.jewelry.pos.security.JwtUtil;
+import com.jewelry.pos.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of checking one request's Bearer token:
+ * <ul>
+ *   <li>{@code legacyValidate}: the old JwtUtil, which rebuilt the key and parser and parsed the token
+ *       twice (subject, then expiration)</li>
+ *   <li>{@code parseOnce}: shared key and parser, one parse</li>
+ *   <li>{@code verifierRepeatToken}: {@link JwtTokenVerifier} on a token it has already seen</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "MySecretKeyForJewelryPOSSystemThatIsAtLeast256BitsLongForHS256Algorithm";
+
+    private JwtUtil jwtUtil;
+    private JwtTokenVerifier verifier;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        jwtUtil.init();
+        verifier = new JwtTokenVerifier(jwtUtil);
+
+        List<SimpleGrantedAuthority> authorities = List.of(
+                new SimpleGrantedAuthority("ROLE_ADMIN"),
+                new SimpleGrantedAuthority("USER_MANAGE"),
+                new SimpleGrantedAuthority("PRODUCT_MANAGE"),
+                new SimpleGrantedAuthority("SALE_EXECUTE"));
+        token = jwtUtil.generateToken(new User("cashier", "secret", authorities), 0);
+        verifier.verify(token);
+    }
+
+    @Benchmark
+    public boolean legacyValidate() {
+        String username = legacyClaims().getSubject();
+        Date expiration = legacyClaims().getExpiration();
+        return username.equals("cashier") && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public Claims parseOnce() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifierRepeatToken() {
+        return verifier.verify(token);
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,34 @@
+package com.jewelry.pos.benchmark.jmh;
+
+import com.jewelry.pos.domain.entity.KaratEnum;
+import com.jewelry.pos.service.OldGoldService;
+import com.jewelry.pos.web.dto.OldGoldRequestDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OldGoldService#processOldGoldPurchase}: valuation plus the purchase row, the scrap box
+ * update and the daily ledger summary increment, as a trade-in at the counter runs it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OldGoldBenchmark {
+
+    private OldGoldService oldGoldService;
+    private OldGoldRequestDTO request;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplicationState app) {
+        oldGoldService = app.bean(OldGoldService.class);
+        request = new OldGoldRequestDTO(KaratEnum.KARAT_21, new BigDecimal("7.350"), new BigDecimal("3350.00"),
+                "Benchmark trade-in", "29001011234567", null);
+    }
+
+    @Benchmark
+    public BigDecimal purchase() {
+        return oldGoldService.processOldGoldPurchase(request, null);
+    }
+}
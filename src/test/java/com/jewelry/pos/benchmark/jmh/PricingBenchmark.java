@@ -0,0 +1,42 @@
+package com.jewelry.pos.benchmark.jmh;
+
+import com.jewelry.pos.domain.entity.Product;
+import com.jewelry.pos.domain.repository.ProductRepository;
+import com.jewelry.pos.web.dto.ProductLiteDTO;
+import com.jewelry.pos.web.mapper.ProductMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ProductMapper.calculatePrice} through {@link ProductMapper#toLiteDTO}, the way the inventory
+ * page prices every row: one page of 100 seeded products against the cached gold rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PricingBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private ProductMapper productMapper;
+    private List<Product> page;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplicationState app) {
+        productMapper = app.bean(ProductMapper.class);
+        page = app.bean(ProductRepository.class).findFirstListPage(PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<ProductLiteDTO> pricePage() {
+        List<ProductLiteDTO> result = new ArrayList<>(page.size());
+        for (Product product : page) {
+            result.add(productMapper.toLiteDTO(product));
+        }
+        return result;
+    }
+}
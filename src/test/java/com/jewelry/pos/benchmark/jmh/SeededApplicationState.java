@@ -0,0 +1,55 @@
+package com.jewelry.pos.benchmark.jmh;
+
+import com.jewelry.pos.JewelryShopApplication;
+import com.jewelry.pos.service.datagen.GenerationPlan;
+import com.jewelry.pos.service.datagen.SyntheticDataGenerator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+
+/**
+ * The application on the benchmark H2 database ({@code test,benchmark} profiles), seeded once per trial
+ * by {@link SyntheticDataGenerator}: a stock of AVAILABLE products plus a year of shop history
+ * (sales, trade-ins, purifications, ledgers) with the derived summaries rebuilt over it.
+ * Shared by the JMH benchmarks that need the real beans.
+ */
+@State(Scope.Benchmark)
+public class SeededApplicationState {
+
+    public static final int AVAILABLE_PRODUCTS = 20_000;
+    public static final int HISTORY_DAYS = 365;
+    public static final int SALES_PER_DAY = 40;
+
+    public ConfigurableApplicationContext context;
+    public SyntheticDataGenerator generator;
+    public List<String> availableBarcodes;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(JewelryShopApplication.class)
+                .profiles("test", "benchmark")
+                .properties("server.port=0")
+                .run();
+
+        generator = bean(SyntheticDataGenerator.class);
+        availableBarcodes = generator.seedAvailableProducts("AV", AVAILABLE_PRODUCTS);
+        generator.generate(new GenerationPlan(HISTORY_DAYS, SALES_PER_DAY, 25, 0, 12, 60, 15, 42L));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -0,0 +1,152 @@
+package com.jewelry.pos.core.journal;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void append_ShouldBeReadBackInOrder() throws Exception {
+        ChangeJournal journal = new ChangeJournal(directory.toString(), 1, false);
+        journal.append(JournalOperationEnum.INSERT, "Sale", "sale", key("S1"), row("S1", "150.500"));
+        journal.append(JournalOperationEnum.DELETE, "Sale", "sale", key("S1"), Map.of());
+        journal.close();
+
+        List<JournalEntry> entries = readAll();
+
+        assertEquals(2, entries.size());
+        assertEquals(1, entries.get(0).sequence());
+        assertEquals(JournalOperationEnum.INSERT, entries.get(0).operation());
+        assertEquals(new BigDecimal("150.500"), entries.get(0).columns().get("total_amount"));
+        assertEquals(LocalDateTime.of(2026, 3, 1, 10, 30), entries.get(0).columns().get("transaction_date"));
+        assertEquals(JournalOperationEnum.DELETE, entries.get(1).operation());
+        assertEquals("S1", entries.get(1).key().get("id"));
+    }
+
+    @Test
+    void reopen_ShouldContinueAfterLastEntry() throws Exception {
+        ChangeJournal journal = new ChangeJournal(directory.toString(), 1, false);
+        journal.append(JournalOperationEnum.INSERT, "Sale", "sale", key("S1"), row("S1", "10"));
+        journal.close();
+
+        ChangeJournal reopened = new ChangeJournal(directory.toString(), 1, false);
+        assertEquals(1, reopened.lastSequence());
+        reopened.append(JournalOperationEnum.INSERT, "Sale", "sale", key("S2"), row("S2", "20"));
+        reopened.close();
+
+        assertEquals(List.of(1L, 2L), readAll().stream().map(JournalEntry::sequence).toList());
+    }
+
+    @Test
+    void append_ShouldRollToNewSegment_WhenFull() throws Exception {
+        ChangeJournal journal = new ChangeJournal(directory.toString(), 1, false);
+        Map<String, Object> big = row("S1", "1");
+        big.put("notes", "x".repeat(200_000));
+        for (int i = 0; i < 12; i++) {
+            journal.append(JournalOperationEnum.UPDATE, "Sale", "sale", key("S1"), big);
+        }
+        journal.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() >= 3);
+        }
+        assertEquals(12, readAll().size());
+
+        ChangeJournal reopened = new ChangeJournal(directory.toString(), 1, false);
+        assertEquals(12, reopened.lastSequence());
+        reopened.close();
+    }
+
+    @Test
+    void read_ShouldStopAtTornRecord() throws Exception {
+        ChangeJournal journal = new ChangeJournal(directory.toString(), 1, false);
+        journal.append(JournalOperationEnum.INSERT, "Sale", "sale", key("S1"), row("S1", "10"));
+        journal.append(JournalOperationEnum.INSERT, "Sale", "sale", key("S2"), row("S2", "20"));
+        journal.close();
+
+        // Flip a byte inside the second record's payload, as a crash mid-write would leave it
+        Path segment = directory.resolve("journal-000001.seg");
+        int secondRecordEnd = lastNonZeroOffset(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), secondRecordEnd - 2);
+        }
+
+        assertEquals(1, readAll().size());
+        ChangeJournal reopened = new ChangeJournal(directory.toString(), 1, false);
+        assertEquals(1, reopened.lastSequence());
+        assertEquals(2, reopened.append(JournalOperationEnum.INSERT, "Sale", "sale", key("S3"), row("S3", "30")));
+        reopened.close();
+        assertEquals(List.of("S1", "S3"), readAll().stream().map(e -> e.key().get("id")).toList());
+    }
+
+    @Test
+    void replay_ShouldApplyEntriesAsSql() throws Exception {
+        ChangeJournal journal = new ChangeJournal(directory.toString(), 1, false);
+        journal.append(JournalOperationEnum.INSERT, "Sale", "sale", key("S1"), row("S1", "10"));
+        journal.append(JournalOperationEnum.INSERT, "Sale", "sale", key("S2"), row("S2", "20"));
+        journal.append(JournalOperationEnum.UPDATE, "Sale", "sale", key("S1"), row("S1", "15"));
+        journal.append(JournalOperationEnum.DELETE, "Sale", "sale", key("S2"), Map.of());
+        journal.close();
+
+        JdbcDataSource target = new JdbcDataSource();
+        target.setURL("jdbc:h2:mem:journal_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(target);
+        jdbc.execute("CREATE TABLE sale (id VARCHAR(26) PRIMARY KEY, total_amount DECIMAL(12,3), transaction_date TIMESTAMP)");
+
+        assertEquals(4, JournalReplayer.replay(directory, target));
+
+        List<Map<String, Object>> rows = jdbc.queryForList("SELECT id, total_amount FROM sale");
+        assertEquals(1, rows.size());
+        assertEquals("S1", rows.get(0).get("ID"));
+        assertEquals(0, new BigDecimal("15").compareTo((BigDecimal) rows.get(0).get("TOTAL_AMOUNT")));
+    }
+
+    private Map<String, Object> key(String id) {
+        return new LinkedHashMap<>(Map.of("id", id));
+    }
+
+    private Map<String, Object> row(String id, String total) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("total_amount", new BigDecimal(total));
+        row.put("transaction_date", LocalDateTime.of(2026, 3, 1, 10, 30));
+        return row;
+    }
+
+    private List<JournalEntry> readAll() throws IOException {
+        List<JournalEntry> entries = new ArrayList<>();
+        ChangeJournal.read(directory, entries::add);
+        return entries;
+    }
+
+    private int lastNonZeroOffset(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        int last = bytes.length - 1;
+        while (bytes[last] == 0) {
+            last--;
+        }
+        return last + 1;
+    }
+}
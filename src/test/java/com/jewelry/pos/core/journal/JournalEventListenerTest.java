@@ -0,0 +1,59 @@
+package com.jewelry.pos.core.journal;
+
+import com.jewelry.pos.core.metrics.OperationMetrics;
+import com.jewelry.pos.domain.entity.ScrapInventory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalEventListenerTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ChangeJournal journal;
+    private JournalEventListener listener;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        journal = new ChangeJournal(directory.toString(), 1, false);
+        listener = new JournalEventListener(journal, new OperationMetrics(meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        journal.close();
+    }
+
+    @Test
+    void recordAddition_ShouldCountTheFailure_WhenTheJournalRejectsTheEntry() {
+        // Larger than a 1 MB segment: the journal refuses it, the caller's commit must not notice
+        Map<String, Object> tooBig = Map.of("total_weight", new BigDecimal("1.000"), "notes", "x".repeat(2_000_000));
+
+        assertDoesNotThrow(() -> listener.recordAddition(ScrapInventory.class, "scrap_inventory", Map.of("purity", "KARAT_21"), tooBig));
+
+        Counter failures = meterRegistry.find("journal.append.failures").tag("table", "scrap_inventory").counter();
+        assertNotNull(failures);
+        assertEquals(1.0, failures.count());
+        assertEquals(0, journal.lastSequence());
+    }
+
+    @Test
+    void recordAddition_ShouldNotCount_WhenTheEntryIsJournaled() {
+        listener.recordAddition(ScrapInventory.class, "scrap_inventory", Map.of("purity", "KARAT_21"),
+                Map.of("total_weight", new BigDecimal("4.250")));
+
+        assertEquals(1, journal.lastSequence());
+        assertNull(meterRegistry.find("journal.append.failures").counter());
+    }
+}
@@ -0,0 +1,108 @@
+package com.jewelry.pos.core.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class SseBroadcasterTest {
+
+    private SseBroadcaster broadcaster;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new SseBroadcaster(new ObjectMapper());
+        ReflectionTestUtils.setField(broadcaster, "timeoutMs", 60_000L);
+        mockMvc = MockMvcBuilders.standaloneSetup(new StreamController()).build();
+    }
+
+    @Test
+    void subscribe_ShouldSendSnapshotFirst_ThenBroadcastsInOrder() throws Exception {
+        MvcResult result = mockMvc.perform(get("/stream")).andExpect(request().asyncStarted()).andReturn();
+        assertEquals(1, broadcaster.subscriberCount("ticks"));
+
+        for (int i = 1; i <= 200; i++) {
+            broadcaster.broadcast("ticks", "tick", Map.of("n", i));
+        }
+
+        String body = awaitContent(result, "{\"n\":200}");
+        int previous = -1;
+        for (int i = 0; i <= 200; i++) {
+            int at = body.indexOf("data:{\"n\":" + i + "}");
+            assertTrue(at > previous, "event " + i + " missing or out of order");
+            previous = at;
+        }
+        assertTrue(body.startsWith("event:tick\ndata:{\"n\":0}"));
+    }
+
+    @Test
+    void subscribe_ShouldQueueABroadcastRacingTheSnapshot_AfterIt() throws Exception {
+        MvcResult result = mockMvc.perform(get("/racing")).andExpect(request().asyncStarted()).andReturn();
+
+        String body = awaitContent(result, "{\"n\":1}");
+        int snapshot = body.indexOf("data:{\"n\":0}");
+        int change = body.indexOf("data:{\"n\":1}");
+        assertTrue(snapshot >= 0 && change > snapshot, "change lost or sent before the snapshot: " + body);
+    }
+
+    @Test
+    void heartbeat_ShouldSendCommentLine() throws Exception {
+        MvcResult result = mockMvc.perform(get("/stream")).andExpect(request().asyncStarted()).andReturn();
+
+        broadcaster.heartbeat();
+
+        assertTrue(awaitContent(result, ":ping").contains(":ping"));
+    }
+
+    @Test
+    void broadcast_ShouldDoNothing_WithoutSubscribers() {
+        broadcaster.broadcast("nobody", "tick", Map.of("n", 1));
+
+        assertEquals(0, broadcaster.subscriberCount("nobody"));
+    }
+
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            body = result.getResponse().getContentAsString();
+        }
+        return body;
+    }
+
+    @RestController
+    class StreamController {
+        @GetMapping("/stream")
+        SseEmitter stream() {
+            return broadcaster.subscribe("ticks", "tick", () -> Map.of("n", 0));
+        }
+
+        // The state changes and is broadcast while the snapshot is being read
+        @GetMapping("/racing")
+        SseEmitter racing() {
+            return broadcaster.subscribe("ticks", "tick", () -> {
+                Thread publisher = Thread.ofVirtual().start(() -> broadcaster.broadcast("ticks", "tick", Map.of("n", 1)));
+                try {
+                    publisher.join(200); // blocked on the topic lock until the subscriber has joined
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Map.of("n", 0);
+            });
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.jewelry.pos.domain.repository;
+
+import com.jewelry.pos.domain.entity.DailyLedgerFigures;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The daily summary write path against a real H2 table created by the V5 migration:
+ * the first write of a day, the race for that first write, and reversals.
+ */
+class DailyLedgerSummaryOperationsImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private DailyLedgerSummaryOperations summary;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:daily_summary_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(dataSource);
+        try (InputStream migration = getClass().getResourceAsStream("/db/migration/V5__daily_ledger_summary.sql")) {
+            jdbc.execute(new String(migration.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        summary = new DailyLedgerSummaryOperationsImpl(jdbc);
+    }
+
+    @Test
+    void addToDay_ShouldCreateTheRow_OnTheFirstWriteOfTheDay() {
+        summary.addToDay(DAY, DailyLedgerFigures.sale(new BigDecimal("12000.00"), new BigDecimal("9000.00")));
+
+        Map<String, Object> row = row(DAY);
+        assertEquals(1L, row.get("SALES_COUNT"));
+        assertEquals(new BigDecimal("12000.00"), row.get("SALES_REVENUE"));
+        assertEquals(new BigDecimal("9000.00"), row.get("SALES_COST"));
+        assertEquals(new BigDecimal("0.000"), row.get("OLD_GOLD_WEIGHT"));
+        assertEquals(1, rowCount());
+    }
+
+    @Test
+    void addToDay_ShouldIncrementTheExistingRow_AfterTheFirstWrite() {
+        summary.addToDay(DAY, DailyLedgerFigures.sale(new BigDecimal("12000.00"), new BigDecimal("9000.00")));
+        summary.addToDay(DAY, DailyLedgerFigures.oldGold(new BigDecimal("10.500"), new BigDecimal("31500.00")));
+        summary.addToDay(DAY.plusDays(1), DailyLedgerFigures.sale(new BigDecimal("800.00"), new BigDecimal("600.00")));
+
+        Map<String, Object> row = row(DAY);
+        assertEquals(1L, row.get("SALES_COUNT"));
+        assertEquals(new BigDecimal("12000.00"), row.get("SALES_REVENUE"));
+        assertEquals(new BigDecimal("10.500"), row.get("OLD_GOLD_WEIGHT"));
+        assertEquals(new BigDecimal("31500.00"), row.get("OLD_GOLD_VALUE"));
+        assertEquals(new BigDecimal("800.00"), row(DAY.plusDays(1)).get("SALES_REVENUE"));
+        assertEquals(2, rowCount());
+    }
+
+    @Test
+    void addToDay_ShouldStillAdd_WhenAnotherTerminalCreatedTheRowFirst() {
+        DailyLedgerSummaryOperations otherTerminal = new DailyLedgerSummaryOperationsImpl(jdbc);
+        AtomicBoolean raced = new AtomicBoolean();
+
+        // Our UPDATE found no row; the other terminal's first write lands before our INSERT does
+        JdbcTemplate racing = new JdbcTemplate(dataSource) {
+            @Override
+            public int update(String sql, Object... args) {
+                if (sql.startsWith("INSERT") && raced.compareAndSet(false, true)) {
+                    otherTerminal.addToDay(DAY, DailyLedgerFigures.sale(new BigDecimal("5000.00"), new BigDecimal("3500.00")));
+                }
+                return super.update(sql, args);
+            }
+        };
+
+        new DailyLedgerSummaryOperationsImpl(racing)
+                .addToDay(DAY, DailyLedgerFigures.sale(new BigDecimal("12000.00"), new BigDecimal("9000.00")));
+
+        assertTrue(raced.get());
+        Map<String, Object> row = row(DAY);
+        assertEquals(2L, row.get("SALES_COUNT"));
+        assertEquals(new BigDecimal("17000.00"), row.get("SALES_REVENUE"));
+        assertEquals(new BigDecimal("12500.00"), row.get("SALES_COST"));
+        assertEquals(1, rowCount());
+    }
+
+    @Test
+    void addToDay_ShouldBringTheDayBackToZero_WhenTheWriteIsReversed() {
+        DailyLedgerFigures sale = DailyLedgerFigures.sale(new BigDecimal("12000.00"), new BigDecimal("9000.00"));
+        summary.addToDay(DAY, sale);
+        summary.addToDay(DAY, DailyLedgerFigures.sale(new BigDecimal("5000.00"), new BigDecimal("3500.00")));
+
+        // Voiding the first sale
+        summary.addToDay(DAY, sale.negate());
+
+        Map<String, Object> row = row(DAY);
+        assertEquals(1L, row.get("SALES_COUNT"));
+        assertEquals(new BigDecimal("5000.00"), row.get("SALES_REVENUE"));
+        assertEquals(new BigDecimal("3500.00"), row.get("SALES_COST"));
+    }
+
+    private Map<String, Object> row(LocalDate day) {
+        return jdbc.queryForMap("SELECT * FROM daily_ledger_summary WHERE summary_date = ?", Date.valueOf(day));
+    }
+
+    private int rowCount() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM daily_ledger_summary", Integer.class);
+    }
+}
@@ -0,0 +1,145 @@
+package com.jewelry.pos.domain.repository;
+
+import com.jewelry.pos.core.journal.ChangeJournal;
+import com.jewelry.pos.core.journal.JournalEntry;
+import com.jewelry.pos.core.journal.JournalEventListener;
+import com.jewelry.pos.core.journal.JournalOperationEnum;
+import com.jewelry.pos.core.metrics.OperationMetrics;
+import com.jewelry.pos.domain.entity.KaratEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Many counters trading in and purifying scrap at the same moment, each call in its own
+ * transaction against a real H2 database. The totals must come out to the gram - and the
+ * journal must add up to the same totals.
+ */
+class ScrapInventoryOperationsConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 250;
+
+    @TempDir
+    Path journalDir;
+
+    private JdbcTemplate jdbc;
+    private TransactionTemplate transaction;
+    private ChangeJournal journal;
+    private ScrapInventoryOperations scrap;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:scrap_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE scrap_inventory (purity VARCHAR(10) PRIMARY KEY, total_weight DECIMAL(12,3) NOT NULL DEFAULT 0)");
+        jdbc.update("INSERT INTO scrap_inventory VALUES ('KARAT_21', 0.000), ('KARAT_18', 1000.000)");
+
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        journal = new ChangeJournal(journalDir.toString(), 1, false);
+        scrap = new ScrapInventoryOperationsImpl(jdbc, new JournalEventListener(journal, new OperationMetrics(new SimpleMeterRegistry())));
+    }
+
+    @Test
+    void concurrentTradeIns_ShouldNotLoseWeight() throws Exception {
+        AtomicLong expected21 = new AtomicLong();
+        AtomicLong expected24 = new AtomicLong();
+
+        runConcurrently(random -> {
+            // 21K trade-ins on an existing row; 24K trade-ins race to create theirs
+            long milligrams = 100 + random.nextInt(50_000);
+            KaratEnum purity = random.nextInt(4) == 0 ? KaratEnum.KARAT_24 : KaratEnum.KARAT_21;
+            transaction.executeWithoutResult(status -> scrap.addWeight(purity, BigDecimal.valueOf(milligrams, 3)));
+            (purity == KaratEnum.KARAT_24 ? expected24 : expected21).addAndGet(milligrams);
+        });
+
+        assertEquals(BigDecimal.valueOf(expected21.get(), 3), weight(KaratEnum.KARAT_21));
+        assertEquals(BigDecimal.valueOf(expected24.get(), 3), weight(KaratEnum.KARAT_24));
+        assertJournalMatchesTable();
+    }
+
+    @Test
+    void concurrentPurifications_ShouldNeverOverdraw() throws Exception {
+        AtomicInteger granted = new AtomicInteger();
+        BigDecimal portion = new BigDecimal("0.700");
+
+        runConcurrently(random -> {
+            Boolean removed = transaction.execute(status -> scrap.removeWeight(KaratEnum.KARAT_18, portion));
+            if (Boolean.TRUE.equals(removed)) {
+                granted.incrementAndGet();
+            }
+        });
+
+        // 1000 g holds exactly 1428 portions of 0.7 g; 4000 attempts must not get one more
+        assertEquals(1428, granted.get());
+        assertEquals(new BigDecimal("0.400"), weight(KaratEnum.KARAT_18));
+        assertJournalMatchesTable();
+    }
+
+    private void runConcurrently(Operation operation) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                Random random = new Random(t);
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        operation.run(random);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+    }
+
+    // Seed rows plus the journaled additions give the table's totals
+    private void assertJournalMatchesTable() throws Exception {
+        journal.close();
+        Map<String, BigDecimal> totals = new HashMap<>(Map.of("KARAT_21", BigDecimal.ZERO, "KARAT_18", new BigDecimal("1000.000")));
+        ChangeJournal.read(journalDir, (JournalEntry entry) -> {
+            assertEquals(JournalOperationEnum.ADD, entry.operation());
+            totals.merge((String) entry.key().get("purity"), (BigDecimal) entry.columns().get("total_weight"), BigDecimal::add);
+        });
+
+        for (Map<String, Object> row : jdbc.queryForList("SELECT purity, total_weight FROM scrap_inventory")) {
+            assertEquals(0, ((BigDecimal) row.get("TOTAL_WEIGHT")).compareTo(totals.get((String) row.get("PURITY"))));
+        }
+    }
+
+    private BigDecimal weight(KaratEnum purity) {
+        return jdbc.queryForObject("SELECT total_weight FROM scrap_inventory WHERE purity = ?", BigDecimal.class, purity.name());
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run(Random random);
+    }
+}
@@ -0,0 +1,145 @@
+package com.jewelry.pos.security;
+
+import com.jewelry.pos.core.metrics.OperationMetrics;
+import com.jewelry.pos.domain.repository.UserRepository;
+import com.jewelry.pos.event.UserAccessChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock private UserRepository userRepository;
+
+    private JwtUtil jwtUtil;
+    private UserTokenVersionCache tokenVersionCache;
+    private JwtAuthenticationFilter filter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "TestSecretKeyForJewelryPOSSystemThatIsAtLeast256BitsLong");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L);
+        jwtUtil.init();
+        tokenVersionCache = new UserTokenVersionCache(userRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new JwtAuthenticationFilter(new JwtTokenVerifier(jwtUtil), tokenVersionCache, new OperationMetrics(meterRegistry));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void filter_ShouldAuthenticateFromTokenClaims() throws Exception {
+        when(userRepository.findTokenStateByUsername("cashier")).thenReturn(tokenState(0, true));
+        String token = token("cashier", 0, "ROLE_USER", "SALE_EXECUTE");
+
+        Authentication auth = runFilter(token);
+
+        assertNotNull(auth);
+        assertEquals("cashier", auth.getName());
+        assertEquals(Set.of("ROLE_USER", "SALE_EXECUTE"), auth.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void filter_ShouldHitDatabaseOnlyOnce_ForRepeatedRequests() throws Exception {
+        when(userRepository.findTokenStateByUsername("cashier")).thenReturn(tokenState(0, true));
+        String token = token("cashier", 0, "ROLE_USER");
+
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(runFilter(token));
+            SecurityContextHolder.clearContext();
+        }
+
+        verify(userRepository, times(1)).findTokenStateByUsername("cashier");
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void filter_ShouldRejectOldToken_AfterAccessChange() throws Exception {
+        when(userRepository.findTokenStateByUsername("cashier"))
+                .thenReturn(tokenState(0, true))
+                .thenReturn(tokenState(1, true));
+        String oldToken = token("cashier", 0, "ROLE_ADMIN");
+        assertNotNull(runFilter(oldToken));
+        SecurityContextHolder.clearContext();
+
+        // Roles changed in UserManagementService: version bumped, event evicts the cache
+        tokenVersionCache.onUserAccessChanged(new UserAccessChangedEvent("cashier"));
+
+        assertNull(runFilter(oldToken));
+        assertNotNull(runFilter(token("cashier", 1, "ROLE_USER")));
+    }
+
+    @Test
+    void filter_ShouldRejectToken_WhenUserDisabled() throws Exception {
+        when(userRepository.findTokenStateByUsername("cashier")).thenReturn(tokenState(0, false));
+
+        assertNull(runFilter(token("cashier", 0, "ROLE_USER")));
+        assertEquals(1, meterRegistry.get("auth.jwt.filter").tag("outcome", "revoked").timer().count());
+    }
+
+    @Test
+    void filter_ShouldIgnoreTamperedToken() throws Exception {
+        String token = token("cashier", 0, "ROLE_USER");
+
+        assertNull(runFilter(token.substring(0, token.length() - 2) + "xx"));
+        verifyNoInteractions(userRepository);
+        assertEquals(1, meterRegistry.get("auth.jwt.filter").tag("outcome", "invalid").timer().count());
+    }
+
+    @Test
+    void filter_ShouldTimeAnonymousRequests_FromTheStartOfTheFilter() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, meterRegistry.get("auth.jwt.filter").tag("outcome", "anonymous").timer().count());
+        verifyNoInteractions(userRepository);
+    }
+
+    private Authentication runFilter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private String token(String username, int version, String... authorities) {
+        List<SimpleGrantedAuthority> granted = Arrays.stream(authorities).map(SimpleGrantedAuthority::new).toList();
+        return jwtUtil.generateToken(new User(username, "secret", granted), version);
+    }
+
+    private List<Object[]> tokenState(int version, boolean enabled) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{version, enabled});
+        return rows;
+    }
+}
@@ -0,0 +1,79 @@
+package com.jewelry.pos.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtTokenVerifierTest {
+
+    private JwtUtil jwtUtil;
+    private JwtTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = spy(newJwtUtil(3600000L));
+        verifier = new JwtTokenVerifier(jwtUtil);
+    }
+
+    @Test
+    void verify_ShouldParseOnce_ForRepeatedToken() {
+        String token = token(jwtUtil, "cashier");
+
+        VerifiedToken first = verifier.verify(token);
+        VerifiedToken second = verifier.verify(token);
+
+        assertSame(first, second);
+        assertEquals("cashier", first.username());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")), first.authorities());
+        assertEquals(2, first.tokenVersion());
+        verify(jwtUtil, times(1)).parseClaims(token);
+    }
+
+    @Test
+    void verify_ShouldRejectExpiredToken() {
+        JwtUtil expiredIssuer = newJwtUtil(-1000L);
+        String token = token(expiredIssuer, "cashier");
+
+        assertThrows(ExpiredJwtException.class, () -> verifier.verify(token));
+        assertEquals(0, verifier.cachedTokenCount());
+    }
+
+    @Test
+    void verify_ShouldRejectForeignSignature() {
+        JwtUtil otherIssuer = newJwtUtil(3600000L);
+        ReflectionTestUtils.setField(otherIssuer, "secret", "AnotherSecretKeyThatIsAlsoAtLeast256BitsLongForHS256!!");
+        otherIssuer.init();
+
+        assertThrows(JwtException.class, () -> verifier.verify(token(otherIssuer, "cashier")));
+    }
+
+    @Test
+    void verify_ShouldStayBounded() {
+        for (int i = 0; i < 300; i++) {
+            verifier.verify(token(jwtUtil, "terminal-" + i));
+        }
+
+        assertEquals(256, verifier.cachedTokenCount());
+    }
+
+    private JwtUtil newJwtUtil(long expiration) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", "TestSecretKeyForJewelryPOSSystemThatIsAtLeast256BitsLong");
+        ReflectionTestUtils.setField(util, "expiration", expiration);
+        util.init();
+        return util;
+    }
+
+    private String token(JwtUtil issuer, String username) {
+        return issuer.generateToken(new User(username, "secret", List.of(new SimpleGrantedAuthority("ROLE_USER"))), 2);
+    }
+}
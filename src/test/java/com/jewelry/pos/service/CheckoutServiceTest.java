@@ -1,19 +1,22 @@
 package com.jewelry.pos.service;
 
+import com.jewelry.pos.core.metrics.OperationMetrics;
 import com.jewelry.pos.domain.entity.*;
 import com.jewelry.pos.domain.repository.ProductRepository;
 import com.jewelry.pos.domain.repository.SaleRepository;
 import com.jewelry.pos.web.dto.SaleRequestDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,6 +28,11 @@ class CheckoutServiceTest {
     @Mock private ProductRepository productRepository;
     @Mock private SaleRepository saleRepository;
     @Mock private HardwareService hardwareService;
+    @Mock private HardwareJobQueue hardwareJobQueue;
+    @Mock private DailyLedgerSummaryService ledgerSummaryService;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy private OperationMetrics metrics = new OperationMetrics(meterRegistry);
 
     @InjectMocks
     private CheckoutService checkoutService;
@@ -34,6 +42,7 @@ class CheckoutServiceTest {
         // 1. Setup Data
         Product mockProduct = new Product();
         mockProduct.setId("prod-123");
+        mockProduct.setBarcode("12345");
         mockProduct.setGrossWeight(new BigDecimal("10.000")); // 10g
         mockProduct.setMakingCharge(new BigDecimal("100.00")); // Flat fee
 
@@ -45,7 +54,7 @@ class CheckoutServiceTest {
                 null
         );
 
-        when(productRepository.findByBarcode("12345")).thenReturn(Optional.of(mockProduct));
+        when(productRepository.findAllByBarcodeIn(any())).thenReturn(List.of(mockProduct));
         when(saleRepository.save(any(Sale.class))).thenAnswer(i -> {
             Sale s = i.getArgument(0);
             s.setId("sale-999"); // Simulate DB ID generation
@@ -69,10 +78,37 @@ class CheckoutServiceTest {
         assertEquals(0, new BigDecimal("10.000").compareTo(item.getWeightSnapshot()));
         assertEquals(0, expectedTotal.compareTo(item.getPriceSnapshot()));
         assertEquals(0, new BigDecimal("3000.00").compareTo(item.getAppliedGoldRate()));
+
+        // 5. Verify the cart is flipped to SOLD in one bulk call, not per item
+        verify(productRepository, times(1)).markAsSold(List.of(mockProduct));
+        verify(productRepository, never()).save(any(Product.class));
+        verify(hardwareJobQueue, times(1)).enqueue(HardwareJobTypeEnum.OPEN_CASH_DRAWER, "sale-999");
+        verify(ledgerSummaryService, times(1)).record(any(), argThat(f -> f.salesCount() == 1 && expectedTotal.compareTo(f.salesRevenue()) == 0));
     }
 
     @Test
-    void processSale_ShouldTriggerHardware() {
+    void executeFinancialTransaction_ShouldReject_WhenBarcodeUnknown() {
+        SaleRequestDTO request = new SaleRequestDTO(
+                List.of("12345", "missing"),
+                new BigDecimal("3000.00"),
+                "Test Customer",
+                null,
+                null
+        );
+
+        Product known = new Product();
+        known.setBarcode("12345");
+        known.setGrossWeight(BigDecimal.ONE);
+        known.setMakingCharge(BigDecimal.ONE);
+        when(productRepository.findAllByBarcodeIn(any())).thenReturn(List.of(known));
+
+        assertThrows(IllegalArgumentException.class, () -> checkoutService.executeFinancialTransaction(request));
+        verify(productRepository, never()).markAsSold(any());
+        verify(saleRepository, never()).save(any(Sale.class));
+    }
+
+    @Test
+    void processSale_ShouldNotWaitForHardware() {
         // 1. Create a SPY of the actual service
         CheckoutService spyService = spy(checkoutService);
 
@@ -97,7 +133,22 @@ class CheckoutServiceTest {
                 null
         ));
 
-        // 4. Verify Hardware was called
-        verify(hardwareService, times(1)).openCashDrawer();
+        // 4. The drawer is opened by the hardware worker (queued inside the transaction), never inline
+        verify(spyService, times(1)).executeFinancialTransaction(any());
+        verify(hardwareService, never()).openCashDrawer();
+        assertEquals(1, meterRegistry.get("checkout.sale").tag("outcome", OperationMetrics.SUCCESS).timer().count());
+        assertEquals(1, meterRegistry.get("checkout.phase").tag("phase", "database").timer().count());
+    }
+
+    @Test
+    void processSale_ShouldTagRejectedSales() {
+        CheckoutService spyService = spy(checkoutService);
+        ReflectionTestUtils.setField(spyService, "self", spyService);
+        doThrow(new IllegalStateException("Item is not AVAILABLE")).when(spyService).executeFinancialTransaction(any());
+
+        SaleRequestDTO request = new SaleRequestDTO(List.of("123"), BigDecimal.TEN, "Test Customer", null, null);
+        assertThrows(IllegalStateException.class, () -> spyService.processSale(request));
+
+        assertEquals(1, meterRegistry.get("checkout.sale").tag("outcome", OperationMetrics.REJECTED).timer().count());
     }
-}
\ No newline at end of file
+}
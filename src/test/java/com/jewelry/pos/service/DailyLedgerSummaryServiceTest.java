@@ -0,0 +1,174 @@
+package com.jewelry.pos.service;
+
+import com.jewelry.pos.domain.entity.DailyLedgerFigures;
+import com.jewelry.pos.domain.entity.DailyLedgerSummary;
+import com.jewelry.pos.domain.entity.TransactionTypeEnum;
+import com.jewelry.pos.domain.repository.*;
+import com.jewelry.pos.event.DailyFiguresRecordedEvent;
+import com.jewelry.pos.event.DailyLedgerRebuiltEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailyLedgerSummaryServiceTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2026, 3, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2026, 3, 2);
+
+    @Mock private DailyLedgerSummaryRepository summaryRepository;
+    @Mock private SaleRepository saleRepository;
+    @Mock private OldGoldPurchaseRepository oldGoldRepository;
+    @Mock private ScrapPurificationRepository purificationRepository;
+    @Mock private PersonalAccountRepository personalAccountRepository;
+    @Mock private SupplierAccountRepository supplierAccountRepository;
+    @Mock private HomeExpenseRepository homeExpenseRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    @Captor private ArgumentCaptor<Iterable<DailyLedgerSummary>> savedDays;
+
+    @InjectMocks
+    private DailyLedgerSummaryService summaryService;
+
+    // ==========================================
+    // WRITE PATH
+    // ==========================================
+
+    @Test
+    void record_ShouldAddToTheDayOfTheTransaction_AndPublishTheSameFigures() {
+        DailyLedgerFigures sale = DailyLedgerFigures.sale(new BigDecimal("12000.00"), new BigDecimal("9000.00"));
+
+        summaryService.record(DAY_1.atTime(23, 59, 59), sale);
+
+        verify(summaryRepository).addToDay(DAY_1, sale);
+        verify(eventPublisher).publishEvent(new DailyFiguresRecordedEvent(DAY_1, sale));
+    }
+
+    @Test
+    void reverse_ShouldAddTheNegatedFigures_AndPublishTheReversal() {
+        DailyLedgerFigures expense = DailyLedgerFigures.home(TransactionTypeEnum.PAYABLE, new BigDecimal("450.00"), new BigDecimal("1.250"));
+
+        summaryService.reverse(DAY_2.atTime(9, 0), expense);
+
+        DailyLedgerFigures reversal = expense.negate();
+        verify(summaryRepository).addToDay(DAY_2, reversal);
+        verify(eventPublisher).publishEvent(new DailyFiguresRecordedEvent(DAY_2, reversal));
+        assertEquals(new BigDecimal("-450.00"), reversal.homeMoneyPayable());
+        assertEquals(new BigDecimal("-1.250"), reversal.homeWeightPayable());
+    }
+
+    // ==========================================
+    // REBUILD
+    // ==========================================
+
+    @Test
+    void rebuild_ShouldProduceTheSameDays_AsTheIncrementalWrites() {
+        // --- Incremental path: what the services record as the day goes on ---
+        Map<LocalDate, DailyLedgerFigures> incremental = new HashMap<>();
+        doAnswer(invocation -> {
+            incremental.merge(invocation.getArgument(0), invocation.getArgument(1), DailyLedgerFigures::plus);
+            return null;
+        }).when(summaryRepository).addToDay(any(), any());
+
+        DailyLedgerFigures voidedSale = DailyLedgerFigures.sale(new BigDecimal("5000.00"), new BigDecimal("3500.00"));
+        DailyLedgerFigures deletedEntry = DailyLedgerFigures.personal(TransactionTypeEnum.PAYABLE, new BigDecimal("700.00"), new BigDecimal("1.250"));
+
+        summaryService.record(at(DAY_1, 10), DailyLedgerFigures.sale(new BigDecimal("12000.00"), new BigDecimal("9000.00")));
+        summaryService.record(at(DAY_1, 11), DailyLedgerFigures.oldGold(new BigDecimal("10.500"), new BigDecimal("31500.00")));
+        summaryService.record(at(DAY_1, 15), voidedSale);
+        summaryService.record(at(DAY_1, 18), DailyLedgerFigures.sale(new BigDecimal("8000.00"), new BigDecimal("6100.00")));
+        summaryService.reverse(at(DAY_1, 15), voidedSale);
+
+        summaryService.record(at(DAY_2, 9), DailyLedgerFigures.purification(new BigDecimal("2000.00")));
+        summaryService.record(at(DAY_2, 10), DailyLedgerFigures.personal(TransactionTypeEnum.RECEIVABLE, new BigDecimal("1500.00"), BigDecimal.ZERO));
+        summaryService.record(at(DAY_2, 11), deletedEntry);
+        summaryService.record(at(DAY_2, 12), DailyLedgerFigures.supplier(TransactionTypeEnum.PAYABLE, new BigDecimal("300.00"), new BigDecimal("4.000")));
+        summaryService.record(at(DAY_2, 13), DailyLedgerFigures.home(TransactionTypeEnum.PAYABLE, new BigDecimal("450.00"), BigDecimal.ZERO));
+        summaryService.record(at(DAY_2, 14), DailyLedgerFigures.home(TransactionTypeEnum.RECEIVABLE, new BigDecimal("100.00"), new BigDecimal("0.500")));
+        summaryService.reverse(at(DAY_2, 11), deletedEntry);
+
+        // --- Rebuild path: the grouped source rows for the same writes (void / delete removed the rows) ---
+        when(saleRepository.findDailySalesTrend(any(), any()))
+                .thenReturn(rows(new Object[]{DAY_1, 2L, new BigDecimal("20000.00")}));
+        when(saleRepository.findDailyCostOfGoods(any(), any()))
+                .thenReturn(rows(new Object[]{DAY_1, new BigDecimal("15100.00")}));
+        when(oldGoldRepository.findDailyTotals(any(), any()))
+                .thenReturn(rows(new Object[]{DAY_1, new BigDecimal("10.500"), new BigDecimal("31500.00")}));
+        when(purificationRepository.findDailyTotals(any(), any()))
+                .thenReturn(rows(new Object[]{DAY_2, new BigDecimal("2000.00")}));
+        when(personalAccountRepository.findDailyTotals(any(), any()))
+                .thenReturn(rows(new Object[]{DAY_2, TransactionTypeEnum.RECEIVABLE, new BigDecimal("1500.00"), new BigDecimal("0.000")}));
+        when(supplierAccountRepository.findDailyTotals(any(), any()))
+                .thenReturn(rows(new Object[]{DAY_2, TransactionTypeEnum.PAYABLE, new BigDecimal("300.00"), new BigDecimal("4.000")}));
+        when(homeExpenseRepository.findDailyTotals(any(), any()))
+                .thenReturn(rows(
+                        new Object[]{DAY_2, TransactionTypeEnum.PAYABLE, new BigDecimal("450.00"), new BigDecimal("0.000")},
+                        new Object[]{DAY_2, TransactionTypeEnum.RECEIVABLE, new BigDecimal("100.00"), new BigDecimal("0.500")}));
+
+        int days = summaryService.rebuild(DAY_1, DAY_2);
+
+        verify(summaryRepository).deleteAllBySummaryDateBetween(DAY_1, DAY_2);
+        verify(summaryRepository).saveAll(savedDays.capture());
+        verify(eventPublisher).publishEvent(new DailyLedgerRebuiltEvent(DAY_1, DAY_2));
+
+        Map<LocalDate, DailyLedgerFigures> rebuilt = new HashMap<>();
+        savedDays.getValue().forEach(day -> rebuilt.put(day.getSummaryDate(), day.toFigures()));
+
+        assertEquals(2, days);
+        assertEquals(incremental.keySet(), rebuilt.keySet());
+        incremental.forEach((day, figures) -> assertSameFigures(figures, rebuilt.get(day)));
+        assertEquals(2L, rebuilt.get(DAY_1).salesCount());
+    }
+
+    @Test
+    void rebuildIfEmpty_ShouldLeaveTheSummaryAlone_WhenItHasRows() {
+        when(summaryRepository.count()).thenReturn(30L);
+
+        summaryService.rebuildIfEmpty();
+
+        verify(summaryRepository, never()).deleteAllBySummaryDateBetween(any(), any());
+        verifyNoInteractions(saleRepository, eventPublisher);
+    }
+
+    private static LocalDateTime at(LocalDate day, int hour) {
+        return day.atTime(hour, 0);
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return List.of(rows);
+    }
+
+    // Field by field, ignoring BigDecimal scale (0 vs 0.000)
+    private static void assertSameFigures(DailyLedgerFigures expected, DailyLedgerFigures actual) {
+        for (RecordComponent component : DailyLedgerFigures.class.getRecordComponents()) {
+            try {
+                Object want = component.getAccessor().invoke(expected);
+                Object got = component.getAccessor().invoke(actual);
+                if (want instanceof BigDecimal amount) {
+                    assertEquals(0, amount.compareTo((BigDecimal) got), component.getName() + ": " + want + " vs " + got);
+                } else {
+                    assertEquals(want, got, component.getName());
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
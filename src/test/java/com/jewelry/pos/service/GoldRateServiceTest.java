@@ -0,0 +1,108 @@
+package com.jewelry.pos.service;
+
+import com.jewelry.pos.core.web.SseBroadcaster;
+import com.jewelry.pos.domain.entity.GoldRate;
+import com.jewelry.pos.domain.entity.PurityEnum;
+import com.jewelry.pos.domain.repository.GoldRateRepository;
+import com.jewelry.pos.event.GoldRateChangedEvent;
+import com.jewelry.pos.web.dto.GoldRateRequestDTO;
+import com.jewelry.pos.web.dto.KaratRateDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GoldRateServiceTest {
+
+    @Mock private GoldRateRepository goldRateRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private SseBroadcaster sseBroadcaster;
+
+    @InjectMocks
+    private GoldRateService goldRateService;
+
+    @Test
+    void getCurrentSellRateForPurity_ShouldQueryDatabaseOnlyOnce() {
+        when(goldRateRepository.findTopByActiveTrueOrderByEffectiveDateDesc())
+                .thenReturn(Optional.of(rate("4000.00", "3500.00", "3000.00")));
+
+        // A page of 20 products
+        for (int i = 0; i < 20; i++) {
+            assertEquals(0, new BigDecimal("3500.00").compareTo(goldRateService.getCurrentSellRateForPurity(PurityEnum.K21)));
+        }
+
+        verify(goldRateRepository, times(1)).findTopByActiveTrueOrderByEffectiveDateDesc();
+    }
+
+    @Test
+    void setDailyRate_ShouldPublishEvent_AndEventShouldSwapCachedRate() {
+        when(goldRateRepository.findTopByActiveTrueOrderByEffectiveDateDesc())
+                .thenReturn(Optional.of(rate("4000.00", "3500.00", "3000.00")));
+        when(goldRateRepository.save(any(GoldRate.class))).thenAnswer(i -> i.getArgument(0));
+        goldRateService.getLatestRate(); // warm the cache
+
+        goldRateService.setDailyRate(new GoldRateRequestDTO(
+                new BigDecimal("4100.00"), new BigDecimal("3587.50"), new BigDecimal("3075.00")));
+
+        // Simulate the after-commit delivery
+        GoldRateChangedEvent event = new GoldRateChangedEvent(rate("4100.00", "3587.50", "3075.00"));
+        verify(eventPublisher, times(1)).publishEvent(any(GoldRateChangedEvent.class));
+        goldRateService.onGoldRateChanged(event);
+
+        assertEquals(0, new BigDecimal("4100.00").compareTo(goldRateService.getCurrentSellRateForPurity(PurityEnum.K24)));
+        verify(goldRateRepository, times(1)).findTopByActiveTrueOrderByEffectiveDateDesc();
+    }
+
+    @Test
+    void onGoldRateChanged_ShouldPushOnce_PerActualPriceChange() {
+        goldRateService.onGoldRateChanged(new GoldRateChangedEvent(rate("4000.00", "3500.00", "3000.00")));
+        // The scraper saving the same price again
+        goldRateService.onGoldRateChanged(new GoldRateChangedEvent(rate("4000.00", "3500.00", "3000.00")));
+        goldRateService.onGoldRateChanged(new GoldRateChangedEvent(rate("4100.00", "3587.50", "3075.00")));
+
+        verify(sseBroadcaster, times(2)).broadcast(eq(GoldRateService.RATES_TOPIC), eq(GoldRateService.RATES_EVENT), anyList());
+    }
+
+    @Test
+    void streamRates_ShouldReplayTheCurrentRate_OnConnect() {
+        when(goldRateRepository.findTopByActiveTrueOrderByEffectiveDateDesc())
+                .thenReturn(Optional.of(rate("4000.00", "3500.00", "3000.00")));
+
+        goldRateService.streamRates();
+
+        verify(sseBroadcaster).subscribe(eq(GoldRateService.RATES_TOPIC), eq(GoldRateService.RATES_EVENT), argThat(snapshot -> {
+            List<?> rates = (List<?>) snapshot.get();
+            return rates.size() == 3 && ((KaratRateDTO) rates.get(1)).sellRate().compareTo(new BigDecimal("3500.00")) == 0;
+        }));
+    }
+
+    @Test
+    void getCurrentKaratRates_ShouldBeEmpty_WhenNoRateIsSet() {
+        when(goldRateRepository.findTopByActiveTrueOrderByEffectiveDateDesc()).thenReturn(Optional.empty());
+
+        assertTrue(goldRateService.getCurrentKaratRates().isEmpty());
+    }
+
+    private GoldRate rate(String rate24k, String rate21k, String rate18k) {
+        GoldRate rate = new GoldRate();
+        rate.setRate24k(new BigDecimal(rate24k));
+        rate.setRate21k(new BigDecimal(rate21k));
+        rate.setRate18k(new BigDecimal(rate18k));
+        rate.setEffectiveDate(LocalDateTime.now());
+        return rate;
+    }
+}
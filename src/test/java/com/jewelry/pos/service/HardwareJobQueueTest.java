@@ -0,0 +1,146 @@
+package com.jewelry.pos.service;
+
+import com.jewelry.pos.domain.entity.HardwareJob;
+import com.jewelry.pos.domain.entity.HardwareJobStatusEnum;
+import com.jewelry.pos.domain.entity.HardwareJobTypeEnum;
+import com.jewelry.pos.domain.repository.HardwareJobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HardwareJobQueueTest {
+
+    @Mock private HardwareJobRepository jobRepository;
+    @Mock private HardwareService hardwareService;
+    @Mock private SystemConfigService configService;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private HardwareJobQueue hardwareJobQueue;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hardwareJobQueue = new HardwareJobQueue(jobRepository, hardwareService, configService, eventPublisher, meterRegistry);
+        ReflectionTestUtils.setField(hardwareJobQueue, "retryDelayMs", 0L);
+    }
+
+    @Test
+    void processJob_ShouldOpenDrawer_AndMarkDone() throws InterruptedException {
+        HardwareJob job = pendingJob();
+        when(jobRepository.findById("job-1")).thenReturn(Optional.of(job));
+        when(configService.isHardwareEnabled()).thenReturn(true);
+
+        hardwareJobQueue.processJob("job-1");
+
+        verify(hardwareService, times(1)).openCashDrawer();
+        assertEquals(HardwareJobStatusEnum.DONE, job.getStatus());
+        assertEquals(1, job.getAttempts());
+        assertEquals(1, meterRegistry.get("hardware.job.latency").tag("outcome", "DONE").timer().count());
+        assertEquals(1, meterRegistry.get("hardware.job.execution").tag("type", "OPEN_CASH_DRAWER").tag("outcome", "DONE").timer().count());
+    }
+
+    @Test
+    void processJob_ShouldSendLabelBatch_AsOnePrintJob() throws InterruptedException {
+        HardwareJob job = pendingJob();
+        job.setJobType(HardwareJobTypeEnum.PRINT_LABELS);
+        job.setPayload("^XA^FDRing^FS^XZ^XA^FDChain^FS^XZ");
+        when(jobRepository.findById("job-1")).thenReturn(Optional.of(job));
+        when(configService.isHardwareEnabled()).thenReturn(true);
+
+        hardwareJobQueue.processJob("job-1");
+
+        verify(hardwareService, times(1)).printLabels("^XA^FDRing^FS^XZ^XA^FDChain^FS^XZ");
+        assertEquals(HardwareJobStatusEnum.DONE, job.getStatus());
+    }
+
+    @Test
+    void processJob_ShouldRetryThreeTimes_ThenMarkFailed() throws InterruptedException {
+        HardwareJob job = pendingJob();
+        when(jobRepository.findById("job-1")).thenReturn(Optional.of(job));
+        when(configService.isHardwareEnabled()).thenReturn(true);
+        doThrow(new RuntimeException("Printer offline")).when(hardwareService).openCashDrawer();
+
+        hardwareJobQueue.processJob("job-1");
+
+        verify(hardwareService, times(3)).openCashDrawer();
+        assertEquals(HardwareJobStatusEnum.FAILED, job.getStatus());
+        assertEquals("Printer offline", job.getLastError());
+        assertEquals(1.0, meterRegistry.get("hardware.job.failures").counter().count());
+    }
+
+    @Test
+    void processJob_ShouldSkip_WhenAlreadyHandled() throws InterruptedException {
+        HardwareJob job = pendingJob();
+        job.setStatus(HardwareJobStatusEnum.DONE);
+        when(jobRepository.findById("job-1")).thenReturn(Optional.of(job));
+
+        hardwareJobQueue.processJob("job-1");
+
+        verifyNoInteractions(hardwareService);
+        verify(jobRepository, never()).save(any(HardwareJob.class));
+    }
+
+    @Test
+    void start_ShouldExpireOldDrawerJobs_AndStillRunPendingPrints() throws InterruptedException {
+        HardwareJob staleDrawer = pendingJob();
+        staleDrawer.setCreatedDate(LocalDateTime.now().minusHours(6));
+        HardwareJob stalePrint = pendingJob();
+        stalePrint.setId("job-2");
+        stalePrint.setJobType(HardwareJobTypeEnum.PRINT_RECEIPT);
+        stalePrint.setPayload("receipt");
+        stalePrint.setCreatedDate(LocalDateTime.now().minusHours(6));
+        when(jobRepository.findByStatusAndTypeCreatedBefore(eq(HardwareJobStatusEnum.PENDING), eq(HardwareJobTypeEnum.OPEN_CASH_DRAWER), any()))
+                .thenReturn(List.of(staleDrawer));
+        when(jobRepository.findIdsByStatusCreatedBefore(eq(HardwareJobStatusEnum.PENDING), any())).thenReturn(List.of("job-2"));
+        when(jobRepository.findById("job-2")).thenReturn(Optional.of(stalePrint));
+        when(configService.isHardwareEnabled()).thenReturn(true);
+
+        hardwareJobQueue.start();
+        try {
+            verify(hardwareService, timeout(5000)).printReceipt("receipt");
+        } finally {
+            hardwareJobQueue.stop();
+        }
+
+        verify(hardwareService, never()).openCashDrawer();
+        assertEquals(HardwareJobStatusEnum.FAILED, staleDrawer.getStatus());
+        assertTrue(staleDrawer.getLastError().startsWith("Expired"));
+    }
+
+    @Test
+    void processJob_ShouldExpireDrawerJob_ThatReachesTheWorkerTooLate() throws InterruptedException {
+        HardwareJob job = pendingJob();
+        job.setCreatedDate(LocalDateTime.now().minusMinutes(10));
+        when(jobRepository.findById("job-1")).thenReturn(Optional.of(job));
+
+        hardwareJobQueue.processJob("job-1");
+
+        verifyNoInteractions(hardwareService);
+        assertEquals(HardwareJobStatusEnum.FAILED, job.getStatus());
+    }
+
+    private HardwareJob pendingJob() {
+        HardwareJob job = new HardwareJob();
+        job.setId("job-1");
+        job.setJobType(HardwareJobTypeEnum.OPEN_CASH_DRAWER);
+        job.setPayload("sale-1");
+        job.setCreatedDate(LocalDateTime.now());
+        return job;
+    }
+}
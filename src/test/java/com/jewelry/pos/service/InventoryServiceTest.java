@@ -2,8 +2,12 @@ package com.jewelry.pos.service;
 
 import com.jewelry.pos.domain.entity.Product;
 import com.jewelry.pos.domain.entity.JewelryTypeEnum;
+import com.jewelry.pos.domain.entity.ProductStatusEnum;
 import com.jewelry.pos.domain.entity.PurityEnum;
 import com.jewelry.pos.domain.repository.ProductRepository;
+import com.jewelry.pos.service.search.ProductSearchIndex;
+import com.jewelry.pos.web.dto.CursorPageDTO;
+import com.jewelry.pos.web.dto.ProductLiteDTO;
 import com.jewelry.pos.web.dto.ProductRequestDTO;
 import com.jewelry.pos.web.mapper.ProductMapper;
 import org.junit.jupiter.api.Test;
@@ -11,12 +15,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,12 +36,14 @@ class InventoryServiceTest {
 
     @Mock private ProductRepository productRepository;
     @Mock private ProductMapper productMapper;
+    @Mock private ProductSearchIndex searchIndex;
+    @Mock private ApplicationEventPublisher eventPublisher;
     @InjectMocks private InventoryService inventoryService;
 
     @Test
-    void createProduct_ShouldThrowError_IfBarcodeExists() {
+    void createProduct_ShouldSave_WithGeneratedBarcode() {
         ProductRequestDTO dto = new ProductRequestDTO(
-            "123",
+            "NEW-123",
             "Ring",
             PurityEnum.K21,
             JewelryTypeEnum.RING,
@@ -40,29 +53,53 @@ class InventoryServiceTest {
             BigDecimal.ZERO
         );
 
-        when(productRepository.findByBarcode("123")).thenReturn(Optional.of(new Product()));
+        when(productMapper.toEntity(dto)).thenReturn(new Product());
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Product saved = inventoryService.createProduct(dto);
 
-        assertThrows(IllegalStateException.class, () -> inventoryService.createProduct(dto));
+        verify(productRepository).save(any(Product.class));
+        assertNotNull(UUID.fromString(saved.getBarcode()));
+        // No existence check for a fresh UUID
+        verify(productRepository, never()).findByBarcode(any());
     }
 
     @Test
-    void createProduct_ShouldSave_IfNew() {
-        ProductRequestDTO dto = new ProductRequestDTO(
-            "NEW-123",
-            "Ring",
-            PurityEnum.K21,
-            JewelryTypeEnum.RING,
-            BigDecimal.TEN,
-            BigDecimal.ONE,
-            null,
-            BigDecimal.ZERO
-        );
+    void getProductsPage_ShouldReturnCursor_AndResumeAfterLastRow() {
+        Product first = listedProduct("P-2", LocalDateTime.of(2025, 1, 2, 10, 0));
+        Product second = listedProduct("P-1", LocalDateTime.of(2025, 1, 1, 10, 0));
+        Product extra = listedProduct("P-0", LocalDateTime.of(2024, 12, 31, 10, 0));
 
-        when(productRepository.findByBarcode("NEW-123")).thenReturn(Optional.empty());
-        when(productMapper.toEntity(dto)).thenReturn(new Product());
+        // Page size 2 -> the service asks for 3 rows to detect the next page
+        when(productRepository.findFirstListPage(any(Pageable.class))).thenReturn(List.of(first, second, extra));
 
-        inventoryService.createProduct(dto);
+        CursorPageDTO<ProductLiteDTO> page = inventoryService.getProductsPage(null, 2, false);
 
-        verify(productRepository).save(any(Product.class));
+        assertEquals(2, page.content().size());
+        assertTrue(page.hasNext());
+        assertNull(page.totalCount());
+        verify(productRepository, never()).count();
+
+        // The token resumes strictly after the last row of the page
+        when(productRepository.findListPageAfter(anyInt(), any(), any(), any(Pageable.class))).thenReturn(List.of(extra));
+
+        CursorPageDTO<ProductLiteDTO> next = inventoryService.getProductsPage(page.nextCursor(), 2, false);
+
+        verify(productRepository).findListPageAfter(eq(ProductStatusEnum.AVAILABLE.getRank()),
+                eq(second.getLastModifiedDate()), eq("P-1"), any(Pageable.class));
+        assertFalse(next.hasNext());
+        assertNull(next.nextCursor());
+    }
+
+    @Test
+    void getProductsPage_ShouldReject_MalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.getProductsPage("not-a-cursor", 20, false));
+    }
+
+    private Product listedProduct(String id, LocalDateTime lastModifiedDate) {
+        Product product = new Product();
+        product.setId(id);
+        product.setLastModifiedDate(lastModifiedDate);
+        return product;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,130 @@
+package com.jewelry.pos.service;
+
+import com.jewelry.pos.domain.entity.HardwareJobTypeEnum;
+import com.jewelry.pos.domain.entity.Product;
+import com.jewelry.pos.domain.repository.ProductRepository;
+import com.jewelry.pos.web.dto.LabelBatchRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LabelServiceTest {
+
+    @Mock private ProductRepository productRepository;
+    @Mock private HardwareJobQueue hardwareJobQueue;
+    @InjectMocks private LabelService labelService;
+
+    @Test
+    void generateZplLabel_ShouldRenderOneLabel() {
+        when(productRepository.findByBarcode("BC-1")).thenReturn(Optional.of(product("P1", "Ring", "5.250", "BC-1")));
+
+        assertEquals("^XA^CI28" +
+                "^FO50,50^ADN,36,20^FH^FDRing^FS" +
+                "^FO50,100^ADN,36,20^FH^FD5.250g^FS" +
+                "^FO50,150^BCN,100,Y,N,N^FH^FDBC-1^FS" +
+                "^XZ", labelService.generateZplLabel("BC-1"));
+    }
+
+    @Test
+    void writeLabels_ShouldLoadOnce_AndKeepRequestedOrder() {
+        List<Product> stored = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            stored.add(product("P" + i, "Ring " + i, "3.5", "BC-" + i));
+        }
+        List<String> requested = new ArrayList<>(stored.stream().map(Product::getId).toList());
+        Collections.reverse(requested);
+        when(productRepository.findAllById(requested)).thenReturn(stored);
+
+        StringWriter out = new StringWriter();
+        int count = labelService.writeLabels(new LabelBatchRequestDTO(requested, null, null), out);
+
+        assertEquals(500, count);
+        String zpl = out.toString();
+        assertEquals(500, zpl.split("\\^XZ", -1).length - 1);
+        assertTrue(zpl.startsWith("^XA^CI28^FO50,50^ADN,36,20^FH^FDRing 499^FS"));
+        verify(productRepository, times(1)).findAllById(requested);
+        verify(productRepository, never()).findByBarcode(anyString());
+    }
+
+    @Test
+    void writeLabels_ShouldEscapeZplControlCharacters() {
+        when(productRepository.findAllById(List.of("P1"))).thenReturn(List.of(product("P1", "Set ^XZ~JR_1", "1", "BC-1")));
+
+        StringWriter out = new StringWriter();
+        labelService.writeLabels(new LabelBatchRequestDTO(List.of("P1"), null, null), out);
+
+        assertTrue(out.toString().contains("^FDSet _5EXZ_7EJR_5F1^FS"));
+        assertEquals(1, out.toString().split("\\^XZ", -1).length - 1);
+    }
+
+    @Test
+    void writeLabels_ShouldReject_UnknownIds() {
+        when(productRepository.findAllById(List.of("P1", "P2"))).thenReturn(List.of(product("P1", "Ring", "1", "BC-1")));
+
+        StringWriter out = new StringWriter();
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> labelService.writeLabels(new LabelBatchRequestDTO(List.of("P1", "P2"), null, null), out));
+
+        assertTrue(error.getMessage().contains("P2"));
+        assertEquals("", out.toString());
+    }
+
+    @Test
+    void printLabels_ShouldQueueOneJob_ForACreatedDateRange() {
+        LocalDateTime from = LocalDateTime.of(2026, 3, 1, 9, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 3, 1, 12, 0);
+        when(productRepository.findAvailableCreatedBetween(eq(from), eq(to), any(Pageable.class)))
+                .thenReturn(List.of(product("P1", "Ring", "1", "BC-1"), product("P2", "Chain", "2", "BC-2")));
+
+        int count = labelService.printLabels(new LabelBatchRequestDTO(null, from, to));
+
+        assertEquals(2, count);
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(hardwareJobQueue).enqueue(eq(HardwareJobTypeEnum.PRINT_LABELS), payload.capture());
+        assertEquals(2, payload.getValue().split("\\^XZ", -1).length - 1);
+    }
+
+    @Test
+    void printLabels_ShouldReject_RangeOverTheLimit() {
+        List<Product> tooMany = new ArrayList<>();
+        for (int i = 0; i <= LabelService.MAX_BATCH_LABELS; i++) {
+            tooMany.add(product("P" + i, "Ring", "1", "BC-" + i));
+        }
+        when(productRepository.findAvailableCreatedBetween(any(), any(), any(Pageable.class))).thenReturn(tooMany);
+
+        assertThrows(IllegalStateException.class,
+                () -> labelService.printLabels(new LabelBatchRequestDTO(null, LocalDateTime.now().minusDays(30), null)));
+        verify(hardwareJobQueue, never()).enqueue(any(), anyString());
+    }
+
+    private Product product(String id, String modelName, String weight, String barcode) {
+        Product product = new Product();
+        product.setId(id);
+        product.setModelName(modelName);
+        product.setGrossWeight(new BigDecimal(weight));
+        product.setBarcode(barcode);
+        return product;
+    }
+}
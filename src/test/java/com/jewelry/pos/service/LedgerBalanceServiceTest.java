@@ -0,0 +1,110 @@
+package com.jewelry.pos.service;
+
+import com.jewelry.pos.domain.entity.LedgerBalance;
+import com.jewelry.pos.domain.entity.LedgerBalanceFigures;
+import com.jewelry.pos.domain.entity.LedgerBalanceId;
+import com.jewelry.pos.domain.entity.LedgerTypeEnum;
+import com.jewelry.pos.domain.entity.TransactionTypeEnum;
+import com.jewelry.pos.domain.repository.HomeExpenseRepository;
+import com.jewelry.pos.domain.repository.LedgerBalanceRepository;
+import com.jewelry.pos.domain.repository.PersonalAccountRepository;
+import com.jewelry.pos.domain.repository.SupplierAccountRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerBalanceServiceTest {
+
+    @Mock private LedgerBalanceRepository balanceRepository;
+    @Mock private PersonalAccountRepository personalAccountRepository;
+    @Mock private SupplierAccountRepository supplierAccountRepository;
+    @Mock private HomeExpenseRepository homeExpenseRepository;
+
+    @InjectMocks
+    private LedgerBalanceService ledgerBalanceService;
+
+    @Test
+    void reverse_ShouldAddNegatedFigures() {
+        LedgerBalanceFigures entry = LedgerBalanceFigures.entry(TransactionTypeEnum.PAYABLE, new BigDecimal("500.00"), new BigDecimal("2.000"));
+
+        ledgerBalanceService.reverse(LedgerTypeEnum.SUPPLIER, "sup-1", entry);
+
+        verify(balanceRepository).addToBalance(eq(LedgerTypeEnum.SUPPLIER), eq("sup-1"), argThat(f ->
+                f.entryCount() == -1
+                        && f.moneyPayable().compareTo(new BigDecimal("-500.00")) == 0
+                        && f.weightPayable().compareTo(new BigDecimal("-2.000")) == 0));
+    }
+
+    @Test
+    void getBalance_ShouldReturnZero_WhenPartyHasNoEntries() {
+        when(balanceRepository.findById(any())).thenReturn(Optional.empty());
+
+        LedgerBalanceFigures balance = ledgerBalanceService.getBalance(LedgerTypeEnum.PERSONAL, "person-1");
+
+        assertEquals(0, balance.entryCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(balance.netMoney()));
+    }
+
+    @Test
+    void verifyAndRepair_ShouldCorrectDriftedAndMissingBalances() {
+        // Ledger: person-1 has 2 receivable (1000 / 5g) and 1 payable (200 / 1g); person-2 has one entry
+        when(personalAccountRepository.findBalanceTotals()).thenReturn(rows(
+                new Object[]{"person-1", TransactionTypeEnum.RECEIVABLE, 2L, new BigDecimal("1000.00"), new BigDecimal("5.000")},
+                new Object[]{"person-1", TransactionTypeEnum.PAYABLE, 1L, new BigDecimal("200.00"), new BigDecimal("1.000")},
+                new Object[]{"person-2", TransactionTypeEnum.RECEIVABLE, 1L, new BigDecimal("50.00"), BigDecimal.ZERO}));
+        when(supplierAccountRepository.findBalanceTotals()).thenReturn(List.of());
+        when(homeExpenseRepository.findBalanceTotals()).thenReturn(List.of());
+
+        // Stored: person-1 drifted (one entry missed), person-2 has no row
+        LedgerBalance drifted = new LedgerBalance(new LedgerBalanceId(LedgerTypeEnum.PERSONAL, "person-1"),
+                new LedgerBalanceFigures(2, new BigDecimal("1000.00"), new BigDecimal("0.00"), new BigDecimal("5.000"), new BigDecimal("0.000")));
+        when(balanceRepository.findAllByLedgerType(LedgerTypeEnum.PERSONAL)).thenReturn(List.of(drifted));
+        when(balanceRepository.findAllByLedgerType(LedgerTypeEnum.SUPPLIER)).thenReturn(List.of());
+        when(balanceRepository.findAllByLedgerType(LedgerTypeEnum.HOME)).thenReturn(List.of());
+
+        int corrected = ledgerBalanceService.verifyAndRepair();
+
+        assertEquals(2, corrected);
+        ArgumentCaptor<LedgerBalance> saved = ArgumentCaptor.forClass(LedgerBalance.class);
+        verify(balanceRepository, times(2)).save(saved.capture());
+
+        LedgerBalance person1 = saved.getAllValues().stream()
+                .filter(b -> b.getId().getPartyId().equals("person-1")).findFirst().orElseThrow();
+        assertEquals(3, person1.getEntryCount());
+        assertEquals(0, new BigDecimal("800.00").compareTo(person1.toFigures().netMoney()));
+        assertEquals(0, new BigDecimal("4.000").compareTo(person1.toFigures().netWeight()));
+    }
+
+    @Test
+    void verifyAndRepair_ShouldIgnoreScaleDifferences() {
+        when(personalAccountRepository.findBalanceTotals()).thenReturn(List.of());
+        when(supplierAccountRepository.findBalanceTotals()).thenReturn(List.of());
+        when(homeExpenseRepository.findBalanceTotals()).thenReturn(rows(
+                new Object[]{TransactionTypeEnum.PAYABLE, 1L, new BigDecimal("12.5"), new BigDecimal("0")}));
+
+        LedgerBalance home = new LedgerBalance(new LedgerBalanceId(LedgerTypeEnum.HOME, LedgerBalance.HOME_PARTY_ID),
+                new LedgerBalanceFigures(1, new BigDecimal("0.00"), new BigDecimal("12.50"), new BigDecimal("0.000"), new BigDecimal("0.000")));
+        when(balanceRepository.findAllByLedgerType(any())).thenAnswer(inv ->
+                inv.getArgument(0) == LedgerTypeEnum.HOME ? List.of(home) : List.of());
+
+        assertEquals(0, ledgerBalanceService.verifyAndRepair());
+        verify(balanceRepository, never()).save(any());
+    }
+
+    private List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+}
@@ -0,0 +1,136 @@
+package com.jewelry.pos.service;
+
+import com.jewelry.pos.core.web.SseBroadcaster;
+import com.jewelry.pos.domain.entity.DailyLedgerFigures;
+import com.jewelry.pos.domain.entity.KaratEnum;
+import com.jewelry.pos.domain.entity.ProductStatusEnum;
+import com.jewelry.pos.domain.entity.ScrapInventory;
+import com.jewelry.pos.domain.repository.ProductRepository;
+import com.jewelry.pos.domain.repository.ScrapInventoryRepository;
+import com.jewelry.pos.event.DailyFiguresRecordedEvent;
+import com.jewelry.pos.event.DailyLedgerRebuiltEvent;
+import com.jewelry.pos.event.ProductChangedEvent;
+import com.jewelry.pos.event.ProductsSoldEvent;
+import com.jewelry.pos.event.ScrapInventoryChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveDashboardServiceTest {
+
+    @Mock private DailyLedgerSummaryService ledgerSummaryService;
+    @Mock private ProductRepository productRepository;
+    @Mock private ScrapInventoryRepository scrapInventoryRepository;
+    @Mock private SseBroadcaster sseBroadcaster;
+
+    private LiveDashboardService liveDashboard;
+    private LocalDate today;
+    private long loadedVersion;
+
+    @BeforeEach
+    void setUp() {
+        liveDashboard = new LiveDashboardService(ledgerSummaryService, productRepository, scrapInventoryRepository, sseBroadcaster);
+        today = LocalDate.now();
+
+        when(ledgerSummaryService.getTotals(any(), any()))
+                .thenReturn(DailyLedgerFigures.sales(2, new BigDecimal("20000.00"), new BigDecimal("15000.00")));
+        when(productRepository.countByStatus(ProductStatusEnum.AVAILABLE)).thenReturn(40L);
+        when(scrapInventoryRepository.findAll())
+                .thenReturn(List.of(new ScrapInventory(KaratEnum.KARAT_21, new BigDecimal("150.500"))));
+        liveDashboard.loadOnStartup();
+        loadedVersion = (Long) liveDashboard.getTodayStats().get("version");
+    }
+
+    @Test
+    void getTodayStats_ShouldServeFromMemory_AfterTheFirstLoad() {
+        Map<String, Object> stats = liveDashboard.getTodayStats();
+        liveDashboard.getTodayStats();
+
+        assertEquals(0, new BigDecimal("5000.00").compareTo((BigDecimal) stats.get("netProfit")));
+        assertEquals(40L, stats.get("itemsInStock"));
+        assertTrue(loadedVersion >= System.currentTimeMillis() - 60_000, "versions start from the clock");
+        verify(ledgerSummaryService, times(1)).getTotals(today, today);
+    }
+
+    @Test
+    void onDailyFiguresRecorded_ShouldBroadcastOnlyTheChangedFields() {
+        liveDashboard.onDailyFiguresRecorded(new DailyFiguresRecordedEvent(today,
+                DailyLedgerFigures.sale(new BigDecimal("8000.00"), new BigDecimal("6000.00"))));
+
+        Map<String, Object> delta = lastDelta();
+        assertEquals(Set.of("salesRevenue", "cost", "netProfit", "salesCount", "lastUpdated", "version"), delta.keySet());
+        assertEquals(0, new BigDecimal("28000.00").compareTo((BigDecimal) delta.get("salesRevenue")));
+        assertEquals(3L, delta.get("salesCount"));
+        assertEquals(loadedVersion + 1, delta.get("version"));
+        assertEquals(0, new BigDecimal("7000.00").compareTo((BigDecimal) liveDashboard.getTodayStats().get("netProfit")));
+    }
+
+    @Test
+    void tradeInAndSale_ShouldMoveScrapBoxAndStock_WithoutQueries() {
+        liveDashboard.onScrapInventoryChanged(new ScrapInventoryChangedEvent(KaratEnum.KARAT_18, new BigDecimal("4.250")));
+        liveDashboard.onScrapInventoryChanged(new ScrapInventoryChangedEvent(KaratEnum.KARAT_21, new BigDecimal("-50.500")));
+        liveDashboard.onProductsSold(new ProductsSoldEvent(List.of("P1", "P2")));
+
+        Map<String, Object> stats = liveDashboard.getTodayStats();
+        @SuppressWarnings("unchecked")
+        Map<String, BigDecimal> scrap = (Map<String, BigDecimal>) stats.get("scrapInventory");
+        assertEquals(0, new BigDecimal("100.000").compareTo(scrap.get("KARAT_21")));
+        assertEquals(0, new BigDecimal("4.250").compareTo(scrap.get("KARAT_18")));
+        assertEquals(38L, stats.get("itemsInStock"));
+        assertEquals(loadedVersion + 3, stats.get("version"));
+        verify(productRepository, times(1)).countByStatus(ProductStatusEnum.AVAILABLE);
+    }
+
+    @Test
+    void onDailyFiguresRecorded_ShouldIgnoreAnotherDay() {
+        liveDashboard.onDailyFiguresRecorded(new DailyFiguresRecordedEvent(today.minusDays(1),
+                DailyLedgerFigures.sale(new BigDecimal("8000.00"), new BigDecimal("6000.00"))));
+
+        verify(sseBroadcaster, never()).broadcast(any(), any(), any());
+        assertEquals(loadedVersion, liveDashboard.getTodayStats().get("version"));
+    }
+
+    @Test
+    void refreshStock_ShouldRecountOnlyAfterAProductEdit() {
+        liveDashboard.refreshStock();
+        verify(productRepository, times(1)).countByStatus(ProductStatusEnum.AVAILABLE);
+
+        when(productRepository.countByStatus(ProductStatusEnum.AVAILABLE)).thenReturn(41L);
+        liveDashboard.onProductChanged(new ProductChangedEvent(null));
+        liveDashboard.refreshStock();
+
+        assertEquals(Set.of("itemsInStock", "lastUpdated", "version"), lastDelta().keySet());
+        assertEquals(41L, liveDashboard.getTodayStats().get("itemsInStock"));
+    }
+
+    @Test
+    void reload_ShouldSendNothing_WhenTheDatabaseAgrees() {
+        liveDashboard.reconcile();
+        liveDashboard.onLedgerRebuilt(new DailyLedgerRebuiltEvent(today.minusDays(30), today));
+
+        verify(sseBroadcaster, never()).broadcast(any(), any(), any());
+        verify(ledgerSummaryService, times(3)).getTotals(today, today);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> lastDelta() {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(sseBroadcaster, atLeastOnce()).broadcast(eq(LiveDashboardService.TOPIC), eq(LiveDashboardService.DELTA_EVENT), captor.capture());
+        return (Map<String, Object>) captor.getValue();
+    }
+}
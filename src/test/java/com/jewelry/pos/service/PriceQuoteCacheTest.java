@@ -0,0 +1,141 @@
+package com.jewelry.pos.service;
+
+import com.jewelry.pos.domain.entity.GoldRate;
+import com.jewelry.pos.domain.entity.Product;
+import com.jewelry.pos.domain.entity.ProductStatusEnum;
+import com.jewelry.pos.domain.entity.PurityEnum;
+import com.jewelry.pos.domain.repository.ProductRepository;
+import com.jewelry.pos.event.GoldRateChangedEvent;
+import com.jewelry.pos.event.ProductsSoldEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PriceQuoteCacheTest {
+
+    @Mock private ProductRepository productRepository;
+    @Mock private GoldRateService goldRateService;
+    @Mock private AsyncTaskExecutor applicationTaskExecutor;
+
+    private PriceQuoteCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PriceQuoteCache(productRepository, goldRateService, applicationTaskExecutor);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        // Run the warm-up on the calling thread
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(applicationTaskExecutor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void price_ShouldServeWarmedQuote_WithoutRecomputing() {
+        Product ring = product("P1", 0, "5.000", "150.00");
+        when(goldRateService.getLatestRate()).thenReturn(rate("R1", "3500.00"));
+        when(productRepository.findAllByStatus(ProductStatusEnum.AVAILABLE)).thenReturn(List.of(ring));
+
+        cache.warmOnStartup();
+        // Same id and version: the cached quote is served, even though the instance differs
+        BigDecimal price = cache.price(product("P1", 0, "5.000", "999.00"), rate("R1", "3500.00"));
+
+        assertEquals(0, new BigDecimal("17650.00").compareTo(price));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void price_ShouldRecompute_ForANewProductVersion() {
+        GoldRate rate = rate("R1", "3500.00");
+        when(goldRateService.getLatestRate()).thenReturn(rate);
+        cache.warmOnStartup();
+
+        cache.price(product("P1", 0, "5.000", "150.00"), rate);
+        BigDecimal edited = cache.price(product("P1", 1, "5.000", "300.00"), rate);
+
+        assertEquals(0, new BigDecimal("17800.00").compareTo(edited));
+    }
+
+    @Test
+    void onGoldRateChanged_ShouldDropAllQuotes_AndWarmAtTheNewRate() {
+        when(goldRateService.getLatestRate()).thenReturn(rate("R1", "3500.00"));
+        when(productRepository.findAllByStatus(ProductStatusEnum.AVAILABLE))
+                .thenReturn(List.of(product("P1", 0, "5.000", "150.00"), product("P2", 0, "2.000", "50.00")));
+        cache.warmOnStartup();
+
+        GoldRate newRate = rate("R2", "3600.00");
+        cache.onGoldRateChanged(new GoldRateChangedEvent(newRate));
+
+        assertEquals(2, cache.size());
+        assertEquals(0, new BigDecimal("18150.00").compareTo(cache.price(product("P1", 0, "5.000", "150.00"), newRate)));
+        // A late warm-up for the old rate stores nothing
+        cache.warm(rate("R1", "3500.00"));
+        assertEquals(0, new BigDecimal("18150.00").compareTo(cache.price(product("P1", 0, "5.000", "150.00"), newRate)));
+    }
+
+    @Test
+    void onGoldRateChanged_ShouldKeepQuotes_WhenTheScraperResavesTheSamePrices() {
+        when(goldRateService.getLatestRate()).thenReturn(rate("R1", "3500.00"));
+        when(productRepository.findAllByStatus(ProductStatusEnum.AVAILABLE)).thenReturn(List.of(product("P1", 0, "5.000", "150.00")));
+        cache.warmOnStartup();
+
+        GoldRate resaved = rate("R2", "3500.00");
+        cache.onGoldRateChanged(new GoldRateChangedEvent(resaved));
+
+        assertEquals(1, cache.size());
+        // New row, same prices: the warmed quote is served
+        assertEquals(0, new BigDecimal("17650.00").compareTo(cache.price(product("P1", 0, "5.000", "999.00"), resaved)));
+        verify(productRepository, times(1)).findAllByStatus(ProductStatusEnum.AVAILABLE);
+    }
+
+    @Test
+    void cache_ShouldStayWithinItsBound_AndDropSoldProducts() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        GoldRate rate = rate("R1", "3500.00");
+        when(goldRateService.getLatestRate()).thenReturn(rate);
+        cache.warmOnStartup();
+
+        for (int i = 0; i < 5; i++) {
+            cache.price(product("P" + i, 0, "1.000", "10.00"), rate);
+        }
+        assertEquals(2, cache.size());
+
+        cache.onProductsSold(new ProductsSoldEvent(List.of("P0", "P1")));
+        assertEquals(0, cache.size());
+    }
+
+    private Product product(String id, int version, String weight, String makingCharge) {
+        Product product = new Product();
+        product.setId(id);
+        product.setVersion(version);
+        product.setPurityEnum(PurityEnum.K21);
+        product.setGrossWeight(new BigDecimal(weight));
+        product.setMakingCharge(new BigDecimal(makingCharge));
+        return product;
+    }
+
+    private GoldRate rate(String id, String rate21k) {
+        GoldRate rate = new GoldRate();
+        rate.setId(id);
+        rate.setRate24k(new BigDecimal("4000.00"));
+        rate.setRate21k(new BigDecimal(rate21k));
+        rate.setRate18k(new BigDecimal("3000.00"));
+        return rate;
+    }
+}
@@ -0,0 +1,191 @@
+package com.jewelry.pos.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jewelry.pos.core.metrics.OperationMetrics;
+import com.jewelry.pos.domain.entity.Product;
+import com.jewelry.pos.domain.entity.PurityEnum;
+import com.jewelry.pos.domain.repository.ProductRepository;
+import com.jewelry.pos.event.ProductChangedEvent;
+import com.jewelry.pos.web.dto.ProductImportReportDTO;
+import com.jewelry.pos.web.dto.ProductImportReportDTO.RowResultDTO;
+import com.jewelry.pos.web.dto.ProductRequestDTO;
+import com.jewelry.pos.web.mapper.ProductMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    private static final String HEADER = "modelName,purity,type,grossWeight,makingCharge,description,costPrice\n";
+
+    @Mock private ProductRepository productRepository;
+    @Mock private ProductMapper productMapper;
+    @Mock private EntityManager entityManager;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ProductImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ProductImportService(productRepository, productMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(),
+                entityManager, eventPublisher, new OperationMetrics(meterRegistry));
+        ReflectionTestUtils.setField(importService, "self", importService);
+
+        // The mapper and the repository behave like the real ones: copy the fields, assign an id
+        lenient().when(productMapper.toEntity(any(ProductRequestDTO.class))).thenAnswer(invocation -> {
+            ProductRequestDTO dto = invocation.getArgument(0);
+            Product product = new Product();
+            product.setModelName(dto.modelName());
+            product.setGrossWeight(dto.grossWeight());
+            return product;
+        });
+        lenient().when(productRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            products.forEach(p -> p.setId("P-" + p.getModelName()));
+            return products;
+        });
+    }
+
+    @Test
+    void importCsv_ShouldInsertValidRows_AndReportInvalidOnes() {
+        String csv = HEADER
+                + "Ring A,K21,RING,5.250,150,,4200\n"
+                + "\"Chain, \"\"Italian\"\"\",k18,CHAIN,12.100,300,\"two\nlines\",9000\n"
+                + "Bad weight,K21,RING,abc,150,,4200\n"
+                + "Unknown purity,K99,RING,1,150,,4200\n"
+                + "\n"
+                + ",K21,RING,1,150,,4200\n";
+
+        ProductImportReportDTO report = importService.importCsv(stream(csv));
+
+        assertEquals(5, report.totalRows());
+        assertEquals(2, report.imported());
+        assertEquals(3, report.failed());
+        assertEquals(List.of(1, 2, 3, 4, 5), report.rows().stream().map(RowResultDTO::row).toList());
+
+        RowResultDTO quoted = report.rows().get(1);
+        assertTrue(quoted.imported());
+        assertEquals("P-Chain, \"Italian\"", quoted.productId());
+        assertNotNull(quoted.barcode());
+
+        assertTrue(report.rows().get(2).errors().get(0).startsWith("grossWeight"));
+        assertTrue(report.rows().get(3).errors().get(0).startsWith("purityEnum"));
+        assertTrue(report.rows().get(4).errors().get(0).startsWith("modelName"));
+
+        ArgumentCaptor<ProductRequestDTO> mapped = ArgumentCaptor.forClass(ProductRequestDTO.class);
+        verify(productMapper, times(2)).toEntity(mapped.capture());
+        assertEquals(PurityEnum.K18, mapped.getAllValues().get(1).purityEnum());
+        assertEquals("two\nlines", mapped.getAllValues().get(1).description());
+        verify(eventPublisher, times(2)).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void importCsv_ShouldRejectHeader_WithoutRequiredColumns() {
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> importService.importCsv(stream("modelName,type\nRing,RING\n")));
+
+        assertTrue(error.getMessage().contains("grossWeight"));
+        verify(productRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void importCsv_ShouldInsertInChunks() {
+        StringBuilder csv = new StringBuilder(HEADER);
+        int rows = ProductImportService.CHUNK_SIZE * 2 + 7;
+        for (int i = 0; i < rows; i++) {
+            csv.append("Ring ").append(i).append(",K21,RING,3.5,100,,2500\n");
+        }
+
+        ProductImportReportDTO report = importService.importCsv(stream(csv.toString()));
+
+        assertEquals(rows, report.imported());
+        verify(productRepository, times(3)).saveAll(anyList());
+        verify(productRepository, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+        assertEquals(rows, meterRegistry.get("product.import.rows").tag("outcome", "imported").counter().count());
+    }
+
+    @Test
+    void importCsv_ShouldReportWholeChunk_WhenDatabaseRejectsIt() {
+        when(productRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate barcode"));
+
+        ProductImportReportDTO report = importService.importCsv(stream(HEADER
+                + "Ring A,K21,RING,5,150,,4200\n"
+                + "Ring B,K21,RING,5,150,,4200\n"));
+
+        assertEquals(0, report.imported());
+        assertEquals(2, report.failed());
+        assertTrue(report.rows().get(0).errors().get(0).contains("rows 1-2"));
+        verify(eventPublisher, never()).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void importJson_ShouldStreamArray_AndReportBadElements() {
+        String json = """
+                [
+                  {"modelName": "Ring A", "purityEnum": "K21", "type": "RING", "grossWeight": 5.25, "makingCharge": 150, "costPrice": 4200},
+                  {"modelName": "Bad", "purityEnum": "K99", "type": "RING", "grossWeight": 1, "makingCharge": 1, "costPrice": 1},
+                  42,
+                  {"modelName": "Heavy", "purityEnum": "K24", "type": "BANGLE", "grossWeight": -1, "makingCharge": 1, "costPrice": 1},
+                  {"modelName": "Set B", "purityEnum": "K18", "type": "SET", "grossWeight": 20.5, "makingCharge": 900, "costPrice": 30000}
+                ]
+                """;
+
+        ProductImportReportDTO report = importService.importJson(stream(json));
+
+        assertEquals(5, report.totalRows());
+        assertEquals(List.of(true, false, false, false, true), report.rows().stream().map(RowResultDTO::imported).toList());
+        assertTrue(report.rows().get(1).errors().get(0).startsWith("purityEnum"));
+        assertTrue(report.rows().get(3).errors().get(0).startsWith("grossWeight"));
+        assertEquals("P-Set B", report.rows().get(4).productId());
+    }
+
+    @Test
+    void importJson_ShouldKeepImportedRows_WhenBodyIsCutOff() {
+        String json = "[{\"modelName\": \"Ring A\", \"purityEnum\": \"K21\", \"type\": \"RING\", \"grossWeight\": 5, "
+                + "\"makingCharge\": 150, \"costPrice\": 4200}, {\"modelName\": \"Ri";
+
+        ProductImportReportDTO report = importService.importJson(stream(json));
+
+        assertEquals(1, report.imported());
+        assertEquals(1, report.failed());
+        assertTrue(report.rows().get(1).errors().get(0).startsWith("Malformed JSON"));
+        verify(productRepository, atLeastOnce()).saveAll(anyList());
+    }
+
+    @Test
+    void importJson_ShouldReject_NonArrayBody() {
+        assertThrows(IllegalStateException.class, () -> importService.importJson(stream("{\"modelName\": \"Ring\"}")));
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
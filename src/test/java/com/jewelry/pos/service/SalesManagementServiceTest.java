@@ -0,0 +1,113 @@
+package com.jewelry.pos.service;
+
+import com.jewelry.pos.domain.repository.SaleListItemRow;
+import com.jewelry.pos.domain.repository.SaleListRow;
+import com.jewelry.pos.domain.repository.SaleRepository;
+import com.jewelry.pos.service.search.SaleSearchIndex;
+import com.jewelry.pos.web.dto.SaleResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SalesManagementServiceTest {
+
+    @Mock private SaleRepository saleRepository;
+    @Mock private DailyLedgerSummaryService ledgerSummaryService;
+    @Mock private SaleSearchIndex saleSearchIndex;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @InjectMocks private SalesManagementService salesManagementService;
+
+    @Test
+    void searchSales_ShouldBuildPage_FromTwoProjectionQueries() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(saleRepository.searchSaleRows(eq("%fatma%"), eq(LocalDate.of(2026, 3, 1).atStartOfDay()),
+                eq(LocalDate.of(2026, 3, 31).atTime(23, 59, 59)), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(row("S1"), row("S2"), row("S3")), pageable, 3));
+        when(saleRepository.findItemRowsBySaleIds(List.of("S1", "S2", "S3"))).thenReturn(List.of(
+                new SaleListItemRow("S1", "Ring", new BigDecimal("4.250"), new BigDecimal("15025.00")),
+                new SaleListItemRow("S2", "Chain", new BigDecimal("10.000"), new BigDecimal("36000.00")),
+                new SaleListItemRow("S1", "Earring", new BigDecimal("2.100"), new BigDecimal("7500.00"))));
+
+        Page<SaleResponseDTO> page = salesManagementService.searchSales("Fatma",
+                LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31), pageable);
+
+        assertEquals(List.of("S1", "S2", "S3"), page.getContent().stream().map(SaleResponseDTO::id).toList());
+        assertEquals(List.of("Ring", "Earring"),
+                page.getContent().get(0).items().stream().map(SaleResponseDTO.SaleItemDTO::productName).toList());
+        assertEquals(1, page.getContent().get(1).items().size());
+        assertTrue(page.getContent().get(2).items().isEmpty());
+        assertEquals("Fatma Hassan", page.getContent().get(0).customerName());
+        verify(saleRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void searchSales_ShouldSkipItemQuery_WhenPageIsEmpty() {
+        Pageable pageable = PageRequest.of(3, 20);
+        when(saleRepository.searchSaleRows(isNull(), isNull(), isNull(), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+        Page<SaleResponseDTO> page = salesManagementService.searchSales("  ", null, null, pageable);
+
+        assertTrue(page.isEmpty());
+        verify(saleRepository, never()).findItemRowsBySaleIds(anyCollection());
+    }
+
+    @Test
+    void searchSales_ShouldReadOnlyTheIndexedPage_WhenIndexIsReady() {
+        Pageable pageable = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "lastModifiedDate"));
+        when(saleSearchIndex.isReady()).thenReturn(true);
+        when(saleSearchIndex.search("0101234", null, null, pageable))
+                .thenReturn(new SaleSearchIndex.Hits(List.of("S3", "S2"), 4));
+        when(saleRepository.findSaleRowsByIds(List.of("S3", "S2"))).thenReturn(List.of(row("S2"), row("S3")));
+        when(saleRepository.findItemRowsBySaleIds(List.of("S3", "S2"))).thenReturn(List.of(
+                new SaleListItemRow("S2", "Chain", new BigDecimal("10.000"), new BigDecimal("36000.00"))));
+
+        Page<SaleResponseDTO> page = salesManagementService.searchSales("0101234", null, null, pageable);
+
+        assertEquals(List.of("S3", "S2"), page.getContent().stream().map(SaleResponseDTO::id).toList());
+        assertEquals(4, page.getTotalElements());
+        assertEquals(1, page.getContent().get(1).items().size());
+        verify(saleRepository, never()).searchSaleRows(anyString(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void searchSales_ShouldUseDatabase_ForASortTheIndexCannotServe() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("totalAmount"));
+        when(saleSearchIndex.isReady()).thenReturn(true);
+        when(saleRepository.searchSaleRows("%fatma%", null, null, pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+        salesManagementService.searchSales("Fatma", null, null, pageable);
+
+        verify(saleSearchIndex, never()).search(anyString(), any(), any(), any(Pageable.class));
+    }
+
+    private SaleListRow row(String id) {
+        return new SaleListRow(id, LocalDateTime.of(2026, 3, 10, 12, 0), new BigDecimal("30000.00"),
+                BigDecimal.ZERO, new BigDecimal("30000.00"), "cashier", "Fatma Hassan", "01000000000");
+    }
+}
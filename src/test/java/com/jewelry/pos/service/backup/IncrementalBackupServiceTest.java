@@ -0,0 +1,145 @@
+package com.jewelry.pos.service.backup;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Snapshot, deltas and restore against real in-memory H2 databases, with a two-table schema that
+ * has the same change-log triggers as V10.
+ */
+class IncrementalBackupServiceTest {
+
+    private static final String PASSWORD = "backup-secret";
+
+    @TempDir
+    Path backupDir;
+
+    private JdbcDataSource source;
+    private JdbcTemplate jdbc;
+    private IncrementalBackupService backupService;
+
+    @BeforeEach
+    void setUp() {
+        source = memoryDatabase();
+        jdbc = new JdbcTemplate(source);
+        jdbc.execute("CREATE TABLE product (id VARCHAR(26) PRIMARY KEY, name VARCHAR(100), weight DECIMAL(10,3), "
+                + "sold BOOLEAN, created_date TIMESTAMP, notes TEXT)");
+        jdbc.execute("CREATE TABLE system_setting (setting_key VARCHAR(100) PRIMARY KEY, setting_value VARCHAR(500))");
+        jdbc.execute("CREATE TABLE backup_change_log (seq BIGINT AUTO_INCREMENT PRIMARY KEY, table_name VARCHAR(64) NOT NULL, "
+                + "row_id VARCHAR(26), operation CHAR(1) NOT NULL, changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        for (String table : List.of("product", "system_setting")) {
+            jdbc.execute("CREATE TRIGGER trg_backup_" + table + " AFTER INSERT, UPDATE, DELETE ON " + table
+                    + " FOR EACH ROW CALL '" + ChangeLogTrigger.class.getName() + "'");
+        }
+        backupService = new IncrementalBackupService(source, backupDir.toString(), PASSWORD);
+    }
+
+    @Test
+    void trigger_ShouldLogEveryWrite() {
+        jdbc.update("INSERT INTO product (id, name) VALUES ('P1', 'Ring')");
+        jdbc.update("UPDATE product SET name = 'Ring 21K' WHERE id = 'P1'");
+        jdbc.update("INSERT INTO system_setting VALUES ('shop.name', 'Gold')");
+
+        List<Map<String, Object>> log = jdbc.queryForList("SELECT table_name, row_id, operation FROM backup_change_log ORDER BY seq");
+
+        assertEquals(3, log.size());
+        assertEquals("P1", log.get(0).get("ROW_ID"));
+        assertEquals("U", log.get(1).get("OPERATION"));
+        assertNull(log.get(2).get("ROW_ID")); // no id column: the table is copied whole
+    }
+
+    @Test
+    void writeDelta_ShouldBeEmpty_WhenNothingChanged() throws Exception {
+        jdbc.update("INSERT INTO product (id, name) VALUES ('P1', 'Ring')");
+        backupService.fullSnapshot();
+
+        assertEquals(Optional.empty(), backupService.writeDelta());
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM backup_change_log", Integer.class));
+    }
+
+    @Test
+    void restore_ShouldReplaySnapshotAndDeltas() throws Exception {
+        // 1. State at the snapshot
+        jdbc.update("INSERT INTO product VALUES ('P1', 'Ring', 4.250, FALSE, TIMESTAMP '2026-01-10 10:15:00', 'first')");
+        jdbc.update("INSERT INTO product VALUES ('P2', 'Chain', 12.000, FALSE, TIMESTAMP '2026-01-10 11:00:00', NULL)");
+        jdbc.update("INSERT INTO system_setting VALUES ('gold.auto-update', 'true')");
+        backupService.fullSnapshot();
+
+        // 2. First delta: a sale, a new product and a setting change
+        jdbc.update("UPDATE product SET sold = TRUE WHERE id = 'P1'");
+        jdbc.update("INSERT INTO product VALUES ('P3', 'Bracelet', 8.125, FALSE, TIMESTAMP '2026-01-11 09:30:00', ?)", "x".repeat(70_000));
+        jdbc.update("UPDATE system_setting SET setting_value = 'false' WHERE setting_key = 'gold.auto-update'");
+        IncrementalBackupService.DeltaResult first = backupService.writeDelta().orElseThrow();
+        assertEquals(3, first.changes()); // P1, P3 and the one settings row
+
+        // 3. Second delta: a deletion
+        jdbc.update("DELETE FROM product WHERE id = 'P2'");
+        backupService.writeDelta().orElseThrow();
+
+        // 4. Restore into a fresh database
+        JdbcDataSource target = memoryDatabase();
+        assertEquals(2, backupService.restore(target));
+
+        JdbcTemplate restored = new JdbcTemplate(target);
+        assertEquals(List.of("P1", "P3"), restored.queryForList("SELECT id FROM product ORDER BY id", String.class));
+        assertTrue(restored.queryForObject("SELECT sold FROM product WHERE id = 'P1'", Boolean.class));
+        assertEquals(0, new BigDecimal("8.125").compareTo(restored.queryForObject("SELECT weight FROM product WHERE id = 'P3'", BigDecimal.class)));
+        assertEquals(70_000, restored.queryForObject("SELECT LENGTH(notes) FROM product WHERE id = 'P3'", Integer.class));
+        assertEquals("false", restored.queryForObject("SELECT setting_value FROM system_setting", String.class));
+        assertEquals(0, restored.queryForObject("SELECT COUNT(*) FROM backup_change_log", Integer.class));
+    }
+
+    @Test
+    void restore_ShouldRefuseNonEmptyTarget() throws Exception {
+        backupService.fullSnapshot();
+
+        assertThrows(IllegalStateException.class, () -> backupService.restore(source));
+    }
+
+    @Test
+    void deltaFile_ShouldNotOpenWithWrongPassword() throws Exception {
+        backupService.fullSnapshot();
+        jdbc.update("INSERT INTO product (id, name) VALUES ('P1', 'Ring')");
+        Path delta = backupService.writeDelta().orElseThrow().file();
+
+        assertTrue(Files.size(delta) > 0);
+        assertThrows(Exception.class, () -> DeltaFile.read(delta, "wrong"));
+    }
+
+    @Test
+    void cleanOldBackups_ShouldKeepNewestSnapshotAndItsDeltas() throws Exception {
+        Files.createFile(backupDir.resolve("full_20200101_210000_000.snapshot"));
+        Files.createFile(backupDir.resolve("delta_20200101_210500_000.delta"));
+        Path newest = backupService.fullSnapshot();
+        jdbc.update("INSERT INTO product (id, name) VALUES ('P1', 'Ring')");
+        Path delta = backupService.writeDelta().orElseThrow().file();
+
+        backupService.cleanOldBackups(7);
+
+        try (var files = Files.list(backupDir)) {
+            assertEquals(List.of(delta.getFileName().toString(), newest.getFileName().toString()),
+                    files.map(f -> f.getFileName().toString()).sorted().toList());
+        }
+    }
+
+    private JdbcDataSource memoryDatabase() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:backup_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+        return dataSource;
+    }
+}
@@ -0,0 +1,115 @@
+package com.jewelry.pos.service.search;
+
+import com.jewelry.pos.domain.entity.Product;
+import com.jewelry.pos.domain.entity.ProductStatusEnum;
+import com.jewelry.pos.domain.entity.PurityEnum;
+import com.jewelry.pos.domain.repository.ProductRepository;
+import com.jewelry.pos.event.ProductChangedEvent;
+import com.jewelry.pos.event.ProductDeletedEvent;
+import com.jewelry.pos.event.ProductsSoldEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(null);
+        index.replaceAll(List.of(
+                product("1", "BC-1001", "Classic Ring", "plain band"),
+                product("2", "BC-1002", "Ring Classic", null),
+                product("3", "BC-1003", "Bracelet", "matches a classic ring"),
+                product("4", "BC-2001", "\u062E\u064E\u0627\u062A\u0650\u0645 21", "\u0662\u0661 gram")
+        ));
+    }
+
+    @Test
+    void search_ShouldRankNameStartBeforeNameContainsBeforeDescription() {
+        List<String> ids = ids(index.search("classic", p -> true, 50));
+
+        assertEquals(List.of("1", "2", "3"), ids);
+    }
+
+    @Test
+    void searchWithTotal_ShouldCountEveryMatch_ButKeepOnlyTheTop() {
+        ProductSearchIndex.Hits hits = index.searchWithTotal("classic", p -> true, 2);
+
+        assertEquals(List.of("1", "2"), ids(hits.products()));
+        assertEquals(3, hits.total());
+        assertEquals(4, index.searchWithTotal("", p -> true, 1).total());
+    }
+
+    @Test
+    void search_ShouldMatchBarcodeFirst() {
+        assertEquals(List.of("4"), ids(index.search("bc-2", p -> true, 50)));
+    }
+
+    @Test
+    void search_ShouldIgnoreArabicDiacritics_AndFoldArabicIndicDigits() {
+        assertEquals(List.of("4"), ids(index.search("\u062E\u0627\u062A\u0645", p -> true, 50)));
+        assertEquals(List.of("4"), ids(index.search("\u0662\u0661", p -> true, 50)));
+    }
+
+    @Test
+    void search_ShouldUseWordPrefix_ForShortQueries() {
+        assertEquals(List.of("3"), ids(index.search("br", p -> true, 50)));
+    }
+
+    @Test
+    void events_ShouldKeepIndexCurrent() {
+        index.onProductsSold(new ProductsSoldEvent(List.of("1")));
+        index.onProductDeleted(new ProductDeletedEvent("2"));
+        assertEquals(List.of("3"), ids(index.search("classic", p -> true, 50)));
+
+        Product renamed = product("3", "BC-1003", "Gold Bracelet", null);
+        index.onProductChanged(new ProductChangedEvent(renamed));
+        assertTrue(index.search("classic", p -> true, 50).isEmpty());
+        assertEquals(List.of("3"), ids(index.search("gold", p -> true, 50)));
+
+        Product reserved = product("3", "BC-1003", "Gold Bracelet", null);
+        reserved.setStatus(ProductStatusEnum.RESERVED);
+        index.onProductChanged(new ProductChangedEvent(reserved));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void loadOnStartup_ShouldKeepSalesAndEditsCommittedWhileTheTableWasRead() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        ProductSearchIndex loading = new ProductSearchIndex(productRepository);
+        when(productRepository.findAllByStatus(ProductStatusEnum.AVAILABLE)).thenAnswer(invocation -> {
+            // A checkout and an edit commit after the snapshot was read, before it is applied
+            loading.onProductsSold(new ProductsSoldEvent(List.of("1")));
+            loading.onProductChanged(new ProductChangedEvent(product("2", "BC-1002", "Gold Chain", null)));
+            return List.of(product("1", "BC-1001", "Classic Ring", "plain band"), product("2", "BC-1002", "Ring Classic", null));
+        });
+
+        loading.loadOnStartup();
+
+        assertTrue(loading.isReady());
+        assertTrue(loading.search("classic", p -> true, 50).isEmpty());
+        assertEquals(List.of("2"), ids(loading.search("chain", p -> true, 50)));
+        assertEquals(1, loading.size());
+    }
+
+    private Product product(String id, String barcode, String name, String description) {
+        Product product = new Product();
+        product.setId(id);
+        product.setBarcode(barcode);
+        product.setModelName(name);
+        product.setDescription(description);
+        product.setPurityEnum(PurityEnum.K21);
+        return product;
+    }
+
+    private List<String> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+}
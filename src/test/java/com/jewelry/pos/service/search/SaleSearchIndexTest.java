@@ -0,0 +1,123 @@
+package com.jewelry.pos.service.search;
+
+import com.jewelry.pos.domain.repository.SaleRepository;
+import com.jewelry.pos.domain.repository.SaleSearchRow;
+import com.jewelry.pos.event.SaleRecordedEvent;
+import com.jewelry.pos.event.SaleVoidedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SaleSearchIndexTest {
+
+    private static final Pageable NEWEST_FIRST = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "lastModifiedDate"));
+
+    private SaleSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SaleSearchIndex(null);
+        index.replaceAll(List.of(
+                sale("0HZ1A", 1, "Fatma Hassan", "010 1234-5678"),
+                sale("0HZ1B", 2, "Mona Adel", "01012349999"),
+                sale("0HZ2C", 3, "\u0641\u064E\u0627\u0637\u0650\u0645\u0629 \u0639\u0644\u064A", "+20 111 000 2222"),
+                sale("0HZ2D", 4, "Hassan Ali", null)
+        ));
+    }
+
+    @Test
+    void search_ShouldMatchPhonePrefix_IgnoringSeparators() {
+        assertEquals(List.of("0HZ1B", "0HZ1A"), ids("01012 34"));
+        assertEquals(List.of("0HZ1A"), ids("01012345678"));
+        assertEquals(List.of(), ids("5678")); // prefix only, not anywhere in the number
+    }
+
+    @Test
+    void search_ShouldFoldArabicIndicDigits_InThePhoneQuery() {
+        assertEquals(List.of("0HZ1A"), ids("\u0660\u0661\u0660\u0661\u0662\u0663\u0664\u0665\u0666\u0667\u0668"));
+        assertEquals(List.of("0HZ2C"), ids("\u06F2\u06F0\u06F1\u06F1\u06F1"));
+    }
+
+    @Test
+    void search_ShouldMatchIdPrefix_CaseInsensitive() {
+        assertEquals(List.of("0HZ2D", "0HZ2C"), ids("0hz2"));
+        assertEquals(List.of("0HZ1A"), ids("0HZ1A"));
+    }
+
+    @Test
+    void search_ShouldMatchNameSubstring_AndArabicWithoutDiacritics() {
+        assertEquals(List.of("0HZ2D", "0HZ1A"), ids("assan"));
+        assertEquals(List.of("0HZ2C"), ids("\u0641\u0627\u0637\u0645\u0647"));
+        assertEquals(List.of("0HZ2D"), ids("al")); // short query: word prefix
+    }
+
+    @Test
+    void search_ShouldPage_AndFilterByDate() {
+        SaleSearchIndex.Hits firstPage = index.search("0hz", null, null, PageRequest.of(0, 3, Sort.by("transactionDate")));
+        assertEquals(List.of("0HZ1A", "0HZ1B", "0HZ2C"), firstPage.saleIds());
+        assertEquals(4, firstPage.total());
+
+        SaleSearchIndex.Hits ranged = index.search("0hz", at(2), at(3), NEWEST_FIRST);
+        assertEquals(List.of("0HZ2C", "0HZ1B"), ranged.saleIds());
+        assertEquals(2, ranged.total());
+    }
+
+    @Test
+    void events_ShouldKeepIndexCurrent() {
+        index.onSaleRecorded(new SaleRecordedEvent("0HZ3E", at(5), "Sara Nabil", "0122 555 0000"));
+        index.onSaleVoided(new SaleVoidedEvent("0HZ1A"));
+
+        assertEquals(List.of("0HZ3E"), ids("0122555"));
+        assertEquals(List.of("0HZ2D"), ids("hassan"));
+        assertEquals(List.of(), ids("01012345678"));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void loadOnStartup_ShouldKeepSalesCommittedWhileTheTableWasRead() {
+        SaleRepository saleRepository = mock(SaleRepository.class);
+        SaleSearchIndex loading = new SaleSearchIndex(saleRepository);
+        when(saleRepository.findAllSearchRows()).thenAnswer(invocation -> {
+            // A checkout and a void commit after the snapshot was read, before it is applied
+            loading.onSaleRecorded(new SaleRecordedEvent("0HZ3E", at(5), "Sara Nabil", "0122 555 0000"));
+            loading.onSaleVoided(new SaleVoidedEvent("0HZ1A"));
+            return List.of(sale("0HZ1A", 1, "Fatma Hassan", "010 1234-5678"), sale("0HZ1B", 2, "Mona Adel", "01012349999"));
+        });
+
+        loading.loadOnStartup();
+
+        assertTrue(loading.isReady());
+        assertEquals(List.of("0HZ3E"), loading.search("0122555", null, null, NEWEST_FIRST).saleIds());
+        assertEquals(List.of(), loading.search("0HZ1A", null, null, NEWEST_FIRST).saleIds());
+        assertEquals(2, loading.size());
+    }
+
+    @Test
+    void supports_ShouldAcceptOnlyTheSaleTimeSort() {
+        assertTrue(SaleSearchIndex.supports(Sort.unsorted()));
+        assertTrue(SaleSearchIndex.supports(Sort.by(Sort.Direction.DESC, "lastModifiedDate")));
+        assertFalse(SaleSearchIndex.supports(Sort.by("totalAmount")));
+        assertFalse(SaleSearchIndex.supports(Sort.by("transactionDate", "customerName")));
+    }
+
+    private List<String> ids(String query) {
+        return index.search(query, null, null, NEWEST_FIRST).saleIds();
+    }
+
+    private SaleSearchRow sale(String id, int day, String customerName, String customerPhone) {
+        return new SaleSearchRow(id, at(day), customerName, customerPhone);
+    }
+
+    private LocalDateTime at(int day) {
+        return LocalDateTime.of(2026, 3, day, 12, 0);
+    }
+}